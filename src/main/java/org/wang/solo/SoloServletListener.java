@@ -17,6 +17,7 @@
  */
 package org.wang.solo;
 
+import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.event.EventManager;
@@ -39,6 +40,7 @@ import org.wang.solo.model.Skin;
 import org.wang.solo.repository.OptionRepository;
 import org.wang.solo.repository.impl.OptionRepositoryImpl;
 import org.wang.solo.service.*;
+import org.wang.solo.util.Replicas;
 import org.wang.solo.util.Skins;
 import org.wang.solo.util.Solos;
 
@@ -56,7 +58,7 @@ import java.util.concurrent.locks.ReentrantLock;
  * Solo Servlet listener.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.9.3.40, Sep 26, 2018
+ * @version 1.9.8.0, Oct 18, 2026
  * @since 0.3.1
  */
 public final class SoloServletListener extends AbstractServletListener {
@@ -69,7 +71,7 @@ public final class SoloServletListener extends AbstractServletListener {
     /**
      * Solo version.
      */
-    public static final String VERSION = "2.9.4";
+    public static final String VERSION = "2.9.5";
 
     /**
      * Bean manager.
@@ -96,7 +98,27 @@ public final class SoloServletListener extends AbstractServletListener {
 
         // Import check https://github.com/b3log/solo/issues/12293
         final ImportService importService = beanManager.getReference(ImportService.class);
-        importService.importMarkdowns();
+        if (Boolean.parseBoolean(StringUtils.trim(Latkes.getLocalProperty("import.watch")))) {
+            importService.watchMarkdowns();
+        } else {
+            importService.importMarkdowns();
+        }
+
+        // Relevant articles index and top articles
+        final InitService initService = beanManager.getReference(InitService.class);
+        if (initService.isInited()) {
+            final ArticleQueryService articleQueryService = beanManager.getReference(ArticleQueryService.class);
+            new Thread(() -> {
+                try {
+                    articleQueryService.buildRelevanceIndex();
+                    articleQueryService.loadTopArticles();
+                } catch (final Exception e) {
+                    LOGGER.log(Level.ERROR, "Builds relevance index and top articles failed", e);
+                } finally {
+                    JdbcRepository.dispose();
+                }
+            }).start();
+        }
 
         JdbcRepository.dispose();
 
@@ -116,6 +138,10 @@ public final class SoloServletListener extends AbstractServletListener {
 
         registerEventHandlers();
 
+        final BackupService backupService = beanManager.getReference(BackupService.class);
+        backupService.start();
+        beanManager.getReference(UploadMgmtService.class).start();
+
         final PluginManager pluginManager = beanManager.getReference(PluginManager.class);
         pluginManager.load();
 
@@ -128,6 +154,10 @@ public final class SoloServletListener extends AbstractServletListener {
     @Override
     public void contextDestroyed(final ServletContextEvent servletContextEvent) {
         super.contextDestroyed(servletContextEvent);
+        Replicas.shutdown();
+        beanManager.getReference(BackupService.class).shutdown();
+        beanManager.getReference(UploadMgmtService.class).shutdown();
+        beanManager.getReference(ImportService.class).stopWatching();
 
         LOGGER.info("Destroyed the context");
     }
@@ -147,6 +177,7 @@ public final class SoloServletListener extends AbstractServletListener {
 
         final HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequestEvent.getServletRequest();
         Requests.log(httpServletRequest, Level.DEBUG, LOGGER);
+        Replicas.beginRequest(httpServletRequest);
 
         final String requestURI = httpServletRequest.getRequestURI();
         Stopwatchs.start("Request Initialized [requestURI=" + requestURI + "]");
@@ -176,6 +207,7 @@ public final class SoloServletListener extends AbstractServletListener {
             LOGGER.log(Level.DEBUG, "Stopwatch: {0}{1}", Strings.LINE_SEPARATOR, Stopwatchs.getTimingStat());
             Stopwatchs.release();
 
+            Replicas.endRequest((HttpServletRequest) servletRequestEvent.getServletRequest());
             super.requestDestroyed(servletRequestEvent);
         } finally {
             requestLock.unlock();
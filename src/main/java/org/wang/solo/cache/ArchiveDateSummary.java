@@ -0,0 +1,146 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.cache;
+
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.latke.util.Dates;
+import org.json.JSONObject;
+import org.wang.solo.model.ArchiveDate;
+import org.wang.solo.model.Common;
+import org.wang.solo.util.JSONs;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Archive date summary.
+ * <p>
+ * Holds the archive dates which have published articles, one per month ordered by month descending, with year and
+ * month precomputed, English month names are filled on reads for "en". It is cleared on each archive date write and
+ * loaded again from the archive dates on the next read, a load which raced with a clear is served once then dropped.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Named
+@Singleton
+public class ArchiveDateSummary {
+
+    /**
+     * Archive dates, {@code null} if not loaded.
+     */
+    private List<JSONObject> archiveDates;
+
+    /**
+     * Whether the loaded archive dates may miss a change.
+     */
+    private boolean stale;
+
+    /**
+     * Version, increased on each clear.
+     */
+    private long version;
+
+    /**
+     * Gets the archive dates.
+     *
+     * @param language the specified language, month names are filled for "en"
+     * @return archive dates, returns {@code null} if not loaded
+     */
+    public synchronized List<JSONObject> get(final String language) {
+        if (null == archiveDates) {
+            return null;
+        }
+
+        final boolean en = "en".equals(language);
+        final List<JSONObject> ret = new ArrayList<>(archiveDates.size());
+        for (final JSONObject archiveDate : archiveDates) {
+            final JSONObject item = JSONs.clone(archiveDate);
+            if (en) {
+                item.put(Common.MONTH_NAME, Dates.EN_MONTHS.get(item.optString(ArchiveDate.ARCHIVE_DATE_MONTH)));
+            }
+            ret.add(item);
+        }
+        if (stale) {
+            archiveDates = null;
+            stale = false;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the current version, it should be got before querying for {@link #load}.
+     *
+     * @return version
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Loads the summary with the specified archive dates.
+     *
+     * @param archiveDates the specified archive dates, ordered by archive time descending
+     * @param version      the version got before the query, the summary is served once only if it has been cleared
+     *                     since
+     */
+    public synchronized void load(final List<JSONObject> archiveDates, final long version) {
+        final Map<String, JSONObject> months = new LinkedHashMap<>();
+        for (final JSONObject archiveDate : archiveDates) {
+            final int publishedCnt = archiveDate.optInt(ArchiveDate.ARCHIVE_DATE_PUBLISHED_ARTICLE_COUNT);
+            if (0 == publishedCnt) {
+                continue;
+            }
+
+            final String dateString = DateFormatUtils.format(archiveDate.optLong(ArchiveDate.ARCHIVE_TIME), "yyyy/MM");
+            final JSONObject merged = months.get(dateString);
+            if (null != merged) { // Duplicated month, only if the unique index on archive time could not be created
+                merged.put(ArchiveDate.ARCHIVE_DATE_PUBLISHED_ARTICLE_COUNT,
+                        merged.optInt(ArchiveDate.ARCHIVE_DATE_PUBLISHED_ARTICLE_COUNT) + publishedCnt);
+                merged.put(ArchiveDate.ARCHIVE_DATE_ARTICLE_COUNT,
+                        merged.optInt(ArchiveDate.ARCHIVE_DATE_ARTICLE_COUNT) + archiveDate.optInt(ArchiveDate.ARCHIVE_DATE_ARTICLE_COUNT));
+
+                continue;
+            }
+
+            final JSONObject item = JSONs.clone(archiveDate);
+            item.put(ArchiveDate.ARCHIVE_DATE_YEAR, dateString.substring(0, 4));
+            item.put(ArchiveDate.ARCHIVE_DATE_MONTH, dateString.substring(5));
+            months.put(dateString, item);
+        }
+
+        this.archiveDates = new ArrayList<>(months.values());
+        stale = this.version != version;
+    }
+
+    /**
+     * Clears the summary.
+     */
+    public synchronized void clear() {
+        version++;
+        archiveDates = null;
+        stale = false;
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.cache;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.json.JSONObject;
+import org.wang.solo.model.Article;
+import org.wang.solo.util.JSONs;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Timeline of published articles.
+ * <p>
+ * Published articles are ordered by created time then id in a skip list, each entry holds the title, permalink and
+ * abstract of the article, so previous/next article lookups are O(log n) and never touch the database. The timeline
+ * is built on the first lookup and updated on article writes once they commit, a build discards itself if the
+ * timeline is updated while the articles are queried.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.2.0.1, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Named
+@Singleton
+public class ArticleTimeline {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ArticleTimeline.class);
+
+    /**
+     * Entries, &lt;(created, articleId), summary&gt;.
+     */
+    private final ConcurrentNavigableMap<Key, JSONObject> entries = new ConcurrentSkipListMap<>();
+
+    /**
+     * Keys, &lt;articleId, key&gt;.
+     */
+    private final Map<String, Key> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the timeline has been built.
+     */
+    private volatile boolean built;
+
+    /**
+     * Version, increased on every update, guarded by this.
+     */
+    private long version;
+
+    /**
+     * Determines whether the timeline has been built.
+     *
+     * @return {@code true} if it has been built, returns {@code false} otherwise
+     */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Gets the current version, it should be got before querying for {@link #build}.
+     *
+     * @return version
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Rebuilds the timeline with the specified articles.
+     *
+     * @param articles the specified articles, each of them contains id, created time, title, permalink, abstract and
+     *                 published state
+     * @param version  the version got before the query, the timeline stays unbuilt (rebuilds on the next lookup) if it
+     *                 has been updated since
+     */
+    public synchronized void build(final List<JSONObject> articles, final long version) {
+        entries.clear();
+        keys.clear();
+        for (final JSONObject article : articles) {
+            if (article.optBoolean(Article.ARTICLE_IS_PUBLISHED)) {
+                add(article);
+            }
+        }
+        built = this.version == version;
+
+        LOGGER.log(Level.DEBUG, "Built article timeline of [" + keys.size() + "] articles" + (built ? "" : ", updated during the build"));
+    }
+
+    /**
+     * Updates the timeline with the specified article, an unpublished article is removed from the timeline. Ignored if
+     * the timeline has not been built or the article misses created time, title, permalink, abstract or published
+     * state.
+     *
+     * @param article the specified article
+     */
+    public synchronized void put(final JSONObject article) {
+        version++;
+        if (!built || !article.has(Keys.OBJECT_ID) || !article.has(Article.ARTICLE_IS_PUBLISHED)) {
+            return;
+        }
+
+        final String articleId = article.optString(Keys.OBJECT_ID);
+        if (!article.optBoolean(Article.ARTICLE_IS_PUBLISHED)) {
+            remove(articleId);
+
+            return;
+        }
+
+        if (!article.has(Article.ARTICLE_CREATED) || !article.has(Article.ARTICLE_TITLE)
+                || !article.has(Article.ARTICLE_PERMALINK) || !article.has(Article.ARTICLE_ABSTRACT)) {
+            built = false; // Can not update it, rebuilds on the next lookup
+
+            return;
+        }
+
+        remove(articleId);
+        add(article);
+    }
+
+    /**
+     * Removes the article specified by the given id from the timeline.
+     *
+     * @param articleId the given id
+     */
+    public synchronized void remove(final String articleId) {
+        version++;
+        final Key key = keys.remove(articleId);
+        if (null != key) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Clears the timeline, it rebuilds on the next lookup.
+     */
+    public synchronized void clear() {
+        version++;
+        built = false;
+        entries.clear();
+        keys.clear();
+    }
+
+    /**
+     * Gets the previous (older) published article of the specified article.
+     *
+     * @param articleId the specified article id
+     * @param created   the created time of the specified article
+     * @return previous article, contains title, permalink and abstract, returns {@code null} if not found
+     */
+    public JSONObject getPrevious(final String articleId, final long created) {
+        final Map.Entry<Key, JSONObject> ret = entries.lowerEntry(new Key(created, articleId));
+
+        return null == ret ? null : JSONs.clone(ret.getValue());
+    }
+
+    /**
+     * Gets the next (newer) published article of the specified article.
+     *
+     * @param articleId the specified article id
+     * @param created   the created time of the specified article
+     * @return next article, contains title, permalink and abstract, returns {@code null} if not found
+     */
+    public JSONObject getNext(final String articleId, final long created) {
+        final Map.Entry<Key, JSONObject> ret = entries.higherEntry(new Key(created, articleId));
+
+        return null == ret ? null : JSONs.clone(ret.getValue());
+    }
+
+    /**
+     * Gets the created time of the specified article.
+     *
+     * @param articleId the specified article id
+     * @return created time, returns {@code null} if the article is not in the timeline
+     */
+    public Long getCreated(final String articleId) {
+        final Key key = keys.get(articleId);
+
+        return null == key ? null : key.created;
+    }
+
+    /**
+     * Adds the specified article.
+     *
+     * @param article the specified article
+     */
+    private void add(final JSONObject article) {
+        final Key key = new Key(article.optLong(Article.ARTICLE_CREATED), article.optString(Keys.OBJECT_ID));
+        final JSONObject summary = new JSONObject();
+        summary.put(Article.ARTICLE_TITLE, article.optString(Article.ARTICLE_TITLE));
+        summary.put(Article.ARTICLE_PERMALINK, article.optString(Article.ARTICLE_PERMALINK));
+        summary.put(Article.ARTICLE_ABSTRACT, article.optString(Article.ARTICLE_ABSTRACT));
+        entries.put(key, summary);
+        keys.put(key.articleId, key);
+    }
+
+    /**
+     * Timeline key, ordered by created time then article id.
+     */
+    private static final class Key implements Comparable<Key> {
+
+        /**
+         * Created time.
+         */
+        private final long created;
+
+        /**
+         * Article id.
+         */
+        private final String articleId;
+
+        /**
+         * Constructs a key with the specified created time and article id.
+         *
+         * @param created   the specified created time
+         * @param articleId the specified article id
+         */
+        private Key(final long created, final String articleId) {
+            this.created = created;
+            this.articleId = articleId;
+        }
+
+        @Override
+        public int compareTo(final Key key) {
+            final int ret = Long.compare(created, key.created);
+
+            return 0 != ret ? ret : articleId.compareTo(key.articleId);
+        }
+    }
+}
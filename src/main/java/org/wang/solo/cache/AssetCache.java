@@ -0,0 +1,131 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.cache;
+
+import org.apache.commons.io.IOUtils;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.wang.solo.SoloServletListener;
+import org.wang.solo.util.Assets;
+
+import javax.servlet.ServletContext;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Static asset (skin, console JavaScript, CSS and images) cache.
+ * <p>
+ * Holds the assets read from the web application by path with their gzip variants and content hashes, each asset is
+ * read on its first use and kept for the lifetime of the application. In development mode an asset whose file has been
+ * modified is read again, so the hashed URLs follow the edits.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Named
+@Singleton
+public class AssetCache {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(AssetCache.class);
+
+    /**
+     * Assets, &lt;path, asset&gt;.
+     */
+    private final Map<String, PrecompressedContent> assets = new ConcurrentHashMap<>();
+
+    /**
+     * Application start time, the last modified time of assets not in a file system.
+     */
+    private final long startTime = System.currentTimeMillis();
+
+    /**
+     * Gets an asset by the specified path.
+     *
+     * @param path the specified path, for example "/js/common.min.js"
+     * @return asset, returns {@code null} if the path is not an asset path or not found
+     */
+    public PrecompressedContent get(final String path) {
+        if (!Assets.isAsset(path)) {
+            return null;
+        }
+
+        final PrecompressedContent ret = assets.get(path);
+        if (null != ret && (Latkes.RuntimeMode.PRODUCTION == Latkes.getRuntimeMode()
+                || getLastModified(path) / 1000 * 1000 == ret.getLastModified())) {
+            return ret;
+        }
+
+        return load(path);
+    }
+
+    /**
+     * Reads the asset of the specified path into the cache.
+     *
+     * @param path the specified path
+     * @return asset, returns {@code null} if not found
+     */
+    private PrecompressedContent load(final String path) {
+        final long lastModified = getLastModified(path);
+        try (final InputStream inputStream = SoloServletListener.getServletContext().getResourceAsStream(path)) {
+            if (null == inputStream) {
+                assets.remove(path);
+
+                return null;
+            }
+
+            final PrecompressedContent ret = new PrecompressedContent(IOUtils.toByteArray(inputStream), lastModified);
+            assets.put(path, ret);
+            LOGGER.log(Level.DEBUG, "Loaded asset [" + path + "], hash [" + Assets.getHash(ret) + "]");
+
+            return ret;
+        } catch (final IOException e) {
+            LOGGER.log(Level.ERROR, "Loads asset [" + path + "] failed", e);
+
+            return null;
+        }
+    }
+
+    /**
+     * Gets the last modified time of the asset of the specified path.
+     *
+     * @param path the specified path
+     * @return last modified time of its file, returns the application start time if it is not in a file system
+     */
+    private long getLastModified(final String path) {
+        final ServletContext servletContext = SoloServletListener.getServletContext();
+        final String realPath = servletContext.getRealPath(path);
+        if (null == realPath) {
+            return startTime;
+        }
+
+        final long ret = new File(realPath).lastModified();
+
+        return 0 == ret ? startTime : ret;
+    }
+}
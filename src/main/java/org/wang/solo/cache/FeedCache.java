@@ -0,0 +1,102 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.cache;
+
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Feed (Atom/RSS) cache.
+ * <p>
+ * Holds the generated feeds as {@link PrecompressedContent}s, keyed by format and scope (the blog, a tag or a
+ * category). All feeds are cleared on content changes (article writes, preference, user and
+ * category changes) and generated again on the next poll, a feed generated across a clear is served but not cached.
+ * At most {@value #MAX_FEED_CNT} feeds are kept, least recently used first out.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.1.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Named
+@Singleton
+public class FeedCache {
+
+    /**
+     * Max feed count.
+     */
+    private static final int MAX_FEED_CNT = 256;
+
+    /**
+     * Feeds, &lt;key, feed&gt;.
+     */
+    private final Map<String, PrecompressedContent> feeds = new LinkedHashMap<String, PrecompressedContent>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, PrecompressedContent> eldest) {
+            return size() > MAX_FEED_CNT;
+        }
+    };
+
+    /**
+     * Version, increased on each clear.
+     */
+    private long version;
+
+    /**
+     * Gets a feed by the specified key.
+     *
+     * @param key the specified key
+     * @return feed, returns {@code null} if not found
+     */
+    public synchronized PrecompressedContent get(final String key) {
+        return feeds.get(key);
+    }
+
+    /**
+     * Gets the current version, it should be got before generating a feed for {@link #put}.
+     *
+     * @return version
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Puts the specified feed with the specified key.
+     *
+     * @param key     the specified key
+     * @param feed    the specified feed
+     * @param version the version got before generating, the feed is not cached if the cache has been cleared since
+     */
+    public synchronized void put(final String key, final PrecompressedContent feed, final long version) {
+        if (this.version == version) {
+            feeds.put(key, feed);
+        }
+    }
+
+    /**
+     * Clears all feeds.
+     */
+    public synchronized void clear() {
+        version++;
+        feeds.clear();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.wang.solo.util.Solos;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Image derivative (resized variants of uploaded images) disk cache.
+ * <p>
+ * Derivatives are files in dir {@value #DIR} of the upload dir, indexed in memory by name in access order. The index
+ * is loaded from the dir (oldest modified first) on the first use, the least recently used derivatives are deleted
+ * once the total size is over {@code upload.image.cacheSize} (MB, local.properties).
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Named
+@Singleton
+public class ImageDerivativeCache {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ImageDerivativeCache.class);
+
+    /**
+     * Dir name in the upload dir.
+     */
+    public static final String DIR = ".derivatives";
+
+    /**
+     * Default max total size in MB.
+     */
+    private static final int DEFAULT_MAX_SIZE_MB = 256;
+
+    /**
+     * Derivative sizes, &lt;name, size&gt;, least recently used first.
+     */
+    private final Map<String, Long> derivatives = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Total size in bytes.
+     */
+    private long size;
+
+    /**
+     * Max total size in bytes.
+     */
+    private final long maxSize;
+
+    /**
+     * Whether the index has been loaded.
+     */
+    private boolean loaded;
+
+    /**
+     * Public constructor.
+     */
+    public ImageDerivativeCache() {
+        final String value = Latkes.getLocalProperty("upload.image.cacheSize");
+        maxSize = (StringUtils.isBlank(value) ? DEFAULT_MAX_SIZE_MB : Integer.valueOf(value.trim())) * 1024L * 1024L;
+    }
+
+    /**
+     * Gets the dir of derivatives.
+     *
+     * @return dir
+     */
+    public File getDir() {
+        return new File(Solos.UPLOAD_DIR_PATH + DIR);
+    }
+
+    /**
+     * Gets a derivative by the specified name.
+     *
+     * @param name the specified name
+     * @return derivative file, returns {@code null} if not found
+     */
+    public synchronized File get(final String name) {
+        load();
+        if (null == derivatives.get(name)) {
+            return null;
+        }
+
+        final File ret = new File(getDir(), name);
+        if (!ret.isFile()) { // Removed out of the cache
+            size -= derivatives.remove(name);
+
+            return null;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Puts a derivative with the specified name, the file should have been written to the dir, the least recently
+     * used derivatives are deleted if the total size is over the limit.
+     *
+     * @param name the specified name
+     */
+    public synchronized void put(final String name) {
+        load();
+        final Long old = derivatives.put(name, new File(getDir(), name).length());
+        size += derivatives.get(name) - (null == old ? 0 : old);
+        evict();
+    }
+
+    /**
+     * Loads the index from the dir if it has not been loaded.
+     */
+    private void load() {
+        if (loaded) {
+            return;
+        }
+
+        loaded = true;
+        final File[] files = getDir().listFiles(File::isFile);
+        if (null == files) {
+            return;
+        }
+
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (final File file : files) {
+            if (file.getName().startsWith(".")) { // Being generated
+                file.delete();
+
+                continue;
+            }
+
+            derivatives.put(file.getName(), file.length());
+            size += file.length();
+        }
+        evict();
+        LOGGER.log(Level.INFO, "Loaded [" + derivatives.size() + "] image derivatives of [" + size / 1024 + "] KB");
+    }
+
+    /**
+     * Deletes the least recently used derivatives until the total size is under the limit, the most recently used one
+     * is always kept.
+     */
+    private void evict() {
+        final Iterator<Map.Entry<String, Long>> entries = derivatives.entrySet().iterator();
+        while (size > maxSize && 1 < derivatives.size()) {
+            final Map.Entry<String, Long> entry = entries.next();
+            new File(getDir(), entry.getKey()).delete();
+            size -= entry.getValue();
+            entries.remove();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.cache;
+
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.json.JSONObject;
+import org.wang.solo.util.JSONs;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Article listing pagination cache.
+ * <p>
+ * Caches the total record count of a listing (index, tag, archive, author, etc.) and the keyset cursor of the last
+ * article of each rendered page, so that the page number routes could seek to the next page instead of skipping
+ * rows with an offset. Cursors are kept per page size, since callers read the same listing with different sizes.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Named
+@Singleton
+public class PaginationCache {
+
+    /**
+     * Max cached page cursors.
+     */
+    private static final int MAX_CURSOR_CNT = 4096;
+
+    /**
+     * Listing record count cache.
+     */
+    private final Map<String, Integer> countCache = new ConcurrentHashMap<>();
+
+    /**
+     * Page cursor cache, &lt;listing#pageSize#pageNum, cursor&gt;.
+     */
+    private final Map<String, JSONObject> cursorCache = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the record count of the specified listing.
+     *
+     * @param listing the specified listing
+     * @return record count, returns {@code null} if not found
+     */
+    public Integer getCount(final String listing) {
+        return countCache.get(listing);
+    }
+
+    /**
+     * Puts the record count of the specified listing.
+     *
+     * @param listing the specified listing
+     * @param count   the specified record count
+     */
+    public void putCount(final String listing, final int count) {
+        countCache.put(listing, count);
+    }
+
+    /**
+     * Gets the cursor of the last article of the specified page of the specified listing paginated by the specified
+     * page size.
+     *
+     * @param listing  the specified listing
+     * @param pageSize the specified page size
+     * @param pageNum  the specified page number
+     * @return cursor, returns {@code null} if not found
+     */
+    public JSONObject getCursor(final String listing, final int pageSize, final int pageNum) {
+        final JSONObject cursor = cursorCache.get(listing + "#" + pageSize + "#" + pageNum);
+        if (null == cursor) {
+            return null;
+        }
+
+        return JSONs.clone(cursor);
+    }
+
+    /**
+     * Puts the cursor of the last article of the specified page of the specified listing paginated by the specified
+     * page size.
+     *
+     * @param listing  the specified listing
+     * @param pageSize the specified page size
+     * @param pageNum  the specified page number
+     * @param cursor   the specified cursor
+     */
+    public void putCursor(final String listing, final int pageSize, final int pageNum, final JSONObject cursor) {
+        if (null == cursor) {
+            return;
+        }
+
+        if (MAX_CURSOR_CNT < cursorCache.size()) {
+            cursorCache.clear();
+        }
+
+        cursorCache.put(listing + "#" + pageSize + "#" + pageNum, JSONs.clone(cursor));
+    }
+
+    /**
+     * Clears all cached data.
+     */
+    public void clear() {
+        countCache.clear();
+        cursorCache.clear();
+    }
+}
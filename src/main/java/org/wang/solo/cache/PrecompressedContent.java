@@ -0,0 +1,133 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.cache;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Generated content kept with its gzip variant and validators, served by
+ * {@link org.wang.solo.processor.renderer.PrecompressedRenderer}.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public final class PrecompressedContent {
+
+    /**
+     * Content.
+     */
+    private final byte[] content;
+
+    /**
+     * Gzip compressed content, {@code null} if compressing does not make it smaller.
+     */
+    private final byte[] gzipContent;
+
+    /**
+     * Entity tag of the plain content.
+     */
+    private final String etag;
+
+    /**
+     * Last modified time, truncated to seconds as HTTP dates are.
+     */
+    private final long lastModified;
+
+    /**
+     * Constructs a precompressed content with the specified content and last modified time.
+     *
+     * @param content      the specified content
+     * @param lastModified the specified last modified time
+     */
+    public PrecompressedContent(final byte[] content, final long lastModified) {
+        this.content = content;
+        final byte[] gzip = gzip(content);
+        gzipContent = gzip.length < content.length ? gzip : null;
+        etag = "\"" + DigestUtils.md5Hex(content) + "\"";
+        this.lastModified = lastModified / 1000 * 1000;
+    }
+
+    /**
+     * Gets the content.
+     *
+     * @return content
+     */
+    public byte[] getContent() {
+        return content;
+    }
+
+    /**
+     * Gets the gzip compressed content.
+     *
+     * @return gzip compressed content, returns {@code null} if compressing does not make it smaller (images for
+     * example)
+     */
+    public byte[] getGzipContent() {
+        return gzipContent;
+    }
+
+    /**
+     * Gets the entity tag of the plain content.
+     *
+     * @return entity tag, quoted
+     */
+    public String getETag() {
+        return etag;
+    }
+
+    /**
+     * Gets the entity tag of the gzip compressed content, which is a different representation than the plain content.
+     *
+     * @return entity tag, quoted, the entity tag of the plain content with suffix "-gz"
+     */
+    public String getGzipETag() {
+        return StringUtils.removeEnd(etag, "\"") + "-gz\"";
+    }
+
+    /**
+     * Gets the last modified time.
+     *
+     * @return last modified time
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Compresses the specified data with gzip.
+     *
+     * @param data the specified data
+     * @return compressed data
+     */
+    private static byte[] gzip(final byte[] data) {
+        final ByteArrayOutputStream ret = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (final GZIPOutputStream gzip = new GZIPOutputStream(ret)) {
+            gzip.write(data);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e); // Not happen on memory streams
+        }
+
+        return ret.toByteArray();
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.cache;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.json.JSONObject;
+import org.wang.solo.model.Article;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Random article sampler.
+ * <p>
+ * Holds the ids of published articles in a sorted {@code long[]} which is replaced on each write (copy-on-write), so
+ * sampling never locks and never touches the database. Writes only happen on publish, unpublish and remove.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Named
+@Singleton
+public class RandomArticleSampler {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(RandomArticleSampler.class);
+
+    /**
+     * Published article ids, sorted ascending, {@code null} if not built yet.
+     */
+    private volatile long[] ids;
+
+    /**
+     * Determines whether the sampler has been built.
+     *
+     * @return {@code true} if it has been built, returns {@code false} otherwise
+     */
+    public boolean isBuilt() {
+        return null != ids;
+    }
+
+    /**
+     * Rebuilds the sampler with the specified published article ids.
+     *
+     * @param articleIds the specified published article ids
+     */
+    public synchronized void build(final Collection<String> articleIds) {
+        final long[] built = new long[articleIds.size()];
+        int size = 0;
+        for (final String articleId : articleIds) {
+            final Long id = parse(articleId);
+            if (null != id) {
+                built[size++] = id;
+            }
+        }
+
+        final long[] sorted = Arrays.copyOf(built, size);
+        Arrays.sort(sorted);
+        ids = sorted;
+
+        LOGGER.log(Level.DEBUG, "Built random article sampler of [" + size + "] articles");
+    }
+
+    /**
+     * Adds or removes the specified article according to its published state, ignored if the sampler has not been
+     * built or the article misses the published state.
+     *
+     * @param article the specified article
+     */
+    public void put(final JSONObject article) {
+        if (!article.has(Keys.OBJECT_ID) || !article.has(Article.ARTICLE_IS_PUBLISHED)) {
+            return;
+        }
+
+        final String articleId = article.optString(Keys.OBJECT_ID);
+        if (article.optBoolean(Article.ARTICLE_IS_PUBLISHED)) {
+            add(articleId);
+        } else {
+            remove(articleId);
+        }
+    }
+
+    /**
+     * Removes the article specified by the given id.
+     *
+     * @param articleId the given id
+     */
+    public synchronized void remove(final String articleId) {
+        final Long id = parse(articleId);
+        final long[] current = ids;
+        if (null == id || null == current) {
+            return;
+        }
+
+        final int index = Arrays.binarySearch(current, id);
+        if (0 > index) {
+            return;
+        }
+
+        final long[] removed = new long[current.length - 1];
+        System.arraycopy(current, 0, removed, 0, index);
+        System.arraycopy(current, index + 1, removed, index, current.length - index - 1);
+        ids = removed;
+    }
+
+    /**
+     * Clears the sampler, it rebuilds on the next sampling.
+     */
+    public synchronized void clear() {
+        ids = null;
+    }
+
+    /**
+     * Samples article ids randomly with the specified fetch size.
+     *
+     * @param fetchSize the specified fetch size
+     * @return distinct article ids in random order, its size less or equal to the specified fetch size, returns
+     * {@code null} if the sampler has not been built
+     */
+    public List<String> sample(final int fetchSize) {
+        final long[] current = ids;
+        if (null == current) {
+            return null;
+        }
+
+        final int n = current.length;
+        final int k = Math.max(0, Math.min(fetchSize, n));
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        // Floyd's algorithm, picks k distinct indexes in O(k)
+        final Set<Integer> picked = new LinkedHashSet<>();
+        for (int j = n - k; j < n; j++) {
+            final int index = random.nextInt(j + 1);
+            if (!picked.add(index)) {
+                picked.add(j);
+            }
+        }
+
+        final List<String> ret = new ArrayList<>(k);
+        for (final int index : picked) {
+            ret.add(String.valueOf(current[index]));
+        }
+        Collections.shuffle(ret, random);
+
+        return ret;
+    }
+
+    /**
+     * Adds the article specified by the given id.
+     *
+     * @param articleId the given id
+     */
+    private synchronized void add(final String articleId) {
+        final Long id = parse(articleId);
+        final long[] current = ids;
+        if (null == id || null == current) {
+            return;
+        }
+
+        final int index = Arrays.binarySearch(current, id);
+        if (0 <= index) {
+            return;
+        }
+
+        final int insertion = -index - 1;
+        final long[] added = new long[current.length + 1];
+        System.arraycopy(current, 0, added, 0, insertion);
+        added[insertion] = id;
+        System.arraycopy(current, insertion, added, insertion + 1, current.length - insertion);
+        ids = added;
+    }
+
+    /**
+     * Parses the specified article id.
+     *
+     * @param articleId the specified article id
+     * @return parsed id, returns {@code null} if it is not a number
+     */
+    private static Long parse(final String articleId) {
+        try {
+            return Long.valueOf(articleId);
+        } catch (final NumberFormatException e) {
+            LOGGER.log(Level.WARN, "Skips non-numeric article id [" + articleId + "] in random article sampler");
+
+            return null;
+        }
+    }
+}
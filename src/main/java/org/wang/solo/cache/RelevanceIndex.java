@@ -0,0 +1,513 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.json.JSONObject;
+import org.wang.solo.model.Article;
+import org.wang.solo.util.JSONs;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Relevant articles index.
+ * <p>
+ * Each published article is a TF-IDF vector over its tags (weight {@value #TAG_WEIGHT}) and title words (weight
+ * {@value #TITLE_WEIGHT}, see {@link #words(String)}), the relevant articles of an article are the top
+ * {@value #MAX_RELEVANT_CNT} articles by cosine similarity, ordered by similarity descending then id descending. The
+ * lists are built and updated incrementally (when an article is added, updated or removed) on a single background
+ * thread, so updates are applied in order with builds, lookups only read the precomputed lists.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.2.1.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Named
+@Singleton
+public class RelevanceIndex {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(RelevanceIndex.class);
+
+    /**
+     * Max relevant articles kept for each article.
+     */
+    private static final int MAX_RELEVANT_CNT = 32;
+
+    /**
+     * Tag term weight.
+     */
+    private static final double TAG_WEIGHT = 2D;
+
+    /**
+     * Title word term weight.
+     */
+    private static final double TITLE_WEIGHT = 1D;
+
+    /**
+     * Title word pattern, a run of CJK characters (group "cjk") or a run of other letters and digits.
+     */
+    private static final Pattern WORD_PATTERN = Pattern.compile("(?<cjk>[\\p{IsHan}\\p{IsHiragana}\\p{IsKatakana}\\p{IsHangul}]+)"
+            + "|[\\p{L}\\p{N}&&[^\\p{IsHan}\\p{IsHiragana}\\p{IsKatakana}\\p{IsHangul}]]+");
+
+    /**
+     * Indexed documents, &lt;articleId, document&gt;, guarded by this.
+     */
+    private final Map<String, Doc> docs = new HashMap<>();
+
+    /**
+     * Posting lists, &lt;term, articleIds&gt;, guarded by this.
+     */
+    private final Map<String, Set<String>> postings = new HashMap<>();
+
+    /**
+     * Precomputed relevant article ids, &lt;articleId, relevantArticleIds&gt;.
+     */
+    private final Map<String, List<String>> relevants = new ConcurrentHashMap<>();
+
+    /**
+     * Article summaries (title and permalink), &lt;articleId, summary&gt;.
+     */
+    private final Map<String, JSONObject> summaries = new ConcurrentHashMap<>();
+
+    /**
+     * Index updater.
+     */
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(r -> {
+        final Thread ret = new Thread(r, "RelevanceIndexUpdater");
+        ret.setDaemon(true);
+
+        return ret;
+    });
+
+    /**
+     * Whether the index has been built.
+     */
+    private volatile boolean built;
+
+    /**
+     * Whether a build is pending.
+     */
+    private final AtomicBoolean building = new AtomicBoolean();
+
+    /**
+     * Determines whether the index has been built.
+     *
+     * @return {@code true} if it has been built, returns {@code false} otherwise
+     */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Loader of the articles to build the index with.
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        /**
+         * Loads the articles.
+         *
+         * @return articles, each of them contains id, title, tags, permalink and published state
+         * @throws Exception exception
+         */
+        List<JSONObject> load() throws Exception;
+    }
+
+    /**
+     * Rebuilds the index with the articles loaded by the specified loader asynchronously, does nothing if a build is
+     * pending.
+     * <p>
+     * The build runs on the updater thread, so updates submitted during the build are applied after it on the built
+     * index instead of being lost. Lookups keep reading the old lists (none before the first build) until the build
+     * finishes.
+     * </p>
+     *
+     * @param loader the specified loader
+     */
+    public void build(final Loader loader) {
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+
+        updater.submit(() -> {
+            try {
+                build(loader.load());
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Builds relevance index failed", e);
+            } finally {
+                building.set(false);
+            }
+        });
+    }
+
+    /**
+     * Rebuilds the index with the specified articles.
+     *
+     * @param articles the specified articles, each of them contains id, title, tags, permalink and published state
+     */
+    private synchronized void build(final List<JSONObject> articles) {
+        docs.clear();
+        postings.clear();
+        for (final JSONObject article : articles) {
+            if (article.optBoolean(Article.ARTICLE_IS_PUBLISHED)) {
+                index(new Doc(article));
+            }
+        }
+
+        final Map<String, List<String>> lists = new HashMap<>();
+        for (final String id : docs.keySet()) {
+            lists.put(id, compute(id));
+        }
+        summaries.keySet().retainAll(docs.keySet());
+        relevants.keySet().retainAll(lists.keySet());
+        relevants.putAll(lists);
+        built = true;
+
+        LOGGER.log(Level.DEBUG, "Built relevance index of [" + docs.size() + "] articles");
+    }
+
+    /**
+     * Updates the index with the specified article asynchronously, an unpublished article is removed from the index.
+     *
+     * @param article the specified article, ignored if it misses title, tags or published state
+     */
+    public void put(final JSONObject article) {
+        if (!article.has(Keys.OBJECT_ID) || !article.has(Article.ARTICLE_TITLE) || !article.has(Article.ARTICLE_TAGS_REF)
+                || !article.has(Article.ARTICLE_IS_PUBLISHED)) {
+            return;
+        }
+
+        final Doc doc = new Doc(article);
+        if (!article.optBoolean(Article.ARTICLE_IS_PUBLISHED)) {
+            remove(doc.id);
+
+            return;
+        }
+
+        updater.submit(() -> update(doc.id, doc));
+    }
+
+    /**
+     * Removes the article specified by the given id from the index asynchronously.
+     *
+     * @param articleId the given id
+     */
+    public void remove(final String articleId) {
+        updater.submit(() -> update(articleId, null));
+    }
+
+    /**
+     * Clears the index asynchronously, after the updates submitted before. Lookups return nothing until it is built
+     * again.
+     */
+    public void clear() {
+        updater.submit(() -> {
+            synchronized (this) {
+                built = false;
+                docs.clear();
+                postings.clear();
+                relevants.clear();
+                summaries.clear();
+            }
+        });
+    }
+
+    /**
+     * Gets the relevant articles of the article specified by the given id.
+     *
+     * @param articleId the given id
+     * @param fetchSize the specified fetch size
+     * @param seed      the specified shuffle seed, returns the most relevant articles if it is {@code null}, shuffles
+     *                  the top {@code fetchSize * 2} relevant articles with it otherwise
+     * @return relevant articles, each of them contains title and permalink, returns {@code null} if the specified
+     * article is not indexed
+     */
+    public List<JSONObject> get(final String articleId, final int fetchSize, final Long seed) {
+        final List<String> ids = relevants.get(articleId);
+        if (null == ids) {
+            return null;
+        }
+
+        List<String> picked = ids;
+        if (null != seed) {
+            picked = new ArrayList<>(ids.subList(0, Math.min(ids.size(), fetchSize * 2)));
+            Collections.shuffle(picked, new Random(seed));
+        }
+
+        final List<JSONObject> ret = new ArrayList<>();
+        for (final String id : picked) {
+            if (ret.size() >= fetchSize) {
+                break;
+            }
+
+            final JSONObject summary = summaries.get(id);
+            if (null != summary) {
+                ret.add(JSONs.clone(summary));
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Replaces the document of the article specified by the given id and recomputes the relevant articles of it and
+     * of the articles sharing terms with it.
+     *
+     * @param articleId the given id
+     * @param doc       the specified new document, {@code null} to remove
+     */
+    private synchronized void update(final String articleId, final Doc doc) {
+        try {
+            final Doc old = docs.get(articleId);
+            if (null != old && null != doc && old.terms.equals(doc.terms)) {
+                summaries.put(articleId, doc.summary); // Same terms, only the permalink may change
+
+                return;
+            }
+
+            final Set<String> affected = new HashSet<>();
+            if (null != old) {
+                affected.addAll(neighbors(old));
+                unindex(old);
+            }
+            if (null != doc) {
+                index(doc);
+                affected.addAll(neighbors(doc));
+                affected.add(articleId);
+            } else {
+                relevants.remove(articleId);
+            }
+
+            for (final String id : affected) {
+                if (docs.containsKey(id)) {
+                    relevants.put(id, compute(id));
+                }
+            }
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Updates relevance index failed", e);
+        }
+    }
+
+    /**
+     * Computes the relevant article ids of the article specified by the given id.
+     *
+     * @param articleId the given id
+     * @return relevant article ids
+     */
+    private List<String> compute(final String articleId) {
+        final Doc doc = docs.get(articleId);
+        final Map<String, Double> dots = new HashMap<>();
+        for (final Map.Entry<String, Double> term : doc.terms.entrySet()) {
+            final double idf = idf(term.getKey());
+            for (final String id : postings.get(term.getKey())) {
+                if (!id.equals(articleId)) {
+                    final double weight = docs.get(id).terms.get(term.getKey());
+                    dots.merge(id, term.getValue() * weight * idf * idf, Double::sum);
+                }
+            }
+        }
+
+        final double norm = norm(doc);
+        final List<Map.Entry<String, Double>> scores = new ArrayList<>();
+        for (final Map.Entry<String, Double> dot : dots.entrySet()) {
+            dot.setValue(dot.getValue() / (norm * norm(docs.get(dot.getKey()))));
+            scores.add(dot);
+        }
+        scores.sort((s1, s2) -> {
+            final int ret = Double.compare(s2.getValue(), s1.getValue());
+
+            return 0 != ret ? ret : s2.getKey().compareTo(s1.getKey());
+        });
+
+        final List<String> ret = new ArrayList<>();
+        for (int i = 0; i < scores.size() && i < MAX_RELEVANT_CNT; i++) {
+            ret.add(scores.get(i).getKey());
+        }
+
+        return Collections.unmodifiableList(ret);
+    }
+
+    /**
+     * Gets the ids of the articles sharing terms with the specified document.
+     *
+     * @param doc the specified document
+     * @return article ids
+     */
+    private Set<String> neighbors(final Doc doc) {
+        final Set<String> ret = new HashSet<>();
+        for (final String term : doc.terms.keySet()) {
+            final Set<String> ids = postings.get(term);
+            if (null != ids) {
+                ret.addAll(ids);
+            }
+        }
+        ret.remove(doc.id);
+
+        return ret;
+    }
+
+    /**
+     * Adds the specified document to the index.
+     *
+     * @param doc the specified document
+     */
+    private void index(final Doc doc) {
+        docs.put(doc.id, doc);
+        summaries.put(doc.id, doc.summary);
+        for (final String term : doc.terms.keySet()) {
+            postings.computeIfAbsent(term, t -> new HashSet<>()).add(doc.id);
+        }
+    }
+
+    /**
+     * Removes the specified document from the index.
+     *
+     * @param doc the specified document
+     */
+    private void unindex(final Doc doc) {
+        docs.remove(doc.id);
+        summaries.remove(doc.id);
+        for (final String term : doc.terms.keySet()) {
+            final Set<String> ids = postings.get(term);
+            ids.remove(doc.id);
+            if (ids.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Gets the inverse document frequency of the specified term.
+     *
+     * @param term the specified term
+     * @return idf
+     */
+    private double idf(final String term) {
+        final Set<String> ids = postings.get(term);
+
+        return Math.log(1D + (double) docs.size() / (null == ids ? 1 : ids.size()));
+    }
+
+    /**
+     * Gets the TF-IDF vector norm of the specified document.
+     *
+     * @param doc the specified document
+     * @return norm
+     */
+    private double norm(final Doc doc) {
+        double ret = 0D;
+        for (final Map.Entry<String, Double> term : doc.terms.entrySet()) {
+            final double weight = term.getValue() * idf(term.getKey());
+            ret += weight * weight;
+        }
+
+        return Math.sqrt(ret);
+    }
+
+    /**
+     * Gets the words of the specified title, lower cased. Words without spaces between them (Chinese, Japanese and
+     * Korean) are split into overlapping character bigrams, for example "性能优化" into "性能", "能优" and "优化",
+     * other words of a single letter or digit are skipped.
+     *
+     * @param title the specified title
+     * @return words
+     */
+    static List<String> words(final String title) {
+        final List<String> ret = new ArrayList<>();
+        final Matcher matcher = WORD_PATTERN.matcher(title.toLowerCase());
+        while (matcher.find()) {
+            final String word = matcher.group();
+            final int[] codePoints = word.codePoints().toArray();
+            if (null == matcher.group("cjk")) {
+                if (1 < codePoints.length) {
+                    ret.add(word);
+                }
+
+                continue;
+            }
+
+            if (1 == codePoints.length) { // A single character word, "猫" of "猫、狗" for example
+                ret.add(word);
+
+                continue;
+            }
+            for (int i = 0; i < codePoints.length - 1; i++) {
+                ret.add(new String(codePoints, i, 2));
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Indexed document of an article.
+     */
+    private static final class Doc {
+
+        /**
+         * Article id.
+         */
+        private final String id;
+
+        /**
+         * Term weights, &lt;term, weight&gt;.
+         */
+        private final Map<String, Double> terms = new HashMap<>();
+
+        /**
+         * Article summary, title and permalink.
+         */
+        private final JSONObject summary = new JSONObject();
+
+        /**
+         * Constructs a document with the specified article.
+         *
+         * @param article the specified article
+         */
+        private Doc(final JSONObject article) {
+            id = article.optString(Keys.OBJECT_ID);
+            final String title = article.optString(Article.ARTICLE_TITLE);
+            summary.put(Article.ARTICLE_TITLE, title);
+            summary.put(Article.ARTICLE_PERMALINK, article.optString(Article.ARTICLE_PERMALINK));
+
+            for (final String tag : article.optString(Article.ARTICLE_TAGS_REF).split(",")) {
+                if (StringUtils.isNotBlank(tag)) {
+                    terms.merge("t:" + tag.trim().toLowerCase(), TAG_WEIGHT, Double::sum);
+                }
+            }
+            for (final String word : words(title)) {
+                terms.merge("w:" + word, TITLE_WEIGHT, Double::sum);
+            }
+        }
+    }
+}
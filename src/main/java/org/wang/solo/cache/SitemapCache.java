@@ -0,0 +1,141 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.cache;
+
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Child sitemap cache.
+ * <p>
+ * Holds the generated child sitemaps of the sitemap index by name: {@value #PAGES}, {@value #TAGS},
+ * {@value #ARCHIVES} and {@value #ARTICLES}{@code yyyy} (one per created year of articles), a child over the URL limit
+ * of a sitemap is split into {@code <name>-2}, {@code <name>-3}... Writes remove only the children they touch (by name
+ * prefix), a child generated across a removal is served but not cached.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Named
+@Singleton
+public class SitemapCache {
+
+    /**
+     * Navigation pages child name.
+     */
+    public static final String PAGES = "pages";
+
+    /**
+     * Tags child name.
+     */
+    public static final String TAGS = "tags";
+
+    /**
+     * Archives child name.
+     */
+    public static final String ARCHIVES = "archives";
+
+    /**
+     * Articles child name prefix, followed by the created year.
+     */
+    public static final String ARTICLES = "articles-";
+
+    /**
+     * Children, &lt;name, sitemap&gt;.
+     */
+    private final Map<String, PrecompressedContent> children = new HashMap<>();
+
+    /**
+     * Versions of the latest removals, &lt;name prefix, version&gt;.
+     */
+    private final Map<String, Long> removals = new HashMap<>();
+
+    /**
+     * Version, increased on each removal.
+     */
+    private long version;
+
+    /**
+     * Gets the articles child name of the specified created time.
+     *
+     * @param created the specified created time
+     * @return articles child name, for example "articles-2018"
+     */
+    public static String getArticlesName(final long created) {
+        return ARTICLES + DateFormatUtils.format(created, "yyyy");
+    }
+
+    /**
+     * Gets a child sitemap by the specified name.
+     *
+     * @param name the specified name
+     * @return child sitemap, returns {@code null} if not found
+     */
+    public synchronized PrecompressedContent get(final String name) {
+        return children.get(name);
+    }
+
+    /**
+     * Gets the current version, it should be got before generating a child for {@link #put}.
+     *
+     * @return version
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Puts the specified child sitemap with the specified name.
+     *
+     * @param name    the specified name
+     * @param sitemap the specified child sitemap
+     * @param version the version got before generating, the child is not cached if it has been removed since
+     */
+    public synchronized void put(final String name, final PrecompressedContent sitemap, final long version) {
+        for (final Map.Entry<String, Long> removal : removals.entrySet()) {
+            if (removal.getValue() > version && name.startsWith(removal.getKey())) {
+                return;
+            }
+        }
+
+        children.put(name, sitemap);
+    }
+
+    /**
+     * Removes the children whose name starts with the specified prefix.
+     *
+     * @param prefix the specified prefix, for example {@value #TAGS} removes "tags", "tags-2"...
+     */
+    public synchronized void remove(final String prefix) {
+        version++;
+        removals.put(prefix, version);
+        final Iterator<String> names = children.keySet().iterator();
+        while (names.hasNext()) {
+            if (names.next().startsWith(prefix)) {
+                names.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.cache;
+
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.json.JSONObject;
+import org.wang.solo.model.Tag;
+import org.wang.solo.util.JSONs;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.*;
+
+/**
+ * Tag cloud.
+ * <p>
+ * Holds the tags which are referenced by published articles, ordered by published reference count descending then
+ * title (Chinese collation, compared with {@link CollationKey}s computed once per load). Each tag carries its font
+ * bucket ({@value #BUCKET_CNT} buckets of equal width up to the max published reference count), which the tags
+ * templates render as class {@code tags${tagFontBucket}} so {@code Util.buildTags} in common.js keeps it. The cloud is cleared on tag changes and loaded again on the next read, a load
+ * which raced with a clear is served once then dropped.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.1, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Named
+@Singleton
+public class TagCloud {
+
+    /**
+     * Font bucket count.
+     */
+    private static final int BUCKET_CNT = 5;
+
+    /**
+     * Tags, {@code null} if not loaded.
+     */
+    private List<Entry> entries;
+
+    /**
+     * Whether the loaded tags may miss a change.
+     */
+    private boolean stale;
+
+    /**
+     * Version, increased on each clear.
+     */
+    private long version;
+
+    /**
+     * Gets the tags.
+     *
+     * @return tags ordered by published reference count descending then title, returns {@code null} if not loaded
+     */
+    public synchronized List<JSONObject> getTags() {
+        if (null == entries) {
+            return null;
+        }
+
+        final List<JSONObject> ret = new ArrayList<>(entries.size());
+        for (final Entry entry : entries) {
+            ret.add(JSONs.clone(entry.tag));
+        }
+        dropIfStale();
+
+        return ret;
+    }
+
+    /**
+     * Gets the most used tags with the specified number.
+     *
+     * @param num the specified number
+     * @return most used tags ordered by title, returns {@code null} if not loaded
+     */
+    public synchronized List<JSONObject> getMostUsedTags(final int num) {
+        if (null == entries) {
+            return null;
+        }
+
+        final List<Entry> mostUsed = new ArrayList<>(entries.subList(0, Math.min(num, entries.size())));
+        mostUsed.sort(Comparator.comparing(entry -> entry.titleKey));
+        final List<JSONObject> ret = new ArrayList<>(mostUsed.size());
+        for (final Entry entry : mostUsed) {
+            ret.add(JSONs.clone(entry.tag));
+        }
+        dropIfStale();
+
+        return ret;
+    }
+
+    /**
+     * Gets the current version, it should be got before querying for {@link #load}.
+     *
+     * @return version
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Loads the cloud with the specified tags.
+     *
+     * @param tags    the specified tags, all tags
+     * @param version the version got before the query, the cloud is served once only if it has been cleared since
+     */
+    public synchronized void load(final List<JSONObject> tags, final long version) {
+        final Collator collator = Collator.getInstance(Locale.CHINA);
+        final List<Entry> loaded = new ArrayList<>();
+        int max = 0;
+        for (final JSONObject tag : tags) {
+            final int refCnt = tag.optInt(Tag.TAG_PUBLISHED_REFERENCE_COUNT);
+            if (0 < refCnt) {
+                loaded.add(new Entry(JSONs.clone(tag), collator.getCollationKey(tag.optString(Tag.TAG_TITLE))));
+                max = Math.max(max, refCnt);
+            }
+        }
+
+        final int distance = (int) Math.ceil((double) max / BUCKET_CNT);
+        for (final Entry entry : loaded) {
+            final int refCnt = entry.tag.optInt(Tag.TAG_PUBLISHED_REFERENCE_COUNT);
+            entry.tag.put(Tag.TAG_FONT_BUCKET, Math.min(BUCKET_CNT, (refCnt + distance - 1) / distance));
+        }
+        loaded.sort((e1, e2) -> {
+            final int ret = Integer.compare(e2.tag.optInt(Tag.TAG_PUBLISHED_REFERENCE_COUNT),
+                    e1.tag.optInt(Tag.TAG_PUBLISHED_REFERENCE_COUNT));
+
+            return 0 != ret ? ret : e1.titleKey.compareTo(e2.titleKey);
+        });
+
+        entries = loaded;
+        stale = this.version != version;
+    }
+
+    /**
+     * Clears the cloud.
+     */
+    public synchronized void clear() {
+        version++;
+        entries = null;
+    }
+
+    /**
+     * Drops the loaded tags if they are stale.
+     */
+    private void dropIfStale() {
+        if (stale) {
+            entries = null;
+            stale = false;
+        }
+    }
+
+    /**
+     * Tag cloud entry.
+     */
+    private static final class Entry {
+
+        /**
+         * Tag.
+         */
+        private final JSONObject tag;
+
+        /**
+         * Collation key of the tag title.
+         */
+        private final CollationKey titleKey;
+
+        /**
+         * Constructs an entry with the specified tag and title collation key.
+         *
+         * @param tag      the specified tag
+         * @param titleKey the specified title collation key
+         */
+        private Entry(final JSONObject tag, final CollationKey titleKey) {
+            this.tag = tag;
+            this.titleKey = titleKey;
+        }
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.cache;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.json.JSONObject;
+import org.wang.solo.model.Article;
+import org.wang.solo.model.ArticleSummary;
+import org.wang.solo.util.JSONs;
+
+import java.util.*;
+
+/**
+ * Most view count and most comment count articles.
+ * <p>
+ * Each board keeps the top K published articles (K is the largest display count requested) ordered by count
+ * descending, updated time descending then id descending, and is maintained from article writes once they commit. An
+ * article outside a full board only enters it by beating the last one, so the board stays exact until an article in
+ * it drops or leaves; the board can not tell which article comes next then, so it is marked stale and reloaded from
+ * the database on the next read.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.1, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Named
+@Singleton
+public class TopArticles {
+
+    /**
+     * Boards, &lt;countProperty, board&gt;.
+     */
+    private final Map<String, Board> boards = new HashMap<>();
+
+    /**
+     * Public constructor.
+     */
+    public TopArticles() {
+        boards.put(Article.ARTICLE_VIEW_COUNT, new Board(Article.ARTICLE_VIEW_COUNT));
+        boards.put(Article.ARTICLE_COMMENT_COUNT, new Board(Article.ARTICLE_COMMENT_COUNT));
+    }
+
+    /**
+     * Gets the top articles of the board specified by the given count property.
+     *
+     * @param countProperty the given count property, {@link Article#ARTICLE_VIEW_COUNT} or
+     *                      {@link Article#ARTICLE_COMMENT_COUNT}
+     * @param fetchSize     the specified fetch size
+     * @return top articles, returns {@code null} if the board should be reloaded with {@link #load}
+     */
+    public List<JSONObject> get(final String countProperty, final int fetchSize) {
+        return boards.get(countProperty).get(fetchSize);
+    }
+
+    /**
+     * Gets the current version of the board specified by the given count property, it should be got before querying
+     * for {@link #load}.
+     *
+     * @param countProperty the given count property
+     * @return version
+     */
+    public long getVersion(final String countProperty) {
+        return boards.get(countProperty).getVersion();
+    }
+
+    /**
+     * Loads the board specified by the given count property with the specified articles queried from the database.
+     *
+     * @param countProperty the given count property
+     * @param fetchSize     the specified fetch size used in the query
+     * @param articles      the specified articles, ordered
+     * @param version       the version got before the query, the board stays stale if it has been changed since
+     */
+    public void load(final String countProperty, final int fetchSize, final List<JSONObject> articles, final long version) {
+        boards.get(countProperty).load(fetchSize, articles, version);
+    }
+
+    /**
+     * Updates the boards with the specified article.
+     *
+     * @param article the specified article
+     */
+    public void put(final JSONObject article) {
+        for (final Board board : boards.values()) {
+            board.put(article);
+        }
+    }
+
+    /**
+     * Removes the article specified by the given id from the boards.
+     *
+     * @param articleId the given id
+     */
+    public void remove(final String articleId) {
+        for (final Board board : boards.values()) {
+            board.remove(articleId);
+        }
+    }
+
+    /**
+     * Marks all boards stale.
+     */
+    public void clear() {
+        for (final Board board : boards.values()) {
+            board.invalidate();
+        }
+    }
+
+    /**
+     * Top articles of a count property.
+     */
+    private static final class Board {
+
+        /**
+         * Count property.
+         */
+        private final String countProperty;
+
+        /**
+         * Entries ordered by rank.
+         */
+        private final TreeSet<Entry> entries = new TreeSet<>();
+
+        /**
+         * Entries, &lt;articleId, entry&gt;.
+         */
+        private final Map<String, Entry> index = new HashMap<>();
+
+        /**
+         * Capacity, the largest fetch size loaded.
+         */
+        private int capacity;
+
+        /**
+         * Whether the board holds all published articles.
+         */
+        private boolean complete;
+
+        /**
+         * Whether the board should be reloaded.
+         */
+        private boolean stale = true;
+
+        /**
+         * Version, increased on each change.
+         */
+        private long version;
+
+        /**
+         * Constructs a board with the specified count property.
+         *
+         * @param countProperty the specified count property
+         */
+        private Board(final String countProperty) {
+            this.countProperty = countProperty;
+        }
+
+        /**
+         * Gets the top articles.
+         *
+         * @param fetchSize the specified fetch size
+         * @return top articles, returns {@code null} if stale or the fetch size exceeds the capacity
+         */
+        private synchronized List<JSONObject> get(final int fetchSize) {
+            if (stale || (fetchSize > capacity && !complete)) {
+                return null;
+            }
+
+            final List<JSONObject> ret = new ArrayList<>();
+            for (final Entry entry : entries) {
+                if (ret.size() >= fetchSize) {
+                    break;
+                }
+
+                ret.add(JSONs.clone(entry.article));
+            }
+
+            return ret;
+        }
+
+        /**
+         * Gets the version.
+         *
+         * @return version
+         */
+        private synchronized long getVersion() {
+            return version;
+        }
+
+        /**
+         * Loads the board.
+         *
+         * @param fetchSize the specified fetch size
+         * @param articles  the specified articles
+         * @param version   the specified version
+         */
+        private synchronized void load(final int fetchSize, final List<JSONObject> articles, final long version) {
+            entries.clear();
+            index.clear();
+            for (final JSONObject article : articles) {
+                final Entry entry = new Entry(article);
+                entries.add(entry);
+                index.put(entry.id, entry);
+            }
+            capacity = Math.max(fetchSize, 1);
+            complete = articles.size() < fetchSize;
+            stale = this.version != version;
+        }
+
+        /**
+         * Updates the board with the specified article.
+         *
+         * @param article the specified article
+         */
+        private synchronized void put(final JSONObject article) {
+            version++;
+            if (stale) {
+                return;
+            }
+
+            if (!article.has(countProperty) || !article.has(Article.ARTICLE_IS_PUBLISHED)
+                    || !article.has(Article.ARTICLE_UPDATED)) {
+                stale = true;
+
+                return;
+            }
+
+            final String id = article.optString(Keys.OBJECT_ID);
+            if (!article.optBoolean(Article.ARTICLE_IS_PUBLISHED)) {
+                remove(id);
+
+                return;
+            }
+
+            final Entry entry = new Entry(article);
+            final Entry old = index.remove(id);
+            if (null != old) {
+                entries.remove(old);
+                if (!complete && 0 < entry.compareTo(old) && (entries.isEmpty() || 0 < entry.compareTo(entries.last()))) {
+                    stale = true; // Dropped below the last one, an article outside may rank higher now
+
+                    return;
+                }
+            } else if (!complete && entries.size() >= capacity && 0 < entry.compareTo(entries.last())) {
+                return; // Not in the top
+            }
+
+            entries.add(entry);
+            index.put(id, entry);
+            if (entries.size() > capacity) {
+                index.remove(entries.pollLast().id);
+                complete = false;
+            }
+        }
+
+        /**
+         * Removes the article specified by the given id.
+         *
+         * @param articleId the given id
+         */
+        private synchronized void remove(final String articleId) {
+            version++;
+            if (stale) {
+                return;
+            }
+
+            final Entry old = index.remove(articleId);
+            if (null == old) {
+                return;
+            }
+
+            entries.remove(old);
+            if (!complete) {
+                stale = true; // The next one is outside
+            }
+        }
+
+        /**
+         * Marks the board stale.
+         */
+        private synchronized void invalidate() {
+            version++;
+            stale = true;
+        }
+
+        /**
+         * Board entry, ordered by count descending, updated time descending then id descending.
+         */
+        private final class Entry implements Comparable<Entry> {
+
+            /**
+             * Article id.
+             */
+            private final String id;
+
+            /**
+             * Count.
+             */
+            private final int count;
+
+            /**
+             * Updated time.
+             */
+            private final long updated;
+
+            /**
+             * Article summary.
+             */
+            private final JSONObject article = new JSONObject();
+
+            /**
+             * Constructs an entry with the specified article.
+             *
+             * @param article the specified article
+             */
+            private Entry(final JSONObject article) {
+                id = article.optString(Keys.OBJECT_ID);
+                count = article.optInt(countProperty);
+                updated = article.optLong(Article.ARTICLE_UPDATED);
+                for (final String property : ArticleSummary.PROPERTIES.keySet()) {
+                    if (article.has(property)) {
+                        this.article.put(property, article.opt(property));
+                    }
+                }
+            }
+
+            @Override
+            public int compareTo(final Entry entry) {
+                int ret = Integer.compare(entry.count, count);
+                if (0 == ret) {
+                    ret = Long.compare(entry.updated, updated);
+                }
+
+                return 0 != ret ? ret : entry.id.compareTo(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,681 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.filter;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.wang.solo.processor.renderer.PrecompressedRenderer;
+import org.wang.solo.util.Assets;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Gzip response compression filter.
+ * <p>
+ * Compresses the rendered pages, JSON and other textual responses for the clients accepting gzip. A response is
+ * buffered until it grows over {@code gzip.minSize} (local.properties), smaller ones go out as they are. Responses
+ * which encode themselves (precompressed feeds, sitemaps and assets), carry their own validators or ranges, and the
+ * uploaded files are passed through. Deflaters are pooled across requests.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.1.1, Oct 18, 2026
+ * @since 2.9.5
+ */
+public final class GzipFilter implements Filter {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(GzipFilter.class);
+
+    /**
+     * Default min size in bytes of a response to compress.
+     */
+    private static final int DEFAULT_MIN_SIZE = 1024;
+
+    /**
+     * Default compression level.
+     */
+    private static final int DEFAULT_LEVEL = 6;
+
+    /**
+     * Gzip member header, deflate method without flags, modification time and extra flags, unknown OS.
+     */
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    /**
+     * Compressible content types besides text/*.
+     */
+    private static final Set<String> COMPRESSIBLE_TYPES = new HashSet<>(Arrays.asList(
+            "application/json", "application/javascript", "application/x-javascript", "application/xml",
+            "application/rss+xml", "application/atom+xml", "image/svg+xml"));
+
+    /**
+     * Paths passed through.
+     */
+    private static final String[] SKIPPED_PATHS = {"/upload/", Assets.PATH_PREFIX};
+
+    /**
+     * Min size in bytes of a response to compress.
+     */
+    private int minSize;
+
+    /**
+     * Compression level.
+     */
+    private int level;
+
+    /**
+     * Idle deflaters.
+     */
+    private BlockingQueue<Deflater> deflaters;
+
+    @Override
+    public void init(final FilterConfig filterConfig) {
+        final String minSizeConf = Latkes.getLocalProperty("gzip.minSize");
+        minSize = StringUtils.isBlank(minSizeConf) ? DEFAULT_MIN_SIZE : Integer.valueOf(minSizeConf.trim());
+        final String levelConf = Latkes.getLocalProperty("gzip.level");
+        level = StringUtils.isBlank(levelConf) ? DEFAULT_LEVEL : Integer.valueOf(levelConf.trim());
+        deflaters = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+        LOGGER.log(Level.DEBUG, "Compresses responses from [" + minSize + "] bytes with level [" + level + "]");
+    }
+
+    /**
+     * Compresses the response if the client accepts gzip.
+     *
+     * @param request  the specified request
+     * @param response the specified response
+     * @param chain    filter chain
+     * @throws IOException      io exception
+     * @throws ServletException servlet exception
+     */
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+            throws IOException, ServletException {
+        final HttpServletRequest httpServletRequest = (HttpServletRequest) request;
+        final String path = StringUtils.substringAfter(httpServletRequest.getRequestURI(), Latkes.getContextPath());
+        if ("HEAD".equals(httpServletRequest.getMethod()) || StringUtils.startsWithAny(path, SKIPPED_PATHS)
+                || !PrecompressedRenderer.acceptsGzip(httpServletRequest)) {
+            chain.doFilter(request, response);
+
+            return;
+        }
+
+        final GzipResponse gzipResponse = new GzipResponse((HttpServletResponse) response);
+        try {
+            chain.doFilter(request, gzipResponse);
+        } finally {
+            gzipResponse.finish();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        Deflater deflater;
+        while (null != (deflater = deflaters.poll())) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Borrows a deflater from the pool.
+     *
+     * @return deflater
+     */
+    private Deflater borrowDeflater() {
+        final Deflater ret = deflaters.poll();
+
+        return null == ret ? new Deflater(level, true) : ret;
+    }
+
+    /**
+     * Returns the specified deflater to the pool.
+     *
+     * @param deflater the specified deflater
+     */
+    private void returnDeflater(final Deflater deflater) {
+        deflater.reset();
+        if (!deflaters.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Determines whether the specified content type is compressible.
+     *
+     * @param contentType the specified content type, may be {@code null}
+     * @return {@code true} if it is, returns {@code false} otherwise
+     */
+    private static boolean isCompressible(final String contentType) {
+        if (null == contentType) {
+            return false;
+        }
+
+        final String mimeType = StringUtils.substringBefore(contentType, ";").trim().toLowerCase();
+
+        return mimeType.startsWith("text/") || COMPRESSIBLE_TYPES.contains(mimeType);
+    }
+
+    /**
+     * Response compressing its body once it is large enough.
+     */
+    private final class GzipResponse extends HttpServletResponseWrapper {
+
+        /**
+         * Output stream, {@code null} if the body has not been written.
+         */
+        private GzipOutputStream stream;
+
+        /**
+         * Writer, {@code null} if the body is not written by a writer.
+         */
+        private PrintWriter writer;
+
+        /**
+         * Content length set by the application, {@code -1} if unknown.
+         */
+        private long contentLength = -1;
+
+        /**
+         * Whether the application encodes the body itself.
+         */
+        private boolean passThrough;
+
+        /**
+         * Constructs a response wrapping the specified response.
+         *
+         * @param response the specified response
+         */
+        private GzipResponse(final HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (null != writer) {
+                throw new IllegalStateException("getWriter() has been called");
+            }
+
+            if (null == stream) {
+                stream = new GzipOutputStream(this);
+            }
+
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (null == writer) {
+                if (null != stream) {
+                    throw new IllegalStateException("getOutputStream() has been called");
+                }
+
+                stream = new GzipOutputStream(this);
+                writer = new PrintWriter(new OutputStreamWriter(stream, getCharacterEncoding()));
+            }
+
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(final int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(final long len) {
+            if (null != stream && stream.isDecided()) {
+                if (!stream.isCompressing()) {
+                    super.setContentLengthLong(len);
+                }
+
+                return;
+            }
+
+            if (passThrough) {
+                super.setContentLengthLong(len);
+
+                return;
+            }
+
+            contentLength = len;
+        }
+
+        @Override
+        public void setHeader(final String name, final String value) {
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+
+                return;
+            }
+
+            checkPassThrough(name);
+            super.setHeader(name, value);
+        }
+
+        @Override
+        public void addHeader(final String name, final String value) {
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+
+                return;
+            }
+
+            checkPassThrough(name);
+            super.addHeader(name, value);
+        }
+
+        @Override
+        public void setIntHeader(final String name, final int value) {
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                setContentLengthLong(value);
+
+                return;
+            }
+
+            super.setIntHeader(name, value);
+        }
+
+        @Override
+        public void sendError(final int sc) throws IOException {
+            discard();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(final int sc, final String msg) throws IOException {
+            discard();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(final String location) throws IOException {
+            discard();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            contentLength = -1;
+            passThrough = false;
+            if (null != stream) {
+                stream.resetBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (null != stream) {
+                stream.resetBuffer();
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (null != writer) {
+                writer.flush();
+            } else if (null != stream) {
+                stream.flush();
+            }
+
+            if (null == stream || stream.isDecided()) {
+                super.flushBuffer();
+            }
+        }
+
+        /**
+         * Passes the body through if the header of the specified name means that the application encodes it.
+         *
+         * @param name the specified name
+         */
+        private void checkPassThrough(final String name) {
+            if ("Content-Encoding".equalsIgnoreCase(name) || "Content-Range".equalsIgnoreCase(name)
+                    || "ETag".equalsIgnoreCase(name)) {
+                passThrough = true;
+            }
+        }
+
+        /**
+         * Determines whether the body should be compressed.
+         *
+         * @return {@code true} if it should, returns {@code false} otherwise
+         */
+        private boolean shouldCompress() {
+            final int status = getStatus();
+
+            return !passThrough && null == getHeader("Content-Encoding") && isCompressible(getContentType())
+                    && HttpServletResponse.SC_OK <= status && HttpServletResponse.SC_MULTIPLE_CHOICES > status
+                    && HttpServletResponse.SC_NO_CONTENT != status && HttpServletResponse.SC_PARTIAL_CONTENT != status;
+        }
+
+        /**
+         * Drops the buffered body, the response is being replaced.
+         */
+        private void discard() {
+            passThrough = true;
+            if (null != stream) {
+                stream.discard();
+            }
+        }
+
+        /**
+         * Finishes the body.
+         *
+         * @throws IOException io exception
+         */
+        private void finish() throws IOException {
+            if (null != writer) {
+                writer.close();
+            } else if (null != stream) {
+                stream.close();
+            } else if (-1 < contentLength && !isCommitted()) {
+                super.setContentLengthLong(contentLength);
+            }
+        }
+    }
+
+    /**
+     * Output stream buffering the body until it is large enough to compress.
+     */
+    private final class GzipOutputStream extends ServletOutputStream {
+
+        /**
+         * Response.
+         */
+        private final GzipResponse response;
+
+        /**
+         * Body buffered before deciding.
+         */
+        private byte[] buffer;
+
+        /**
+         * Buffered size.
+         */
+        private int count;
+
+        /**
+         * Deflate output buffer.
+         */
+        private byte[] deflated;
+
+        /**
+         * Output stream of the wrapped response, {@code null} before deciding.
+         */
+        private OutputStream out;
+
+        /**
+         * Deflater, {@code null} if not compressing.
+         */
+        private Deflater deflater;
+
+        /**
+         * Checksum of the uncompressed body.
+         */
+        private CRC32 crc;
+
+        /**
+         * Whether the stream has been closed.
+         */
+        private boolean closed;
+
+        /**
+         * Constructs a stream of the specified response.
+         *
+         * @param response the specified response
+         */
+        private GzipOutputStream(final GzipResponse response) {
+            this.response = response;
+            buffer = new byte[minSize];
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+
+            if (!isDecided()) {
+                if (count + len <= buffer.length) {
+                    System.arraycopy(b, off, buffer, count, len);
+                    count += len;
+
+                    return;
+                }
+
+                decide(response.shouldCompress());
+            }
+
+            if (null != deflater) {
+                crc.update(b, off, len);
+                deflater.setInput(b, off, len);
+                while (!deflater.needsInput()) {
+                    deflate(Deflater.NO_FLUSH);
+                }
+            } else {
+                out.write(b, off, len);
+            }
+        }
+
+        /**
+         * Flushes the body written so far, a body under the min size is kept in the buffer.
+         *
+         * @throws IOException io exception
+         */
+        @Override
+        public void flush() throws IOException {
+            if (closed || !isDecided()) {
+                return;
+            }
+
+            if (null != deflater) {
+                while (deflate(Deflater.SYNC_FLUSH) == deflated.length) {
+                    // Output buffer was full, more to flush
+                }
+            }
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            try {
+                if (!isDecided()) {
+                    decide(false);
+                }
+
+                if (null != deflater) {
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        deflate(Deflater.NO_FLUSH);
+                    }
+                    writeInt((int) crc.getValue());
+                    writeInt((int) deflater.getBytesRead());
+                }
+                out.close();
+            } finally {
+                releaseDeflater();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            if (!isDecided() || isCompressing()) { // Buffered or deflated with blocking writes
+                return true;
+            }
+
+            return ((ServletOutputStream) out).isReady();
+        }
+
+        /**
+         * Sets the specified write listener on the wrapped response stream, the body is not compressed then.
+         *
+         * @param writeListener the specified write listener
+         */
+        @Override
+        public void setWriteListener(final WriteListener writeListener) {
+            if (isCompressing()) {
+                throw new IllegalStateException("Non-blocking writes are not supported on a compressing stream");
+            }
+
+            if (!isDecided()) {
+                try {
+                    decide(false);
+                } catch (final IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            ((ServletOutputStream) out).setWriteListener(writeListener);
+        }
+
+        /**
+         * Determines whether the body has been decided to be compressed or not.
+         *
+         * @return {@code true} if it has, returns {@code false} otherwise
+         */
+        private boolean isDecided() {
+            return null != out;
+        }
+
+        /**
+         * Determines whether the body is being compressed.
+         *
+         * @return {@code true} if it is, returns {@code false} otherwise
+         */
+        private boolean isCompressing() {
+            return null != deflater;
+        }
+
+        /**
+         * Clears the buffered body if it has not been decided.
+         */
+        private void resetBuffer() {
+            if (!isDecided()) {
+                count = 0;
+            }
+        }
+
+        /**
+         * Drops the body, nothing is written any more.
+         */
+        private void discard() {
+            closed = true;
+            buffer = null;
+            releaseDeflater();
+        }
+
+        /**
+         * Starts writing the body to the wrapped response, compressed or as it is, with the buffered bytes.
+         *
+         * @param compressing whether to compress
+         * @throws IOException io exception
+         */
+        private void decide(final boolean compressing) throws IOException {
+            final HttpServletResponse wrapped = (HttpServletResponse) response.getResponse();
+            if (compressing) {
+                wrapped.setHeader("Content-Encoding", "gzip");
+                wrapped.addHeader("Vary", "Accept-Encoding");
+                out = wrapped.getOutputStream();
+                out.write(HEADER);
+                deflater = borrowDeflater();
+                deflated = new byte[8192];
+                crc = new CRC32();
+                crc.update(buffer, 0, count);
+                deflater.setInput(buffer, 0, count);
+                while (!deflater.needsInput()) {
+                    deflate(Deflater.NO_FLUSH);
+                }
+            } else {
+                if (-1 < response.contentLength) {
+                    wrapped.setContentLengthLong(response.contentLength);
+                } else if (closed && 0 < count) {
+                    wrapped.setContentLength(count);
+                }
+                out = wrapped.getOutputStream();
+                out.write(buffer, 0, count);
+            }
+
+            buffer = null;
+            count = 0;
+        }
+
+        /**
+         * Deflates the pending input with the specified flush mode and writes the output.
+         *
+         * @param flush the specified flush mode
+         * @return deflated size
+         * @throws IOException io exception
+         */
+        private int deflate(final int flush) throws IOException {
+            final int ret = deflater.deflate(deflated, 0, deflated.length, flush);
+            if (0 < ret) {
+                out.write(deflated, 0, ret);
+            }
+
+            return ret;
+        }
+
+        /**
+         * Writes the specified value in little endian.
+         *
+         * @param value the specified value
+         * @throws IOException io exception
+         */
+        private void writeInt(final int value) throws IOException {
+            out.write(new byte[]{(byte) value, (byte) (value >> 8), (byte) (value >> 16), (byte) (value >> 24)});
+        }
+
+        /**
+         * Returns the deflater to the pool.
+         */
+        private void releaseDeflater() {
+            if (null != deflater) {
+                returnDeflater(deflater);
+                deflater = null;
+            }
+        }
+    }
+}
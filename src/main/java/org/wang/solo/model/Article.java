@@ -25,7 +25,7 @@ import org.jsoup.safety.Whitelist;
  * This class defines all article model relevant keys.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.0.0, Sep 16, 2018
+ * @version 1.2.0.1, Oct 18, 2026
  * @since 0.3.1
  */
 public final class Article {
@@ -142,7 +142,11 @@ public final class Article {
 
     /**
      * Key of random double.
+     *
+     * @deprecated the random column has been dropped since 2.9.5, random articles are sampled by
+     * {@link org.wang.solo.cache.RandomArticleSampler}, this key is only kept to strip it from legacy data
      */
+    @Deprecated
     public static final String ARTICLE_RANDOM_DOUBLE = "articleRandomDouble";
 
     /**
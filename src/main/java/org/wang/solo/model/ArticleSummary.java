@@ -0,0 +1,109 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.model;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.repository.Query;
+import org.json.JSONObject;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class defines the article summary projection, all article properties except {@link Article#ARTICLE_CONTENT}.
+ * <p>
+ * Article list pages (index, tag, archive, author, search and side bar lists) use the summary projection to avoid
+ * loading the article content, the content is only loaded if the article list style is "titleAndContent".
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.1, Oct 18, 2026
+ * @since 2.9.5
+ */
+public final class ArticleSummary {
+
+    /**
+     * Summary properties, &lt;name, type&gt;.
+     */
+    public static final Map<String, Class<?>> PROPERTIES;
+
+    /**
+     * Article list style which needs article content.
+     */
+    private static final String LIST_STYLE_TITLE_AND_CONTENT = "titleAndContent";
+
+    static {
+        final Map<String, Class<?>> properties = new LinkedHashMap<>();
+        properties.put(Keys.OBJECT_ID, String.class);
+        properties.put(Article.ARTICLE_TITLE, String.class);
+        properties.put(Article.ARTICLE_ABSTRACT, String.class);
+        properties.put(Article.ARTICLE_TAGS_REF, String.class);
+        properties.put(Article.ARTICLE_AUTHOR_ID, String.class);
+        properties.put(Article.ARTICLE_COMMENT_COUNT, Integer.class);
+        properties.put(Article.ARTICLE_VIEW_COUNT, Integer.class);
+        properties.put(Article.ARTICLE_PERMALINK, String.class);
+        properties.put(Article.ARTICLE_HAD_BEEN_PUBLISHED, Boolean.class);
+        properties.put(Article.ARTICLE_IS_PUBLISHED, Boolean.class);
+        properties.put(Article.ARTICLE_PUT_TOP, Boolean.class);
+        properties.put(Article.ARTICLE_CREATED, Long.class);
+        properties.put(Article.ARTICLE_UPDATED, Long.class);
+        properties.put(Article.ARTICLE_SIGN_ID, String.class);
+        properties.put(Article.ARTICLE_COMMENTABLE, Boolean.class);
+        properties.put(Article.ARTICLE_VIEW_PWD, String.class);
+        properties.put(Article.ARTICLE_EDITOR_TYPE, String.class);
+
+        PROPERTIES = Collections.unmodifiableMap(properties);
+    }
+
+    /**
+     * Private constructor.
+     */
+    private ArticleSummary() {
+    }
+
+    /**
+     * Adds the summary projection to the specified query.
+     *
+     * @param query the specified query
+     * @return the specified query
+     */
+    public static Query project(final Query query) {
+        for (final Map.Entry<String, Class<?>> property : PROPERTIES.entrySet()) {
+            query.addProjection(property.getKey(), property.getValue());
+        }
+
+        return query;
+    }
+
+    /**
+     * Adds the summary projection to the specified query if the article list style of the specified preference dose
+     * not need article content.
+     *
+     * @param query      the specified query
+     * @param preference the specified preference, loads full articles if it is {@code null}
+     * @return the specified query
+     */
+    public static Query project(final Query query, final JSONObject preference) {
+        if (null == preference || LIST_STYLE_TITLE_AND_CONTENT.equals(preference.optString(Option.ID_C_ARTICLE_LIST_STYLE))) {
+            return query;
+        }
+
+        return project(query);
+    }
+}
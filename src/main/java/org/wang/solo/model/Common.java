@@ -22,7 +22,7 @@ package org.wang.solo.model;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="mailto:dongxu.wang@acm.org">Dongxu Wang</a>
- * @version 1.6.0.0, Sep 12, 2017
+ * @version 1.6.1.0, Oct 18, 2026
  * @since 0.3.1
  */
 public final class Common {
@@ -322,6 +322,16 @@ public final class Common {
      */
     public static final String GRAVATAR = "gravatar";
 
+    /**
+     * Key of pagination cursor.
+     */
+    public static final String PAGINATION_CURSOR = "paginationCursor";
+
+    /**
+     * Key of pagination next cursor.
+     */
+    public static final String PAGINATION_NEXT_CURSOR = "paginationNextCursor";
+
     /**
      * Private constructor.
      */
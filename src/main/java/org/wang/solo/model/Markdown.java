@@ -0,0 +1,62 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.model;
+
+/**
+ * This class defines all markdown source model relevant keys.
+ * <p>
+ * A markdown source is a file in dir markdowns imported as an article, keyed ({@value org.b3log.latke.Keys#OBJECT_ID})
+ * by the SHA-256 hex of its path, so a file changed updates the article imported from it.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public final class Markdown {
+
+    /**
+     * Markdown.
+     */
+    public static final String MARKDOWN = "markdown";
+
+    /**
+     * Key of path relative to dir markdowns.
+     */
+    public static final String MARKDOWN_PATH = "markdownPath";
+
+    /**
+     * Key of id of the article imported.
+     */
+    public static final String MARKDOWN_ARTICLE_ID = "markdownArticleId";
+
+    /**
+     * Key of SHA-256 hex of the content imported.
+     */
+    public static final String MARKDOWN_HASH = "markdownHash";
+
+    /**
+     * Key of imported time.
+     */
+    public static final String MARKDOWN_IMPORTED = "markdownImported";
+
+    /**
+     * Private constructor.
+     */
+    private Markdown() {}
+}
@@ -28,7 +28,7 @@ import java.util.regex.Pattern;
  * This class defines all tag model relevant keys.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.0, Aug 27, 2018
+ * @version 1.1.1.0, Oct 18, 2026
  */
 public final class Tag {
 
@@ -57,6 +57,11 @@ public final class Tag {
      */
     public static final String TAG_PUBLISHED_REFERENCE_COUNT = "tagPublishedRefCount";
 
+    /**
+     * Key of tag font bucket (1 to 5) in tag cloud.
+     */
+    public static final String TAG_FONT_BUCKET = "tagFontBucket";
+
     /**
      * Tag title pattern string.
      */
@@ -0,0 +1,62 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.model;
+
+/**
+ * This class defines all tombstone model relevant keys.
+ * <p>
+ * A tombstone records a removed record (table and id), so an incremental backup can carry the removals since its
+ * watermark. The ids ({@value org.b3log.latke.Keys#OBJECT_ID}) of tombstones are generated in time order.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public final class Tombstone {
+
+    /**
+     * Tombstone.
+     */
+    public static final String TOMBSTONE = "tombstone";
+
+    /**
+     * Tombstones.
+     */
+    public static final String TOMBSTONES = "tombstones";
+
+    /**
+     * Key of table name of the removed record.
+     */
+    public static final String TOMBSTONE_TABLE = "tombstoneTable";
+
+    /**
+     * Key of id of the removed record.
+     */
+    public static final String TOMBSTONE_RECORD_ID = "tombstoneRecordId";
+
+    /**
+     * Key of removed time.
+     */
+    public static final String TOMBSTONE_REMOVED = "tombstoneRemoved";
+
+    /**
+     * Private constructor.
+     */
+    private Tombstone() {}
+}
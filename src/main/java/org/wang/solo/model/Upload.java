@@ -0,0 +1,72 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.model;
+
+/**
+ * This class defines all upload model relevant keys.
+ * <p>
+ * An upload is a file stored in the local upload dir, keyed ({@value org.b3log.latke.Keys#OBJECT_ID}) by the SHA-256
+ * hex of its content, so the same content uploaded again is stored once.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.1.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public final class Upload {
+
+    /**
+     * Upload.
+     */
+    public static final String UPLOAD = "upload";
+
+    /**
+     * Key of path relative to the upload dir.
+     */
+    public static final String UPLOAD_PATH = "uploadPath";
+
+    /**
+     * Key of size in bytes.
+     */
+    public static final String UPLOAD_SIZE = "uploadSize";
+
+    /**
+     * Key of content type.
+     */
+    public static final String UPLOAD_CONTENT_TYPE = "uploadContentType";
+
+    /**
+     * Key of reference count, the count of records (articles, pages...) linking to the file.
+     */
+    public static final String UPLOAD_REF_COUNT = "uploadRefCount";
+
+    /**
+     * Key of created time.
+     */
+    public static final String UPLOAD_CREATED = "uploadCreated";
+
+    /**
+     * Key of latest referenced time.
+     */
+    public static final String UPLOAD_REFERENCED = "uploadReferenced";
+
+    /**
+     * Private constructor.
+     */
+    private Upload() {}
+}
@@ -64,7 +64,7 @@ import java.util.*;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://zephyr.b3log.org">Zephyr</a>
- * @version 1.4.4.5, Sep 20, 2018
+ * @version 1.4.6.0, Oct 18, 2026
  * @since 0.3.1
  */
 @RequestProcessor
@@ -270,6 +270,10 @@ public class ArticleProcessor {
 
     /**
      * Gets relevant articles with the specified context.
+     * <p>
+     * The most relevant articles are returned in a deterministic order, the optional request parameter "seed" (long)
+     * shuffles them deterministically.
+     * </p>
      *
      * @param context  the specified context
      * @param request  the specified request
@@ -304,14 +308,22 @@ public class ArticleProcessor {
             return;
         }
 
-        final JSONObject article = articleQueryService.getArticleById(articleId);
-        if (null == article) {
-            response.sendError(HttpServletResponse.SC_NOT_FOUND);
-
-            return;
+        Long seed = null;
+        final String seedParam = request.getParameter("seed");
+        if (StringUtils.isNotBlank(seedParam) && Strings.isNumeric(seedParam)) {
+            seed = Long.valueOf(seedParam);
         }
 
-        final List<JSONObject> relevantArticles = articleQueryService.getRelevantArticles(article, preference);
+        List<JSONObject> relevantArticles = articleQueryService.getRelevantArticles(articleId, displayCnt, seed);
+        if (null == relevantArticles) { // Not a published article
+            if (null == articleQueryService.getArticleById(articleId)) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+
+                return;
+            }
+
+            relevantArticles = new ArrayList<>();
+        }
         jsonObject.put(Common.RELEVANT_ARTICLES, relevantArticles);
 
         final JSONRenderer renderer = new JSONRenderer();
@@ -354,6 +366,10 @@ public class ArticleProcessor {
 
     /**
      * Gets articles paged with the specified context.
+     * <p>
+     * Specified the optional query parameter "cursor" with the "paginationNextCursor" of the previous page to seek to
+     * the requested page.
+     * </p>
      *
      * @param context the specified context
      * @param request the specified request
@@ -377,6 +393,7 @@ public class ArticleProcessor {
             final JSONObject requestJSONObject = Requests.buildPaginationRequest(pathBuilder.toString());
             requestJSONObject.put(Article.ARTICLE_IS_PUBLISHED, true);
             requestJSONObject.put(Option.ID_C_ENABLE_ARTICLE_UPDATE_HINT, preference.optBoolean(Option.ID_C_ENABLE_ARTICLE_UPDATE_HINT));
+            requestJSONObject.put(Common.PAGINATION_CURSOR, request.getParameter("cursor"));
             final JSONObject result = articleQueryService.getArticles(requestJSONObject);
             final List<JSONObject> articles = org.b3log.latke.util.CollectionUtils.jsonArrayToList(result.getJSONArray(Article.ARTICLES));
             filler.setArticlesExProperties(request, articles, preference);
@@ -396,6 +413,10 @@ public class ArticleProcessor {
 
     /**
      * Gets tag articles paged with the specified context.
+     * <p>
+     * Specified the optional query parameter "cursor" with the "paginationNextCursor" of the previous page to seek to
+     * the requested page.
+     * </p>
      *
      * @param context the specified context
      * @param request the specified request
@@ -428,7 +449,8 @@ public class ArticleProcessor {
 
             final JSONObject tag = tagQueryResult.getJSONObject(Tag.TAG);
             final String tagId = tag.getString(Keys.OBJECT_ID);
-            final List<JSONObject> articles = articleQueryService.getArticlesByTag(tagId, currentPageNum, pageSize);
+            final JSONObject articlesResult = articleQueryService.getArticlesByTag(tagId, currentPageNum, request.getParameter("cursor"), pageSize);
+            final List<JSONObject> articles = org.b3log.latke.util.CollectionUtils.jsonArrayToList(articlesResult.optJSONArray(Article.ARTICLES));
 
             final int tagArticleCount = tag.getInt(Tag.TAG_PUBLISHED_REFERENCE_COUNT);
             final int pageCount = (int) Math.ceil((double) tagArticleCount / (double) pageSize);
@@ -437,6 +459,7 @@ public class ArticleProcessor {
             final JSONObject result = new JSONObject();
             final JSONObject pagination = new JSONObject();
             pagination.put(Pagination.PAGINATION_PAGE_COUNT, pageCount);
+            pagination.put(Common.PAGINATION_NEXT_CURSOR, articlesResult.optString(Common.PAGINATION_NEXT_CURSOR));
             result.put(Pagination.PAGINATION, pagination);
             result.put(Article.ARTICLES, articles);
             jsonObject.put(Keys.RESULTS, result);
@@ -453,7 +476,11 @@ public class ArticleProcessor {
     }
 
     /**
-     * Gets tag articles paged with the specified context.
+     * Gets archive articles paged with the specified context.
+     * <p>
+     * Specified the optional query parameter "cursor" with the "paginationNextCursor" of the previous page to seek to
+     * the requested page.
+     * </p>
      *
      * @param context the specified context
      * @param request the specified request
@@ -483,12 +510,15 @@ public class ArticleProcessor {
             final int articleCount = archiveDate.getInt(ArchiveDate.ARCHIVE_DATE_PUBLISHED_ARTICLE_COUNT);
             final int pageCount = (int) Math.ceil((double) articleCount / (double) pageSize);
 
-            final List<JSONObject> articles = articleQueryService.getArticlesByArchiveDate(archiveDateId, currentPageNum, pageSize);
+            final JSONObject articlesResult = articleQueryService.getArticlesByArchiveDate(archiveDateId, currentPageNum,
+                    request.getParameter("cursor"), pageSize);
+            final List<JSONObject> articles = org.b3log.latke.util.CollectionUtils.jsonArrayToList(articlesResult.optJSONArray(Article.ARTICLES));
             filler.setArticlesExProperties(request, articles, preference);
 
             final JSONObject result = new JSONObject();
             final JSONObject pagination = new JSONObject();
             pagination.put(Pagination.PAGINATION_PAGE_COUNT, pageCount);
+            pagination.put(Common.PAGINATION_NEXT_CURSOR, articlesResult.optString(Common.PAGINATION_NEXT_CURSOR));
             result.put(Pagination.PAGINATION, pagination);
             result.put(Article.ARTICLES, articles);
             jsonObject.put(Keys.RESULTS, result);
@@ -506,6 +536,10 @@ public class ArticleProcessor {
 
     /**
      * Gets author articles paged with the specified context.
+     * <p>
+     * Specified the optional query parameter "cursor" with the "paginationNextCursor" of the previous page to seek to
+     * the requested page.
+     * </p>
      *
      * @param context the specified context
      * @param request the specified request
@@ -534,7 +568,9 @@ public class ArticleProcessor {
 
             final JSONObject author = authorRet.getJSONObject(User.USER);
 
-            final List<JSONObject> articles = articleQueryService.getArticlesByAuthorId(authorId, currentPageNum, pageSize);
+            final JSONObject articlesResult = articleQueryService.getArticlesByAuthorId(authorId, currentPageNum,
+                    request.getParameter("cursor"), pageSize);
+            final List<JSONObject> articles = org.b3log.latke.util.CollectionUtils.jsonArrayToList(articlesResult.optJSONArray(Article.ARTICLES));
             filler.setArticlesExProperties(request, articles, preference);
 
             final int articleCount = author.getInt(UserExt.USER_PUBLISHED_ARTICLE_COUNT);
@@ -543,6 +579,7 @@ public class ArticleProcessor {
             final JSONObject result = new JSONObject();
             final JSONObject pagination = new JSONObject();
             pagination.put(Pagination.PAGINATION_PAGE_COUNT, pageCount);
+            pagination.put(Common.PAGINATION_NEXT_CURSOR, articlesResult.optString(Common.PAGINATION_NEXT_CURSOR));
             result.put(Pagination.PAGINATION, pagination);
             result.put(Article.ARTICLES, articles);
             jsonObject.put(Keys.RESULTS, result);
@@ -609,8 +646,7 @@ public class ArticleProcessor {
             }
 
             final JSONObject author = result.getJSONObject(User.USER);
-            final String authorEmail = author.getString(User.USER_EMAIL);
-            final List<JSONObject> articles = articleQueryService.getArticlesByAuthorId(authorEmail, currentPageNum, pageSize);
+            final List<JSONObject> articles = articleQueryService.getArticlesByAuthorId(authorId, currentPageNum, pageSize);
             if (articles.isEmpty()) {
                 response.sendError(HttpServletResponse.SC_NOT_FOUND);
 
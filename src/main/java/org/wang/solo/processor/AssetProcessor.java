@@ -0,0 +1,94 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.processor;
+
+import jodd.net.MimeTypes;
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.servlet.HTTPRequestContext;
+import org.b3log.latke.servlet.HTTPRequestMethod;
+import org.b3log.latke.servlet.annotation.RequestProcessing;
+import org.b3log.latke.servlet.annotation.RequestProcessor;
+import org.b3log.latke.servlet.renderer.DoNothingRenderer;
+import org.wang.solo.cache.AssetCache;
+import org.wang.solo.cache.PrecompressedContent;
+import org.wang.solo.processor.renderer.PrecompressedRenderer;
+import org.wang.solo.util.Assets;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Static asset processor.
+ * <p>
+ * Serves the fingerprinted asset URLs (/assets/${hash}/${path}, see {@link Assets}) from {@link AssetCache},
+ * gzip compressed ahead of time. An URL whose hash matches the current content is cached by clients for a year
+ * without revalidation, the others (relative references in styles, or pages rendered before the asset changed) are
+ * served with the current content and revalidated.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+@RequestProcessor
+public class AssetProcessor {
+
+    /**
+     * Cache-Control header value of fingerprinted assets.
+     */
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    /**
+     * Asset cache.
+     */
+    @Inject
+    private AssetCache assetCache;
+
+    /**
+     * Returns an asset.
+     *
+     * @param context the specified context
+     * @throws Exception exception
+     */
+    @RequestProcessing(value = "/assets/**", method = {HTTPRequestMethod.GET, HTTPRequestMethod.HEAD})
+    public void getAsset(final HTTPRequestContext context) throws Exception {
+        context.setRenderer(new DoNothingRenderer());
+        final HttpServletResponse response = context.getResponse();
+        final String uri = StringUtils.substringAfter(context.getRequest().getRequestURI(),
+                Latkes.getContextPath() + Assets.PATH_PREFIX);
+        final String hash = StringUtils.substringBefore(uri, "/");
+        final String path = "/" + StringUtils.substringAfter(uri, "/");
+        final PrecompressedContent asset = assetCache.get(path);
+        if (null == asset) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+
+            return;
+        }
+
+        String contentType = MimeTypes.getMimeType(StringUtils.substringAfterLast(path, "."));
+        if (contentType.startsWith("text/") || contentType.endsWith("javascript") || contentType.endsWith("xml")) {
+            contentType += "; charset=UTF-8";
+        }
+        final PrecompressedRenderer renderer = new PrecompressedRenderer(contentType, asset);
+        if (Assets.getHash(asset).equals(hash)) {
+            renderer.setCacheControl(IMMUTABLE);
+        }
+        context.setRenderer(renderer);
+    }
+}
@@ -51,7 +51,7 @@ import java.util.Set;
  * Blog processor.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.1.4, Sep 16, 2018
+ * @version 1.3.1.5, Oct 18, 2026
  * @since 0.4.6
  */
 @RequestProcessor
@@ -229,7 +229,6 @@ public class BlogProcessor {
         excludes.put(Article.ARTICLE_AUTHOR_ID);
         excludes.put(Article.ARTICLE_HAD_BEEN_PUBLISHED);
         excludes.put(Article.ARTICLE_IS_PUBLISHED);
-        excludes.put(Article.ARTICLE_RANDOM_DOUBLE);
 
         requestJSONObject.put(Keys.EXCLUDES, excludes);
 
@@ -17,49 +17,35 @@
  */
 package org.wang.solo.processor;
 
-import org.b3log.latke.Keys;
-import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
-import org.b3log.latke.model.User;
-import org.b3log.latke.repository.*;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.servlet.HTTPRequestContext;
 import org.b3log.latke.servlet.HTTPRequestMethod;
 import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
-import org.b3log.latke.servlet.renderer.AtomRenderer;
-import org.b3log.latke.servlet.renderer.RssRenderer;
-import org.b3log.latke.util.Locales;
-import org.wang.solo.SoloServletListener;
-import org.wang.solo.model.Article;
-import org.wang.solo.model.Option;
-import org.wang.solo.model.atom.Category;
-import org.wang.solo.model.atom.Entry;
-import org.wang.solo.model.atom.Feed;
-import org.wang.solo.model.rss.Channel;
-import org.wang.solo.model.rss.Item;
-import org.wang.solo.repository.ArticleRepository;
-import org.wang.solo.service.ArticleQueryService;
-import org.wang.solo.service.PreferenceQueryService;
-import org.wang.solo.util.Emotions;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
-
+import org.b3log.latke.servlet.renderer.DoNothingRenderer;
+import org.wang.solo.cache.PrecompressedContent;
+import org.wang.solo.model.Category;
+import org.wang.solo.model.Tag;
+import org.wang.solo.processor.renderer.PrecompressedRenderer;
+import org.wang.solo.service.FeedQueryService;
+
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
 
 /**
  * Feed (Atom/RSS) processor.
+ * <p>
+ * Serves the feeds of the blog, a tag ({@code ?tag=<tagTitle>}) or a category ({@code ?category=<categoryURI>}) from
+ * the feed cache with validators and gzip variants.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="https://github.com/feroozkhanchintu">feroozkhanchintu</a>
  * @author <a href="https://github.com/nanolikeyou">nanolikeyou</a>
- * @version 2.0.0.0, Sep 26, 2018
+ * @version 2.1.0.1, Oct 18, 2026
  * @since 0.3.1
  */
 @RequestProcessor
@@ -71,22 +57,10 @@ public class FeedProcessor {
     private static final Logger LOGGER = Logger.getLogger(FeedProcessor.class);
 
     /**
-     * Article query service.
-     */
-    @Inject
-    private ArticleQueryService articleQueryService;
-
-    /**
-     * Article repository.
+     * Feed query service.
      */
     @Inject
-    private ArticleRepository articleRepository;
-
-    /**
-     * Preference query service.
-     */
-    @Inject
-    private PreferenceQueryService preferenceQueryService;
+    private FeedQueryService feedQueryService;
 
     /**
      * Blog articles Atom output.
@@ -96,69 +70,7 @@ public class FeedProcessor {
      */
     @RequestProcessing(value = "/atom.xml", method = {HTTPRequestMethod.GET, HTTPRequestMethod.HEAD})
     public void blogArticlesAtom(final HTTPRequestContext context) throws Exception {
-        final AtomRenderer renderer = new AtomRenderer();
-        context.setRenderer(renderer);
-
-        final Feed feed = new Feed();
-        try {
-            final JSONObject preference = preferenceQueryService.getPreference();
-            final String blogTitle = preference.getString(Option.ID_C_BLOG_TITLE);
-            final String blogSubtitle = preference.getString(Option.ID_C_BLOG_SUBTITLE);
-            final int outputCnt = preference.getInt(Option.ID_C_FEED_OUTPUT_CNT);
-            feed.setTitle(blogTitle);
-            feed.setSubtitle(blogSubtitle);
-            feed.setUpdated(new Date());
-            feed.setAuthor(blogTitle);
-            feed.setLink(Latkes.getServePath() + "/atom.xml");
-            feed.setId(Latkes.getServePath() + "/");
-
-            final List<Filter> filters = new ArrayList<>();
-            filters.add(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true));
-            filters.add(new PropertyFilter(Article.ARTICLE_VIEW_PWD, FilterOperator.EQUAL, ""));
-            final Query query = new Query().setCurrentPageNum(1).setPageSize(outputCnt).
-                    setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters)).
-                    addSort(Article.ARTICLE_UPDATED, SortDirection.DESCENDING).setPageCount(1);
-            final JSONObject articleResult = articleRepository.get(query);
-            final JSONArray articles = articleResult.getJSONArray(Keys.RESULTS);
-            final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
-            for (int i = 0; i < articles.length(); i++) {
-                final Entry entry = getEntry(articles, isFullContent, i);
-                feed.addEntry(entry);
-            }
-
-            renderer.setContent(feed.toString());
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Get blog article feed error", e);
-
-            context.getResponse().sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
-        }
-    }
-
-    private Entry getEntry(final JSONArray articles, final boolean isFullContent, int i)
-            throws JSONException, ServiceException {
-        final JSONObject article = articles.getJSONObject(i);
-        final Entry ret = new Entry();
-        final String title = article.getString(Article.ARTICLE_TITLE);
-        ret.setTitle(title);
-        final String summary = isFullContent ? article.getString(Article.ARTICLE_CONTENT)
-                : article.optString(Article.ARTICLE_ABSTRACT);
-        ret.setSummary(summary);
-        final long updated = article.getLong(Article.ARTICLE_UPDATED);
-        ret.setUpdated(new Date(updated));
-        final String link = Latkes.getServePath() + article.getString(Article.ARTICLE_PERMALINK);
-        ret.setLink(link);
-        ret.setId(link);
-        final String authorName = articleQueryService.getAuthor(article).getString(User.USER_NAME);
-        ret.setAuthor(authorName);
-        final String tagsString = article.getString(Article.ARTICLE_TAGS_REF);
-        final String[] tagStrings = tagsString.split(",");
-        for (final String tagString : tagStrings) {
-            final Category catetory = new Category();
-            ret.addCatetory(catetory);
-            catetory.setTerm(tagString);
-        }
-
-        return ret;
+        renderFeed(context, FeedQueryService.FORMAT_ATOM, "application/atom+xml; charset=UTF-8");
     }
 
     /**
@@ -169,88 +81,34 @@ public class FeedProcessor {
      */
     @RequestProcessing(value = "/rss.xml", method = {HTTPRequestMethod.GET, HTTPRequestMethod.HEAD})
     public void blogArticlesRSS(final HTTPRequestContext context) throws Exception {
-        final HttpServletResponse response = context.getResponse();
-        final RssRenderer renderer = new RssRenderer();
-        context.setRenderer(renderer);
-
-        final Channel channel = new Channel();
+        renderFeed(context, FeedQueryService.FORMAT_RSS, "application/rss+xml; charset=UTF-8");
+    }
 
+    /**
+     * Renders the feed with the specified format.
+     *
+     * @param context     the specified context
+     * @param format      the specified format
+     * @param contentType the specified content type
+     * @throws Exception exception
+     */
+    private void renderFeed(final HTTPRequestContext context, final String format, final String contentType) throws Exception {
+        final HttpServletRequest request = context.getRequest();
+        final HttpServletResponse response = context.getResponse();
+        context.setRenderer(new DoNothingRenderer());
         try {
-            final JSONObject preference = preferenceQueryService.getPreference();
-            if (null == preference) {
+            final PrecompressedContent feed = feedQueryService.getFeed(format, request.getParameter(Tag.TAG), request.getParameter(Category.CATEGORY));
+            if (null == feed) {
                 response.sendError(HttpServletResponse.SC_NOT_FOUND);
-                return;
-            }
-
-            final String blogTitle = preference.getString(Option.ID_C_BLOG_TITLE);
-            final String blogSubtitle = preference.getString(Option.ID_C_BLOG_SUBTITLE);
-            final int outputCnt = preference.getInt(Option.ID_C_FEED_OUTPUT_CNT);
-
-            channel.setTitle(blogTitle);
-            channel.setLastBuildDate(new Date());
-            channel.setLink(Latkes.getServePath());
-            channel.setAtomLink(Latkes.getServePath() + "/rss.xml");
-            channel.setGenerator("Solo, ver " + SoloServletListener.VERSION);
-            final String localeString = preference.getString(Option.ID_C_LOCALE_STRING);
-            final String country = Locales.getCountry(localeString).toLowerCase();
-            final String language = Locales.getLanguage(localeString).toLowerCase();
 
-            channel.setLanguage(language + '-' + country);
-            channel.setDescription(blogSubtitle);
-
-            final List<Filter> filters = new ArrayList<>();
-
-            filters.add(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true));
-            filters.add(new PropertyFilter(Article.ARTICLE_VIEW_PWD, FilterOperator.EQUAL, ""));
-            final Query query = new Query().setPageCount(1).setCurrentPageNum(1).setPageSize(outputCnt).
-                    setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters)).
-                    addSort(Article.ARTICLE_UPDATED, SortDirection.DESCENDING);
-
-            final JSONObject articleResult = articleRepository.get(query);
-            final JSONArray articles = articleResult.getJSONArray(Keys.RESULTS);
-
-            final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
-
-            for (int i = 0; i < articles.length(); i++) {
-                final Item item = getItem(articles, isFullContent, i);
-                channel.addItem(item);
+                return;
             }
 
-            renderer.setContent(channel.toString());
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Get blog article rss error", e);
+            context.setRenderer(new PrecompressedRenderer(contentType, feed));
+        } catch (final ServiceException e) {
+            LOGGER.log(Level.ERROR, "Get blog article " + format + " feed error", e);
 
-            context.getResponse().sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
         }
     }
-
-    private Item getItem(final JSONArray articles, final boolean isFullContent, int i)
-            throws JSONException, ServiceException {
-        final JSONObject article = articles.getJSONObject(i);
-        final Item ret = new Item();
-        String title = article.getString(Article.ARTICLE_TITLE);
-        title = Emotions.toAliases(title);
-        ret.setTitle(title);
-        String description = isFullContent
-                ? article.getString(Article.ARTICLE_CONTENT)
-                : article.optString(Article.ARTICLE_ABSTRACT);
-        description = Emotions.toAliases(description);
-        ret.setDescription(description);
-        final long pubDate = article.getLong(Article.ARTICLE_UPDATED);
-        ret.setPubDate(new Date(pubDate));
-        final String link = Latkes.getServePath() + article.getString(Article.ARTICLE_PERMALINK);
-        ret.setLink(link);
-        ret.setGUID(link);
-        final String authorName = articleQueryService.getAuthor(article).getString(User.USER_NAME);
-        ret.setAuthor(authorName);
-        final String tagsString = article.getString(Article.ARTICLE_TAGS_REF);
-        final String[] tagStrings = tagsString.split(",");
-        for (final String tagString : tagStrings) {
-            final org.wang.solo.model.rss.Category catetory = new org.wang.solo.model.rss.Category();
-            ret.addCatetory(catetory);
-            catetory.setTerm(tagString);
-        }
-
-        return ret;
-    }
 }
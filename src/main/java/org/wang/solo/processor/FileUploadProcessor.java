@@ -23,10 +23,7 @@ import com.qiniu.util.Auth;
 import jodd.io.FileUtil;
 import jodd.io.upload.FileUpload;
 import jodd.io.upload.MultipartStreamParser;
-import jodd.io.upload.impl.MemoryFileUploadFactory;
 import jodd.net.MimeTypes;
-import org.apache.commons.codec.digest.DigestUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.time.DateFormatUtils;
@@ -42,20 +39,30 @@ import org.b3log.latke.servlet.annotation.RequestProcessor;
 import org.b3log.latke.util.URLs;
 import org.wang.solo.SoloServletListener;
 import org.wang.solo.model.Option;
+import org.wang.solo.service.ImageDerivativeService;
 import org.wang.solo.service.OptionQueryService;
+import org.wang.solo.service.UploadMgmtService;
+import org.wang.solo.util.DigestFileUploadFactory;
+import org.wang.solo.util.DigestFileUploadFactory.DigestFileUpload;
 import org.wang.solo.util.Solos;
 import org.json.JSONObject;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * File upload processor.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.2, Aug 2, 2018
+ * @version 1.3.0.1, Oct 18, 2026
  * @since 2.8.0
  */
 @RequestProcessor
@@ -71,6 +78,36 @@ public class FileUploadProcessor {
      */
     private static final Boolean QN_ENABLED = StringUtils.isBlank(Solos.UPLOAD_DIR_PATH);
 
+    /**
+     * Temp dir name (in the upload dir) of files being uploaded.
+     */
+    private static final String TEMP_DIR = ".tmp";
+
+    /**
+     * Default size (bytes) from which a file transfer is counted as large.
+     */
+    private static final int DEFAULT_LARGE_FILE_SIZE = 1024 * 1024;
+
+    /**
+     * Default max count of large file transfers at the same time.
+     */
+    private static final int DEFAULT_MAX_LARGE_TRANSFER_CNT = 8;
+
+    /**
+     * Seconds to wait for a large file transfer slot.
+     */
+    private static final int LARGE_TRANSFER_WAIT_SECONDS = 10;
+
+    /**
+     * Size (bytes) from which a file transfer is counted as large.
+     */
+    private static final long LARGE_FILE_SIZE = getInt("upload.largeFileSize", DEFAULT_LARGE_FILE_SIZE);
+
+    /**
+     * Large file transfer slots.
+     */
+    private static final Semaphore LARGE_TRANSFERS = new Semaphore(getInt("upload.maxLargeTransferCnt", DEFAULT_MAX_LARGE_TRANSFER_CNT));
+
     static {
         if (!QN_ENABLED) {
             final File file = new File(Solos.UPLOAD_DIR_PATH);
@@ -90,12 +127,22 @@ public class FileUploadProcessor {
 
     /**
      * Gets file by the specified URL.
+     * <p>
+     * The ETag and Last-Modified are derived from the file size and modified time, conditional requests (If-None-Match,
+     * If-Modified-Since) are answered before reading any bytes. A single byte range (Range, If-Range) is answered with
+     * 206, the bytes are transferred from the file channel without loading the file into memory, at most
+     * {@value #DEFAULT_MAX_LARGE_TRANSFER_CNT} (configurable) transfers of large files run at the same time.
+     * </p>
+     * <p>
+     * A resized variant of an image is served if one of parameters "preset", "w", "h" and "q" presents, see
+     * {@link ImageDerivativeService} for details, 400 for sizes or qualities which are not whitelisted.
+     * </p>
      *
      * @param req  the specified request
      * @param resp the specified response
      * @throws Exception exception
      */
-    @RequestProcessing(value = "/upload/*", method = HTTPRequestMethod.GET)
+    @RequestProcessing(value = "/upload/**", method = {HTTPRequestMethod.GET, HTTPRequestMethod.HEAD})
     public void getFile(final HttpServletRequest req, final HttpServletResponse resp) throws Exception {
         if (QN_ENABLED) {
             return;
@@ -109,38 +156,225 @@ public class FileUploadProcessor {
         String path = Solos.UPLOAD_DIR_PATH + key;
         path = URLs.decode(path);
 
-        if (!FileUtil.isExistingFile(new File(path))) {
+        File file = new File(path);
+        if (URLs.decode(key).startsWith(".") || !FileUtil.isExistingFile(file) || !isInUploadDir(file)) { // Temp files and derivatives are not served directly
             resp.sendError(HttpServletResponse.SC_NOT_FOUND);
 
             return;
         }
 
-        final byte[] data = IOUtils.toByteArray(new FileInputStream(path));
+        final String preset = req.getParameter("preset");
+        final String width = req.getParameter("w");
+        final String height = req.getParameter("h");
+        final String quality = req.getParameter("q");
+        if (StringUtils.isNotBlank(preset) || StringUtils.isNotBlank(width) || StringUtils.isNotBlank(height) || StringUtils.isNotBlank(quality)) {
+            final ImageDerivativeService imageDerivativeService = Lifecycle.getBeanManager().getReference(ImageDerivativeService.class);
+            final String spec = imageDerivativeService.getSpec(preset, width, height, quality);
+            if (null == spec) {
+                resp.sendError(HttpServletResponse.SC_BAD_REQUEST);
 
-        final String ifNoneMatch = req.getHeader("If-None-Match");
-        final String etag = "\"" + DigestUtils.md5Hex(new String(data)) + "\"";
+                return;
+            }
+
+            file = imageDerivativeService.getDerivative(file, spec);
+        }
+
+        final long length = file.length();
+        final long lastModified = file.lastModified() / 1000 * 1000; // HTTP dates are in seconds
+        final String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
 
         resp.addHeader("Cache-Control", "public, max-age=31536000");
         resp.addHeader("ETag", etag);
+        resp.setDateHeader("Last-Modified", lastModified);
+        resp.setHeader("Accept-Ranges", "bytes");
         resp.setHeader("Server", "Latke Static Server (v" + SoloServletListener.VERSION + ")");
-        final String ext = StringUtils.substringAfterLast(path, ".");
+        final String ext = StringUtils.substringAfterLast(file.getName(), ".");
         final String mimeType = MimeTypes.getMimeType(ext);
         resp.addHeader("Content-Type", mimeType);
 
-        if (etag.equals(ifNoneMatch)) {
+        if (isNotModified(req, etag, lastModified)) {
             resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
 
             return;
         }
 
-        try (final OutputStream output = resp.getOutputStream()) {
-            IOUtils.write(data, output);
-            output.flush();
+        long start = 0;
+        long end = length - 1;
+        final String range = req.getHeader("Range");
+        if (StringUtils.isNotBlank(range) && isRangeApplicable(req, etag, lastModified)) {
+            final long[] bytes = parseRange(range, length);
+            if (null == bytes) {
+                resp.setHeader("Content-Range", "bytes */" + length);
+                resp.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+
+                return;
+            }
+
+            if (0 < bytes.length) {
+                start = bytes[0];
+                end = bytes[1];
+                resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                resp.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        final long count = end - start + 1;
+        resp.setContentLengthLong(count);
+        if ("HEAD".equals(req.getMethod()) || 0 == count) {
+            return;
+        }
+
+        final boolean large = count > LARGE_FILE_SIZE;
+        if (large && !LARGE_TRANSFERS.tryAcquire(LARGE_TRANSFER_WAIT_SECONDS, TimeUnit.SECONDS)) {
+            LOGGER.log(Level.WARN, "Too many large file transfers, rejects [" + key + "]");
+            resp.reset();
+            resp.setHeader("Retry-After", String.valueOf(LARGE_TRANSFER_WAIT_SECONDS));
+            resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+
+            return;
+        }
+
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final WritableByteChannel output = Channels.newChannel(resp.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                final long transferred = channel.transferTo(position, end - position + 1, output);
+                if (0 >= transferred) { // Truncated since stat
+                    break;
+                }
+                position += transferred;
+            }
+            resp.flushBuffer();
+        } catch (final IOException e) {
+            LOGGER.log(Level.DEBUG, "Transfers file [" + key + "] failed: " + e.getMessage()); // Client aborted mostly
+        } finally {
+            if (large) {
+                LARGE_TRANSFERS.release();
+            }
+        }
+    }
+
+    /**
+     * Determines whether the specified file is in the upload dir, guards against "../" in request paths.
+     *
+     * @param file the specified file
+     * @return {@code true} if it is, returns {@code false} otherwise
+     * @throws IOException io exception
+     */
+    private static boolean isInUploadDir(final File file) throws IOException {
+        final String dir = new File(Solos.UPLOAD_DIR_PATH).getCanonicalPath() + File.separator;
+
+        return file.getCanonicalPath().startsWith(dir);
+    }
+
+    /**
+     * Determines whether the file has not been modified since the client got it.
+     *
+     * @param req          the specified request
+     * @param etag         the specified ETag of the file
+     * @param lastModified the specified last modified time of the file
+     * @return {@code true} if not modified, returns {@code false} otherwise
+     */
+    private static boolean isNotModified(final HttpServletRequest req, final String etag, final long lastModified) {
+        final String ifNoneMatch = req.getHeader("If-None-Match");
+        if (null != ifNoneMatch) { // If-Modified-Since is ignored if If-None-Match presents (RFC 7232 3.3)
+            for (final String tag : ifNoneMatch.split(",")) {
+                final String trimmed = StringUtils.removeStart(tag.trim(), "W/");
+                if ("*".equals(trimmed) || etag.equals(trimmed)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        try {
+            final long ifModifiedSince = req.getDateHeader("If-Modified-Since");
+
+            return -1 != ifModifiedSince && lastModified <= ifModifiedSince;
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Determines whether the Range header should be applied, that is no If-Range or the If-Range validator matches.
+     *
+     * @param req          the specified request
+     * @param etag         the specified ETag of the file
+     * @param lastModified the specified last modified time of the file
+     * @return {@code true} if applicable, returns {@code false} otherwise
+     */
+    private static boolean isRangeApplicable(final HttpServletRequest req, final String etag, final long lastModified) {
+        final String ifRange = req.getHeader("If-Range");
+        if (StringUtils.isBlank(ifRange)) {
+            return true;
+        }
+
+        if (ifRange.trim().startsWith("\"")) {
+            return etag.equals(ifRange.trim());
+        }
+
+        try {
+            return lastModified == req.getDateHeader("If-Range");
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Parses the specified Range header value against the specified length.
+     *
+     * @param range  the specified Range header value, for example "bytes=0-499", "bytes=500-" or "bytes=-500"
+     * @param length the specified length
+     * @return {@code [start, end]} (inclusive), an empty array if the range should be ignored (malformed or multiple
+     * ranges, the whole file is sent), returns {@code null} if the range is not satisfiable
+     */
+    static long[] parseRange(final String range, final long length) {
+        final String spec = range.trim();
+        if (!StringUtils.startsWithIgnoreCase(spec, "bytes=") || spec.contains(",")) {
+            return new long[0];
+        }
+
+        final String bytes = spec.substring("bytes=".length()).trim();
+        final String first = StringUtils.substringBefore(bytes, "-").trim();
+        final String last = StringUtils.substringAfter(bytes, "-").trim();
+        if (!bytes.contains("-") || (first.isEmpty() && last.isEmpty())
+                || (!first.isEmpty() && !StringUtils.isNumeric(first)) || (!last.isEmpty() && !StringUtils.isNumeric(last))) {
+            return new long[0];
+        }
+
+        try {
+            if (first.isEmpty()) { // Suffix range
+                final long suffix = Long.parseLong(last);
+                if (0 == suffix || 0 == length) {
+                    return null;
+                }
+
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+
+            final long start = Long.parseLong(first);
+            final long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length) {
+                return null;
+            }
+            if (start > end) {
+                return new long[0];
+            }
+
+            return new long[]{start, end};
+        } catch (final NumberFormatException e) { // Overflow
+            return new long[0];
         }
     }
 
     /**
      * Uploads file.
+     * <p>
+     * Files are streamed into temp files (hashed while writing), then stored by content in the upload dir (see
+     * {@link UploadMgmtService#store}) or put to Qiniu.
+     * </p>
      *
      * @param req the specified reuqest
      * @throws Exception exception
@@ -150,14 +384,34 @@ public class FileUploadProcessor {
         context.renderJSON();
 
         final int maxSize = 1024 * 1024 * 100;
-        final MultipartStreamParser parser = new MultipartStreamParser(new MemoryFileUploadFactory().setMaxFileSize(maxSize));
-        parser.parseRequestStream(req.getInputStream(), "UTF-8");
+        final File tempDir = QN_ENABLED ? new File(System.getProperty("java.io.tmpdir"), "solo-upload") : new File(Solos.UPLOAD_DIR_PATH + TEMP_DIR);
+        final MultipartStreamParser parser = new MultipartStreamParser(new DigestFileUploadFactory(tempDir, maxSize));
+        try {
+            parser.parseRequestStream(req.getInputStream(), "UTF-8");
+            uploadFiles(context, parser);
+        } finally {
+            for (final String fileParamName : parser.getFileParameterNames()) {
+                for (final FileUpload file : parser.getFiles(fileParamName)) {
+                    ((DigestFileUpload) file).delete();
+                }
+            }
+        }
+    }
+
+    /**
+     * Uploads the files parsed by the specified parser.
+     *
+     * @param context the specified context
+     * @param parser  the specified parser
+     */
+    private void uploadFiles(final HTTPRequestContext context, final MultipartStreamParser parser) {
         final List<String> errFiles = new ArrayList();
         final Map<String, String> succMap = new LinkedHashMap<>();
-        final FileUpload[] files = parser.getFiles("file[]");
+        final FileUpload[] files = null == parser.getFiles("file[]") ? new FileUpload[0] : parser.getFiles("file[]");
         final String[] names = parser.getParameterValues("name[]");
         String fileName;
 
+        final LatkeBeanManager beanManager = Lifecycle.getBeanManager();
         Auth auth;
         UploadManager uploadManager = null;
         String uploadToken = null;
@@ -165,7 +419,6 @@ public class FileUploadProcessor {
         final String date = DateFormatUtils.format(System.currentTimeMillis(), "yyyy/MM");
         if (QN_ENABLED) {
             try {
-                final LatkeBeanManager beanManager = Lifecycle.getBeanManager();
                 final OptionQueryService optionQueryService = beanManager.getReference(OptionQueryService.class);
                 qiniu = optionQueryService.getOptions(Option.CATEGORY_C_QINIU);
                 if (null == qiniu) {
@@ -187,12 +440,20 @@ public class FileUploadProcessor {
                 return;
             }
         }
+        final UploadMgmtService uploadMgmtService = beanManager.getReference(UploadMgmtService.class);
 
         for (int i = 0; i < files.length; i++) {
-            final FileUpload file = files[i];
+            final DigestFileUpload file = (DigestFileUpload) files[i];
             String originalName = fileName = file.getHeader().getFileName();
             originalName = originalName.replaceAll("\\W", "");
             try {
+                if (!file.isValid()) {
+                    LOGGER.log(Level.WARN, "Uploads file [" + fileName + "] failed, file too big [" + file.isFileTooBig() + "]");
+                    errFiles.add(originalName);
+
+                    continue;
+                }
+
                 String suffix = StringUtils.substringAfterLast(fileName, ".");
                 final String contentType = file.getHeader().getContentType();
                 if (StringUtils.isBlank(suffix)) {
@@ -204,24 +465,19 @@ public class FileUploadProcessor {
                     }
                 }
 
-                final String name = StringUtils.substringBeforeLast(fileName, ".");
-                final String processName = name.replaceAll("\\W", "");
-                final String uuid = UUID.randomUUID().toString().replaceAll("-", "");
-                fileName = uuid + '_' + processName + "." + suffix;
-
                 if (QN_ENABLED) {
-                    fileName = "file/" + date + "/" + fileName;
+                    final String name = StringUtils.substringBeforeLast(fileName, ".");
+                    final String processName = name.replaceAll("\\W", "");
+                    final String uuid = UUID.randomUUID().toString().replaceAll("-", "");
+                    fileName = "file/" + date + "/" + uuid + '_' + processName + "." + suffix;
                     if (!ArrayUtils.isEmpty(names)) {
                         fileName = names[i];
                     }
-                    uploadManager.put(file.getFileInputStream(), fileName, uploadToken, null, contentType);
+                    uploadManager.put(file.getFile(), fileName, uploadToken, null, contentType, false);
                     succMap.put(originalName, qiniu.optString(Option.ID_C_QINIU_DOMAIN) + "/" + fileName);
                 } else {
-                    try (final OutputStream output = new FileOutputStream(Solos.UPLOAD_DIR_PATH + fileName);
-                         final InputStream input = file.getFileInputStream()) {
-                        IOUtils.copy(input, output);
-                    }
-                    succMap.put(originalName, Latkes.getServePath() + "/upload/" + fileName);
+                    final String path = uploadMgmtService.store(file, suffix.replaceAll("\\W", "").toLowerCase(), contentType);
+                    succMap.put(originalName, Latkes.getServePath() + "/upload/" + path);
                 }
             } catch (final Exception e) {
                 LOGGER.log(Level.WARN, "Uploads file failed", e);
@@ -235,4 +491,20 @@ public class FileUploadProcessor {
         data.put("succMap", succMap);
         context.renderJSONValue("data", data).renderTrueResult();
     }
+
+    /**
+     * Gets an int local property with the specified name.
+     *
+     * @param name         the specified name
+     * @param defaultValue the specified default value, returns it if the property is blank
+     * @return property value
+     */
+    private static int getInt(final String name, final int defaultValue) {
+        final String value = Latkes.getLocalProperty(name);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+
+        return Integer.valueOf(value.trim());
+    }
 }
@@ -17,45 +17,32 @@
  */
 package org.wang.solo.processor;
 
-import org.apache.commons.lang.StringEscapeUtils;
-import org.apache.commons.lang.time.DateFormatUtils;
-import org.b3log.latke.Keys;
+import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
-import org.b3log.latke.repository.FilterOperator;
-import org.b3log.latke.repository.PropertyFilter;
-import org.b3log.latke.repository.Query;
-import org.b3log.latke.repository.SortDirection;
 import org.b3log.latke.servlet.HTTPRequestContext;
 import org.b3log.latke.servlet.HTTPRequestMethod;
 import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
-import org.b3log.latke.servlet.renderer.TextXMLRenderer;
-import org.b3log.latke.util.XMLs;
-import org.wang.solo.model.ArchiveDate;
-import org.wang.solo.model.Article;
-import org.wang.solo.model.Page;
-import org.wang.solo.model.Tag;
-import org.wang.solo.model.sitemap.Sitemap;
-import org.wang.solo.model.sitemap.URL;
-import org.wang.solo.repository.ArchiveDateRepository;
-import org.wang.solo.repository.PageRepository;
-import org.wang.solo.repository.TagRepository;
-import org.wang.solo.repository.impl.ArticleRepositoryImpl;
-import org.wang.solo.service.PreferenceQueryService;
-import org.json.JSONArray;
-import org.json.JSONObject;
+import org.b3log.latke.servlet.renderer.DoNothingRenderer;
+import org.wang.solo.cache.PrecompressedContent;
+import org.wang.solo.processor.renderer.PrecompressedRenderer;
+import org.wang.solo.service.SitemapQueryService;
 
 import javax.servlet.http.HttpServletResponse;
-import java.net.URLEncoder;
+import java.io.PrintWriter;
 
 /**
  * Sitemap processor.
+ * <p>
+ * Serves the sitemap index (/sitemap.xml) and its child sitemaps (/sitemaps/${name}.xml), see
+ * {@link SitemapQueryService} for details.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.2.4, Sep 26, 2018
+ * @version 1.1.0.0, Oct 18, 2026
  * @since 0.3.1
  */
 @RequestProcessor
@@ -67,172 +54,71 @@ public class SitemapProcessor {
     private static final Logger LOGGER = Logger.getLogger(SitemapProcessor.class);
 
     /**
-     * Preference query service.
+     * Sitemap content type.
      */
-    @Inject
-    private PreferenceQueryService preferenceQueryService;
-
-    /**
-     * Article repository.
-     */
-    @Inject
-    private ArticleRepositoryImpl articleRepository;
-
-    /**
-     * Page repository.
-     */
-    @Inject
-    private PageRepository pageRepository;
+    private static final String CONTENT_TYPE = "text/xml; charset=UTF-8";
 
     /**
-     * Tag repository.
+     * Sitemap query service.
      */
     @Inject
-    private TagRepository tagRepository;
+    private SitemapQueryService sitemapQueryService;
 
     /**
-     * Archive date repository.
-     */
-    @Inject
-    private ArchiveDateRepository archiveDateRepository;
-
-    /**
-     * Returns the sitemap.
+     * Returns the sitemap index.
      *
      * @param context the specified context
      * @throws Exception exception
      */
     @RequestProcessing(value = "/sitemap.xml", method = HTTPRequestMethod.GET)
     public void sitemap(final HTTPRequestContext context) throws Exception {
-        final TextXMLRenderer renderer = new TextXMLRenderer();
-
-        context.setRenderer(renderer);
-
-        final Sitemap sitemap = new Sitemap();
+        context.setRenderer(new DoNothingRenderer());
+        final HttpServletResponse response = context.getResponse();
 
         try {
-            addArticles(sitemap);
-            addNavigations(sitemap);
-            addTags(sitemap);
-            addArchives(sitemap);
-
-            LOGGER.log(Level.INFO, "Generating sitemap....");
-            String content = sitemap.toString();
-            content = XMLs.format(content);
-            LOGGER.log(Level.INFO, "Generated sitemap");
-            renderer.setContent(content);
+            response.setContentType(CONTENT_TYPE);
+            final PrintWriter writer = response.getWriter();
+            sitemapQueryService.writeSitemapIndex(writer);
         } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Generates sitemap failed", e);
+            LOGGER.log(Level.ERROR, "Generates sitemap index failed", e);
 
-            context.getResponse().sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
-        }
-    }
-
-    /**
-     * Adds articles into the specified sitemap.
-     *
-     * @param sitemap the specified sitemap
-     * @throws Exception exception
-     */
-    private void addArticles(final Sitemap sitemap) throws Exception {
-        final Query query = new Query().setCurrentPageNum(1).
-                setFilter(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true)).
-                addSort(Article.ARTICLE_CREATED, SortDirection.DESCENDING).
-                addProjection(Article.ARTICLE_PERMALINK, String.class).
-                addProjection(Article.ARTICLE_UPDATED, Long.class);
-        final JSONObject articleResult = articleRepository.get(query);
-        final JSONArray articles = articleResult.getJSONArray(Keys.RESULTS);
-
-        for (int i = 0; i < articles.length(); i++) {
-            final JSONObject article = articles.getJSONObject(i);
-            final String permalink = article.getString(Article.ARTICLE_PERMALINK);
-
-            final URL url = new URL();
-            url.setLoc(StringEscapeUtils.escapeXml(Latkes.getServePath() + permalink));
-            final long updated = article.getLong(Article.ARTICLE_UPDATED);
-            final String lastMod = DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format(updated);
-            url.setLastMod(lastMod);
-
-            sitemap.addURL(url);
-        }
-    }
-
-    /**
-     * Adds navigations into the specified sitemap.
-     *
-     * @param sitemap the specified sitemap
-     * @throws Exception exception
-     */
-    private void addNavigations(final Sitemap sitemap) throws Exception {
-        final JSONObject result = pageRepository.get(new Query());
-        final JSONArray pages = result.getJSONArray(Keys.RESULTS);
-
-        for (int i = 0; i < pages.length(); i++) {
-            final JSONObject page = pages.getJSONObject(i);
-            final String permalink = page.getString(Page.PAGE_PERMALINK);
-
-            final URL url = new URL();
-
-            // The navigation maybe a page or a link
-            // Just filters for user mistakes tolerance
-            if (!permalink.contains("://")) {
-                url.setLoc(Latkes.getServePath() + permalink);
-            } else {
-                url.setLoc(permalink);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
             }
-
-            sitemap.addURL(url);
         }
     }
 
     /**
-     * Adds tags (tag-articles) and tags wall (/tags.html) into the specified sitemap.
+     * Returns a child sitemap.
      *
-     * @param sitemap the specified sitemap
+     * @param context the specified context
      * @throws Exception exception
      */
-    private void addTags(final Sitemap sitemap) throws Exception {
-        final JSONObject result = tagRepository.get(new Query());
-        final JSONArray tags = result.getJSONArray(Keys.RESULTS);
-
-        for (int i = 0; i < tags.length(); i++) {
-            final JSONObject tag = tags.getJSONObject(i);
-            final String link = URLEncoder.encode(tag.getString(Tag.TAG_TITLE), "UTF-8");
-
-            final URL url = new URL();
-
-            url.setLoc(Latkes.getServePath() + "/tags/" + link);
-
-            sitemap.addURL(url);
+    @RequestProcessing(value = "/sitemaps/**", method = {HTTPRequestMethod.GET, HTTPRequestMethod.HEAD})
+    public void childSitemap(final HTTPRequestContext context) throws Exception {
+        context.setRenderer(new DoNothingRenderer());
+        final HttpServletResponse response = context.getResponse();
+        final String path = StringUtils.substringAfter(context.getRequest().getRequestURI(), Latkes.getContextPath() + "/sitemaps/");
+        if (!path.endsWith(".xml")) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+
+            return;
         }
 
-        // Tags wall
-        final URL url = new URL();
-
-        url.setLoc(Latkes.getServePath() + "/tags.html");
-        sitemap.addURL(url);
-    }
-
-    /**
-     * Adds archives (archive-articles) into the specified sitemap.
-     *
-     * @param sitemap the specified sitemap
-     * @throws Exception exception
-     */
-    private void addArchives(final Sitemap sitemap) throws Exception {
-        final JSONObject result = archiveDateRepository.get(new Query());
-        final JSONArray archiveDates = result.getJSONArray(Keys.RESULTS);
-
-        for (int i = 0; i < archiveDates.length(); i++) {
-            final JSONObject archiveDate = archiveDates.getJSONObject(i);
-            final long time = archiveDate.getLong(ArchiveDate.ARCHIVE_TIME);
-            final String dateString = DateFormatUtils.format(time, "yyyy/MM");
+        try {
+            final PrecompressedContent sitemap = sitemapQueryService.getSitemap(StringUtils.removeEnd(path, ".xml"));
+            if (null == sitemap) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
 
-            final URL url = new URL();
+                return;
+            }
 
-            url.setLoc(Latkes.getServePath() + "/archives/" + dateString);
+            context.setRenderer(new PrecompressedRenderer(CONTENT_TYPE, sitemap));
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Generates sitemap [" + path + "] failed", e);
 
-            sitemap.addURL(url);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
         }
     }
 }
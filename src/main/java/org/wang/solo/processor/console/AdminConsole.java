@@ -21,6 +21,7 @@ import jodd.io.ZipUtil;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
 import org.apache.commons.lang.time.DateFormatUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
@@ -33,7 +34,6 @@ import org.b3log.latke.logging.Logger;
 import org.b3log.latke.model.Plugin;
 import org.b3log.latke.model.User;
 import org.b3log.latke.plugin.ViewLoadEventData;
-import org.b3log.latke.repository.jdbc.util.Connections;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.servlet.HTTPRequestContext;
@@ -42,7 +42,7 @@ import org.b3log.latke.servlet.annotation.Before;
 import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
 import org.b3log.latke.servlet.renderer.AbstractFreeMarkerRenderer;
-import org.b3log.latke.util.Execs;
+import org.b3log.latke.servlet.renderer.JSONRenderer;
 import org.b3log.latke.util.Strings;
 import org.wang.solo.SoloServletListener;
 import org.wang.solo.model.Common;
@@ -51,30 +51,30 @@ import org.wang.solo.model.Skin;
 import org.wang.solo.model.UserExt;
 import org.wang.solo.processor.renderer.ConsoleRenderer;
 import org.wang.solo.processor.util.Filler;
+import org.wang.solo.service.BackupService;
 import org.wang.solo.service.ExportService;
+import org.wang.solo.service.ImportService;
+import org.wang.solo.service.IndexService;
 import org.wang.solo.service.OptionQueryService;
 import org.wang.solo.service.PreferenceQueryService;
 import org.wang.solo.service.UserQueryService;
 import org.wang.solo.util.Thumbnails;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.OutputStream;
-import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.Statement;
+import java.io.*;
 import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Admin console render processing.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.7.0.5, Sep 25, 2018
+ * @version 1.8.2.0, Oct 18, 2026
  * @since 0.4.1
  */
 @RequestProcessor
@@ -116,6 +116,24 @@ public class AdminConsole {
     @Inject
     private ExportService exportService;
 
+    /**
+     * Backup service.
+     */
+    @Inject
+    private BackupService backupService;
+
+    /**
+     * Import service.
+     */
+    @Inject
+    private ImportService importService;
+
+    /**
+     * Index service.
+     */
+    @Inject
+    private IndexService indexService;
+
     /**
      * Filler.
      */
@@ -289,8 +307,6 @@ public class AdminConsole {
             return;
         }
 
-        Thread.sleep(550); // 前端会发两次请求，文件名又是按秒生成，所以两次请求需要错开至少 1 秒避免文件名冲突
-
         final Latkes.RuntimeDatabase runtimeDatabase = Latkes.getRuntimeDatabase();
         if (Latkes.RuntimeDatabase.H2 != runtimeDatabase && Latkes.RuntimeDatabase.MYSQL != runtimeDatabase) {
             context.renderJSON().renderMsg("Just support MySQL/H2 export now");
@@ -298,146 +314,229 @@ public class AdminConsole {
             return;
         }
 
-        final String dbUser = Latkes.getLocalProperty("jdbc.username");
-        final String dbPwd = Latkes.getLocalProperty("jdbc.password");
-        final String dbURL = Latkes.getLocalProperty("jdbc.URL");
-        String sql; // exported SQL script
-
-        if (Latkes.RuntimeDatabase.MYSQL == runtimeDatabase) {
-            String db = StringUtils.substringAfterLast(dbURL, "/");
-            db = StringUtils.substringBefore(db, "?");
-
-            try {
-                if (StringUtils.isNotBlank(dbPwd)) {
-                    sql = Execs.exec("mysqldump -u" + dbUser + " -p" + dbPwd + " --databases " + db);
-                } else {
-                    sql = Execs.exec("mysqldump -u" + dbUser + " --databases " + db);
-                }
-            } catch (final Exception e) {
-                LOGGER.log(Level.ERROR, "Export failed", e);
-                context.renderJSON().renderMsg("Export failed, please check log");
+        final String date = DateFormatUtils.format(new Date(), "yyyyMMddHHmmss");
+        response.setContentType("application/zip");
+        final String fileName = "solo-sql-" + date + ".zip";
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
 
-                return;
+        try {
+            // The zip is not finished on failures, so a partially sent one is broken rather than silently incomplete
+            final ZipOutputStream zipOutputStream = new ZipOutputStream(response.getOutputStream());
+            zipOutputStream.putNextEntry(new ZipEntry("solo-" + date + ".sql"));
+            if (0 == exportService.writeSQL(zipOutputStream)) {
+                throw new IllegalStateException("Executing export script returns empty");
             }
-        } else if (Latkes.RuntimeDatabase.H2 == runtimeDatabase) {
-            final Connection connection = Connections.getConnection();
-            final Statement statement = connection.createStatement();
-
-            try {
-                final StringBuilder sqlBuilder = new StringBuilder();
-                final ResultSet resultSet = statement.executeQuery("SCRIPT");
-                while (resultSet.next()) {
-                    final String stmt = resultSet.getString(1);
-                    sqlBuilder.append(stmt).append(Strings.LINE_SEPARATOR);
-                }
-                resultSet.close();
-                statement.close();
+            zipOutputStream.closeEntry();
+            zipOutputStream.close();
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Export failed", e);
 
-                sql = sqlBuilder.toString();
-            } catch (final Exception e) {
-                LOGGER.log(Level.ERROR, "Export failed", e);
+            if (!response.isCommitted()) {
+                response.reset();
                 context.renderJSON().renderMsg("Export failed, please check log");
-
-                return;
-            } finally {
-                if (null != connection) {
-                    connection.close();
-                }
             }
-        } else {
-            context.renderJSON().renderMsg("Just support MySQL/H2 export now");
-
-            return;
         }
+    }
 
-        if (StringUtils.isBlank(sql)) {
-            LOGGER.log(Level.ERROR, "Export failed, executing export script returns empty");
-            context.renderJSON().renderMsg("Export failed, please check log");
+    /**
+     * Exports data as a backup archive (JSON zip file, see {@link BackupService}).
+     * <p>
+     * With parameter "since" (milliseconds), exports a delta archive of the changes since then, for example
+     * /console/export/json?since=1539820800000.
+     * </p>
+     *
+     * @param request  the specified HTTP servlet request
+     * @param response the specified HTTP servlet response
+     * @param context  the specified HTTP request context
+     * @throws Exception exception
+     */
+    @RequestProcessing(value = "/console/export/json", method = HTTPRequestMethod.GET)
+    public void exportJSON(final HttpServletRequest request, final HttpServletResponse response, final HTTPRequestContext context)
+            throws Exception {
+        if (!userQueryService.isAdminLoggedIn(request)) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
 
             return;
         }
 
-        final String tmpDir = System.getProperty("java.io.tmpdir");
+        final long since = NumberUtils.toLong(request.getParameter("since"));
         final String date = DateFormatUtils.format(new Date(), "yyyyMMddHHmmss");
-        String localFilePath = tmpDir + File.separator + "solo-" + date + ".sql";
-        LOGGER.trace(localFilePath);
-        final File localFile = new File(localFilePath);
+        response.setContentType("application/zip");
+        final String fileName = "solo-json-" + date + (0 < since ? "-" + BackupService.DELTA : "") + ".zip";
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
 
         try {
-            final byte[] data = sql.getBytes("UTF-8");
-            try (final OutputStream output = new FileOutputStream(localFile)) {
-                IOUtils.write(data, output);
-            }
+            // The zip is not finished on failures, so a partially sent one is broken rather than silently incomplete
+            final OutputStream outputStream = response.getOutputStream();
+            backupService.writeArchive(outputStream, since);
+            outputStream.close();
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Export failed", e);
 
-            final File zipFile = ZipUtil.zip(localFile);
-            byte[] zipData;
-            try (final FileInputStream inputStream = new FileInputStream(zipFile)) {
-                zipData = IOUtils.toByteArray(inputStream);
+            if (!response.isCommitted()) {
+                response.reset();
+                context.renderJSON().renderMsg("Export failed, please check log");
             }
+        }
+    }
 
-            response.setContentType("application/zip");
-            final String fileName = "solo-sql-" + date + ".zip";
-            response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+    /**
+     * Starts importing the markdown files in dir markdowns.
+     *
+     * @param context the specified http request context
+     */
+    @RequestProcessing(value = "/console/import/markdowns", method = HTTPRequestMethod.POST)
+    @Before(adviceClass = ConsoleAdminAuthAdvice.class)
+    public void importMarkdowns(final HTTPRequestContext context) {
+        final JSONRenderer renderer = new JSONRenderer();
+        context.setRenderer(renderer);
+        final JSONObject ret = new JSONObject();
+        renderer.setJSONObject(ret);
 
-            final ServletOutputStream outputStream = response.getOutputStream();
-            outputStream.write(zipData);
-            outputStream.flush();
-            outputStream.close();
+        final boolean started = importService.importMarkdowns();
+        ret.put(Keys.STATUS_CODE, started);
+        if (!started) {
+            ret.put(Keys.MSG, "An import is running, or dir markdowns is watched");
+        }
+    }
+
+    /**
+     * Imports a WordPress eXtended RSS (WXR) file, the request body is the file, for example,
+     * {@code curl --data-binary @wordpress.xml}. The import runs in background, its progress is got by
+     * {@link #getMarkdownImportProgress(HTTPRequestContext)}.
+     * <p>
+     * Renders the response with a json object, for example,
+     * <pre>
+     * {
+     *     "sc": boolean,
+     *     "msg": "" // if not started
+     * }
+     * </pre>
+     * </p>
+     *
+     * @param request the specified http servlet request
+     * @param context the specified http request context
+     */
+    @RequestProcessing(value = "/console/import/wxr", method = HTTPRequestMethod.POST)
+    @Before(adviceClass = ConsoleAdminAuthAdvice.class)
+    public void importWXR(final HttpServletRequest request, final HTTPRequestContext context) {
+        final JSONRenderer renderer = new JSONRenderer();
+        context.setRenderer(renderer);
+        final JSONObject ret = new JSONObject().put(Keys.STATUS_CODE, false);
+        renderer.setJSONObject(ret);
+
+        File file = null;
+        try {
+            file = File.createTempFile("solo-wxr-", ".xml");
+            try (final InputStream inputStream = request.getInputStream();
+                 final OutputStream outputStream = new FileOutputStream(file)) {
+                IOUtils.copyLarge(inputStream, outputStream);
+            }
+
+            final boolean started = importService.importWXR(file);
+            ret.put(Keys.STATUS_CODE, started);
+            if (!started) {
+                file.delete();
+                ret.put(Keys.MSG, "An import is running");
+            }
         } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Export failed", e);
-            context.renderJSON().renderMsg("Export failed, please check log");
+            LOGGER.log(Level.ERROR, "Imports WXR file failed", e);
 
-            return;
+            if (null != file) {
+                file.delete();
+            }
+            ret.put(Keys.MSG, e.getMessage());
         }
     }
 
     /**
-     * Exports data as JSON zip file.
+     * Gets the progress of the latest markdown or WXR import.
+     * <p>
+     * Renders the response with a json object, for example,
+     * <pre>
+     * {
+     *     "sc": boolean,
+     *     "progress": {} // see ImportService#getProgress(), absent if no import has run
+     * }
+     * </pre>
+     * </p>
      *
-     * @param request  the specified HTTP servlet request
-     * @param response the specified HTTP servlet response
-     * @param context  the specified HTTP request context
-     * @throws Exception exception
+     * @param context the specified http request context
      */
-    @RequestProcessing(value = "/console/export/json", method = HTTPRequestMethod.GET)
-    public void exportJSON(final HttpServletRequest request, final HttpServletResponse response, final HTTPRequestContext context)
-            throws Exception {
-        if (!userQueryService.isAdminLoggedIn(request)) {
-            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+    @RequestProcessing(value = "/console/import/markdowns", method = HTTPRequestMethod.GET)
+    @Before(adviceClass = ConsoleAdminAuthAdvice.class)
+    public void getMarkdownImportProgress(final HTTPRequestContext context) {
+        final JSONRenderer renderer = new JSONRenderer();
+        context.setRenderer(renderer);
+        final JSONObject ret = new JSONObject().put(Keys.STATUS_CODE, true);
+        renderer.setJSONObject(ret);
 
-            return;
+        final JSONObject progress = importService.getProgress();
+        if (null != progress) {
+            ret.put("progress", progress);
         }
+    }
 
-        Thread.sleep(550);
+    /**
+     * Restores backup archives in the backup dir ({@code backup.dir} of local.properties).
+     * <p>
+     * Request json:
+     * <pre>
+     * {
+     *     "names": ["solo-backup-20261018120000-full.zip", "solo-backup-20261019120000-delta.zip", ....]
+     * }
+     * </pre>
+     * The archives are restored in order, without names the latest full archive and the deltas following it are
+     * restored.
+     * </p>
+     *
+     * @param context           the specified http request context
+     * @param requestJSONObject the specified request json object
+     */
+    @RequestProcessing(value = "/console/backup/restore", method = HTTPRequestMethod.POST)
+    @Before(adviceClass = ConsoleAdminAuthAdvice.class)
+    public void restoreBackups(final HTTPRequestContext context, final JSONObject requestJSONObject) {
+        final JSONRenderer renderer = new JSONRenderer();
+        context.setRenderer(renderer);
+        final JSONObject ret = new JSONObject().put(Keys.STATUS_CODE, false);
+        renderer.setJSONObject(ret);
 
-        final String tmpDir = System.getProperty("java.io.tmpdir");
-        final String date = DateFormatUtils.format(new Date(), "yyyyMMddHHmmss");
-        String localFilePath = tmpDir + File.separator + "solo-" + date + ".json";
-        LOGGER.trace(localFilePath);
-        final File localFile = new File(localFilePath);
+        final JSONArray names = requestJSONObject.optJSONArray("names");
+        final List<File> archives = new ArrayList<>();
+        if (null == names || 0 == names.length()) {
+            archives.addAll(backupService.getLatestChain());
+        } else {
+            for (int i = 0; i < names.length(); i++) {
+                final File archive = backupService.getArchive(names.optString(i));
+                if (null == archive) {
+                    ret.put(Keys.MSG, "Backup [" + names.optString(i) + "] is not found");
 
-        try {
-            final JSONObject json = exportService.getJSONs();
-            final byte[] data = json.toString(4).getBytes("UTF-8");
+                    return;
+                }
 
-            try (final OutputStream output = new FileOutputStream(localFile)) {
-                IOUtils.write(data, output);
+                archives.add(archive);
             }
+        }
 
-            try (final FileInputStream inputStream = new FileInputStream(ZipUtil.zip(localFile));
-                 final ServletOutputStream outputStream = response.getOutputStream()) {
-                final byte[] zipData = IOUtils.toByteArray(inputStream);
-                response.setContentType("application/zip");
-                final String fileName = "solo-json-" + date + ".zip";
-                response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
-                outputStream.write(zipData);
-                outputStream.flush();
+        if (archives.isEmpty()) {
+            ret.put(Keys.MSG, "No backup to restore");
+
+            return;
+        }
+
+        try {
+            backupService.restore(archives);
+
+            final List<String> restored = new ArrayList<>();
+            for (final File archive : archives) {
+                restored.add(archive.getName());
             }
+            ret.put(Keys.STATUS_CODE, true);
+            ret.put("names", restored);
         } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Export failed", e);
-            context.renderJSON().renderMsg("Export failed, please check log");
+            LOGGER.log(Level.ERROR, "Restores backups failed", e);
 
-            return;
+            ret.put(Keys.MSG, e.getMessage());
         }
     }
 
@@ -510,6 +609,43 @@ public class AdminConsole {
         }
     }
 
+    /**
+     * Diagnoses the indexes declared in repository.json.
+     * <p>
+     * Renders the response with a json object, for example,
+     * <pre>
+     * {
+     *     "sc": boolean,
+     *     "indexes": [{"table": "", "oId": "", "keys": [""], "exists": boolean}, ....],
+     *     "missing": ["", ....],
+     *     "undeclared": ["", ....],
+     *     "unused": ["", ....],
+     *     "explains": [{"name": "", "sql": "", "plan": [{}, ....]}, ....]
+     * }
+     * </pre>
+     * </p>
+     *
+     * @param context the specified http request context
+     */
+    @RequestProcessing(value = "/console/diagnostic/indexes", method = HTTPRequestMethod.GET)
+    @Before(adviceClass = ConsoleAdminAuthAdvice.class)
+    public void diagnoseIndexes(final HTTPRequestContext context) {
+        final JSONRenderer renderer = new JSONRenderer();
+        context.setRenderer(renderer);
+
+        try {
+            final JSONObject result = indexService.diagnose();
+            result.put(Keys.STATUS_CODE, true);
+            renderer.setJSONObject(result);
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Diagnoses indexes failed", e);
+
+            final JSONObject jsonObject = new JSONObject().put(Keys.STATUS_CODE, false);
+            renderer.setJSONObject(jsonObject);
+            jsonObject.put(Keys.MSG, e.getMessage());
+        }
+    }
+
     /**
      * Fires FreeMarker action event with the host template name and data model.
      *
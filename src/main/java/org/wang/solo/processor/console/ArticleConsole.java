@@ -54,7 +54,7 @@ import java.util.stream.Collectors;
  * Article console request processing.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.1.3, Sep 25, 2018
+ * @version 1.1.1.4, Oct 18, 2026
  * @since 0.4.0
  */
 @RequestProcessor
@@ -282,7 +282,6 @@ public class ArticleConsole {
             excludes.put(Article.ARTICLE_AUTHOR_ID);
             excludes.put(Article.ARTICLE_HAD_BEEN_PUBLISHED);
             excludes.put(Article.ARTICLE_IS_PUBLISHED);
-            excludes.put(Article.ARTICLE_RANDOM_DOUBLE);
             requestJSONObject.put(Keys.EXCLUDES, excludes);
 
             final String keyword = StringUtils.trim(request.getParameter("k"));
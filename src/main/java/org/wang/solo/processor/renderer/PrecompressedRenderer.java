@@ -0,0 +1,181 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.processor.renderer;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.servlet.HTTPRequestContext;
+import org.b3log.latke.servlet.renderer.AbstractHTTPResponseRenderer;
+import org.wang.solo.cache.PrecompressedContent;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Precompressed content renderer.
+ * <p>
+ * Renders content generated ahead of time: answers 304 if the request validators (If-None-Match, If-Modified-Since)
+ * match, otherwise writes the gzip variant if the client accepts it, the plain bytes if not, no body for HEAD. The
+ * gzip variant is tagged with its own entity tag ({@link PrecompressedContent#getGzipETag()}), both of the tags are
+ * matched against If-None-Match since they identify the same content.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.4.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public final class PrecompressedRenderer extends AbstractHTTPResponseRenderer {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(PrecompressedRenderer.class);
+
+    /**
+     * Content type.
+     */
+    private final String contentType;
+
+    /**
+     * Content.
+     */
+    private final PrecompressedContent content;
+
+    /**
+     * Cache-Control header value.
+     */
+    private String cacheControl = "public, max-age=0, must-revalidate";
+
+    /**
+     * Constructs a renderer with the specified content type and content.
+     *
+     * @param contentType the specified content type
+     * @param content     the specified content
+     */
+    public PrecompressedRenderer(final String contentType, final PrecompressedContent content) {
+        this.contentType = contentType;
+        this.content = content;
+    }
+
+    /**
+     * Sets the Cache-Control header value.
+     *
+     * @param cacheControl the specified Cache-Control header value
+     */
+    public void setCacheControl(final String cacheControl) {
+        this.cacheControl = cacheControl;
+    }
+
+    @Override
+    public void render(final HTTPRequestContext context) {
+        final HttpServletRequest request = context.getRequest();
+        final HttpServletResponse response = context.getResponse();
+
+        final boolean gzip = null != content.getGzipContent() && acceptsGzip(request);
+        response.setHeader("ETag", gzip ? content.getGzipETag() : content.getETag());
+        response.setDateHeader("Last-Modified", content.getLastModified());
+        response.setHeader("Cache-Control", cacheControl);
+        response.setHeader("Vary", "Accept-Encoding");
+        if (isNotModified(request)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+
+            return;
+        }
+
+        response.setContentType(contentType);
+        byte[] body = content.getContent();
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+            body = content.getGzipContent();
+        }
+        response.setContentLength(body.length);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        try (final OutputStream outputStream = response.getOutputStream()) {
+            outputStream.write(body);
+            outputStream.flush();
+        } catch (final IOException e) {
+            LOGGER.log(Level.DEBUG, "Renders precompressed content failed: " + e.getMessage()); // Client aborted mostly
+        }
+    }
+
+    /**
+     * Determines whether the content has not been modified since the client got it.
+     *
+     * @param request the specified request
+     * @return {@code true} if not modified, returns {@code false} otherwise
+     */
+    private boolean isNotModified(final HttpServletRequest request) {
+        final String ifNoneMatch = request.getHeader("If-None-Match");
+        if (null != ifNoneMatch) { // If-Modified-Since is ignored if If-None-Match presents (RFC 7232 3.3)
+            for (final String tag : ifNoneMatch.split(",")) {
+                final String trimmed = StringUtils.removeStart(tag.trim(), "W/");
+                if ("*".equals(trimmed) || content.getETag().equals(trimmed) || content.getGzipETag().equals(trimmed)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        try {
+            final long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+
+            return -1 != ifModifiedSince && content.getLastModified() <= ifModifiedSince;
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Determines whether the client accepts gzip encoding.
+     *
+     * @param request the specified request
+     * @return {@code true} if accepts, returns {@code false} otherwise
+     */
+    public static boolean acceptsGzip(final HttpServletRequest request) {
+        final String acceptEncoding = request.getHeader("Accept-Encoding");
+        if (StringUtils.isBlank(acceptEncoding)) {
+            return false;
+        }
+
+        for (final String coding : acceptEncoding.split(",")) {
+            final String[] parts = coding.trim().split(";");
+            if (!"gzip".equalsIgnoreCase(parts[0].trim()) && !"*".equals(parts[0].trim())) {
+                continue;
+            }
+
+            for (int i = 1; i < parts.length; i++) {
+                final String param = parts[i].replace(" ", "");
+                if (param.startsWith("q=") && 0 == NumberUtils.toDouble(param.substring(2), 1)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -19,7 +19,6 @@ package org.wang.solo.processor.util;
 
 import freemarker.template.Template;
 import org.apache.commons.lang.StringUtils;
-import org.apache.commons.lang.time.DateFormatUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.event.Event;
@@ -33,6 +32,8 @@ import org.b3log.latke.model.Plugin;
 import org.b3log.latke.model.User;
 import org.b3log.latke.plugin.ViewLoadEventData;
 import org.b3log.latke.repository.*;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.latke.repository.jdbc.JdbcTransaction;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
@@ -49,7 +50,10 @@ import org.wang.solo.util.*;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.wang.solo.model.Article.ARTICLE_CONTENT;
 
@@ -58,7 +62,7 @@ import static org.wang.solo.model.Article.ARTICLE_CONTENT;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 1.6.16.9, Sep 25, 2018
+ * @version 1.6.20.2, Oct 18, 2026
  * @since 0.3.1
  */
 @Service
@@ -74,6 +78,41 @@ public class Filler {
      */
     private static final boolean PUBLISHED = true;
 
+    /**
+     * Default widget loader thread count.
+     */
+    private static final int DEFAULT_WIDGET_THREAD_CNT = 4;
+
+    /**
+     * Default widget timeout in milliseconds.
+     */
+    private static final int DEFAULT_WIDGET_TIMEOUT_MILLIS = 2000;
+
+    /**
+     * Widget timeout in milliseconds.
+     */
+    private static final long WIDGET_TIMEOUT_MILLIS = getInt("filler.widgetTimeoutMillis", DEFAULT_WIDGET_TIMEOUT_MILLIS);
+
+    /**
+     * Widget loader, loads the widgets of a page concurrently. Each thread holds a database connection while loading,
+     * so {@code filler.threadCnt} (local.properties) should be less than {@code jdbc.maxConnCnt}.
+     */
+    private static final ExecutorService WIDGET_LOADER;
+
+    static {
+        final int threadCnt = getInt("filler.threadCnt", DEFAULT_WIDGET_THREAD_CNT);
+        final AtomicInteger threadNum = new AtomicInteger();
+        final ThreadPoolExecutor widgetLoader = new ThreadPoolExecutor(threadCnt, threadCnt, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threadCnt * 16), r -> {
+            final Thread ret = new Thread(r, "FillerWidgetLoader-" + threadNum.incrementAndGet());
+            ret.setDaemon(true);
+
+            return ret;
+        });
+        widgetLoader.allowCoreThreadTimeOut(true);
+        WIDGET_LOADER = widgetLoader;
+    }
+
     /**
      * Topbar utilities.
      */
@@ -146,12 +185,6 @@ public class Filler {
     @Inject
     private ArticleQueryService articleQueryService;
 
-    /**
-     * Tag query service.
-     */
-    @Inject
-    private TagQueryService tagQueryService;
-
     /**
      * User query service.
      */
@@ -197,8 +230,7 @@ public class Filler {
             final int publishedArticleCnt = statistic.getInt(Option.ID_C_STATISTIC_PUBLISHED_ARTICLE_COUNT);
             final int pageCount = (int) Math.ceil((double) publishedArticleCnt / (double) pageSize);
 
-            final Query query = new Query().setCurrentPageNum(currentPageNum).setPageSize(pageSize).setPageCount(pageCount).setFilter(
-                    new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, PUBLISHED));
+            final Query query = new Query().setFilter(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, PUBLISHED));
 
             final Template template = Skins.getSkinTemplate(request, "index.ftl");
             boolean isArticles1 = false;
@@ -220,6 +252,8 @@ public class Filler {
                 }
 
             query.index(Article.ARTICLE_PERMALINK);
+            ArticleSummary.project(query, preference);
+            final String listing = "index:" + query.getSorts().keySet();
 
             final List<Integer> pageNums = Paginator.paginate(currentPageNum, pageSize, pageCount, windowSize);
             if (0 != pageNums.size()) {
@@ -230,7 +264,8 @@ public class Filler {
             dataModel.put(Pagination.PAGINATION_PAGE_COUNT, pageCount);
             dataModel.put(Pagination.PAGINATION_PAGE_NUMS, pageNums);
 
-            final List<JSONObject> articles = articleRepository.getList(query);
+            final JSONObject result = articleQueryService.getArticlesPage(listing, query, currentPageNum, null, pageSize);
+            final List<JSONObject> articles = CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS));
             setArticlesExProperties(request, articles, preference);
 
             if (!isArticles1) {
@@ -241,9 +276,6 @@ public class Filler {
         } catch (final JSONException e) {
             LOGGER.log(Level.ERROR, "Fills index articles failed", e);
             throw new ServiceException(e);
-        } catch (final RepositoryException e) {
-            LOGGER.log(Level.ERROR, "Fills index articles failed", e);
-            throw new ServiceException(e);
         } finally {
             Stopwatchs.end();
         }
@@ -271,7 +303,6 @@ public class Filler {
         } finally {
             Stopwatchs.end();
         }
-        Stopwatchs.end();
     }
 
     /**
@@ -283,23 +314,15 @@ public class Filler {
     public void fillTags(final Map<String, Object> dataModel) throws ServiceException {
         Stopwatchs.start("Fill Tags");
         try {
-            final List<JSONObject> tags = tagQueryService.getTags();
-
-            tagQueryService.removeForUnpublishedArticles(tags);
-            Collections.sort(tags, Comparator.comparingInt(t -> -t.optInt(Tag.TAG_REFERENCE_COUNT)));
+            final List<JSONObject> tags = tagRepository.getCloudTags();
 
             dataModel.put(Tag.TAGS, tags);
-        } catch (final JSONException e) {
-            LOGGER.log(Level.ERROR, "Fills tags failed", e);
-            throw new ServiceException(e);
         } catch (final RepositoryException e) {
-            LOGGER.log(Level.ERROR, "Fills tagss failed", e);
+            LOGGER.log(Level.ERROR, "Fills tags failed", e);
             throw new ServiceException(e);
         } finally {
             Stopwatchs.end();
         }
-
-        Stopwatchs.end();
     }
 
     /**
@@ -343,8 +366,6 @@ public class Filler {
 
             final List<JSONObject> tags = tagRepository.getMostUsedTags(mostUsedTagDisplayCnt);
 
-            tagQueryService.removeForUnpublishedArticles(tags);
-
             dataModel.put(Common.MOST_USED_TAGS, tags);
         } catch (final JSONException e) {
             LOGGER.log(Level.ERROR, "Fills most used tags failed", e);
@@ -369,56 +390,10 @@ public class Filler {
 
         try {
             LOGGER.debug("Filling archive dates....");
-            final List<JSONObject> archiveDates = archiveDateRepository.getArchiveDates();
-            final List<JSONObject> archiveDates2 = new ArrayList<JSONObject>();
-
-            dataModel.put(ArchiveDate.ARCHIVE_DATES, archiveDates2);
-
-            if (archiveDates.isEmpty()) {
-                return;
-            }
-
-            archiveDates2.add(archiveDates.get(0));
-
-            if (1 < archiveDates.size()) { // XXX: Workaround, remove the duplicated archive dates
-                for (int i = 1; i < archiveDates.size(); i++) {
-                    final JSONObject archiveDate = archiveDates.get(i);
+            final String language = Locales.getLanguage(preference.getString(Option.ID_C_LOCALE_STRING));
+            final List<JSONObject> archiveDates = archiveDateRepository.getArchiveDateSummary(language);
 
-                    final long time = archiveDate.getLong(ArchiveDate.ARCHIVE_TIME);
-                    final String dateString = DateFormatUtils.format(time, "yyyy/MM");
-
-                    final JSONObject last = archiveDates2.get(archiveDates2.size() - 1);
-                    final String lastDateString = DateFormatUtils.format(last.getLong(ArchiveDate.ARCHIVE_TIME), "yyyy/MM");
-
-                    if (!dateString.equals(lastDateString)) {
-                        archiveDates2.add(archiveDate);
-                    } else {
-                        LOGGER.log(Level.DEBUG, "Found a duplicated archive date [{0}]", dateString);
-                    }
-                }
-            }
-
-            final String localeString = preference.getString(Option.ID_C_LOCALE_STRING);
-            final String language = Locales.getLanguage(localeString);
-
-            for (final JSONObject archiveDate : archiveDates2) {
-                final long time = archiveDate.getLong(ArchiveDate.ARCHIVE_TIME);
-                final String dateString = DateFormatUtils.format(time, "yyyy/MM");
-                final String[] dateStrings = dateString.split("/");
-                final String year = dateStrings[0];
-                final String month = dateStrings[1];
-
-                archiveDate.put(ArchiveDate.ARCHIVE_DATE_YEAR, year);
-
-                archiveDate.put(ArchiveDate.ARCHIVE_DATE_MONTH, month);
-                if ("en".equals(language)) {
-                    final String monthName = Dates.EN_MONTHS.get(month);
-
-                    archiveDate.put(Common.MONTH_NAME, monthName);
-                }
-            }
-
-            dataModel.put(ArchiveDate.ARCHIVE_DATES, archiveDates2);
+            dataModel.put(ArchiveDate.ARCHIVE_DATES, archiveDates);
         } catch (final JSONException e) {
             LOGGER.log(Level.ERROR, "Fills archive dates failed", e);
             throw new ServiceException(e);
@@ -562,8 +537,13 @@ public class Filler {
      */
     public void fillCommon(final HttpServletRequest request, final HttpServletResponse response,
                            final Map<String, Object> dataModel, final JSONObject preference) throws ServiceException {
-        fillSide(request, dataModel, preference);
+        final List<Widget> widgets = new ArrayList<>();
+        addSideWidgets(request, dataModel, preference, widgets);
+        addHeaderWidgets(preference, widgets);
+        final Map<Widget, Future<Map<String, Object>>> loading = loadWidgets(widgets);
+
         fillBlogHeader(request, response, dataModel, preference);
+        fillWidgets(dataModel, loading);
         fillBlogFooter(request, dataModel, preference);
     }
 
@@ -700,12 +680,6 @@ public class Filler {
 
             Keys.fillRuntime(dataModel);
             fillMinified(dataModel);
-            fillPageNavigations(dataModel);
-            fillStatistic(dataModel);
-
-            fillMostUsedTags(dataModel, preference);
-            fillArchiveDates(dataModel, preference);
-            fillMostUsedCategories(dataModel, preference);
         } catch (final JSONException e) {
             LOGGER.log(Level.ERROR, "Fills blog header failed", e);
             throw new ServiceException(e);
@@ -743,50 +717,161 @@ public class Filler {
      * @param request    the specified HTTP servlet request
      * @param dataModel  data model
      * @param preference the specified preference
-     * @throws ServiceException service exception
      */
-    private void fillSide(final HttpServletRequest request, final Map<String, Object> dataModel, final JSONObject preference)
-            throws ServiceException {
-        Stopwatchs.start("Fill Side");
-        try {
-            LOGGER.debug("Filling side....");
+    private void fillSide(final HttpServletRequest request, final Map<String, Object> dataModel, final JSONObject preference) {
+        final List<Widget> widgets = new ArrayList<>();
+        addSideWidgets(request, dataModel, preference, widgets);
+        fillWidgets(dataModel, loadWidgets(widgets));
+    }
+
+    /**
+     * Adds the widgets used in side.ftl.
+     *
+     * @param request    the specified HTTP servlet request
+     * @param dataModel  data model
+     * @param preference the specified preference
+     * @param widgets    the specified widgets to add to
+     */
+    private void addSideWidgets(final HttpServletRequest request, final Map<String, Object> dataModel,
+                                final JSONObject preference, final List<Widget> widgets) {
+        LOGGER.debug("Filling side....");
 
-            Template template = Skins.getSkinTemplate(request, "side.ftl");
+        Template template = Skins.getSkinTemplate(request, "side.ftl");
+        if (null == template) {
+            LOGGER.debug("The skin dose not contain [side.ftl] template");
 
+            template = Skins.getSkinTemplate(request, "index.ftl");
             if (null == template) {
-                LOGGER.debug("The skin dose not contain [side.ftl] template");
+                LOGGER.debug("The skin dose not contain [index.ftl] template");
 
-                template = Skins.getSkinTemplate(request, "index.ftl");
-                if (null == template) {
-                    LOGGER.debug("The skin dose not contain [index.ftl] template");
-                    return;
-                }
+                return;
             }
+        }
 
-            dataModel.put("fillTagArticles", fillTagArticles);
+        dataModel.put("fillTagArticles", fillTagArticles);
 
-            if (Templates.hasExpression(template, "<#list recentArticles as article>")) {
-                fillRecentArticles(dataModel, preference);
-            }
+        if (Templates.hasExpression(template, "<#list recentArticles as article>")) {
+            widgets.add(new Widget("Recent Articles", Common.RECENT_ARTICLES, Collections.emptyList(),
+                    model -> fillRecentArticles(model, preference)));
+        }
 
-            if (Templates.hasExpression(template, "<#list links as link>")) {
-                fillLinks(dataModel);
-            }
+        if (Templates.hasExpression(template, "<#list links as link>")) {
+            widgets.add(new Widget("Links", Link.LINKS, Collections.emptyList(), this::fillLinks));
+        }
 
-            if (Templates.hasExpression(template, "<#list recentComments as comment>")) {
-                fillRecentComments(dataModel, preference);
+        if (Templates.hasExpression(template, "<#list recentComments as comment>")) {
+            widgets.add(new Widget("Recent Comments", Common.RECENT_COMMENTS, Collections.emptyList(),
+                    model -> fillRecentComments(model, preference)));
+        }
+
+        if (Templates.hasExpression(template, "<#list mostCommentArticles as article>")) {
+            widgets.add(new Widget("Most CMMTs Articles", Common.MOST_COMMENT_ARTICLES, Collections.emptyList(),
+                    model -> fillMostCommentArticles(model, preference)));
+        }
+
+        if (Templates.hasExpression(template, "<#list mostViewCountArticles as article>")) {
+            widgets.add(new Widget("Most View Articles", Common.MOST_VIEW_COUNT_ARTICLES, Collections.emptyList(),
+                    model -> fillMostViewCountArticles(model, preference)));
+        }
+    }
+
+    /**
+     * Adds the widgets used in header.ftl.
+     *
+     * @param preference the specified preference
+     * @param widgets    the specified widgets to add to
+     */
+    private void addHeaderWidgets(final JSONObject preference, final List<Widget> widgets) {
+        widgets.add(new Widget("Navigations", Common.PAGE_NAVIGATIONS, Collections.emptyList(), this::fillPageNavigations));
+
+        final JSONObject emptyStatistic = new JSONObject();
+        emptyStatistic.put(Option.ID_C_STATISTIC_BLOG_VIEW_COUNT, 0);
+        emptyStatistic.put(Option.ID_C_STATISTIC_BLOG_COMMENT_COUNT, 0);
+        emptyStatistic.put(Option.ID_C_STATISTIC_PUBLISHED_BLOG_COMMENT_COUNT, 0);
+        emptyStatistic.put(Option.ID_C_STATISTIC_BLOG_ARTICLE_COUNT, 0);
+        emptyStatistic.put(Option.ID_C_STATISTIC_PUBLISHED_ARTICLE_COUNT, 0);
+        widgets.add(new Widget("Statistic", Option.CATEGORY_C_STATISTIC, emptyStatistic, this::fillStatistic));
+
+        widgets.add(new Widget("Most Used Tags", Common.MOST_USED_TAGS, Collections.emptyList(),
+                model -> fillMostUsedTags(model, preference)));
+        widgets.add(new Widget("Archive Dates", ArchiveDate.ARCHIVE_DATES, Collections.emptyList(),
+                model -> fillArchiveDates(model, preference)));
+        widgets.add(new Widget("Most Used Categories", Common.MOST_USED_CATEGORIES, Collections.emptyList(),
+                model -> fillMostUsedCategories(model, preference)));
+    }
+
+    /**
+     * Starts loading the specified widgets on the widget loader.
+     * <p>
+     * Widgets are loaded on the request thread if the request is in a transaction (they should see its writes) or
+     * the widget loader is busy.
+     * </p>
+     *
+     * @param widgets the specified widgets
+     * @return loading widgets, &lt;widget, future of its data model&gt;
+     */
+    private Map<Widget, Future<Map<String, Object>>> loadWidgets(final List<Widget> widgets) {
+        final Map<Widget, Future<Map<String, Object>>> ret = new LinkedHashMap<>();
+        final JdbcTransaction transaction = JdbcRepository.TX.get();
+        final boolean inTransaction = null != transaction && transaction.isActive();
+        for (final Widget widget : widgets) {
+            if (!inTransaction) {
+                try {
+                    ret.put(widget, WIDGET_LOADER.submit(Replicas.bind(widget::loadDetached)));
+
+                    continue;
+                } catch (final RejectedExecutionException e) {
+                    LOGGER.log(Level.DEBUG, "Widget loader is busy, loads widget [" + widget.name + "] on the request thread");
+                }
             }
 
-            if (Templates.hasExpression(template, "<#list mostCommentArticles as article>")) {
-                fillMostCommentArticles(dataModel, preference);
+            final CompletableFuture<Map<String, Object>> loaded = new CompletableFuture<>();
+            try {
+                loaded.complete(widget.load());
+            } catch (final Exception e) {
+                loaded.completeExceptionally(e);
             }
+            ret.put(widget, loaded);
+        }
 
-            if (Templates.hasExpression(template, "<#list mostViewCountArticles as article>")) {
-                fillMostViewCountArticles(dataModel, preference);
+        return ret;
+    }
+
+    /**
+     * Fills the specified loading widgets into the specified data model, waits at most {@code filler.widgetTimeoutMillis}
+     * (local.properties, defaults to {@value #DEFAULT_WIDGET_TIMEOUT_MILLIS}) milliseconds for them. A widget which
+     * fails or times out is filled with its empty value instead of failing the page. Each widget is timed in the
+     * stopwatch of the request thread while the page waits for it.
+     *
+     * @param dataModel the specified data model
+     * @param loading   the specified loading widgets
+     */
+    private void fillWidgets(final Map<String, Object> dataModel, final Map<Widget, Future<Map<String, Object>>> loading) {
+        Stopwatchs.start("Fill Widgets");
+        try {
+            final long deadline = System.currentTimeMillis() + WIDGET_TIMEOUT_MILLIS;
+            for (final Map.Entry<Widget, Future<Map<String, Object>>> entry : loading.entrySet()) {
+                final Widget widget = entry.getKey();
+                final Future<Map<String, Object>> future = entry.getValue();
+                Stopwatchs.start("Fill Widget[" + widget.name + "]");
+                try {
+                    dataModel.putAll(future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS));
+
+                    continue;
+                } catch (final TimeoutException e) {
+                    LOGGER.log(Level.WARN, "Loads widget [" + widget.name + "] timed out in [" + WIDGET_TIMEOUT_MILLIS + "]ms, skips it");
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    LOGGER.log(Level.WARN, "Loads widget [" + widget.name + "] interrupted, skips it");
+                } catch (final ExecutionException e) {
+                    LOGGER.log(Level.WARN, "Loads widget [" + widget.name + "] failed, skips it", e.getCause());
+                } finally {
+                    Stopwatchs.end();
+                }
+
+                future.cancel(true); // Its queries time out as well, see Widget#loadDetached()
+                dataModel.put(widget.key, widget.emptyValue);
             }
-        } catch (final ServiceException e) {
-            LOGGER.log(Level.ERROR, "Fills side failed", e);
-            throw new ServiceException(e);
         } finally {
             Stopwatchs.end();
         }
@@ -1009,4 +1094,112 @@ public class Filler {
             article.put(Article.ARTICLE_ABSTRACT, article.optString(Article.ARTICLE_CONTENT));
         }
     }
+
+    /**
+     * Gets an int local property.
+     *
+     * @param name         the specified property name
+     * @param defaultValue the specified default value
+     * @return property value, returns the specified default value if not configured
+     */
+    private static int getInt(final String name, final int defaultValue) {
+        final String value = Latkes.getLocalProperty(name);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+
+        return Integer.valueOf(value.trim());
+    }
+
+    /**
+     * Widget loader.
+     */
+    @FunctionalInterface
+    private interface WidgetLoader {
+
+        /**
+         * Fills the widget into the specified data model.
+         *
+         * @param dataModel the specified data model
+         * @throws ServiceException service exception
+         */
+        void fill(final Map<String, Object> dataModel) throws ServiceException;
+    }
+
+    /**
+     * Widget, an independent part of a page filled into the data model with a single key.
+     */
+    private static final class Widget {
+
+        /**
+         * Name.
+         */
+        private final String name;
+
+        /**
+         * Data model key.
+         */
+        private final String key;
+
+        /**
+         * Value filled if the widget fails or times out.
+         */
+        private final Object emptyValue;
+
+        /**
+         * Loader.
+         */
+        private final WidgetLoader loader;
+
+        /**
+         * Constructs a widget with the specified name, data model key, empty value and loader.
+         *
+         * @param name       the specified name
+         * @param key        the specified data model key
+         * @param emptyValue the specified empty value
+         * @param loader     the specified loader
+         */
+        private Widget(final String name, final String key, final Object emptyValue, final WidgetLoader loader) {
+            this.name = name;
+            this.key = key;
+            this.emptyValue = emptyValue;
+            this.loader = loader;
+        }
+
+        /**
+         * Loads the widget on the current thread.
+         *
+         * @return data model of the widget
+         * @throws ServiceException service exception
+         */
+        private Map<String, Object> load() throws ServiceException {
+            final Map<String, Object> ret = new HashMap<>();
+            loader.fill(ret);
+
+            return ret;
+        }
+
+        /**
+         * Loads the widget on a widget loader thread and releases the stopwatch and the database connection of the
+         * thread at last, the widget is timed on the request thread, see {@link Filler#fillWidgets(Map, Map)}. Its queries
+         * time out in {@code filler.widgetTimeoutMillis}, so a widget given up by the page frees the thread and the
+         * connection.
+         *
+         * @return data model of the widget
+         * @throws ServiceException service exception
+         */
+        private Map<String, Object> loadDetached() throws ServiceException {
+            try {
+                QueryTimeouts.bind(WIDGET_TIMEOUT_MILLIS);
+
+                return load();
+            } catch (final SQLException e) {
+                throw new ServiceException(e);
+            } finally {
+                QueryTimeouts.unbind();
+                Stopwatchs.release(); // Started by the fill methods of the widget
+                JdbcRepository.dispose();
+            }
+        }
+    }
 }
@@ -27,7 +27,7 @@ import java.util.List;
  * Archive date repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.2, Jul 2, 2011
+ * @version 1.2.0.0, Oct 18, 2026
  * @since 0.3.1
  */
 public interface ArchiveDateRepository extends Repository {
@@ -41,6 +41,16 @@ public interface ArchiveDateRepository extends Repository {
      */
     JSONObject getByArchiveDate(final String archiveDate) throws RepositoryException;
 
+    /**
+     * Gets an archive date by the specified archive time with a locking read, which sees the archive date committed by
+     * a concurrent transaction.
+     *
+     * @param archiveTime the specified archive time, the first millisecond of the month
+     * @return an archive date, {@code null} if not found
+     * @throws RepositoryException repository exception
+     */
+    JSONObject getByArchiveTimeForUpdate(final long archiveTime) throws RepositoryException;
+
     /**
      * Gets archive dates.
      *
@@ -49,4 +59,14 @@ public interface ArchiveDateRepository extends Repository {
      * @throws RepositoryException repository exception
      */
     List<JSONObject> getArchiveDates() throws RepositoryException;
+
+    /**
+     * Gets the archive date summary.
+     *
+     * @param language the specified language, month names are filled for "en"
+     * @return a list of archive dates which have published articles, one per month ordered by month descending, each
+     * of them has year and month, returns an empty list if not found
+     * @throws RepositoryException repository exception
+     */
+    List<JSONObject> getArchiveDateSummary(final String language) throws RepositoryException;
 }
@@ -27,7 +27,7 @@ import java.util.List;
  * Article repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.1.10, Jul 16, 2017
+ * @version 1.1.1.11, Oct 18, 2026
  * @since 0.3.1
  */
 public interface ArticleRepository extends Repository {
@@ -66,7 +66,7 @@ public interface ArticleRepository extends Repository {
      * Gets post articles recently with the specified fetch size.
      *
      * @param fetchSize the specified fetch size
-     * @return a list of articles recently, returns an empty list if not found
+     * @return a list of article summaries (see {@link org.wang.solo.model.ArticleSummary}) recently, returns an empty list if not found
      * @throws RepositoryException repository exception
      */
     List<JSONObject> getRecentArticles(final int fetchSize) throws RepositoryException;
@@ -75,7 +75,7 @@ public interface ArticleRepository extends Repository {
      * Gets most commented and published articles with the specified number.
      *
      * @param num the specified number
-     * @return a list of most comment articles, returns an empty list if not found
+     * @return a list of most comment article summaries, returns an empty list if not found
      * @throws RepositoryException repository exception
      */
     List<JSONObject> getMostCommentArticles(final int num) throws RepositoryException;
@@ -84,7 +84,7 @@ public interface ArticleRepository extends Repository {
      * Gets most view count and published articles with the specified number.
      *
      * @param num the specified number
-     * @return a list of most view count articles, returns an empty list if not found
+     * @return a list of most view count article summaries, returns an empty list if not found
      * @throws RepositoryException repository exception
      */
     List<JSONObject> getMostViewCountArticles(final int num) throws RepositoryException;
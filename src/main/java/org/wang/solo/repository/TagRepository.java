@@ -27,7 +27,7 @@ import java.util.List;
  * Tag repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.1, Aug 12, 2010
+ * @version 1.1.0.0, Oct 18, 2026
  * @since 0.3.1
  */
 public interface TagRepository extends Repository {
@@ -56,8 +56,19 @@ public interface TagRepository extends Repository {
      * Gets most used tags with the specified number.
      *
      * @param num the specified number
-     * @return a list of most used tags, returns an empty list if not found
+     * @return a list of most used tags referenced by published articles, ordered by title, returns an empty list if
+     * not found
      * @throws RepositoryException repository exception
      */
     List<JSONObject> getMostUsedTags(final int num) throws RepositoryException;
+
+    /**
+     * Gets the tag cloud.
+     *
+     * @return a list of tags referenced by published articles, ordered by published reference count descending then
+     * title, each of them has a font bucket ({@link org.wang.solo.model.Tag#TAG_FONT_BUCKET}), returns an empty list
+     * if not found
+     * @throws RepositoryException repository exception
+     */
+    List<JSONObject> getCloudTags() throws RepositoryException;
 }
@@ -0,0 +1,51 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.repository;
+
+import org.b3log.latke.repository.Repository;
+import org.b3log.latke.repository.RepositoryException;
+
+import java.util.Set;
+
+/**
+ * Upload repository.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public interface UploadRepository extends Repository {
+
+    /**
+     * Gets the ids (content SHA-256) of the uploads referenced by URL in the specified text.
+     *
+     * @param text the specified text, may be {@code null}
+     * @return upload ids, returns an empty set if not found
+     */
+    Set<String> getReferencedIds(final String text);
+
+    /**
+     * Updates the reference counts of the uploads referenced in the specified old and new texts of a record, an upload
+     * referenced only in the new text gets one more reference, only in the old text one less.
+     *
+     * @param oldText the specified old text, {@code null} for an added record
+     * @param newText the specified new text, {@code null} for a removed record
+     * @throws RepositoryException repository exception
+     */
+    void reference(final String oldText, final String newText) throws RepositoryException;
+}
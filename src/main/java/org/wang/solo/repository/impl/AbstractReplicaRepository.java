@@ -0,0 +1,121 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.repository.impl;
+
+import org.b3log.latke.repository.AbstractRepository;
+import org.b3log.latke.repository.Query;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.Transaction;
+import org.json.JSONObject;
+import org.wang.solo.util.Replicas;
+import org.wang.solo.util.Transactions;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Abstract repository which routes read operations to the read replica, see {@link Replicas} for more details.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.1, Oct 18, 2026
+ * @since 2.9.5
+ */
+public abstract class AbstractReplicaRepository extends AbstractRepository {
+
+    /**
+     * Constructs a repository with the specified name.
+     *
+     * @param name the specified name
+     */
+    public AbstractReplicaRepository(final String name) {
+        super(name);
+    }
+
+    @Override
+    public Transaction beginTransaction() {
+        return Transactions.begin(super::beginTransaction);
+    }
+
+    @Override
+    public String add(final JSONObject jsonObject) throws RepositoryException {
+        Replicas.written();
+
+        return super.add(jsonObject);
+    }
+
+    @Override
+    public void update(final String id, final JSONObject jsonObject) throws RepositoryException {
+        Replicas.written();
+
+        super.update(id, jsonObject);
+    }
+
+    @Override
+    public void remove(final String id) throws RepositoryException {
+        Replicas.written();
+
+        super.remove(id);
+    }
+
+    @Override
+    public void remove(final Query query) throws RepositoryException {
+        Replicas.written();
+
+        super.remove(query);
+    }
+
+    @Override
+    public JSONObject get(final String id) throws RepositoryException {
+        return Replicas.read(() -> super.get(id));
+    }
+
+    @Override
+    public Map<String, JSONObject> get(final Iterable<String> ids) throws RepositoryException {
+        return Replicas.read(() -> super.get(ids));
+    }
+
+    @Override
+    public boolean has(final String id) throws RepositoryException {
+        return Replicas.read(() -> super.has(id));
+    }
+
+    @Override
+    public JSONObject get(final Query query) throws RepositoryException {
+        return Replicas.read(() -> super.get(query));
+    }
+
+    @Override
+    public List<JSONObject> select(final String statement, final Object... params) throws RepositoryException {
+        return Replicas.read(() -> super.select(statement, params));
+    }
+
+    @Override
+    public List<JSONObject> getRandomly(final int fetchSize) throws RepositoryException {
+        return Replicas.read(() -> super.getRandomly(fetchSize));
+    }
+
+    @Override
+    public long count() throws RepositoryException {
+        return Replicas.read(() -> super.count());
+    }
+
+    @Override
+    public long count(final Query query) throws RepositoryException {
+        return Replicas.read(() -> super.count(query));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.repository.impl;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.repository.Query;
+import org.b3log.latke.repository.RepositoryException;
+import org.json.JSONObject;
+import org.wang.solo.model.Tombstone;
+import org.wang.solo.repository.TombstoneRepository;
+import org.wang.solo.util.Replicas;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Abstract repository of the backed up tables, records removals in the tombstone log (in the same transaction) for
+ * incremental backups, see {@link org.wang.solo.service.BackupService}.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public abstract class AbstractTombstonedRepository extends AbstractReplicaRepository {
+
+    /**
+     * Whether removals of the current thread skip the tombstone log.
+     */
+    private static final ThreadLocal<Boolean> TOMBSTONES_SKIPPED = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Tombstone repository.
+     */
+    @Inject
+    private TombstoneRepository tombstoneRepository;
+
+    /**
+     * Sets whether removals of the current thread skip the tombstone log, restoring a backup skips it.
+     *
+     * @param skipped the specified flag
+     */
+    public static void setTombstonesSkipped(final boolean skipped) {
+        TOMBSTONES_SKIPPED.set(skipped);
+    }
+
+    /**
+     * Constructs a repository with the specified name.
+     *
+     * @param name the specified name
+     */
+    public AbstractTombstonedRepository(final String name) {
+        super(name);
+    }
+
+    @Override
+    public void remove(final String id) throws RepositoryException {
+        super.remove(id);
+        addTombstones(Collections.singletonList(id));
+    }
+
+    @Override
+    public void remove(final Query query) throws RepositoryException {
+        Replicas.written();
+
+        List<String> ids = Collections.emptyList();
+        if (!TOMBSTONES_SKIPPED.get()) {
+            ids = new ArrayList<>();
+            final Query idQuery = new Query().setFilter(query.getFilter()).addProjection(Keys.OBJECT_ID, String.class);
+            for (final JSONObject record : getList(idQuery)) {
+                ids.add(record.optString(Keys.OBJECT_ID));
+            }
+        }
+        super.remove(query);
+        addTombstones(ids);
+    }
+
+    /**
+     * Adds tombstones of the removed records with the specified ids.
+     *
+     * @param ids the specified ids
+     * @throws RepositoryException repository exception
+     */
+    private void addTombstones(final List<String> ids) throws RepositoryException {
+        if (TOMBSTONES_SKIPPED.get() || ids.isEmpty()) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        for (final String id : ids) {
+            final JSONObject tombstone = new JSONObject();
+            tombstone.put(Tombstone.TOMBSTONE_TABLE, getName());
+            tombstone.put(Tombstone.TOMBSTONE_RECORD_ID, id);
+            tombstone.put(Tombstone.TOMBSTONE_REMOVED, now);
+            tombstoneRepository.add(tombstone);
+        }
+    }
+}
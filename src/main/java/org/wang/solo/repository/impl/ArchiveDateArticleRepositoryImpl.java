@@ -30,11 +30,11 @@ import org.json.JSONObject;
  * Archive date-Article relation repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.7, Sep 16, 2018
+ * @version 1.0.0.9, Oct 18, 2026
  * @since 0.3.1
  */
 @Repository
-public class ArchiveDateArticleRepositoryImpl extends AbstractRepository implements ArchiveDateArticleRepository {
+public class ArchiveDateArticleRepositoryImpl extends AbstractTombstonedRepository implements ArchiveDateArticleRepository {
 
     /**
      * Public constructor.
@@ -19,10 +19,13 @@ package org.wang.solo.repository.impl;
 
 import org.apache.commons.lang.time.DateUtils;
 import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.repository.*;
 import org.b3log.latke.repository.annotation.Repository;
+import org.wang.solo.cache.ArchiveDateSummary;
+import org.wang.solo.cache.SitemapCache;
 import org.wang.solo.model.ArchiveDate;
 import org.wang.solo.repository.ArchiveDateRepository;
 import org.json.JSONArray;
@@ -34,19 +37,34 @@ import java.util.List;
 
 /**
  * Archive date repository.
+ * <p>
+ * The archive date summary is read from {@link ArchiveDateSummary}, which is cleared on each archive date write.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.11, Sep 16, 2018
+ * @version 1.2.0.1, Oct 18, 2026
  * @since 0.3.1
  */
 @Repository
-public class ArchiveDateRepositoryImpl extends AbstractRepository implements ArchiveDateRepository {
+public class ArchiveDateRepositoryImpl extends AbstractTombstonedRepository implements ArchiveDateRepository {
 
     /**
      * Logger.
      */
     private static final Logger LOGGER = Logger.getLogger(ArchiveDateRepositoryImpl.class);
 
+    /**
+     * Archive date summary.
+     */
+    @Inject
+    private ArchiveDateSummary archiveDateSummary;
+
+    /**
+     * Sitemap cache.
+     */
+    @Inject
+    private SitemapCache sitemapCache;
+
     /**
      * Public constructor.
      */
@@ -54,6 +72,49 @@ public class ArchiveDateRepositoryImpl extends AbstractRepository implements Arc
         super(ArchiveDate.ARCHIVE_DATE.toLowerCase());
     }
 
+    @Override
+    public String add(final JSONObject archiveDate) throws RepositoryException {
+        final String ret = super.add(archiveDate);
+        archiveDateSummary.clear();
+        sitemapCache.remove(SitemapCache.ARCHIVES);
+
+        return ret;
+    }
+
+    @Override
+    public void update(final String id, final JSONObject archiveDate) throws RepositoryException {
+        super.update(id, archiveDate);
+        archiveDateSummary.clear();
+        sitemapCache.remove(SitemapCache.ARCHIVES);
+    }
+
+    @Override
+    public void remove(final String id) throws RepositoryException {
+        super.remove(id);
+        archiveDateSummary.clear();
+        sitemapCache.remove(SitemapCache.ARCHIVES);
+    }
+
+    @Override
+    public void remove(final Query query) throws RepositoryException {
+        super.remove(query);
+        archiveDateSummary.clear();
+        sitemapCache.remove(SitemapCache.ARCHIVES);
+    }
+
+    @Override
+    public List<JSONObject> getArchiveDateSummary(final String language) throws RepositoryException {
+        List<JSONObject> ret = archiveDateSummary.get(language);
+        while (null == ret) {
+            final long version = archiveDateSummary.getVersion();
+            archiveDateSummary.load(getList(new Query().addSort(ArchiveDate.ARCHIVE_TIME, SortDirection.DESCENDING).
+                    setPageCount(1)), version);
+            ret = archiveDateSummary.get(language);
+        }
+
+        return ret;
+    }
+
     @Override
     public JSONObject getByArchiveDate(final String archiveDate) throws RepositoryException {
         long time = 0L;
@@ -93,6 +154,14 @@ public class ArchiveDateRepositoryImpl extends AbstractRepository implements Arc
         return array.optJSONObject(0);
     }
 
+    @Override
+    public JSONObject getByArchiveTimeForUpdate(final long archiveTime) throws RepositoryException {
+        final List<JSONObject> archiveDates = select("SELECT * FROM `" + getName() + "` WHERE `"
+                + ArchiveDate.ARCHIVE_TIME + "` = ? FOR UPDATE", archiveTime);
+
+        return archiveDates.isEmpty() ? null : archiveDates.get(0);
+    }
+
     @Override
     public List<JSONObject> getArchiveDates() throws RepositoryException {
         final org.b3log.latke.repository.Query query = new Query().
@@ -19,39 +19,82 @@ package org.wang.solo.repository.impl;
 
 import org.b3log.latke.Keys;
 import org.b3log.latke.ioc.inject.Inject;
-import org.b3log.latke.logging.Level;
-import org.b3log.latke.logging.Logger;
 import org.b3log.latke.repository.*;
 import org.b3log.latke.repository.annotation.Repository;
 import org.wang.solo.cache.ArticleCache;
+import org.wang.solo.cache.ArticleTimeline;
+import org.wang.solo.cache.FeedCache;
+import org.wang.solo.cache.PaginationCache;
+import org.wang.solo.cache.RandomArticleSampler;
+import org.wang.solo.cache.RelevanceIndex;
+import org.wang.solo.cache.SitemapCache;
+import org.wang.solo.cache.TopArticles;
 import org.wang.solo.model.Article;
+import org.wang.solo.model.ArticleSummary;
+import org.wang.solo.repository.ArticleContentRepository;
 import org.wang.solo.repository.ArticleRepository;
+import org.wang.solo.repository.UploadRepository;
+import org.wang.solo.util.JSONs;
+import org.wang.solo.util.Transactions;
 import org.json.JSONArray;
-import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Article repository.
+ * <p>
+ * Article bodies ({@link Article#ARTICLE_CONTENT}) are stored in table {@code article_content}, this repository splits
+ * them out on writes and joins them back on reads, so callers still see the whole article. Queries with the
+ * {@link ArticleSummary summary projection} never touch the content table.
+ * </p>
+ * <p>
+ * Random articles are sampled from the published article ids held by {@link RandomArticleSampler} and loaded with one
+ * query, the most view count and most comment count articles are read from {@link TopArticles}, and the previous/next
+ * articles are looked up in {@link ArticleTimeline}. Writes of published articles remove the child sitemaps of their
+ * created years from {@link SitemapCache}. Writes of article bodies update the reference counts of the uploads linked
+ * in them.
+ * </p>
+ * <p>
+ * The caches and in-memory indexes are updated after the transaction of a write commits (see {@link Transactions}),
+ * a rolled back write leaves them untouched.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.3.14, Sep 16 , 2018
+ * @version 1.3.0.3, Oct 18, 2026
  * @since 0.3.1
  */
 @Repository
-public class ArticleRepositoryImpl extends AbstractRepository implements ArticleRepository {
+public class ArticleRepositoryImpl extends AbstractTombstonedRepository implements ArticleRepository {
 
     /**
-     * Logger.
+     * Article properties which determine the article listings (index, tag, archive, author, etc.).
      */
-    private static final Logger LOGGER = Logger.getLogger(ArticleRepositoryImpl.class);
+    private static final String[] LISTING_PROPERTIES = new String[]{Article.ARTICLE_IS_PUBLISHED, Article.ARTICLE_PUT_TOP,
+            Article.ARTICLE_CREATED, Article.ARTICLE_UPDATED, Article.ARTICLE_AUTHOR_ID, Article.ARTICLE_TAGS_REF};
 
     /**
-     * Random range.
+     * Article properties held by the article timeline.
      */
-    private static final double RANDOM_RANGE = 0.1D;
+    private static final String[] TIMELINE_PROPERTIES = new String[]{Article.ARTICLE_IS_PUBLISHED, Article.ARTICLE_CREATED,
+            Article.ARTICLE_TITLE, Article.ARTICLE_PERMALINK, Article.ARTICLE_ABSTRACT};
+
+    /**
+     * Article properties output in feeds.
+     */
+    private static final String[] FEED_PROPERTIES = new String[]{Article.ARTICLE_IS_PUBLISHED, Article.ARTICLE_VIEW_PWD,
+            Article.ARTICLE_UPDATED, Article.ARTICLE_TITLE, Article.ARTICLE_ABSTRACT, Article.ARTICLE_CONTENT,
+            Article.ARTICLE_PERMALINK, Article.ARTICLE_AUTHOR_ID, Article.ARTICLE_TAGS_REF};
+
+    /**
+     * Article properties output in sitemaps.
+     */
+    private static final String[] SITEMAP_PROPERTIES = new String[]{Article.ARTICLE_IS_PUBLISHED, Article.ARTICLE_CREATED,
+            Article.ARTICLE_UPDATED, Article.ARTICLE_PERMALINK};
 
     /**
      * Article cache.
@@ -59,6 +102,60 @@ public class ArticleRepositoryImpl extends AbstractRepository implements Article
     @Inject
     private ArticleCache articleCache;
 
+    /**
+     * Feed cache.
+     */
+    @Inject
+    private FeedCache feedCache;
+
+    /**
+     * Sitemap cache.
+     */
+    @Inject
+    private SitemapCache sitemapCache;
+
+    /**
+     * Pagination cache.
+     */
+    @Inject
+    private PaginationCache paginationCache;
+
+    /**
+     * Relevance index.
+     */
+    @Inject
+    private RelevanceIndex relevanceIndex;
+
+    /**
+     * Top articles.
+     */
+    @Inject
+    private TopArticles topArticles;
+
+    /**
+     * Article timeline.
+     */
+    @Inject
+    private ArticleTimeline articleTimeline;
+
+    /**
+     * Random article sampler.
+     */
+    @Inject
+    private RandomArticleSampler randomArticleSampler;
+
+    /**
+     * Article content repository.
+     */
+    @Inject
+    private ArticleContentRepository articleContentRepository;
+
+    /**
+     * Upload repository.
+     */
+    @Inject
+    private UploadRepository uploadRepository;
+
     /**
      * Public constructor.
      */
@@ -66,11 +163,64 @@ public class ArticleRepositoryImpl extends AbstractRepository implements Article
         super(Article.ARTICLE);
     }
 
+    @Override
+    public String add(final JSONObject article) throws RepositoryException {
+        final JSONObject record = JSONs.clone(article);
+        final Object content = record.remove(Article.ARTICLE_CONTENT);
+        record.remove(Article.ARTICLE_RANDOM_DOUBLE); // Legacy data
+        final String ret = super.add(record);
+        article.put(Keys.OBJECT_ID, ret);
+
+        final JSONObject articleContent = new JSONObject();
+        articleContent.put(Keys.OBJECT_ID, ret);
+        articleContent.put(Article.ARTICLE_CONTENT, null == content ? "" : content);
+        articleContentRepository.add(articleContent);
+        uploadRepository.reference(null, articleContent.optString(Article.ARTICLE_CONTENT));
+
+        final JSONObject committed = JSONs.clone(article);
+        Transactions.afterCommit(() -> {
+            paginationCache.clear();
+            relevanceIndex.put(committed);
+            randomArticleSampler.put(committed);
+            topArticles.put(committed);
+            articleTimeline.put(committed);
+            feedCache.clear();
+            if (committed.optBoolean(Article.ARTICLE_IS_PUBLISHED)) {
+                sitemapCache.remove(SitemapCache.getArticlesName(committed.optLong(Article.ARTICLE_CREATED)));
+            }
+        });
+
+        return ret;
+    }
+
     @Override
     public void remove(final String id) throws RepositoryException {
+        final JSONObject old = articleCache.getArticle(id);
+        final Long created = articleTimeline.getCreated(id); // Published only
+        final JSONObject articleContent = articleContentRepository.get(id);
         super.remove(id);
+        articleContentRepository.remove(id);
+        if (null != articleContent) {
+            uploadRepository.reference(articleContent.optString(Article.ARTICLE_CONTENT), null);
+        }
 
         articleCache.removeArticle(id);
+        Transactions.afterCommit(() -> {
+            articleCache.removeArticle(id);
+            paginationCache.clear();
+            relevanceIndex.remove(id);
+            randomArticleSampler.remove(id);
+            topArticles.remove(id);
+            articleTimeline.remove(id);
+            feedCache.clear();
+            if (null != created) {
+                sitemapCache.remove(SitemapCache.getArticlesName(created));
+            } else if (null == old) {
+                sitemapCache.remove(SitemapCache.ARTICLES);
+            } else if (old.optBoolean(Article.ARTICLE_IS_PUBLISHED)) {
+                sitemapCache.remove(SitemapCache.getArticlesName(old.optLong(Article.ARTICLE_CREATED)));
+            }
+        });
     }
 
     @Override
@@ -85,17 +235,155 @@ public class ArticleRepositoryImpl extends AbstractRepository implements Article
             return null;
         }
 
+        final JSONObject articleContent = articleContentRepository.get(id);
+        ret.put(Article.ARTICLE_CONTENT, null == articleContent ? "" : articleContent.optString(Article.ARTICLE_CONTENT));
+
         articleCache.putArticle(ret);
 
         return ret;
     }
 
+    @Override
+    public Map<String, JSONObject> get(final Iterable<String> ids) throws RepositoryException {
+        final Map<String, JSONObject> ret = super.get(ids);
+        fillContents(new ArrayList<>(ret.values()));
+
+        return ret;
+    }
+
+    @Override
+    public JSONObject get(final Query query) throws RepositoryException {
+        boolean needContent = query.getProjections().isEmpty();
+        final Iterator<Projection> projections = query.getProjections().iterator();
+        while (projections.hasNext()) {
+            if (Article.ARTICLE_CONTENT.equals(projections.next().getKey())) {
+                projections.remove();
+                needContent = true;
+            }
+        }
+        if (needContent && !query.getProjections().isEmpty()) {
+            query.addProjection(Keys.OBJECT_ID, String.class);
+        }
+
+        final JSONObject ret = super.get(query);
+        if (needContent) {
+            final JSONArray results = ret.optJSONArray(Keys.RESULTS);
+            final List<JSONObject> articles = new ArrayList<>();
+            for (int i = 0; i < results.length(); i++) {
+                articles.add(results.optJSONObject(i));
+            }
+            fillContents(articles);
+        }
+
+        return ret;
+    }
+
     @Override
     public void update(final String id, final JSONObject article) throws RepositoryException {
-        super.update(id, article);
+        final JSONObject old = articleCache.getArticle(id);
+        articleCache.removeArticle(id); // Cached again after commit
+
+        final JSONObject record = JSONs.clone(article);
+        record.remove(Article.ARTICLE_CONTENT);
+        record.remove(Article.ARTICLE_RANDOM_DOUBLE); // Legacy data
+        super.update(id, record);
 
         article.put(Keys.OBJECT_ID, id);
-        articleCache.putArticle(article);
+        if (article.has(Article.ARTICLE_CONTENT)) {
+            final String content = article.optString(Article.ARTICLE_CONTENT);
+            if (null == old || !content.equals(old.optString(Article.ARTICLE_CONTENT))) { // Skips unchanged bodies (view count increment etc.)
+                final JSONObject oldContent = articleContentRepository.get(id);
+                final JSONObject articleContent = new JSONObject();
+                articleContent.put(Keys.OBJECT_ID, id);
+                articleContent.put(Article.ARTICLE_CONTENT, content);
+                if (null != oldContent) {
+                    articleContentRepository.update(id, articleContent);
+                } else {
+                    articleContentRepository.add(articleContent);
+                }
+                uploadRepository.reference(null == oldContent ? null : oldContent.optString(Article.ARTICLE_CONTENT), content);
+            }
+        }
+
+        final JSONObject committed = JSONs.clone(article);
+        final boolean timelineChanged = null == old || isChanged(old, article, TIMELINE_PROPERTIES);
+        final boolean listingChanged = null == old || isChanged(old, article, LISTING_PROPERTIES);
+        final boolean summaryChanged = null != old
+                && (!old.optString(Article.ARTICLE_TITLE).equals(article.optString(Article.ARTICLE_TITLE))
+                || !old.optString(Article.ARTICLE_PERMALINK).equals(article.optString(Article.ARTICLE_PERMALINK)));
+        Transactions.afterCommit(() -> {
+            if (committed.has(Article.ARTICLE_CONTENT)) {
+                articleCache.putArticle(committed);
+            } else { // Content not loaded, the cached article would be incomplete
+                articleCache.removeArticle(id);
+            }
+
+            topArticles.put(committed); // Fed by view and comment count updates
+            if (timelineChanged) {
+                articleTimeline.put(committed);
+            }
+            if (null == old || isChanged(old, committed, FEED_PROPERTIES)) {
+                feedCache.clear();
+            }
+            if (null == old) {
+                sitemapCache.remove(SitemapCache.ARTICLES);
+            } else if (isChanged(old, committed, SITEMAP_PROPERTIES)) {
+                sitemapCache.remove(SitemapCache.getArticlesName(old.optLong(Article.ARTICLE_CREATED)));
+                sitemapCache.remove(SitemapCache.getArticlesName(committed.optLong(Article.ARTICLE_CREATED)));
+            }
+            if (listingChanged) {
+                paginationCache.clear();
+                relevanceIndex.put(committed);
+                randomArticleSampler.put(committed);
+            } else if (summaryChanged) {
+                relevanceIndex.put(committed);
+            }
+        });
+    }
+
+    /**
+     * Fills the content of each of the specified articles with one query on the article content table.
+     *
+     * @param articles the specified articles
+     * @throws RepositoryException repository exception
+     */
+    private void fillContents(final List<JSONObject> articles) throws RepositoryException {
+        final List<String> ids = new ArrayList<>();
+        for (final JSONObject article : articles) {
+            ids.add(article.optString(Keys.OBJECT_ID));
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        final Query query = new Query().setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, ids)).setPageCount(1);
+        final Map<String, String> contents = new HashMap<>();
+        for (final JSONObject articleContent : articleContentRepository.getList(query)) {
+            contents.put(articleContent.optString(Keys.OBJECT_ID), articleContent.optString(Article.ARTICLE_CONTENT));
+        }
+
+        for (final JSONObject article : articles) {
+            final String content = contents.get(article.optString(Keys.OBJECT_ID));
+            article.put(Article.ARTICLE_CONTENT, null == content ? "" : content);
+        }
+    }
+
+    /**
+     * Determines whether the specified properties of the specified old article and new article are different.
+     *
+     * @param old        the specified old article
+     * @param article    the specified new article
+     * @param properties the specified properties
+     * @return {@code true} if changed, returns {@code false} otherwise (for example only the view count is increased)
+     */
+    private static boolean isChanged(final JSONObject old, final JSONObject article, final String[] properties) {
+        for (final String property : properties) {
+            if (!String.valueOf(old.opt(property)).equals(String.valueOf(article.opt(property)))) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     @Override
@@ -140,100 +428,104 @@ public class ArticleRepositoryImpl extends AbstractRepository implements Article
                 setFilter(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true)).
                 addSort(Article.ARTICLE_UPDATED, SortDirection.DESCENDING).
                 setCurrentPageNum(1).setPageSize(fetchSize).setPageCount(1);
+        ArticleSummary.project(query);
 
         return getList(query);
     }
 
     @Override
     public List<JSONObject> getMostCommentArticles(final int num) throws RepositoryException {
-        final Query query = new Query().
-                addSort(Article.ARTICLE_COMMENT_COUNT, SortDirection.DESCENDING).
-                addSort(Article.ARTICLE_UPDATED, SortDirection.DESCENDING).
-                setFilter(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true)).
-                setCurrentPageNum(1).setPageSize(num).setPageCount(1);
-
-        return getList(query);
+        return getTopArticles(Article.ARTICLE_COMMENT_COUNT, num);
     }
 
     @Override
     public List<JSONObject> getMostViewCountArticles(final int num) throws RepositoryException {
+        return getTopArticles(Article.ARTICLE_VIEW_COUNT, num);
+    }
+
+    /**
+     * Gets the top articles ordered by the specified count property from {@link TopArticles}, reloads it from the
+     * database if it is stale.
+     *
+     * @param countProperty the specified count property
+     * @param num           the specified number
+     * @return top articles
+     * @throws RepositoryException repository exception
+     */
+    private List<JSONObject> getTopArticles(final String countProperty, final int num) throws RepositoryException {
+        List<JSONObject> ret = topArticles.get(countProperty, num);
+        if (null != ret) {
+            return ret;
+        }
+
+        final long version = topArticles.getVersion(countProperty);
         final Query query = new Query().
-                addSort(Article.ARTICLE_VIEW_COUNT, SortDirection.DESCENDING).
+                addSort(countProperty, SortDirection.DESCENDING).
                 addSort(Article.ARTICLE_UPDATED, SortDirection.DESCENDING).
+                addSort(Keys.OBJECT_ID, SortDirection.DESCENDING).
                 setFilter(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true)).
                 setCurrentPageNum(1).setPageSize(num).setPageCount(1);
+        ArticleSummary.project(query);
+        ret = getList(query);
+        topArticles.load(countProperty, num, ret, version);
 
-        return getList(query);
+        return ret;
     }
 
     @Override
     public JSONObject getPreviousArticle(final String articleId) throws RepositoryException {
-        final JSONObject currentArticle = get(articleId);
-        final long currentArticleCreated = currentArticle.optLong(Article.ARTICLE_CREATED);
-
-        final Query query = new Query().
-                setFilter(CompositeFilterOperator.and(
-                        new PropertyFilter(Article.ARTICLE_CREATED, FilterOperator.LESS_THAN, currentArticleCreated),
-                        new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true))).
-                addSort(Article.ARTICLE_CREATED, SortDirection.DESCENDING).
-                setCurrentPageNum(1).setPageSize(1).setPageCount(1).
-                addProjection(Article.ARTICLE_TITLE, String.class).
-                addProjection(Article.ARTICLE_PERMALINK, String.class).
-                addProjection(Article.ARTICLE_ABSTRACT, String.class);
-
-        final JSONObject result = get(query);
-        final JSONArray array = result.optJSONArray(Keys.RESULTS);
-        if (1 != array.length()) {
+        final Long created = getCreated(articleId);
+        if (null == created) {
             return null;
         }
 
-        final JSONObject ret = new JSONObject();
-        final JSONObject article = array.optJSONObject(0);
-
-        try {
-            ret.put(Article.ARTICLE_TITLE, article.getString(Article.ARTICLE_TITLE));
-            ret.put(Article.ARTICLE_PERMALINK, article.getString(Article.ARTICLE_PERMALINK));
-            ret.put(Article.ARTICLE_ABSTRACT, article.getString((Article.ARTICLE_ABSTRACT)));
-        } catch (final JSONException e) {
-            throw new RepositoryException(e);
-        }
-
-        return ret;
+        return articleTimeline.getPrevious(articleId, created);
     }
 
     @Override
     public JSONObject getNextArticle(final String articleId) throws RepositoryException {
-        final JSONObject currentArticle = get(articleId);
-        final long currentArticleCreated = currentArticle.optLong(Article.ARTICLE_CREATED);
+        final Long created = getCreated(articleId);
+        if (null == created) {
+            return null;
+        }
 
-        final Query query = new Query().
-                setFilter(CompositeFilterOperator.and(
-                        new PropertyFilter(Article.ARTICLE_CREATED, FilterOperator.GREATER_THAN, currentArticleCreated),
-                        new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true))).
-                addSort(Article.ARTICLE_CREATED, SortDirection.ASCENDING).
-                setCurrentPageNum(1).setPageSize(1).setPageCount(1).
-                addProjection(Article.ARTICLE_TITLE, String.class).
-                addProjection(Article.ARTICLE_PERMALINK, String.class).
-                addProjection(Article.ARTICLE_ABSTRACT, String.class);
+        return articleTimeline.getNext(articleId, created);
+    }
 
-        final JSONObject result = get(query);
-        final JSONArray array = result.optJSONArray(Keys.RESULTS);
-        if (1 != array.length()) {
-            return null;
+    /**
+     * Gets the created time of the article specified by the given id, builds the {@link ArticleTimeline timeline} if
+     * it has not been built.
+     *
+     * @param articleId the given id
+     * @return created time, returns {@code null} if not found
+     * @throws RepositoryException repository exception
+     */
+    private Long getCreated(final String articleId) throws RepositoryException {
+        if (!articleTimeline.isBuilt()) {
+            final long version = articleTimeline.getVersion();
+            final Query query = new Query().
+                    setFilter(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true)).
+                    setPageCount(1).
+                    addProjection(Keys.OBJECT_ID, String.class).
+                    addProjection(Article.ARTICLE_CREATED, Long.class).
+                    addProjection(Article.ARTICLE_TITLE, String.class).
+                    addProjection(Article.ARTICLE_PERMALINK, String.class).
+                    addProjection(Article.ARTICLE_ABSTRACT, String.class).
+                    addProjection(Article.ARTICLE_IS_PUBLISHED, Boolean.class);
+            articleTimeline.build(getList(query), version);
         }
 
-        final JSONObject ret = new JSONObject();
-        final JSONObject article = array.optJSONObject(0);
+        final Long ret = articleTimeline.getCreated(articleId);
+        if (null != ret) {
+            return ret;
+        }
 
-        try {
-            ret.put(Article.ARTICLE_TITLE, article.getString(Article.ARTICLE_TITLE));
-            ret.put(Article.ARTICLE_PERMALINK, article.getString(Article.ARTICLE_PERMALINK));
-            ret.put(Article.ARTICLE_ABSTRACT, article.getString((Article.ARTICLE_ABSTRACT)));
-        } catch (final JSONException e) {
-            throw new RepositoryException(e);
+        final JSONObject article = get(articleId); // Not published
+        if (null == article) {
+            return null;
         }
 
-        return ret;
+        return article.optLong(Article.ARTICLE_CREATED);
     }
 
     @Override
@@ -248,39 +540,36 @@ public class ArticleRepositoryImpl extends AbstractRepository implements Article
 
     @Override
     public List<JSONObject> getRandomly(final int fetchSize) throws RepositoryException {
-        final List<JSONObject> ret = new ArrayList();
+        if (!randomArticleSampler.isBuilt()) {
+            final Query query = new Query().
+                    setFilter(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true)).
+                    setPageCount(1).addProjection(Keys.OBJECT_ID, String.class);
+            final List<String> ids = new ArrayList<>();
+            for (final JSONObject article : getList(query)) {
+                ids.add(article.optString(Keys.OBJECT_ID));
+            }
+            randomArticleSampler.build(ids);
+        }
 
-        if (0 == count()) {
+        final List<String> ids = randomArticleSampler.sample(fetchSize);
+        final List<JSONObject> ret = new ArrayList<>();
+        if (ids.isEmpty()) {
             return ret;
         }
 
-        final double mid = Math.random() + RANDOM_RANGE;
-
-        LOGGER.log(Level.TRACE, "Random mid[{0}]", mid);
-
-        Query query = new Query().
-                setFilter(CompositeFilterOperator.and(
-                        new PropertyFilter(Article.ARTICLE_RANDOM_DOUBLE, FilterOperator.GREATER_THAN_OR_EQUAL, mid),
-                        new PropertyFilter(Article.ARTICLE_RANDOM_DOUBLE, FilterOperator.LESS_THAN_OR_EQUAL, mid),
-                        new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true))).
-                setCurrentPageNum(1).setPageSize(fetchSize).setPageCount(1);
-
-        final List<JSONObject> list1 = getList(query);
-        ret.addAll(list1);
-
-        final int reminingSize = fetchSize - list1.size();
-        if (0 != reminingSize) { // Query for remains
-            query = new Query();
-            query.setFilter(
-                    CompositeFilterOperator.and(
-                            new PropertyFilter(Article.ARTICLE_RANDOM_DOUBLE, FilterOperator.GREATER_THAN_OR_EQUAL, 0D),
-                            new PropertyFilter(Article.ARTICLE_RANDOM_DOUBLE, FilterOperator.LESS_THAN_OR_EQUAL, mid),
-                            new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true))).
-                    setCurrentPageNum(1).setPageSize(reminingSize).setPageCount(1);
-
-            final List<JSONObject> list2 = getList(query);
-
-            ret.addAll(list2);
+        final Query query = new Query().
+                setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, ids)).
+                setPageCount(1);
+        ArticleSummary.project(query);
+        final Map<String, JSONObject> articles = new HashMap<>();
+        for (final JSONObject article : getList(query)) {
+            articles.put(article.optString(Keys.OBJECT_ID), article);
+        }
+        for (final String id : ids) { // Keeps the sampled order
+            final JSONObject article = articles.get(id);
+            if (null != article) {
+                ret.add(article);
+            }
         }
 
         return ret;
@@ -18,8 +18,10 @@
 package org.wang.solo.repository.impl;
 
 import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.repository.*;
 import org.b3log.latke.repository.annotation.Repository;
+import org.wang.solo.cache.FeedCache;
 import org.wang.solo.model.Category;
 import org.wang.solo.model.Tag;
 import org.wang.solo.repository.CategoryRepository;
@@ -35,11 +37,17 @@ import java.util.List;
  * Category repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.2, Apr 19, 2017
+ * @version 1.2.0.1, Oct 18, 2026
  * @since 2.0.0
  */
 @Repository
-public class CategoryRepositoryImpl extends AbstractRepository implements CategoryRepository {
+public class CategoryRepositoryImpl extends AbstractTombstonedRepository implements CategoryRepository {
+
+    /**
+     * Feed cache.
+     */
+    @Inject
+    private FeedCache feedCache;
 
     /**
      * Public constructor.
@@ -48,6 +56,26 @@ public class CategoryRepositoryImpl extends AbstractRepository implements Catego
         super(Category.CATEGORY);
     }
 
+    @Override
+    public String add(final JSONObject category) throws RepositoryException {
+        final String ret = super.add(category);
+        feedCache.clear();
+
+        return ret;
+    }
+
+    @Override
+    public void update(final String id, final JSONObject category) throws RepositoryException {
+        super.update(id, category);
+        feedCache.clear();
+    }
+
+    @Override
+    public void remove(final String id) throws RepositoryException {
+        super.remove(id);
+        feedCache.clear();
+    }
+
     @Override
     public JSONObject getByTitle(final String categoryTitle) throws RepositoryException {
         final Query query = new Query().
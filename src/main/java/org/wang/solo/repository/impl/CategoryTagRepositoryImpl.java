@@ -18,8 +18,10 @@
 package org.wang.solo.repository.impl;
 
 import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.repository.*;
 import org.b3log.latke.repository.annotation.Repository;
+import org.wang.solo.cache.FeedCache;
 import org.wang.solo.model.Category;
 import org.wang.solo.model.Tag;
 import org.wang.solo.repository.CategoryTagRepository;
@@ -30,11 +32,17 @@ import org.json.JSONObject;
  * Category-Tag relation repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.0, Mar 31, 2017
+ * @version 1.2.0.1, Oct 18, 2026
  * @since 2.0.0
  */
 @Repository
-public class CategoryTagRepositoryImpl extends AbstractRepository implements CategoryTagRepository {
+public class CategoryTagRepositoryImpl extends AbstractTombstonedRepository implements CategoryTagRepository {
+
+    /**
+     * Feed cache.
+     */
+    @Inject
+    private FeedCache feedCache;
 
     /**
      * Public constructor.
@@ -43,6 +51,20 @@ public class CategoryTagRepositoryImpl extends AbstractRepository implements Cat
         super(Category.CATEGORY + "_" + Tag.TAG);
     }
 
+    @Override
+    public String add(final JSONObject categoryTag) throws RepositoryException {
+        final String ret = super.add(categoryTag);
+        feedCache.clear();
+
+        return ret;
+    }
+
+    @Override
+    public void remove(final String id) throws RepositoryException {
+        super.remove(id);
+        feedCache.clear();
+    }
+
     @Override
     public JSONObject getByCategoryId(final String categoryId, final int currentPageNum, final int pageSize)
             throws RepositoryException {
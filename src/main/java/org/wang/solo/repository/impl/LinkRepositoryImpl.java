@@ -29,11 +29,11 @@ import org.json.JSONObject;
  * Link repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.5, Nov 10, 2011
+ * @version 1.0.0.7, Oct 18, 2026
  * @since 0.3.1
  */
 @Repository
-public class LinkRepositoryImpl extends AbstractRepository implements LinkRepository {
+public class LinkRepositoryImpl extends AbstractTombstonedRepository implements LinkRepository {
 
     /**
      * Public constructor.
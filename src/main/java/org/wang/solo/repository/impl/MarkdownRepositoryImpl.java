@@ -0,0 +1,40 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.repository.impl;
+
+import org.b3log.latke.repository.annotation.Repository;
+import org.wang.solo.model.Markdown;
+import org.wang.solo.repository.MarkdownRepository;
+
+/**
+ * Markdown source repository.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Repository
+public class MarkdownRepositoryImpl extends AbstractReplicaRepository implements MarkdownRepository {
+
+    /**
+     * Public constructor.
+     */
+    public MarkdownRepositoryImpl() {
+        super(Markdown.MARKDOWN);
+    }
+}
@@ -21,6 +21,7 @@ import org.b3log.latke.Keys;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.repository.*;
 import org.b3log.latke.repository.annotation.Repository;
+import org.wang.solo.cache.FeedCache;
 import org.wang.solo.cache.OptionCache;
 import org.wang.solo.model.Option;
 import org.wang.solo.repository.OptionRepository;
@@ -32,11 +33,11 @@ import java.util.List;
  * Option repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.2, Sep 19, 2018
+ * @version 1.0.1.1, Oct 18, 2026
  * @since 0.6.0
  */
 @Repository
-public class OptionRepositoryImpl extends AbstractRepository implements OptionRepository {
+public class OptionRepositoryImpl extends AbstractTombstonedRepository implements OptionRepository {
 
     /**
      * Option cache.
@@ -44,6 +45,12 @@ public class OptionRepositoryImpl extends AbstractRepository implements OptionRe
     @Inject
     private OptionCache optionCache;
 
+    /**
+     * Feed cache.
+     */
+    @Inject
+    private FeedCache feedCache;
+
     /**
      * Public constructor.
      */
@@ -84,8 +91,17 @@ public class OptionRepositoryImpl extends AbstractRepository implements OptionRe
 
     @Override
     public void update(final String id, final JSONObject option) throws RepositoryException {
+        final JSONObject old = optionCache.getOption(id);
         super.update(id, option);
 
+        String category = option.optString(Option.OPTION_CATEGORY);
+        if (null != old && !option.has(Option.OPTION_CATEGORY)) {
+            category = old.optString(Option.OPTION_CATEGORY);
+        }
+        if (!Option.CATEGORY_C_STATISTIC.equals(category)) { // Statistic options are updated on each view
+            feedCache.clear();
+        }
+
         option.put(Keys.OBJECT_ID, id);
         optionCache.putOption(option);
     }
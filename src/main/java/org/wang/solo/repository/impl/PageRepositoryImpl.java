@@ -22,8 +22,10 @@ import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.repository.*;
 import org.b3log.latke.repository.annotation.Repository;
 import org.wang.solo.cache.PageCache;
+import org.wang.solo.cache.SitemapCache;
 import org.wang.solo.model.Page;
 import org.wang.solo.repository.PageRepository;
+import org.wang.solo.repository.UploadRepository;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -31,13 +33,16 @@ import java.util.List;
 
 /**
  * Page repository.
+ * <p>
+ * Writes of page contents update the reference counts of the uploads linked in them.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.10, Aug 27, 2018
+ * @version 1.1.2.1, Oct 18, 2026
  * @since 0.3.1
  */
 @Repository
-public class PageRepositoryImpl extends AbstractRepository implements PageRepository {
+public class PageRepositoryImpl extends AbstractTombstonedRepository implements PageRepository {
 
     /**
      * Page cache.
@@ -45,6 +50,18 @@ public class PageRepositoryImpl extends AbstractRepository implements PageReposi
     @Inject
     private PageCache pageCache;
 
+    /**
+     * Sitemap cache.
+     */
+    @Inject
+    private SitemapCache sitemapCache;
+
+    /**
+     * Upload repository.
+     */
+    @Inject
+    private UploadRepository uploadRepository;
+
     /**
      * Public constructor.
      */
@@ -52,11 +69,26 @@ public class PageRepositoryImpl extends AbstractRepository implements PageReposi
         super(Page.PAGE);
     }
 
+    @Override
+    public String add(final JSONObject page) throws RepositoryException {
+        final String ret = super.add(page);
+        uploadRepository.reference(null, page.optString(Page.PAGE_CONTENT));
+
+        sitemapCache.remove(SitemapCache.PAGES);
+
+        return ret;
+    }
+
     @Override
     public void remove(final String id) throws RepositoryException {
+        final JSONObject old = super.get(id);
         super.remove(id);
+        if (null != old) {
+            uploadRepository.reference(old.optString(Page.PAGE_CONTENT), null);
+        }
 
         pageCache.removePage(id);
+        sitemapCache.remove(SitemapCache.PAGES);
     }
 
     @Override
@@ -78,10 +110,15 @@ public class PageRepositoryImpl extends AbstractRepository implements PageReposi
 
     @Override
     public void update(final String id, final JSONObject page) throws RepositoryException {
+        final JSONObject old = page.has(Page.PAGE_CONTENT) ? super.get(id) : null;
         super.update(id, page);
+        if (null != old) {
+            uploadRepository.reference(old.optString(Page.PAGE_CONTENT), page.optString(Page.PAGE_CONTENT));
+        }
 
         page.put(Keys.OBJECT_ID, id);
         pageCache.putPage(page);
+        sitemapCache.remove(SitemapCache.PAGES);
     }
 
     @Override
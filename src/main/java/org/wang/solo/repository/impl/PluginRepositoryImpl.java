@@ -18,7 +18,6 @@
 package org.wang.solo.repository.impl;
 
 import org.b3log.latke.model.Plugin;
-import org.b3log.latke.repository.AbstractRepository;
 import org.b3log.latke.repository.annotation.Repository;
 import org.wang.solo.repository.PluginRepository;
 
@@ -26,11 +25,11 @@ import org.wang.solo.repository.PluginRepository;
  * Plugin repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Jul 21, 2011
+ * @version 1.0.0.2, Oct 18, 2026
  * @since 0.3.1
  */
 @Repository
-public class PluginRepositoryImpl extends AbstractRepository implements PluginRepository {
+public class PluginRepositoryImpl extends AbstractTombstonedRepository implements PluginRepository {
 
     /**
      * Public constructor.
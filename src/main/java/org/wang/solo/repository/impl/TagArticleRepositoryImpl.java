@@ -31,11 +31,11 @@ import java.util.List;
  * Tag-Article relation repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.10, Aug 27, 2018
+ * @version 1.0.0.12, Oct 18, 2026
  * @since 0.3.1
  */
 @Repository
-public class TagArticleRepositoryImpl extends AbstractRepository implements TagArticleRepository {
+public class TagArticleRepositoryImpl extends AbstractTombstonedRepository implements TagArticleRepository {
 
     /**
      * Public constructor.
@@ -21,27 +21,29 @@ import org.b3log.latke.Keys;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.repository.*;
 import org.b3log.latke.repository.annotation.Repository;
+import org.wang.solo.cache.SitemapCache;
+import org.wang.solo.cache.TagCloud;
 import org.wang.solo.model.Tag;
 import org.wang.solo.repository.TagArticleRepository;
 import org.wang.solo.repository.TagRepository;
 import org.json.JSONArray;
-import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.text.Collator;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
  * Tag repository.
+ * <p>
+ * The most used tags and the tag cloud are read from {@link TagCloud}, which is cleared on each tag write.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.1.2, Aug 27, 2018
+ * @version 1.2.1.1, Oct 18, 2026
  * @since 0.3.1
  */
 @Repository
-public class TagRepositoryImpl extends AbstractRepository implements TagRepository {
+public class TagRepositoryImpl extends AbstractTombstonedRepository implements TagRepository {
 
     /**
      * Tag-Article relation repository.
@@ -49,6 +51,18 @@ public class TagRepositoryImpl extends AbstractRepository implements TagReposito
     @Inject
     private TagArticleRepository tagArticleRepository;
 
+    /**
+     * Tag cloud.
+     */
+    @Inject
+    private TagCloud tagCloud;
+
+    /**
+     * Sitemap cache.
+     */
+    @Inject
+    private SitemapCache sitemapCache;
+
     /**
      * Public constructor.
      */
@@ -69,15 +83,66 @@ public class TagRepositoryImpl extends AbstractRepository implements TagReposito
         return array.optJSONObject(0);
     }
 
+    @Override
+    public String add(final JSONObject tag) throws RepositoryException {
+        final String ret = super.add(tag);
+        tagCloud.clear();
+        sitemapCache.remove(SitemapCache.TAGS);
+
+        return ret;
+    }
+
+    @Override
+    public void update(final String id, final JSONObject tag) throws RepositoryException {
+        super.update(id, tag);
+        tagCloud.clear();
+        sitemapCache.remove(SitemapCache.TAGS);
+    }
+
+    @Override
+    public void remove(final String id) throws RepositoryException {
+        super.remove(id);
+        tagCloud.clear();
+        sitemapCache.remove(SitemapCache.TAGS);
+    }
+
+    @Override
+    public void remove(final Query query) throws RepositoryException {
+        super.remove(query);
+        tagCloud.clear();
+        sitemapCache.remove(SitemapCache.TAGS);
+    }
+
     @Override
     public List<JSONObject> getMostUsedTags(final int num) throws RepositoryException {
-        final Query query = new Query().addSort(Tag.TAG_PUBLISHED_REFERENCE_COUNT, SortDirection.DESCENDING).
-                setCurrentPageNum(1).setPageSize(num).setPageCount(1);
-        final List<JSONObject> tagJoList = getList(query);
+        List<JSONObject> ret = tagCloud.getMostUsedTags(num);
+        while (null == ret) {
+            loadTagCloud();
+            ret = tagCloud.getMostUsedTags(num);
+        }
+
+        return ret;
+    }
+
+    @Override
+    public List<JSONObject> getCloudTags() throws RepositoryException {
+        List<JSONObject> ret = tagCloud.getTags();
+        while (null == ret) {
+            loadTagCloud();
+            ret = tagCloud.getTags();
+        }
 
-        sortJSONTagList(tagJoList);
+        return ret;
+    }
 
-        return tagJoList;
+    /**
+     * Loads the tag cloud with all tags.
+     *
+     * @throws RepositoryException repository exception
+     */
+    private void loadTagCloud() throws RepositoryException {
+        final long version = tagCloud.getVersion();
+        tagCloud.load(getList(new Query().setPageCount(1)), version);
     }
 
     @Override
@@ -103,15 +168,4 @@ public class TagRepositoryImpl extends AbstractRepository implements TagReposito
     public void setTagArticleRepository(final TagArticleRepository tagArticleRepository) {
         this.tagArticleRepository = tagArticleRepository;
     }
-
-    private void sortJSONTagList(final List<JSONObject> tagJoList) {
-        Collections.sort(tagJoList, (o1, o2) -> {
-            try {
-                return Collator.getInstance(java.util.Locale.CHINA)
-                        .compare(o1.getString(Tag.TAG_TITLE), o2.getString(Tag.TAG_TITLE));
-            } catch (final JSONException e) {
-                throw new RuntimeException(e);
-            }
-        });
-    }
 }
@@ -0,0 +1,46 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.repository.impl;
+
+import org.b3log.latke.repository.AbstractRepository;
+import org.b3log.latke.repository.annotation.Repository;
+import org.wang.solo.model.Tombstone;
+import org.wang.solo.repository.TombstoneRepository;
+
+/**
+ * Tombstone repository.
+ * <p>
+ * It does not extend {@link AbstractReplicaRepository}, tombstones are written in the transactions of removals and
+ * read by backups only. Nor does it extend {@link AbstractTombstonedRepository}, pruning them does not leave
+ * tombstones of tombstones.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.1, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Repository
+public class TombstoneRepositoryImpl extends AbstractRepository implements TombstoneRepository {
+
+    /**
+     * Public constructor.
+     */
+    public TombstoneRepositoryImpl() {
+        super(Tombstone.TOMBSTONE);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.repository.impl;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.annotation.Repository;
+import org.json.JSONObject;
+import org.wang.solo.model.Upload;
+import org.wang.solo.repository.UploadRepository;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Upload repository.
+ * <p>
+ * An upload is referenced by the URL of its content addressed path ({@code /upload/${sha256[0..1]}/${sha256}...}).
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Repository
+public class UploadRepositoryImpl extends AbstractReplicaRepository implements UploadRepository {
+
+    /**
+     * Upload URL pattern, group 1 is the upload id.
+     */
+    private static final Pattern URL_PATTERN = Pattern.compile("/upload/[0-9a-f]{2}/([0-9a-f]{64})");
+
+    /**
+     * Public constructor.
+     */
+    public UploadRepositoryImpl() {
+        super(Upload.UPLOAD);
+    }
+
+    @Override
+    public Set<String> getReferencedIds(final String text) {
+        final Set<String> ret = new HashSet<>();
+        if (StringUtils.isBlank(text)) {
+            return ret;
+        }
+
+        final Matcher matcher = URL_PATTERN.matcher(text);
+        while (matcher.find()) {
+            ret.add(matcher.group(1));
+        }
+
+        return ret;
+    }
+
+    @Override
+    public void reference(final String oldText, final String newText) throws RepositoryException {
+        final Set<String> olds = getReferencedIds(oldText);
+        final Set<String> news = getReferencedIds(newText);
+        for (final String id : news) {
+            if (!olds.contains(id)) {
+                reference(id, 1);
+            }
+        }
+        for (final String id : olds) {
+            if (!news.contains(id)) {
+                reference(id, -1);
+            }
+        }
+    }
+
+    /**
+     * Adds the specified delta to the reference count of the upload specified by the given id.
+     *
+     * @param id    the given id
+     * @param delta the specified delta
+     * @throws RepositoryException repository exception
+     */
+    private void reference(final String id, final int delta) throws RepositoryException {
+        final JSONObject upload = get(id);
+        if (null == upload) { // Stored in the legacy layout or on Qiniu
+            return;
+        }
+
+        upload.put(Upload.UPLOAD_REF_COUNT, Math.max(0, upload.optInt(Upload.UPLOAD_REF_COUNT) + delta));
+        upload.put(Upload.UPLOAD_REFERENCED, System.currentTimeMillis());
+        update(id, upload);
+    }
+}
@@ -23,6 +23,7 @@ import org.b3log.latke.model.Role;
 import org.b3log.latke.model.User;
 import org.b3log.latke.repository.*;
 import org.b3log.latke.repository.annotation.Repository;
+import org.wang.solo.cache.FeedCache;
 import org.wang.solo.cache.UserCache;
 import org.wang.solo.repository.UserRepository;
 import org.json.JSONArray;
@@ -34,11 +35,11 @@ import java.util.List;
  * User repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.10, Sep 21, 2018
+ * @version 1.1.1.1, Oct 18, 2026
  * @since 0.3.1
  */
 @Repository
-public class UserRepositoryImpl extends AbstractRepository implements UserRepository {
+public class UserRepositoryImpl extends AbstractTombstonedRepository implements UserRepository {
 
     /**
      * User cache.
@@ -46,6 +47,12 @@ public class UserRepositoryImpl extends AbstractRepository implements UserReposi
     @Inject
     private UserCache userCache;
 
+    /**
+     * Feed cache.
+     */
+    @Inject
+    private FeedCache feedCache;
+
     /**
      * Public constructor.
      */
@@ -58,6 +65,7 @@ public class UserRepositoryImpl extends AbstractRepository implements UserReposi
         super.remove(id);
 
         userCache.removeUser(id);
+        feedCache.clear();
     }
 
     @Override
@@ -87,6 +95,8 @@ public class UserRepositoryImpl extends AbstractRepository implements UserReposi
         if (Role.ADMIN_ROLE.equals(user.optString(User.USER_ROLE))) {
             userCache.putAdmin(user);
         }
+
+        feedCache.clear(); // Author names
     }
 
     @Override
@@ -50,7 +50,7 @@ import java.util.List;
  * Article management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.2.12, Sep 16, 2018
+ * @version 1.2.3.2, Oct 18, 2026
  * @since 0.3.5
  */
 @Service
@@ -508,8 +508,6 @@ public class ArticleMgmtService {
                 // Publish it directly
                 article.put(Article.ARTICLE_HAD_BEEN_PUBLISHED, true);
             }
-            // Step 11: Set random double
-            article.put(Article.ARTICLE_RANDOM_DOUBLE, Math.random());
             // Step 12: Set post to community
             final boolean postToCommunity = article.optBoolean(Common.POST_TO_COMMUNITY, true);
 
@@ -596,38 +594,6 @@ public class ArticleMgmtService {
         LOGGER.log(Level.DEBUG, "Removed an article[id={0}]", articleId);
     }
 
-    /**
-     * Updates the random values of articles fetched with the specified update
-     * count.
-     *
-     * @param updateCnt the specified update count
-     * @throws ServiceException service exception
-     */
-    public void updateArticlesRandomValue(final int updateCnt)
-            throws ServiceException {
-        final Transaction transaction = articleRepository.beginTransaction();
-
-        try {
-            final List<JSONObject> randomArticles = articleRepository.getRandomly(updateCnt);
-
-            for (final JSONObject article : randomArticles) {
-                article.put(Article.ARTICLE_RANDOM_DOUBLE, Math.random());
-
-                articleRepository.update(article.getString(Keys.OBJECT_ID), article);
-            }
-
-            transaction.commit();
-        } catch (final Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-
-            LOGGER.log(Level.WARN, "Updates article random value failed");
-
-            throw new ServiceException(e);
-        }
-    }
-
     /**
      * Increments the view count of the article specified by the given article id.
      *
@@ -1019,6 +985,11 @@ public class ArticleMgmtService {
 
     /**
      * Archive the create date with the specified article.
+     * <p>
+     * Archive time is unique (index idx_archivedate_time), if a concurrent transaction has archived the same new
+     * month, the insert fails on the unique key and the archive date committed by it is read again with a locking
+     * read and used.
+     * </p>
      *
      * @param article the specified article, for example,
      *                {
@@ -1035,17 +1006,29 @@ public class ArticleMgmtService {
         JSONObject archiveDate = archiveDateRepository.getByArchiveDate(createDateString);
 
         if (null == archiveDate) {
-            archiveDate = new JSONObject();
+            final long archiveTime;
             try {
-                archiveDate.put(ArchiveDate.ARCHIVE_TIME, DateUtils.parseDate(createDateString, new String[]{"yyyy/MM"}).getTime());
-                archiveDate.put(ArchiveDate.ARCHIVE_DATE_ARTICLE_COUNT, 0);
-                archiveDate.put(ArchiveDate.ARCHIVE_DATE_PUBLISHED_ARTICLE_COUNT, 0);
-
-                archiveDateRepository.add(archiveDate);
+                archiveTime = DateUtils.parseDate(createDateString, new String[]{"yyyy/MM"}).getTime();
             } catch (final ParseException e) {
                 LOGGER.log(Level.ERROR, e.getMessage(), e);
                 throw new RepositoryException(e);
             }
+
+            archiveDate = new JSONObject();
+            archiveDate.put(ArchiveDate.ARCHIVE_TIME, archiveTime);
+            archiveDate.put(ArchiveDate.ARCHIVE_DATE_ARTICLE_COUNT, 0);
+            archiveDate.put(ArchiveDate.ARCHIVE_DATE_PUBLISHED_ARTICLE_COUNT, 0);
+            try {
+                archiveDateRepository.add(archiveDate);
+            } catch (final RepositoryException e) {
+                // Archived by a concurrent transaction, the insert has waited for it and failed on the unique key
+                archiveDate = archiveDateRepository.getByArchiveTimeForUpdate(archiveTime);
+                if (null == archiveDate) {
+                    throw e;
+                }
+
+                LOGGER.log(Level.DEBUG, "Archive date [" + createDateString + "] has been added concurrently");
+            }
         }
 
         final JSONObject newArchiveDate = new JSONObject(archiveDate, CollectionUtils.jsonArrayToArray(archiveDate.names(), String[].class));
@@ -1071,10 +1054,6 @@ public class ArticleMgmtService {
      * Some properties of an article are not been changed while article
      * updating, these properties are called 'auto' properties.
      * </p>
-     * <p>
-     * The property(named {@value Article#ARTICLE_RANDOM_DOUBLE}) of the specified
-     * article will be regenerated.
-     * </p>
      *
      * @param oldArticle the specified old article
      * @param article    the specified article
@@ -1088,7 +1067,6 @@ public class ArticleMgmtService {
         article.put(Article.ARTICLE_PUT_TOP, oldArticle.getBoolean(Article.ARTICLE_PUT_TOP));
         article.put(Article.ARTICLE_HAD_BEEN_PUBLISHED, oldArticle.getBoolean(Article.ARTICLE_HAD_BEEN_PUBLISHED));
         article.put(Article.ARTICLE_AUTHOR_ID, oldArticle.getString(Article.ARTICLE_AUTHOR_ID));
-        article.put(Article.ARTICLE_RANDOM_DOUBLE, Math.random());
     }
 
     /**
@@ -26,6 +26,7 @@ import org.b3log.latke.model.Pagination;
 import org.b3log.latke.model.Role;
 import org.b3log.latke.model.User;
 import org.b3log.latke.repository.*;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
@@ -35,8 +36,11 @@ import org.b3log.latke.util.Stopwatchs;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.wang.solo.cache.PaginationCache;
+import org.wang.solo.cache.RelevanceIndex;
 import org.wang.solo.model.*;
 import org.wang.solo.repository.*;
+import org.wang.solo.util.Cursors;
 import org.wang.solo.util.Emotions;
 import org.wang.solo.util.Markdowns;
 
@@ -53,7 +57,7 @@ import static org.wang.solo.model.Article.*;
  * @author <a href="http://blog.sweelia.com">ArmstrongCN</a>
  * @author <a href="http://zephyr.b3log.org">Zephyr</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 1.3.2.4, Sep 16, 2018
+ * @version 1.3.8.1, Oct 18, 2026
  * @since 0.3.5
  */
 @Service
@@ -124,6 +128,24 @@ public class ArticleQueryService {
     @Inject
     private LangPropsService langPropsService;
 
+    /**
+     * Pagination cache.
+     */
+    @Inject
+    private PaginationCache paginationCache;
+
+    /**
+     * Article content repository.
+     */
+    @Inject
+    private ArticleContentRepository articleContentRepository;
+
+    /**
+     * Relevance index.
+     */
+    @Inject
+    private RelevanceIndex relevanceIndex;
+
     /**
      * Searches articles with the specified keyword.
      *
@@ -142,23 +164,45 @@ public class ArticleQueryService {
         pagination.put(Pagination.PAGINATION_PAGE_NUMS, (Object) Collections.emptyList());
 
         try {
-            final Query query = new Query().setFilter(
-                    CompositeFilterOperator.and(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true),
-                            CompositeFilterOperator.or(
-                                    new PropertyFilter(Article.ARTICLE_TITLE, FilterOperator.LIKE, "%" + keyword + "%"),
-                                    new PropertyFilter(Article.ARTICLE_CONTENT, FilterOperator.LIKE, "%" + keyword + "%")))).
-                    addSort(Article.ARTICLE_UPDATED, SortDirection.DESCENDING).setCurrentPageNum(currentPageNum).setPageSize(pageSize);
-
-            final JSONObject result = articleRepository.get(query);
+            // Body matches are resolved by a subquery, so the matched ids are never sent as parameters
+            final String where = " FROM `" + articleRepository.getName() + "` WHERE `" + Article.ARTICLE_IS_PUBLISHED
+                    + "` = ? AND (`" + Article.ARTICLE_TITLE + "` LIKE ? OR `" + Keys.OBJECT_ID + "` IN (SELECT `"
+                    + Keys.OBJECT_ID + "` FROM `" + articleContentRepository.getName() + "` WHERE `"
+                    + Article.ARTICLE_CONTENT + "` LIKE ?))";
+            final String like = "%" + keyword + "%";
+            final List<JSONObject> counts = articleRepository.select("SELECT COUNT(*) AS `cnt`" + where, "1", like, like);
+            final long recordCnt = counts.isEmpty() ? 0 : counts.get(0).optLong("cnt");
+            final List<String> ids = new ArrayList<>();
+            for (final JSONObject article : articleRepository.select("SELECT `" + Keys.OBJECT_ID + "`" + where
+                            + " ORDER BY `" + Article.ARTICLE_UPDATED + "` DESC, `" + Keys.OBJECT_ID + "` DESC LIMIT ? OFFSET ?",
+                    "1", like, like, pageSize, (currentPageNum - 1) * pageSize)) {
+                ids.add(article.optString(Keys.OBJECT_ID));
+            }
 
-            final int pageCount = result.optJSONObject(Pagination.PAGINATION).optInt(Pagination.PAGINATION_PAGE_COUNT);
+            final List<JSONObject> articles = new ArrayList<>();
             final JSONObject preference = preferenceQueryService.getPreference();
+            if (!ids.isEmpty()) {
+                final Query query = new Query().setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, ids)).
+                        setPageCount(1);
+                ArticleSummary.project(query, preference);
+                final Map<String, JSONObject> found = new HashMap<>();
+                for (final JSONObject article : articleRepository.getList(query)) {
+                    found.put(article.optString(Keys.OBJECT_ID), article);
+                }
+                for (final String id : ids) { // Keeps the sorted order
+                    final JSONObject article = found.get(id);
+                    if (null != article) {
+                        articles.add(article);
+                    }
+                }
+            }
+
+            final int pageCount = (int) Math.ceil((double) recordCnt / (double) pageSize);
             final int windowSize = preference.optInt(Option.ID_C_ARTICLE_LIST_PAGINATION_WINDOW_SIZE);
             final List<Integer> pageNums = Paginator.paginate(currentPageNum, pageSize, pageCount, windowSize);
             pagination.put(Pagination.PAGINATION_PAGE_COUNT, pageCount);
             pagination.put(Pagination.PAGINATION_PAGE_NUMS, (Object) pageNums);
 
-            final List<JSONObject> articles = CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS));
             ret.put(Article.ARTICLES, (Object) articles);
         } catch (final RepositoryException | ServiceException e) {
             LOGGER.log(Level.ERROR, "Searches articles error", e);
@@ -225,6 +269,7 @@ public class ArticleQueryService {
             query = new Query().setFilter(
                     new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, articleIds)).
                     setPageCount(1).addSort(Keys.OBJECT_ID, SortDirection.DESCENDING);
+            ArticleSummary.project(query, preference);
 
             final List<JSONObject> articles = new ArrayList<>();
             final JSONArray articleArray = articleRepository.get(query).optJSONArray(Keys.RESULTS);
@@ -448,14 +493,19 @@ public class ArticleQueryService {
     }
 
     /**
-     * Gets the recent articles with the specified fetch size.
+     * Gets the recent articles (with content) with the specified fetch size.
      *
      * @param fetchSize the specified fetch size
      * @return a list of json object, its size less or equal to the specified fetch size
      */
     public List<JSONObject> getRecentArticles(final int fetchSize) {
         try {
-            return articleRepository.getRecentArticles(fetchSize);
+            final Query query = new Query().
+                    setFilter(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true)).
+                    addSort(Article.ARTICLE_UPDATED, SortDirection.DESCENDING).
+                    setCurrentPageNum(1).setPageSize(fetchSize).setPageCount(1);
+
+            return articleRepository.getList(query);
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Gets recent articles failed", e);
 
@@ -533,7 +583,6 @@ public class ArticleQueryService {
             article.remove(ARTICLE_PUT_TOP);
             article.remove(ARTICLE_UPDATED);
             article.remove(ARTICLE_VIEW_COUNT);
-            article.remove(ARTICLE_RANDOM_DOUBLE);
 
             LOGGER.log(Level.DEBUG, "Got an article[id={0}]", articleId);
 
@@ -560,6 +609,7 @@ public class ArticleQueryService {
      *                          "paginationWindowSize": 10,
      *                          "articleIsPublished": boolean,
      *                          "keyword": "", // Optional search keyword
+     *                          "paginationCursor": "", // Optional opaque cursor of the previous page
      *                          "excludes": ["", ....], // Optional
      *                          "enableArticleUpdateHint": bool // Optional
      *                          see {@link Pagination} for more details
@@ -567,7 +617,8 @@ public class ArticleQueryService {
      * {
      *     "pagination": {
      *         "paginationPageCount": 100,
-     *         "paginationPageNums": [1, 2, 3, 4, 5]
+     *         "paginationPageNums": [1, 2, 3, 4, 5],
+     *         "paginationNextCursor": "" // Opaque cursor of the next page, "" if there is no next page
      *     },
      *     "articles": [{
      *         "oId": "",
@@ -596,16 +647,19 @@ public class ArticleQueryService {
             final int windowSize = requestJSONObject.getInt(Pagination.PAGINATION_WINDOW_SIZE);
             final boolean articleIsPublished = requestJSONObject.optBoolean(ARTICLE_IS_PUBLISHED, true);
 
-            final Query query = new Query().setCurrentPageNum(currentPageNum).setPageSize(pageSize).
-                    addSort(ARTICLE_PUT_TOP, SortDirection.DESCENDING);
-            if (requestJSONObject.optBoolean(Option.ID_C_ENABLE_ARTICLE_UPDATE_HINT)) {
+            final boolean updateHint = requestJSONObject.optBoolean(Option.ID_C_ENABLE_ARTICLE_UPDATE_HINT);
+
+            final Query query = new Query().addSort(ARTICLE_PUT_TOP, SortDirection.DESCENDING);
+            if (updateHint) {
                 query.addSort(ARTICLE_UPDATED, SortDirection.DESCENDING);
             } else {
                 query.addSort(ARTICLE_CREATED, SortDirection.DESCENDING);
             }
 
             final String keyword = requestJSONObject.optString(Common.KEYWORD);
+            String listing = null; // Search results are not cached
             if (StringUtils.isBlank(keyword)) {
+                listing = "articles:" + articleIsPublished + ":" + updateHint;
                 query.setFilter(new PropertyFilter(ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, articleIsPublished));
             } else {
                 query.setFilter(CompositeFilterOperator.and(
@@ -617,18 +671,34 @@ public class ArticleQueryService {
                 ));
             }
 
-            final JSONObject result = articleRepository.get(query);
+            Integer recordCount = null == listing ? null : paginationCache.getCount(listing);
+            if (null == recordCount) {
+                recordCount = (int) articleRepository.count(new Query().setFilter(query.getFilter()));
+                if (null != listing) {
+                    paginationCache.putCount(listing, recordCount);
+                }
+            }
+            final int pageCount = (int) Math.ceil((double) recordCount / (double) pageSize);
+
+            JSONArray excludes = requestJSONObject.optJSONArray(Keys.EXCLUDES);
+            excludes = null == excludes ? new JSONArray() : excludes;
+            if (CollectionUtils.jsonArrayToList(excludes).contains(ARTICLE_CONTENT)) {
+                ArticleSummary.project(query);
+            } else {
+                ArticleSummary.project(query, preferenceQueryService.getPreference());
+            }
+
+            final JSONObject cursor = Cursors.decode(requestJSONObject.optString(Common.PAGINATION_CURSOR));
+            final JSONObject result = getPage(articleRepository, listing, query, currentPageNum, cursor, pageSize);
 
-            final int pageCount = result.optJSONObject(Pagination.PAGINATION).optInt(Pagination.PAGINATION_PAGE_COUNT);
             final JSONObject pagination = new JSONObject();
             ret.put(Pagination.PAGINATION, pagination);
             final List<Integer> pageNums = Paginator.paginate(currentPageNum, pageSize, pageCount, windowSize);
             pagination.put(Pagination.PAGINATION_PAGE_COUNT, pageCount);
             pagination.put(Pagination.PAGINATION_PAGE_NUMS, pageNums);
+            pagination.put(Common.PAGINATION_NEXT_CURSOR, result.optString(Common.PAGINATION_NEXT_CURSOR));
 
             final JSONArray articles = result.getJSONArray(Keys.RESULTS);
-            JSONArray excludes = requestJSONObject.optJSONArray(Keys.EXCLUDES);
-            excludes = null == excludes ? new JSONArray() : excludes;
 
             for (int i = 0; i < articles.length(); i++) {
                 final JSONObject article = articles.getJSONObject(i);
@@ -665,46 +735,33 @@ public class ArticleQueryService {
      */
     public List<JSONObject> getArticlesByTag(final String tagId, final int currentPageNum, final int pageSize)
             throws ServiceException {
-        try {
-            JSONObject result = tagArticleRepository.getByTagId(tagId, currentPageNum, pageSize);
-            final JSONArray tagArticleRelations = result.getJSONArray(Keys.RESULTS);
-
-            if (0 == tagArticleRelations.length()) {
-                return Collections.emptyList();
-            }
-
-            final Set<String> articleIds = new HashSet<>();
-
-            for (int i = 0; i < tagArticleRelations.length(); i++) {
-                final JSONObject tagArticleRelation = tagArticleRelations.getJSONObject(i);
-                final String articleId = tagArticleRelation.getString(Article.ARTICLE + "_" + Keys.OBJECT_ID);
+        final JSONObject result = getArticlesByTag(tagId, currentPageNum, null, pageSize);
 
-                articleIds.add(articleId);
-            }
-
-            final List<JSONObject> ret = new ArrayList<>();
-
-            final Query query = new Query().setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, articleIds)).setPageCount(1).index(
-                    Article.ARTICLE_PERMALINK);
-
-            result = articleRepository.get(query);
-            final JSONArray articles = result.getJSONArray(Keys.RESULTS);
-
-            for (int i = 0; i < articles.length(); i++) {
-                final JSONObject article = articles.getJSONObject(i);
-                if (!article.getBoolean(Article.ARTICLE_IS_PUBLISHED)) {
-                    // Skips the unpublished article
-                    continue;
-                }
-
-                article.put(ARTICLE_CREATE_TIME, article.getLong(ARTICLE_CREATED));
-                article.put(ARTICLE_T_CREATE_DATE, new Date(article.getLong(ARTICLE_CREATED)));
-                article.put(Article.ARTICLE_T_UPDATE_DATE, new Date(article.optLong(ARTICLE_UPDATED)));
+        return CollectionUtils.jsonArrayToList(result.optJSONArray(ARTICLES));
+    }
 
-                ret.add(article);
-            }
+    /**
+     * Gets published articles with the specified tag id, current page number, cursor and page size.
+     *
+     * @param tagId          the specified tag id
+     * @param currentPageNum the specified current page number
+     * @param cursor         the specified opaque cursor of the previous page, may be {@code null}
+     * @param pageSize       the specified page size
+     * @return for example,      <pre>
+     * {
+     *     "articles": [{....}, ....],
+     *     "paginationNextCursor": "" // Opaque cursor of the next page, "" if there is no next page
+     * }
+     * </pre>
+     * @throws ServiceException service exception
+     */
+    public JSONObject getArticlesByTag(final String tagId, final int currentPageNum, final String cursor, final int pageSize)
+            throws ServiceException {
+        try {
+            final Query query = new Query().setFilter(new PropertyFilter(Tag.TAG + "_" + Keys.OBJECT_ID, FilterOperator.EQUAL, tagId)).
+                    addSort(Article.ARTICLE + "_" + Keys.OBJECT_ID, SortDirection.DESCENDING);
 
-            return ret;
+            return getRelatedArticles(tagArticleRepository, "tag:" + tagId, query, currentPageNum, Cursors.decode(cursor), pageSize);
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Gets articles by tag[id=" + tagId + "] failed", e);
             throw new ServiceException(e);
@@ -722,46 +779,190 @@ public class ArticleQueryService {
      */
     public List<JSONObject> getArticlesByArchiveDate(final String archiveDateId, final int currentPageNum, final int pageSize)
             throws ServiceException {
+        final JSONObject result = getArticlesByArchiveDate(archiveDateId, currentPageNum, null, pageSize);
+
+        return CollectionUtils.jsonArrayToList(result.optJSONArray(ARTICLES));
+    }
+
+    /**
+     * Gets published articles with the specified archive date id, current page number, cursor and page size.
+     *
+     * @param archiveDateId  the specified archive date id
+     * @param currentPageNum the specified current page number
+     * @param cursor         the specified opaque cursor of the previous page, may be {@code null}
+     * @param pageSize       the specified page size
+     * @return for example,      <pre>
+     * {
+     *     "articles": [{....}, ....],
+     *     "paginationNextCursor": "" // Opaque cursor of the next page, "" if there is no next page
+     * }
+     * </pre>
+     * @throws ServiceException service exception
+     */
+    public JSONObject getArticlesByArchiveDate(final String archiveDateId, final int currentPageNum, final String cursor,
+                                               final int pageSize) throws ServiceException {
         try {
-            JSONObject result = archiveDateArticleRepository.getByArchiveDateId(archiveDateId, currentPageNum, pageSize);
-            final JSONArray relations = result.getJSONArray(Keys.RESULTS);
-            if (0 == relations.length()) {
-                return Collections.emptyList();
-            }
+            final Query query = new Query().setFilter(new PropertyFilter(ArchiveDate.ARCHIVE_DATE + "_" + Keys.OBJECT_ID, FilterOperator.EQUAL, archiveDateId)).
+                    addSort(Article.ARTICLE + "_" + Keys.OBJECT_ID, SortDirection.DESCENDING);
 
-            final Set<String> articleIds = new HashSet<>();
-            for (int i = 0; i < relations.length(); i++) {
-                final JSONObject relation = relations.getJSONObject(i);
-                final String articleId = relation.getString(Article.ARTICLE + "_" + Keys.OBJECT_ID);
+            return getRelatedArticles(archiveDateArticleRepository, "archive:" + archiveDateId, query, currentPageNum,
+                    Cursors.decode(cursor), pageSize);
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Gets articles by archive date[id=" + archiveDateId + "] failed", e);
+            throw new ServiceException(e);
+        }
+    }
 
-                articleIds.add(articleId);
-            }
+    /**
+     * Gets a page of articles with the specified listing query.
+     * <p>
+     * Seeks after the specified cursor or the cached cursor of the previous page, falls back to offset pagination if
+     * neither of them is available.
+     * </p>
+     *
+     * @param listing        the specified listing, for example "index:articles", {@code null} for not caching cursors
+     * @param query          the specified listing query with filter and sorts
+     * @param currentPageNum the specified current page number
+     * @param cursor         the specified cursor of the previous page, may be {@code null}
+     * @param pageSize       the specified page size
+     * @return for example,      <pre>
+     * {
+     *     "rslts": [{....}, ....],
+     *     "paginationNextCursor": "" // Opaque cursor of the next page, "" if there is no next page
+     * }
+     * </pre>
+     * @throws ServiceException service exception
+     */
+    public JSONObject getArticlesPage(final String listing, final Query query, final int currentPageNum,
+                                      final JSONObject cursor, final int pageSize) throws ServiceException {
+        try {
+            return getPage(articleRepository, listing, query, currentPageNum, cursor, pageSize);
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Gets articles page [listing=" + listing + ", currentPageNum=" + currentPageNum + "] failed", e);
+            throw new ServiceException(e);
+        }
+    }
 
-            final List<JSONObject> ret = new ArrayList<>();
+    /**
+     * Gets a page of records with the specified repository and listing query.
+     * <p>
+     * Seeks after the specified cursor or the cached cursor of the previous page, falls back to offset pagination if
+     * neither of them is available. The cursor of the last record of a full page is cached (per page size) for seeking
+     * the next page only if the page is not sought with the specified cursor, which comes from clients. A cursor of
+     * another listing is ignored.
+     * </p>
+     *
+     * @param repository     the specified repository
+     * @param listing        the specified listing, {@code null} for not caching cursors
+     * @param query          the specified listing query with filter and sorts
+     * @param currentPageNum the specified current page number
+     * @param cursor         the specified cursor of the previous page, may be {@code null}
+     * @param pageSize       the specified page size
+     * @return for example,      <pre>
+     * {
+     *     "rslts": [{....}, ....],
+     *     "paginationNextCursor": "" // Opaque cursor of the next page, "" if there is no next page
+     * }
+     * </pre>
+     * @throws RepositoryException repository exception
+     */
+    private JSONObject getPage(final Repository repository, final String listing, final Query query,
+                               final int currentPageNum, final JSONObject cursor, final int pageSize) throws RepositoryException {
+        JSONObject seek = cursor;
+        if (null != seek && !StringUtils.equals(listing, seek.optString(Cursors.LISTING, null))) {
+            LOGGER.log(Level.DEBUG, "Ignored cursor [" + seek + "] of another listing than [" + listing + "]");
 
-            final Query query = new Query().setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, articleIds)).setPageCount(1).index(
-                    Article.ARTICLE_PERMALINK);
-            result = articleRepository.get(query);
-            final JSONArray articles = result.getJSONArray(Keys.RESULTS);
-            for (int i = 0; i < articles.length(); i++) {
-                final JSONObject article = articles.getJSONObject(i);
-                if (!article.getBoolean(Article.ARTICLE_IS_PUBLISHED)) {
-                    // Skips the unpublished article
-                    continue;
-                }
+            seek = null;
+        }
+        final boolean clientSeek = null != seek; // Cursors from clients are not trusted to be cached
+        if (null == seek && null != listing && 1 < currentPageNum) {
+            seek = paginationCache.getCursor(listing, pageSize, currentPageNum - 1);
+        }
 
-                article.put(ARTICLE_CREATE_TIME, article.getLong(ARTICLE_CREATED));
-                article.put(ARTICLE_T_CREATE_DATE, new Date(article.getLong(ARTICLE_CREATED)));
-                article.put(Article.ARTICLE_T_UPDATE_DATE, new Date(article.optLong(ARTICLE_UPDATED)));
+        List<JSONObject> records;
+        if (1 >= currentPageNum || null != seek) {
+            records = repository.getList(Cursors.seek(query, seek, pageSize));
+        } else {
+            Cursors.seek(query, null, pageSize).setCurrentPageNum(currentPageNum);
+            records = repository.getList(query);
+        }
 
-                ret.add(article);
+        final JSONObject ret = new JSONObject();
+        ret.put(Keys.RESULTS, new JSONArray(records));
+        ret.put(Common.PAGINATION_NEXT_CURSOR, "");
+        if (!records.isEmpty() && pageSize == records.size()) {
+            final JSONObject nextCursor = Cursors.of(records.get(records.size() - 1), query);
+            if (null != listing && !clientSeek) {
+                paginationCache.putCursor(listing, pageSize, currentPageNum, nextCursor);
             }
+            ret.put(Common.PAGINATION_NEXT_CURSOR, Cursors.encode(new JSONObject(nextCursor, JSONObject.getNames(nextCursor)).
+                    put(Cursors.LISTING, listing)));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets a page of published articles with the specified relation repository (tag-article, archive date-article)
+     * and listing query.
+     *
+     * @param relationRepository the specified relation repository
+     * @param listing            the specified listing
+     * @param query              the specified relation listing query
+     * @param currentPageNum     the specified current page number
+     * @param cursor             the specified cursor of the previous page, may be {@code null}
+     * @param pageSize           the specified page size
+     * @return for example,      <pre>
+     * {
+     *     "articles": [{....}, ....],
+     *     "paginationNextCursor": ""
+     * }
+     * </pre>
+     * @throws RepositoryException repository exception
+     * @throws ServiceException    service exception
+     * @throws JSONException       json exception
+     */
+    private JSONObject getRelatedArticles(final Repository relationRepository, final String listing, final Query query,
+                                          final int currentPageNum, final JSONObject cursor, final int pageSize)
+            throws RepositoryException, ServiceException, JSONException {
+        final JSONObject ret = new JSONObject();
+
+        final JSONObject result = getPage(relationRepository, listing, query, currentPageNum, cursor, pageSize);
+        ret.put(Common.PAGINATION_NEXT_CURSOR, result.optString(Common.PAGINATION_NEXT_CURSOR));
+        final JSONArray relations = result.getJSONArray(Keys.RESULTS);
+        if (0 == relations.length()) {
+            ret.put(ARTICLES, new JSONArray());
 
             return ret;
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Gets articles by archive date[id=" + archiveDateId + "] failed", e);
-            throw new ServiceException(e);
         }
+
+        final Set<String> articleIds = new HashSet<>();
+        for (int i = 0; i < relations.length(); i++) {
+            final JSONObject relation = relations.getJSONObject(i);
+            final String articleId = relation.getString(Article.ARTICLE + "_" + Keys.OBJECT_ID);
+
+            articleIds.add(articleId);
+        }
+
+        final JSONArray articles = new JSONArray();
+        final Query articleQuery = new Query().setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, articleIds)).
+                addSort(Keys.OBJECT_ID, SortDirection.DESCENDING).setPageCount(1).index(Article.ARTICLE_PERMALINK);
+        ArticleSummary.project(articleQuery, preferenceQueryService.getPreference());
+        for (final JSONObject article : articleRepository.getList(articleQuery)) {
+            if (!article.getBoolean(Article.ARTICLE_IS_PUBLISHED)) {
+                // Skips the unpublished article
+                continue;
+            }
+
+            article.put(ARTICLE_CREATE_TIME, article.getLong(ARTICLE_CREATED));
+            article.put(ARTICLE_T_CREATE_DATE, new Date(article.getLong(ARTICLE_CREATED)));
+            article.put(Article.ARTICLE_T_UPDATE_DATE, new Date(article.optLong(ARTICLE_UPDATED)));
+
+            articles.put(article);
+        }
+        ret.put(ARTICLES, articles);
+
+        return ret;
     }
 
     /**
@@ -788,79 +989,64 @@ public class ArticleQueryService {
     }
 
     /**
-     * Gets the relevant published articles of the specified article.
+     * Gets the relevant articles of the article specified by the given id.
      * <p>
-     * <b>Note</b>: The article content and abstract is raw (no editor type processing).
+     * The relevant articles are looked up from the {@link RelevanceIndex relevance index}. If it has not been built,
+     * a background build is started and no relevant articles are returned until it finishes.
      * </p>
      *
-     * @param article    the specified article
-     * @param preference the specified preference
-     * @return a list of articles, returns an empty list if not found
-     * @throws ServiceException service exception
+     * @param articleId the given id
+     * @param fetchSize the specified fetch size
+     * @param seed      the specified shuffle seed, returns the most relevant articles if it is {@code null}
+     * @return a list of articles, each of them contains title and permalink, returns {@code null} if the specified
+     * article is not a published article
      */
-    public List<JSONObject> getRelevantArticles(final JSONObject article, final JSONObject preference)
-            throws ServiceException {
-        try {
-            final int displayCnt = preference.getInt(Option.ID_C_RELEVANT_ARTICLES_DISPLAY_CNT);
-            final String[] tagTitles = article.getString(Article.ARTICLE_TAGS_REF).split(",");
-            final int maxTagCnt = displayCnt > tagTitles.length ? tagTitles.length : displayCnt;
-            final String articleId = article.getString(Keys.OBJECT_ID);
-
-            final List<JSONObject> articles = new ArrayList<JSONObject>();
-
-            for (int i = 0; i < maxTagCnt; i++) { // XXX: should average by tag?
-                final String tagTitle = tagTitles[i];
-                final JSONObject tag = tagRepository.getByTitle(tagTitle);
-                final String tagId = tag.getString(Keys.OBJECT_ID);
-                final JSONObject result = tagArticleRepository.getByTagId(tagId, 1, displayCnt);
-                final JSONArray tagArticleRelations = result.getJSONArray(Keys.RESULTS);
-
-                final int relationSize = displayCnt < tagArticleRelations.length() ? displayCnt : tagArticleRelations.length();
-
-                for (int j = 0; j < relationSize; j++) {
-                    final JSONObject tagArticleRelation = tagArticleRelations.getJSONObject(j);
-                    final String relatedArticleId = tagArticleRelation.getString(Article.ARTICLE + "_" + Keys.OBJECT_ID);
-
-                    if (articleId.equals(relatedArticleId)) {
-                        continue;
-                    }
-
-                    final JSONObject relevant = articleRepository.get(relatedArticleId);
-
-                    if (!relevant.getBoolean(Article.ARTICLE_IS_PUBLISHED)) {
-                        continue;
-                    }
-
-                    boolean existed = false;
-
-                    for (final JSONObject relevantArticle : articles) {
-                        if (relevantArticle.getString(Keys.OBJECT_ID).equals(relevant.getString(Keys.OBJECT_ID))) {
-                            existed = true;
-                        }
-                    }
+    public List<JSONObject> getRelevantArticles(final String articleId, final int fetchSize, final Long seed) {
+        if (!relevanceIndex.isBuilt()) {
+            buildRelevanceIndex();
 
-                    if (!existed) {
-                        articles.add(relevant);
-                    }
-                }
-            }
+            return new ArrayList<>();
+        }
 
-            removeUnusedProperties(articles);
+        return relevanceIndex.get(articleId, fetchSize, seed);
+    }
 
-            if (displayCnt > articles.size()) {
-                return articles;
+    /**
+     * Builds the relevance index with all published articles in background.
+     */
+    public void buildRelevanceIndex() {
+        final Query query = new Query().setFilter(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true)).
+                setPageCount(1).
+                addProjection(Keys.OBJECT_ID, String.class).
+                addProjection(Article.ARTICLE_TITLE, String.class).
+                addProjection(Article.ARTICLE_TAGS_REF, String.class).
+                addProjection(Article.ARTICLE_PERMALINK, String.class).
+                addProjection(Article.ARTICLE_IS_PUBLISHED, Boolean.class);
+        relevanceIndex.build(() -> {
+            try {
+                return articleRepository.getList(query);
+            } finally {
+                JdbcRepository.dispose();
             }
+        });
+    }
 
-            final List<Integer> randomIntegers = CollectionUtils.getRandomIntegers(0, articles.size() - 1, displayCnt);
-            final List<JSONObject> ret = new ArrayList<JSONObject>();
-
-            for (final int index : randomIntegers) {
-                ret.add(articles.get(index));
+    /**
+     * Loads the most view count and most comment count articles with the display counts in preference.
+     *
+     * @throws ServiceException service exception
+     */
+    public void loadTopArticles() throws ServiceException {
+        try {
+            final JSONObject preference = preferenceQueryService.getPreference();
+            if (null == preference) {
+                return;
             }
 
-            return ret;
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Gets relevant articles failed", e);
+            articleRepository.getMostViewCountArticles(preference.optInt(Option.ID_C_MOST_VIEW_ARTICLE_DISPLAY_CNT));
+            articleRepository.getMostCommentArticles(preference.optInt(Option.ID_C_MOST_COMMENT_ARTICLE_DISPLAY_CNT));
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Loads top articles failed", e);
 
             throw new ServiceException(e);
         }
@@ -981,23 +1167,52 @@ public class ArticleQueryService {
      */
     public List<JSONObject> getArticlesByAuthorId(final String authorId, final int currentPageNum, final int pageSize)
             throws ServiceException {
+        final JSONObject result = getArticlesByAuthorId(authorId, currentPageNum, null, pageSize);
+
+        return CollectionUtils.jsonArrayToList(result.optJSONArray(ARTICLES));
+    }
+
+    /**
+     * Gets <em>published</em> articles by the specified author id, current page number, cursor and page size.
+     *
+     * @param authorId       the specified author id
+     * @param currentPageNum the specified current page number
+     * @param cursor         the specified opaque cursor of the previous page, may be {@code null}
+     * @param pageSize       the specified page size
+     * @return for example,      <pre>
+     * {
+     *     "articles": [{....}, ....],
+     *     "paginationNextCursor": "" // Opaque cursor of the next page, "" if there is no next page
+     * }
+     * </pre>
+     * @throws ServiceException service exception
+     */
+    public JSONObject getArticlesByAuthorId(final String authorId, final int currentPageNum, final String cursor,
+                                            final int pageSize) throws ServiceException {
         try {
-            final JSONObject result = articleRepository.getByAuthorId(authorId, currentPageNum, pageSize);
+            final Query query = new Query().
+                    setFilter(CompositeFilterOperator.and(
+                            new PropertyFilter(Article.ARTICLE_AUTHOR_ID, FilterOperator.EQUAL, authorId),
+                            new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true))).
+                    addSort(Article.ARTICLE_UPDATED, SortDirection.DESCENDING).addSort(Article.ARTICLE_PUT_TOP, SortDirection.DESCENDING);
+            ArticleSummary.project(query, preferenceQueryService.getPreference());
+            final JSONObject result = getPage(articleRepository, "author:" + authorId, query, currentPageNum, Cursors.decode(cursor), pageSize);
             final JSONArray articles = result.getJSONArray(Keys.RESULTS);
-            final List<JSONObject> ret = new ArrayList<>();
 
             for (int i = 0; i < articles.length(); i++) {
                 final JSONObject article = articles.getJSONObject(i);
                 article.put(ARTICLE_CREATE_TIME, article.getLong(ARTICLE_CREATED));
                 article.put(ARTICLE_T_CREATE_DATE, new Date(article.optLong(ARTICLE_CREATED)));
                 article.put(Article.ARTICLE_T_UPDATE_DATE, new Date(article.optLong(ARTICLE_UPDATED)));
-
-                ret.add(article);
             }
 
+            final JSONObject ret = new JSONObject();
+            ret.put(ARTICLES, articles);
+            ret.put(Common.PAGINATION_NEXT_CURSOR, result.optString(Common.PAGINATION_NEXT_CURSOR));
+
             return ret;
         } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Gets articles by author email failed [authorId=" + authorId +
+            LOGGER.log(Level.ERROR, "Gets articles by author id failed [authorId=" + authorId +
                     ", currentPageNum=" + currentPageNum + ", pageSize=" + pageSize + "]", e);
 
             throw new ServiceException(e);
@@ -1137,7 +1352,6 @@ public class ArticleQueryService {
         article.remove(Article.ARTICLE_TAGS_REF);
         article.remove(Article.ARTICLE_UPDATED);
         article.remove(Article.ARTICLE_VIEW_COUNT);
-        article.remove(Article.ARTICLE_RANDOM_DOUBLE);
         article.remove(Article.ARTICLE_IS_PUBLISHED);
         article.remove(Article.ARTICLE_PUT_TOP);
         article.remove(Article.ARTICLE_HAD_BEEN_PUBLISHED);
@@ -0,0 +1,733 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.service;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.FilterOperator;
+import org.b3log.latke.repository.PropertyFilter;
+import org.b3log.latke.repository.Query;
+import org.b3log.latke.repository.Repository;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.latke.service.ServiceException;
+import org.b3log.latke.service.annotation.Service;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.wang.solo.cache.*;
+import org.wang.solo.model.Tombstone;
+import org.wang.solo.repository.ArticleContentRepository;
+import org.wang.solo.repository.TombstoneRepository;
+import org.wang.solo.repository.impl.AbstractTombstonedRepository;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Backup service.
+ * <p>
+ * A backup archive is a zip of {@value #MANIFEST} ({@code {"format": 1, "type": "full|delta", "since": long,
+ * "until": long}}) and {@value #DATA} (the JSON export, see {@link ExportService#writeJSONs(Writer, long)}). A full
+ * archive holds all data, a delta archive holds the changes from {@code since} to {@code until}, so a full archive and
+ * the deltas following it make a chain, each delta starts at or before the end of the previous archive.
+ * </p>
+ * <p>
+ * With {@code backup.dir} configured (local.properties), archives are written to the dir periodically, named
+ * {@code solo-backup-${yyyyMMddHHmmss}-full|delta.zip}.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.1, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Service
+public class BackupService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(BackupService.class);
+
+    /**
+     * Manifest entry name.
+     */
+    public static final String MANIFEST = "manifest.json";
+
+    /**
+     * Data entry name.
+     */
+    public static final String DATA = "solo.json";
+
+    /**
+     * Archive type - full.
+     */
+    public static final String FULL = "full";
+
+    /**
+     * Archive type - delta.
+     */
+    public static final String DELTA = "delta";
+
+    /**
+     * Archive format version.
+     */
+    private static final int FORMAT = 1;
+
+    /**
+     * Overlap (milliseconds) of a delta with the previous archive, records written in a transaction committed after the
+     * previous archive started are still in the delta. Restoring the same records twice makes no difference.
+     */
+    private static final long OVERLAP = 60 * 1000;
+
+    /**
+     * Archive file name pattern.
+     */
+    private static final Pattern ARCHIVE_NAME = Pattern.compile("solo-backup-\\d{14}-(" + FULL + "|" + DELTA + ")\\.zip");
+
+    /**
+     * Export service.
+     */
+    @Inject
+    private ExportService exportService;
+
+    /**
+     * Article content repository.
+     */
+    @Inject
+    private ArticleContentRepository articleContentRepository;
+
+    /**
+     * Tombstone repository.
+     */
+    @Inject
+    private TombstoneRepository tombstoneRepository;
+
+    /**
+     * Article cache.
+     */
+    @Inject
+    private ArticleCache articleCache;
+
+    /**
+     * Comment cache.
+     */
+    @Inject
+    private CommentCache commentCache;
+
+    /**
+     * Option cache.
+     */
+    @Inject
+    private OptionCache optionCache;
+
+    /**
+     * Page cache.
+     */
+    @Inject
+    private PageCache pageCache;
+
+    /**
+     * User cache.
+     */
+    @Inject
+    private UserCache userCache;
+
+    /**
+     * Statistic cache.
+     */
+    @Inject
+    private StatisticCache statisticCache;
+
+    /**
+     * Pagination cache.
+     */
+    @Inject
+    private PaginationCache paginationCache;
+
+    /**
+     * Feed cache.
+     */
+    @Inject
+    private FeedCache feedCache;
+
+    /**
+     * Sitemap cache.
+     */
+    @Inject
+    private SitemapCache sitemapCache;
+
+    /**
+     * Archive date summary.
+     */
+    @Inject
+    private ArchiveDateSummary archiveDateSummary;
+
+    /**
+     * Tag cloud.
+     */
+    @Inject
+    private TagCloud tagCloud;
+
+    /**
+     * Relevance index.
+     */
+    @Inject
+    private RelevanceIndex relevanceIndex;
+
+    /**
+     * Top articles.
+     */
+    @Inject
+    private TopArticles topArticles;
+
+    /**
+     * Article timeline.
+     */
+    @Inject
+    private ArticleTimeline articleTimeline;
+
+    /**
+     * Random article sampler.
+     */
+    @Inject
+    private RandomArticleSampler randomArticleSampler;
+
+    /**
+     * Backup scheduler, {@code null} if backups are not configured.
+     */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Writes a backup archive to the specified output stream, the stream is not closed.
+     *
+     * @param outputStream the specified output stream
+     * @param since        the specified time, writes a delta archive of the changes since then, {@code 0} for a full
+     *                     archive
+     * @return manifest of the archive
+     * @throws ServiceException service exception
+     */
+    public JSONObject writeArchive(final OutputStream outputStream, final long since) throws ServiceException {
+        final JSONObject ret = new JSONObject();
+        ret.put("format", FORMAT);
+        ret.put("type", 0 < since ? DELTA : FULL);
+        ret.put("since", since);
+        ret.put("until", System.currentTimeMillis());
+
+        try {
+            final ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream);
+            zipOutputStream.putNextEntry(new ZipEntry(MANIFEST));
+            zipOutputStream.write(ret.toString().getBytes(StandardCharsets.UTF_8));
+            zipOutputStream.closeEntry();
+
+            zipOutputStream.putNextEntry(new ZipEntry(DATA));
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(zipOutputStream, StandardCharsets.UTF_8));
+            exportService.writeJSONs(writer, 0 < since ? Math.max(1, since - OVERLAP) : 0);
+            zipOutputStream.closeEntry();
+            zipOutputStream.finish();
+        } catch (final IOException e) {
+            LOGGER.log(Level.ERROR, "Writes backup archive failed", e);
+
+            throw new ServiceException(e);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Restores the specified backup archives in order.
+     * <p>
+     * The archives should be a chain: the first one is a full archive, which replaces all data, and the following
+     * deltas are applied to it. The removals restored are not logged as tombstones.
+     * </p>
+     * <p>
+     * All archives are read through and checked before anything is written, then the whole chain is restored in one
+     * transaction, so a broken archive or a failed write leaves the data as it was. The caches and in-memory indexes
+     * (pagination, relevance, timeline, top articles, feeds, sitemaps...) are cleared after it and rebuild on demand.
+     * </p>
+     *
+     * @param archives the specified backup archives
+     * @throws ServiceException service exception
+     */
+    public synchronized void restore(final List<File> archives) throws ServiceException {
+        final List<Boolean> fulls = new ArrayList<>();
+        long until = -1;
+        for (final File archive : archives) {
+            final JSONObject manifest = readManifest(archive);
+            final boolean full = FULL.equals(manifest.optString("type"));
+            if (!full && -1 == until) {
+                throw new ServiceException("Backup [" + archive.getName() + "] is not a full backup, a chain starts with a full backup");
+            }
+            if (!full && manifest.optLong("since") > until) {
+                throw new ServiceException("Backup [" + archive.getName() + "] does not follow the previous one, the changes from ["
+                        + until + "] are missing");
+            }
+
+            fulls.add(full);
+            until = manifest.optLong("until");
+        }
+
+        final Map<String, Repository> repositories = exportService.getRepositories();
+        for (final File archive : archives) {
+            readArchive(archive, (table, record) -> check(repositories, table, record));
+        }
+
+        final RecordWriter recordWriter = new RecordWriter(repositories);
+        final Transaction transaction = articleContentRepository.beginTransaction();
+        AbstractTombstonedRepository.setTombstonesSkipped(true);
+        try {
+            for (int i = 0; i < archives.size(); i++) {
+                if (fulls.get(i)) {
+                    clear(repositories);
+                }
+                readArchive(archives.get(i), recordWriter);
+            }
+            transaction.commit();
+        } catch (final Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            LOGGER.log(Level.ERROR, "Restores backups failed", e);
+
+            throw e instanceof ServiceException ? (ServiceException) e : new ServiceException(e);
+        } finally {
+            AbstractTombstonedRepository.setTombstonesSkipped(false);
+            JdbcRepository.dispose();
+            clearCaches(); // Updated by the repositories during the restore, even if it has been rolled back
+        }
+
+        LOGGER.log(Level.INFO, "Restored [" + archives.size() + "] backups of [" + recordWriter.count + "] records");
+    }
+
+    /**
+     * Gets the latest chain (the latest full archive and the deltas following it) in the backup dir.
+     *
+     * @return archives, returns an empty list if there is no full archive
+     */
+    public List<File> getLatestChain() {
+        final List<File> archives = listArchives();
+        for (int i = archives.size() - 1; 0 <= i; i--) {
+            if (archives.get(i).getName().endsWith("-" + FULL + ".zip")) {
+                return archives.subList(i, archives.size());
+            }
+        }
+
+        return Collections.emptyList();
+    }
+
+    /**
+     * Gets an archive in the backup dir by the specified name.
+     *
+     * @param name the specified name, for example "solo-backup-20261018120000-full.zip"
+     * @return archive, returns {@code null} if not found
+     */
+    public File getArchive(final String name) {
+        final File dir = getDir();
+        if (null == dir || null == name || !ARCHIVE_NAME.matcher(name).matches()) {
+            return null;
+        }
+
+        final File ret = new File(dir, name);
+
+        return ret.isFile() ? ret : null;
+    }
+
+    /**
+     * Starts the backup scheduler if {@code backup.dir} is configured.
+     */
+    public void start() {
+        final File dir = getDir();
+        if (null == dir) {
+            return;
+        }
+
+        final long interval = TimeUnit.HOURS.toMillis(getLocalProperty("backup.intervalHours", 24));
+        final List<File> archives = listArchives();
+        long delay = 0;
+        if (!archives.isEmpty()) {
+            try {
+                final long until = readManifest(archives.get(archives.size() - 1)).optLong("until");
+                delay = Math.max(0, until + interval - System.currentTimeMillis());
+            } catch (final ServiceException e) {
+                // Backs up now
+            }
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread ret = new Thread(r, "Backup");
+            ret.setDaemon(true);
+
+            return ret;
+        });
+        scheduler.scheduleWithFixedDelay(this::backup, delay, interval, TimeUnit.MILLISECONDS);
+        LOGGER.log(Level.INFO, "Backs up to [" + dir.getPath() + "] every [" + TimeUnit.MILLISECONDS.toHours(interval) + "] hours");
+    }
+
+    /**
+     * Shuts down the backup scheduler.
+     */
+    public void shutdown() {
+        if (null != scheduler) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes an archive to the backup dir, a full archive every {@code backup.fullEvery} archives, deltas following the
+     * latest archive otherwise. Tombstones older than {@code backup.tombstoneDays} are removed after it.
+     */
+    public synchronized void backup() {
+        final File dir = getDir();
+        File tmp = null;
+        try {
+            Files.createDirectories(dir.toPath());
+
+            final List<File> chain = getLatestChain();
+            final boolean full = chain.isEmpty() || chain.size() >= getLocalProperty("backup.fullEvery", 7);
+            final long since = full ? 0 : readManifest(chain.get(chain.size() - 1)).optLong("until");
+            final String name = "solo-backup-" + DateFormatUtils.format(System.currentTimeMillis(), "yyyyMMddHHmmss")
+                    + "-" + (full ? FULL : DELTA) + ".zip";
+            tmp = new File(dir, "." + name);
+            final JSONObject manifest;
+            try (final OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(tmp))) {
+                manifest = writeArchive(outputStream, since);
+            }
+            Files.move(tmp.toPath(), new File(dir, name).toPath(), StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.log(Level.INFO, "Backed up [" + name + "] of [" + manifest.optString("type") + "] in ["
+                    + (System.currentTimeMillis() - manifest.optLong("until")) + "] ms");
+
+            removeTombstones();
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Backs up failed", e);
+
+            if (null != tmp) {
+                tmp.delete();
+            }
+        } finally {
+            JdbcRepository.dispose();
+        }
+    }
+
+    /**
+     * Removes the tombstones older than {@code backup.tombstoneDays}, deltas could not be written since then.
+     *
+     * @throws Exception exception
+     */
+    private void removeTombstones() throws Exception {
+        final long time = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(getLocalProperty("backup.tombstoneDays", 90));
+        final Transaction transaction = tombstoneRepository.beginTransaction();
+        try {
+            tombstoneRepository.remove(new Query().setFilter(
+                    new PropertyFilter(Tombstone.TOMBSTONE_REMOVED, FilterOperator.LESS_THAN, time)));
+            transaction.commit();
+        } catch (final Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the records of the specified backup archive with the specified record handler.
+     *
+     * @param archive the specified backup archive
+     * @param handler the specified record handler
+     * @throws ServiceException service exception
+     */
+    private static void readArchive(final File archive, final RecordHandler handler) throws ServiceException {
+        try (final ZipFile zipFile = new ZipFile(archive)) {
+            final ZipEntry entry = zipFile.getEntry(DATA);
+            if (null == entry) {
+                throw new ServiceException("Backup [" + archive.getName() + "] has no data");
+            }
+
+            try (final Reader reader = new BufferedReader(new InputStreamReader(zipFile.getInputStream(entry), StandardCharsets.UTF_8))) {
+                readRecords(new JSONTokener(reader), handler);
+            }
+        } catch (final ServiceException e) {
+            throw e;
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Reads backup [" + archive.getName() + "] failed", e);
+
+            throw new ServiceException("Backup [" + archive.getName() + "] is broken: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks the specified record of the specified table, a record of an unknown table is skipped on restore.
+     *
+     * @param repositories the specified repositories, &lt;key in the exported JSON, repository&gt;
+     * @param table        the specified table, key in the exported JSON
+     * @param record       the specified record
+     * @throws ServiceException if the record misses its id
+     */
+    private static void check(final Map<String, Repository> repositories, final String table, final JSONObject record)
+            throws ServiceException {
+        final boolean removal = Tombstone.TOMBSTONES.equals(table);
+        if (!repositories.containsKey(removal ? record.optString(Tombstone.TOMBSTONE_TABLE) : table)) {
+            return;
+        }
+
+        if (StringUtils.isBlank(record.optString(removal ? Tombstone.TOMBSTONE_RECORD_ID : Keys.OBJECT_ID))) {
+            throw new ServiceException("A record of table [" + table + "] misses its id");
+        }
+    }
+
+    /**
+     * Removes all records of the specified repositories in the current transaction.
+     *
+     * @param repositories the specified repositories
+     * @throws Exception exception
+     */
+    private void clear(final Map<String, Repository> repositories) throws Exception {
+        for (final Repository repository : repositories.values()) {
+            repository.remove(new Query());
+        }
+        articleContentRepository.remove(new Query());
+    }
+
+    /**
+     * Clears the caches and in-memory indexes of the restored data, they rebuild on demand.
+     */
+    private void clearCaches() {
+        articleCache.clear();
+        commentCache.clear();
+        optionCache.clear();
+        pageCache.clear();
+        userCache.clear();
+        statisticCache.clear();
+        paginationCache.clear();
+        feedCache.clear();
+        sitemapCache.remove("");
+        archiveDateSummary.clear();
+        tagCloud.clear();
+        relevanceIndex.clear();
+        topArticles.clear();
+        articleTimeline.clear();
+        randomArticleSampler.clear();
+    }
+
+    /**
+     * Reads the records of the exported JSON ({@code {"table": [{}, ....], ....}}) one by one, so the memory used does
+     * not grow with the data.
+     *
+     * @param tokener the specified JSON tokener
+     * @param handler the specified record handler
+     * @throws Exception exception
+     */
+    private static void readRecords(final JSONTokener tokener, final RecordHandler handler) throws Exception {
+        if ('{' != tokener.nextClean()) {
+            throw tokener.syntaxError("A JSON object text must begin with '{'");
+        }
+
+        char c = tokener.nextClean();
+        while ('}' != c) {
+            tokener.back();
+            final String table = tokener.nextValue().toString();
+            if (':' != tokener.nextClean() || '[' != tokener.nextClean()) {
+                throw tokener.syntaxError("Expected an array of table [" + table + "]");
+            }
+
+            c = tokener.nextClean();
+            while (']' != c) {
+                tokener.back();
+                final Object record = tokener.nextValue();
+                if (!(record instanceof JSONObject)) {
+                    throw tokener.syntaxError("Expected a record object of table [" + table + "]");
+                }
+                handler.handle(table, (JSONObject) record);
+                c = tokener.nextClean();
+                if (',' == c) {
+                    c = tokener.nextClean();
+                } else if (']' != c) {
+                    throw tokener.syntaxError("Expected a ',' or ']'");
+                }
+            }
+
+            c = tokener.nextClean();
+            if (',' == c) {
+                c = tokener.nextClean();
+            } else if ('}' != c) {
+                throw tokener.syntaxError("Expected a ',' or '}'");
+            }
+        }
+    }
+
+    /**
+     * Reads the manifest of the specified backup archive.
+     *
+     * @param archive the specified backup archive
+     * @return manifest
+     * @throws ServiceException service exception
+     */
+    private static JSONObject readManifest(final File archive) throws ServiceException {
+        try (final ZipFile zipFile = new ZipFile(archive)) {
+            final ZipEntry entry = zipFile.getEntry(MANIFEST);
+            if (null == entry) {
+                throw new ServiceException("Backup [" + archive.getName() + "] has no manifest");
+            }
+
+            final JSONObject ret = new JSONObject(IOUtils.toString(zipFile.getInputStream(entry), StandardCharsets.UTF_8));
+            if (FORMAT != ret.optInt("format")) {
+                throw new ServiceException("Backup [" + archive.getName() + "] is of unsupported format [" + ret.optInt("format") + "]");
+            }
+
+            return ret;
+        } catch (final IOException | JSONException e) {
+            LOGGER.log(Level.ERROR, "Reads manifest of backup [" + archive.getName() + "] failed", e);
+
+            throw new ServiceException(e);
+        }
+    }
+
+    /**
+     * Lists the archives in the backup dir.
+     *
+     * @return archives, oldest first
+     */
+    private static List<File> listArchives() {
+        final File dir = getDir();
+        final File[] files = null == dir ? null : dir.listFiles((d, name) -> ARCHIVE_NAME.matcher(name).matches());
+        if (null == files) {
+            return Collections.emptyList();
+        }
+
+        Arrays.sort(files); // By time in the names
+
+        return Arrays.asList(files);
+    }
+
+    /**
+     * Gets the backup dir.
+     *
+     * @return backup dir, returns {@code null} if {@code backup.dir} is not configured
+     */
+    private static File getDir() {
+        final String dir = Latkes.getLocalProperty("backup.dir");
+
+        return StringUtils.isBlank(dir) ? null : new File(dir.trim());
+    }
+
+    /**
+     * Gets an int local property by the specified key.
+     *
+     * @param key          the specified key
+     * @param defaultValue the specified default value
+     * @return value, returns the specified default value if it is not configured
+     */
+    private static int getLocalProperty(final String key, final int defaultValue) {
+        final String value = Latkes.getLocalProperty(key);
+
+        return StringUtils.isBlank(value) ? defaultValue : Integer.valueOf(value.trim());
+    }
+
+    /**
+     * Handler of the records read from an archive.
+     */
+    @FunctionalInterface
+    private interface RecordHandler {
+
+        /**
+         * Handles the specified record of the specified table.
+         *
+         * @param table  the specified table, key in the exported JSON
+         * @param record the specified record
+         * @throws Exception exception
+         */
+        void handle(final String table, final JSONObject record) throws Exception;
+    }
+
+    /**
+     * Record writer, writes restored records in the current transaction.
+     */
+    private static final class RecordWriter implements RecordHandler {
+
+        /**
+         * Repositories, &lt;key in the exported JSON, repository&gt;.
+         */
+        private final Map<String, Repository> repositories;
+
+        /**
+         * Records written.
+         */
+        private int count;
+
+        /**
+         * Constructs a record writer with the specified repositories.
+         *
+         * @param repositories the specified repositories
+         */
+        private RecordWriter(final Map<String, Repository> repositories) {
+            this.repositories = repositories;
+        }
+
+        /**
+         * Writes the specified record of the specified table, adds or updates a record, removes the record of a
+         * tombstone.
+         *
+         * @param table  the specified table, key in the exported JSON
+         * @param record the specified record
+         * @throws Exception exception
+         */
+        @Override
+        public void handle(final String table, final JSONObject record) throws Exception {
+            final boolean removal = Tombstone.TOMBSTONES.equals(table);
+            final String target = removal ? record.optString(Tombstone.TOMBSTONE_TABLE) : table;
+            final Repository repository = repositories.get(target);
+            if (null == repository) {
+                LOGGER.log(Level.WARN, "Skipped a record of unknown table [" + target + "]");
+
+                return;
+            }
+
+            if (removal) {
+                repository.remove(record.optString(Tombstone.TOMBSTONE_RECORD_ID));
+            } else {
+                final String id = record.optString(Keys.OBJECT_ID);
+                if (repository.has(id)) {
+                    repository.update(id, record);
+                } else {
+                    repository.add(record);
+                }
+            }
+            count++;
+        }
+    }
+}
@@ -17,23 +17,39 @@
  */
 package org.wang.solo.service;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.time.DateFormatUtils;
 import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.model.Plugin;
 import org.b3log.latke.model.User;
+import org.b3log.latke.repository.Filter;
+import org.b3log.latke.repository.FilterOperator;
+import org.b3log.latke.repository.PropertyFilter;
 import org.b3log.latke.repository.Query;
 import org.b3log.latke.repository.Repository;
+import org.b3log.latke.repository.SortDirection;
+import org.b3log.latke.repository.jdbc.util.Connections;
+import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.latke.util.Strings;
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.json.JSONWriter;
 import org.wang.solo.model.*;
 import org.wang.solo.repository.*;
+import org.wang.solo.util.Cursors;
 import org.yaml.snakeyaml.Yaml;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -41,7 +57,7 @@ import java.util.stream.Collectors;
  * Export service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.1, Sep 16, 2018
+ * @version 1.4.0.0, Oct 18, 2026
  * @since 2.5.0
  */
 @Service
@@ -52,6 +68,11 @@ public class ExportService {
      */
     private static final Logger LOGGER = Logger.getLogger(ExportService.class);
 
+    /**
+     * Page size of reading a table.
+     */
+    private static final int PAGE_SIZE = 100;
+
     /**
      * Archive date repository.
      */
@@ -130,6 +151,12 @@ public class ExportService {
     @Inject
     private UserRepository userRepository;
 
+    /**
+     * Tombstone repository.
+     */
+    @Inject
+    private TombstoneRepository tombstoneRepository;
+
     /**
      * Exports as Hexo markdown format.
      *
@@ -193,50 +220,261 @@ public class ExportService {
     }
 
     /**
-     * Gets all data as JSON format.
+     * Gets the exported repositories.
+     *
+     * @return repositories, &lt;key in the exported JSON, repository&gt;, in the export order
      */
-    public JSONObject getJSONs() {
-        final JSONObject ret = new JSONObject();
-        final JSONArray archiveDates = getJSONs(archiveDateRepository);
-        ret.put(ArchiveDate.ARCHIVE_DATES, archiveDates);
+    public Map<String, Repository> getRepositories() {
+        final Map<String, Repository> ret = new LinkedHashMap<>();
+        ret.put(ArchiveDate.ARCHIVE_DATES, archiveDateRepository);
+        ret.put(ArchiveDate.ARCHIVE_DATE + "_" + Article.ARTICLE, archiveDateArticleRepository);
+        ret.put(Article.ARTICLES, articleRepository);
+        ret.put(Category.CATEGORIES, categoryRepository);
+        ret.put(Category.CATEGORY + "_" + Tag.TAG, categoryTagRepository);
+        ret.put(Comment.COMMENTS, commentRepository);
+        ret.put(Link.LINKS, linkRepository);
+        ret.put(Option.OPTIONS, optionRepository);
+        ret.put(Page.PAGES, pageRepository);
+        ret.put(Plugin.PLUGINS, pluginRepository);
+        ret.put(Tag.TAGS, tagRepository);
+        ret.put(Tag.TAG + "_" + Article.ARTICLES, tagArticleRepository);
+        ret.put(User.USERS, userRepository);
 
-        final JSONArray archiveDateArticles = getJSONs(archiveDateArticleRepository);
-        ret.put(ArchiveDate.ARCHIVE_DATE + "_" + Article.ARTICLE, archiveDateArticles);
+        return ret;
+    }
 
-        final JSONArray articles = getJSONs(articleRepository);
-        ret.put(Article.ARTICLES, articles);
+    /**
+     * Writes all data as JSON format to the specified writer.
+     *
+     * @param writer the specified writer
+     * @throws ServiceException service exception
+     * @see #writeJSONs(Writer, long)
+     */
+    public void writeJSONs(final Writer writer) throws ServiceException {
+        writeJSONs(writer, 0);
+    }
 
-        final JSONArray categories = getJSONs(categoryRepository);
-        ret.put(Category.CATEGORIES, categories);
+    /**
+     * Writes the data changed since the specified time as JSON format to the specified writer.
+     * <p>
+     * Each table is read in pages ordered by {@value Keys#OBJECT_ID} and written out record by record, so the memory
+     * used does not grow with the data. Articles are exported with their bodies joined from the article content table,
+     * so the export layout is the same as before the bodies were split out.
+     * </p>
+     * <p>
+     * With a time (incremental export), only the articles updated, the comments created and the relations (time
+     * ordered ids) added since then are written, the other tables are small and written whole. The removals since then
+     * are written in {@value Tombstone#TOMBSTONES}, for example {@code {"tombstoneTable": "articles",
+     * "tombstoneRecordId": ""}}.
+     * </p>
+     *
+     * @param writer the specified writer
+     * @param since  the specified time, {@code 0} for all data
+     * @throws ServiceException service exception
+     */
+    public void writeJSONs(final Writer writer, final long since) throws ServiceException {
+        final Map<String, Repository> repositories = getRepositories();
+        final Map<String, Filter> filters = new HashMap<>();
+        if (0 < since) {
+            final String sinceId = String.valueOf(since);
+            filters.put(ArchiveDate.ARCHIVE_DATE + "_" + Article.ARTICLE, new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN_OR_EQUAL, sinceId));
+            filters.put(Article.ARTICLES, new PropertyFilter(Article.ARTICLE_UPDATED, FilterOperator.GREATER_THAN_OR_EQUAL, since));
+            filters.put(Category.CATEGORY + "_" + Tag.TAG, new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN_OR_EQUAL, sinceId));
+            filters.put(Comment.COMMENTS, new PropertyFilter(Comment.COMMENT_CREATED, FilterOperator.GREATER_THAN_OR_EQUAL, since));
+            filters.put(Tag.TAG + "_" + Article.ARTICLES, new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN_OR_EQUAL, sinceId));
+        }
 
-        final JSONArray categoryTags = getJSONs(categoryTagRepository);
-        ret.put(Category.CATEGORY + "_" + Tag.TAG, categoryTags);
+        String table = null;
+        try {
+            final JSONWriter jsonWriter = new JSONWriter(writer);
+            jsonWriter.object();
+            for (final Map.Entry<String, Repository> entry : repositories.entrySet()) {
+                table = entry.getKey();
+                jsonWriter.key(table).array();
+                writeJSONs(jsonWriter, entry.getValue(), filters.get(table));
+                jsonWriter.endArray();
+            }
+
+            if (0 < since) {
+                table = Tombstone.TOMBSTONES;
+                jsonWriter.key(table).array();
+                writeTombstones(jsonWriter, repositories, since);
+                jsonWriter.endArray();
+            }
+            jsonWriter.endObject();
+            writer.flush();
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Exports data of [" + table + "] failed", e);
+
+            throw new ServiceException(e);
+        }
+    }
+
+    /**
+     * Writes the records of the specified repository to the specified JSON writer.
+     *
+     * @param writer     the specified JSON writer, in an array
+     * @param repository the specified repository
+     * @param filter     the specified filter, {@code null} for all records
+     * @throws Exception exception
+     */
+    private void writeJSONs(final JSONWriter writer, final Repository repository, final Filter filter) throws Exception {
+        JSONObject cursor = null;
+        while (true) {
+            final Query query = Cursors.seek(new Query().setFilter(filter).addSort(Keys.OBJECT_ID, SortDirection.ASCENDING), cursor, PAGE_SIZE);
+            final JSONArray records = repository.get(query).optJSONArray(Keys.RESULTS);
+            for (int i = 0; i < records.length(); i++) {
+                writer.value(records.optJSONObject(i));
+            }
+            if (records.length() < PAGE_SIZE) {
+                return;
+            }
+
+            cursor = Cursors.of(records.optJSONObject(records.length() - 1), query);
+        }
+    }
+
+    /**
+     * Writes the tombstones of the specified repositories since the specified time to the specified JSON writer.
+     *
+     * @param writer       the specified JSON writer, in an array
+     * @param repositories the specified repositories, &lt;key in the exported JSON, repository&gt;
+     * @param since        the specified time
+     * @throws Exception exception
+     */
+    private void writeTombstones(final JSONWriter writer, final Map<String, Repository> repositories, final long since) throws Exception {
+        final Map<String, String> keys = new HashMap<>();
+        for (final Map.Entry<String, Repository> entry : repositories.entrySet()) {
+            keys.put(entry.getValue().getName(), entry.getKey());
+        }
 
-        final JSONArray comments = getJSONs(commentRepository);
-        ret.put(Comment.COMMENTS, comments);
+        final Filter filter = new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN_OR_EQUAL, String.valueOf(since));
+        JSONObject cursor = null;
+        while (true) {
+            final Query query = Cursors.seek(new Query().setFilter(filter).addSort(Keys.OBJECT_ID, SortDirection.ASCENDING), cursor, PAGE_SIZE);
+            final List<JSONObject> tombstones = tombstoneRepository.getList(query);
+            for (final JSONObject tombstone : tombstones) {
+                final String key = keys.get(tombstone.optString(Tombstone.TOMBSTONE_TABLE));
+                if (null != key) { // Tables not exported (article contents...) are skipped
+                    writer.value(new JSONObject().put(Tombstone.TOMBSTONE_TABLE, key).
+                            put(Tombstone.TOMBSTONE_RECORD_ID, tombstone.optString(Tombstone.TOMBSTONE_RECORD_ID)));
+                }
+            }
+            if (tombstones.size() < PAGE_SIZE) {
+                return;
+            }
 
-        final JSONArray links = getJSONs(linkRepository);
-        ret.put(Link.LINKS, links);
+            cursor = Cursors.of(tombstones.get(tombstones.size() - 1), query);
+        }
+    }
 
-        final JSONArray options = getJSONs(optionRepository);
-        ret.put(Option.OPTIONS, options);
+    /**
+     * Writes the SQL dump of the database (MySQL or H2) to the specified output stream.
+     * <p>
+     * The dump (stdout of mysqldump, or rows of H2 {@code SCRIPT}) is copied while it is produced, a slow client slows
+     * the dump down rather than getting it buffered. If writing fails (the client disconnected mostly) the dump is
+     * cancelled: mysqldump is killed, the {@code SCRIPT} statement is cancelled.
+     * </p>
+     *
+     * @param outputStream the specified output stream
+     * @return size of the dump in bytes
+     * @throws ServiceException service exception
+     */
+    public long writeSQL(final OutputStream outputStream) throws ServiceException {
+        final long start = System.currentTimeMillis();
+        final ProgressOutputStream progressOutputStream = new ProgressOutputStream(outputStream);
+        try {
+            if (Latkes.RuntimeDatabase.MYSQL == Latkes.getRuntimeDatabase()) {
+                writeMySQLDump(progressOutputStream);
+            } else if (Latkes.RuntimeDatabase.H2 == Latkes.getRuntimeDatabase()) {
+                writeH2Script(progressOutputStream);
+            } else {
+                throw new IllegalStateException("Just support MySQL/H2 export now");
+            }
+            progressOutputStream.flush();
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Exports SQL failed after [" + progressOutputStream.count + "] bytes", e);
 
-        final JSONArray pages = getJSONs(pageRepository);
-        ret.put(Page.PAGES, pages);
+            throw new ServiceException(e);
+        }
 
-        final JSONArray plugins = getJSONs(pluginRepository);
-        ret.put(Plugin.PLUGINS, plugins);
+        LOGGER.log(Level.INFO, "Exported SQL [" + progressOutputStream.count + "] bytes in ["
+                + (System.currentTimeMillis() - start) + "] ms");
 
-        final JSONArray tags = getJSONs(tagRepository);
-        ret.put(Tag.TAGS, tags);
+        return progressOutputStream.count;
+    }
 
-        final JSONArray tagArticles = getJSONs(tagArticleRepository);
-        ret.put(Tag.TAG + "_" + Article.ARTICLES, tagArticles);
+    /**
+     * Writes the mysqldump output to the specified output stream.
+     *
+     * @param outputStream the specified output stream
+     * @throws Exception exception
+     */
+    private void writeMySQLDump(final OutputStream outputStream) throws Exception {
+        String db = StringUtils.substringAfterLast(Latkes.getLocalProperty("jdbc.URL"), "/");
+        db = StringUtils.substringBefore(db, "?");
+        final ProcessBuilder processBuilder = new ProcessBuilder(
+                "mysqldump", "-u" + Latkes.getLocalProperty("jdbc.username"), "--databases", db);
+        final String dbPwd = Latkes.getLocalProperty("jdbc.password");
+        if (StringUtils.isNotBlank(dbPwd)) {
+            processBuilder.environment().put("MYSQL_PWD", dbPwd); // Keeps it out of the process list
+        }
 
-        final JSONArray users = getJSONs(userRepository);
-        ret.put(User.USERS, users);
+        final Process process = processBuilder.start();
+        final StringBuilder errors = new StringBuilder();
+        final Thread errorReader = new Thread(() -> {
+            try (final BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while (null != (line = reader.readLine())) {
+                    if (errors.length() < 4096) {
+                        errors.append(line).append(Strings.LINE_SEPARATOR);
+                    }
+                }
+            } catch (final IOException e) {
+                LOGGER.log(Level.DEBUG, "Reads mysqldump errors failed: " + e.getMessage());
+            }
+        }, "mysqldump-stderr");
+        errorReader.setDaemon(true);
+        errorReader.start();
+
+        try (final InputStream inputStream = process.getInputStream()) {
+            IOUtils.copy(inputStream, outputStream);
+            final int exitValue = process.waitFor();
+            errorReader.join(1000);
+            if (0 != exitValue) {
+                throw new IllegalStateException("mysqldump exited with [" + exitValue + "]: " + errors);
+            }
+        } finally {
+            if (process.isAlive()) {
+                process.destroyForcibly();
+                LOGGER.log(Level.WARN, "Killed mysqldump");
+            }
+        }
+    }
 
-        return ret;
+    /**
+     * Writes the H2 {@code SCRIPT} rows to the specified output stream.
+     *
+     * @param outputStream the specified output stream
+     * @throws Exception exception
+     */
+    private void writeH2Script(final OutputStream outputStream) throws Exception {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try (final Connection connection = Connections.getConnection();
+             final Statement statement = connection.createStatement()) {
+            try (final ResultSet resultSet = statement.executeQuery("SCRIPT")) {
+                while (resultSet.next()) {
+                    writer.write(resultSet.getString(1));
+                    writer.write(Strings.LINE_SEPARATOR);
+                }
+                writer.flush();
+            } catch (final IOException e) {
+                statement.cancel();
+                LOGGER.log(Level.WARN, "Cancelled H2 script");
+
+                throw e;
+            }
+        }
     }
 
     private JSONArray getJSONs(final Repository repository) {
@@ -248,4 +486,53 @@ public class ExportService {
             return new JSONArray();
         }
     }
+
+    /**
+     * Output stream counting the bytes written and logging the progress.
+     */
+    private static final class ProgressOutputStream extends FilterOutputStream {
+
+        /**
+         * Bytes between two progress logs.
+         */
+        private static final long LOG_STEP = 16 * 1024 * 1024;
+
+        /**
+         * Written bytes.
+         */
+        private long count;
+
+        /**
+         * Constructs a stream writing to the specified output stream.
+         *
+         * @param outputStream the specified output stream
+         */
+        private ProgressOutputStream(final OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            progress(1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            progress(len);
+        }
+
+        /**
+         * Counts the specified written size.
+         *
+         * @param len the specified written size
+         */
+        private void progress(final int len) {
+            if ((count + len) / LOG_STEP > count / LOG_STEP) {
+                LOGGER.log(Level.INFO, "Exported SQL [" + (count + len) / 1024 / 1024 + "] MB");
+            }
+            count += len;
+        }
+    }
 }
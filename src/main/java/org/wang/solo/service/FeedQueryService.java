@@ -0,0 +1,393 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.service;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.model.User;
+import org.b3log.latke.repository.*;
+import org.b3log.latke.service.ServiceException;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.latke.util.Locales;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.wang.solo.SoloServletListener;
+import org.wang.solo.cache.FeedCache;
+import org.wang.solo.cache.PrecompressedContent;
+import org.wang.solo.model.Article;
+import org.wang.solo.model.Category;
+import org.wang.solo.model.Option;
+import org.wang.solo.model.Tag;
+import org.wang.solo.model.atom.Entry;
+import org.wang.solo.model.atom.Feed;
+import org.wang.solo.model.rss.Channel;
+import org.wang.solo.model.rss.Item;
+import org.wang.solo.repository.ArticleRepository;
+import org.wang.solo.repository.CategoryRepository;
+import org.wang.solo.repository.CategoryTagRepository;
+import org.wang.solo.repository.TagArticleRepository;
+import org.wang.solo.repository.TagRepository;
+import org.wang.solo.util.Emotions;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Feed (Atom/RSS) query service.
+ * <p>
+ * Feeds of the blog, a tag or a category are generated once per content change and served from {@link FeedCache}.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.1, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Service
+public class FeedQueryService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(FeedQueryService.class);
+
+    /**
+     * Atom format.
+     */
+    public static final String FORMAT_ATOM = "atom";
+
+    /**
+     * RSS format.
+     */
+    public static final String FORMAT_RSS = "rss";
+
+    /**
+     * Feed cache.
+     */
+    @Inject
+    private FeedCache feedCache;
+
+    /**
+     * Article repository.
+     */
+    @Inject
+    private ArticleRepository articleRepository;
+
+    /**
+     * Tag repository.
+     */
+    @Inject
+    private TagRepository tagRepository;
+
+    /**
+     * Tag-Article repository.
+     */
+    @Inject
+    private TagArticleRepository tagArticleRepository;
+
+    /**
+     * Category repository.
+     */
+    @Inject
+    private CategoryRepository categoryRepository;
+
+    /**
+     * Category-Tag repository.
+     */
+    @Inject
+    private CategoryTagRepository categoryTagRepository;
+
+    /**
+     * Article query service.
+     */
+    @Inject
+    private ArticleQueryService articleQueryService;
+
+    /**
+     * Preference query service.
+     */
+    @Inject
+    private PreferenceQueryService preferenceQueryService;
+
+    /**
+     * Gets a feed with the specified format and scope.
+     *
+     * @param format      the specified format, {@link #FORMAT_ATOM} or {@link #FORMAT_RSS}
+     * @param tagTitle    the specified tag title, {@code null} if not scoped by tag
+     * @param categoryURI the specified category URI, {@code null} if not scoped by category
+     * @return feed, returns {@code null} if the specified tag or category not found
+     * @throws ServiceException service exception
+     */
+    public PrecompressedContent getFeed(final String format, final String tagTitle, final String categoryURI) throws ServiceException {
+        String key = format;
+        if (StringUtils.isNotBlank(tagTitle)) {
+            key += ":tag:" + tagTitle;
+        } else if (StringUtils.isNotBlank(categoryURI)) {
+            key += ":category:" + categoryURI;
+        }
+
+        PrecompressedContent ret = feedCache.get(key);
+        if (null != ret) {
+            return ret;
+        }
+
+        final long version = feedCache.getVersion();
+        try {
+            final JSONObject preference = preferenceQueryService.getPreference();
+            if (null == preference) {
+                return null;
+            }
+
+            final String servePath = Latkes.getServePath();
+            String title = preference.getString(Option.ID_C_BLOG_TITLE);
+            String link = servePath + "/";
+            String feedLink = servePath + "/" + format + ".xml";
+            Set<String> articleIds = null; // Not scoped
+            if (StringUtils.isNotBlank(tagTitle)) {
+                final JSONObject tag = tagRepository.getByTitle(tagTitle);
+                if (null == tag) {
+                    return null;
+                }
+
+                title += " - " + tag.optString(Tag.TAG_TITLE);
+                link = servePath + "/tags/" + encode(tag.optString(Tag.TAG_TITLE));
+                feedLink += "?tag=" + encode(tag.optString(Tag.TAG_TITLE));
+                articleIds = getArticleIds(Collections.singletonList(tag.optString(Keys.OBJECT_ID)));
+            } else if (StringUtils.isNotBlank(categoryURI)) {
+                final JSONObject category = categoryRepository.getByURI(categoryURI);
+                if (null == category) {
+                    return null;
+                }
+
+                title += " - " + category.optString(Category.CATEGORY_TITLE);
+                link = servePath + "/category/" + encode(categoryURI);
+                feedLink += "?category=" + encode(categoryURI);
+                final JSONArray categoryTags = categoryTagRepository.getByCategoryId(
+                        category.optString(Keys.OBJECT_ID), 1, Integer.MAX_VALUE).optJSONArray(Keys.RESULTS);
+                final List<String> tagIds = new ArrayList<>();
+                for (int i = 0; i < categoryTags.length(); i++) {
+                    tagIds.add(categoryTags.optJSONObject(i).optString(Tag.TAG + "_" + Keys.OBJECT_ID));
+                }
+                articleIds = getArticleIds(tagIds);
+            }
+
+            final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
+            final List<JSONObject> articles = getArticles(articleIds, preference.getInt(Option.ID_C_FEED_OUTPUT_CNT), isFullContent);
+            final String xml = FORMAT_RSS.equals(format)
+                    ? genRSS(preference, title, link, feedLink, articles, isFullContent)
+                    : genAtom(preference, title, link, feedLink, articles, isFullContent);
+
+            ret = new PrecompressedContent(xml.getBytes(StandardCharsets.UTF_8), System.currentTimeMillis());
+            feedCache.put(key, ret, version);
+            LOGGER.log(Level.DEBUG, "Generated feed [" + key + "] of [" + articles.size() + "] articles");
+
+            return ret;
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Generates feed [" + key + "] failed", e);
+
+            throw new ServiceException(e);
+        }
+    }
+
+    /**
+     * Gets the ids of articles tagged with the specified tags.
+     *
+     * @param tagIds the specified tag ids
+     * @return article ids
+     * @throws RepositoryException repository exception
+     */
+    private Set<String> getArticleIds(final List<String> tagIds) throws RepositoryException {
+        final Set<String> ret = new HashSet<>();
+        if (tagIds.isEmpty()) {
+            return ret;
+        }
+
+        final String articleIdKey = Article.ARTICLE + "_" + Keys.OBJECT_ID;
+        final Query query = new Query().setFilter(new PropertyFilter(Tag.TAG + "_" + Keys.OBJECT_ID, FilterOperator.IN, tagIds)).
+                addProjection(Keys.OBJECT_ID, String.class).addProjection(articleIdKey, String.class).setPageCount(1);
+        for (final JSONObject tagArticle : tagArticleRepository.getList(query)) {
+            ret.add(tagArticle.optString(articleIdKey));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the latest updated published articles which are not protected by password.
+     *
+     * @param articleIds    the specified article ids to get from, {@code null} for all articles
+     * @param fetchSize     the specified fetch size
+     * @param isFullContent whether to get the article content
+     * @return articles
+     * @throws RepositoryException repository exception
+     */
+    private List<JSONObject> getArticles(final Set<String> articleIds, final int fetchSize, final boolean isFullContent)
+            throws RepositoryException {
+        if (null != articleIds && articleIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<Filter> filters = new ArrayList<>();
+        filters.add(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true));
+        filters.add(new PropertyFilter(Article.ARTICLE_VIEW_PWD, FilterOperator.EQUAL, ""));
+        if (null != articleIds) {
+            filters.add(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, articleIds));
+        }
+        final Query query = new Query().setCurrentPageNum(1).setPageSize(fetchSize).setPageCount(1).
+                setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters)).
+                addSort(Article.ARTICLE_UPDATED, SortDirection.DESCENDING).
+                addProjection(Keys.OBJECT_ID, String.class).
+                addProjection(Article.ARTICLE_TITLE, String.class).
+                addProjection(Article.ARTICLE_UPDATED, Long.class).
+                addProjection(Article.ARTICLE_PERMALINK, String.class).
+                addProjection(Article.ARTICLE_AUTHOR_ID, String.class).
+                addProjection(Article.ARTICLE_TAGS_REF, String.class).
+                addProjection(isFullContent ? Article.ARTICLE_CONTENT : Article.ARTICLE_ABSTRACT, String.class);
+
+        return articleRepository.getList(query);
+    }
+
+    /**
+     * Generates an Atom feed.
+     *
+     * @param preference    the specified preference
+     * @param title         the specified feed title
+     * @param link          the specified link of the blog, tag or category
+     * @param feedLink      the specified link of the feed itself
+     * @param articles      the specified articles
+     * @param isFullContent whether to output the article content
+     * @return Atom XML
+     * @throws ServiceException service exception
+     */
+    private String genAtom(final JSONObject preference, final String title, final String link, final String feedLink,
+                           final List<JSONObject> articles, final boolean isFullContent) throws ServiceException {
+        final Feed feed = new Feed();
+        feed.setTitle(title);
+        feed.setSubtitle(preference.optString(Option.ID_C_BLOG_SUBTITLE));
+        feed.setUpdated(new Date());
+        feed.setAuthor(preference.optString(Option.ID_C_BLOG_TITLE));
+        feed.setLink(feedLink);
+        feed.setId(link);
+
+        final Map<String, String> authorNames = new HashMap<>();
+        for (final JSONObject article : articles) {
+            final Entry entry = new Entry();
+            entry.setTitle(article.optString(Article.ARTICLE_TITLE));
+            entry.setSummary(isFullContent ? article.optString(Article.ARTICLE_CONTENT) : article.optString(Article.ARTICLE_ABSTRACT));
+            entry.setUpdated(new Date(article.optLong(Article.ARTICLE_UPDATED)));
+            final String entryLink = Latkes.getServePath() + article.optString(Article.ARTICLE_PERMALINK);
+            entry.setLink(entryLink);
+            entry.setId(entryLink);
+            entry.setAuthor(getAuthorName(article, authorNames));
+            for (final String tagTitle : article.optString(Article.ARTICLE_TAGS_REF).split(",")) {
+                final org.wang.solo.model.atom.Category category = new org.wang.solo.model.atom.Category();
+                category.setTerm(tagTitle);
+                entry.addCatetory(category);
+            }
+            feed.addEntry(entry);
+        }
+
+        return feed.toString();
+    }
+
+    /**
+     * Generates an RSS feed.
+     *
+     * @param preference    the specified preference
+     * @param title         the specified feed title
+     * @param link          the specified link of the blog, tag or category
+     * @param feedLink      the specified link of the feed itself
+     * @param articles      the specified articles
+     * @param isFullContent whether to output the article content
+     * @return RSS XML
+     * @throws ServiceException service exception
+     */
+    private String genRSS(final JSONObject preference, final String title, final String link, final String feedLink,
+                          final List<JSONObject> articles, final boolean isFullContent) throws ServiceException {
+        final Channel channel = new Channel();
+        channel.setTitle(title);
+        channel.setLastBuildDate(new Date());
+        channel.setLink(link);
+        channel.setAtomLink(feedLink);
+        channel.setGenerator("Solo, ver " + SoloServletListener.VERSION);
+        final String localeString = preference.optString(Option.ID_C_LOCALE_STRING);
+        final String country = Locales.getCountry(localeString).toLowerCase();
+        final String language = Locales.getLanguage(localeString).toLowerCase();
+        channel.setLanguage(language + '-' + country);
+        channel.setDescription(preference.optString(Option.ID_C_BLOG_SUBTITLE));
+
+        final Map<String, String> authorNames = new HashMap<>();
+        for (final JSONObject article : articles) {
+            final Item item = new Item();
+            item.setTitle(Emotions.toAliases(article.optString(Article.ARTICLE_TITLE)));
+            final String description = isFullContent ? article.optString(Article.ARTICLE_CONTENT) : article.optString(Article.ARTICLE_ABSTRACT);
+            item.setDescription(Emotions.toAliases(description));
+            item.setPubDate(new Date(article.optLong(Article.ARTICLE_UPDATED)));
+            final String itemLink = Latkes.getServePath() + article.optString(Article.ARTICLE_PERMALINK);
+            item.setLink(itemLink);
+            item.setGUID(itemLink);
+            item.setAuthor(getAuthorName(article, authorNames));
+            for (final String tagTitle : article.optString(Article.ARTICLE_TAGS_REF).split(",")) {
+                final org.wang.solo.model.rss.Category category = new org.wang.solo.model.rss.Category();
+                category.setTerm(tagTitle);
+                item.addCatetory(category);
+            }
+            channel.addItem(item);
+        }
+
+        return channel.toString();
+    }
+
+    /**
+     * Gets the author name of the specified article.
+     *
+     * @param article     the specified article
+     * @param authorNames the specified author names got, &lt;authorId, name&gt;
+     * @return author name
+     * @throws ServiceException service exception
+     */
+    private String getAuthorName(final JSONObject article, final Map<String, String> authorNames) throws ServiceException {
+        final String authorId = article.optString(Article.ARTICLE_AUTHOR_ID);
+        String ret = authorNames.get(authorId);
+        if (null == ret) {
+            ret = articleQueryService.getAuthor(article).optString(User.USER_NAME);
+            authorNames.put(authorId, ret);
+        }
+
+        return ret;
+    }
+
+    /**
+     * URL encodes the specified string.
+     *
+     * @param str the specified string
+     * @return encoded string
+     */
+    private static String encode(final String str) {
+        try {
+            return URLEncoder.encode(str, "UTF-8");
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException(e); // UTF-8 is always supported
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.service;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.service.ServiceException;
+import org.b3log.latke.service.annotation.Service;
+import org.wang.solo.cache.ImageDerivativeCache;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Image derivative service.
+ * <p>
+ * Produces resized, re-encoded variants of uploaded images: PNG images stay PNG, JPEG and BMP images are encoded as
+ * JPEG with the requested quality, other images (GIF animations etc.) are served as they are. Only the sizes of the
+ * presets ({@code upload.image.presets}, local.properties) and the listed qualities ({@code upload.image.qualities})
+ * are accepted, so the variants of an image are bounded. Variants are kept in {@link ImageDerivativeCache}, concurrent
+ * requests of the same missing variant wait for one generation.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Service
+public class ImageDerivativeService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ImageDerivativeService.class);
+
+    /**
+     * Default presets, name:widthxheight, 0 keeps the aspect ratio.
+     */
+    private static final String DEFAULT_PRESETS = "thumb:128x128,small:480x0,medium:960x0,large:1920x0,cover:960x520";
+
+    /**
+     * Default qualities.
+     */
+    private static final String DEFAULT_QUALITIES = "60,75,85,100";
+
+    /**
+     * Default quality.
+     */
+    private static final int DEFAULT_QUALITY = 85;
+
+    /**
+     * Max pixel count of a source image, larger images are served as they are.
+     */
+    private static final long MAX_SOURCE_PIXELS = 50L * 1000 * 1000;
+
+    /**
+     * Presets, &lt;name, [width, height]&gt;.
+     */
+    private static final Map<String, int[]> PRESETS = new LinkedHashMap<>();
+
+    /**
+     * Qualities.
+     */
+    private static final Set<Integer> QUALITIES = new HashSet<>();
+
+    /**
+     * Generation slots, decoding large images takes much heap.
+     */
+    private static final Semaphore GENERATIONS = new Semaphore(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+    static {
+        final String presets = Latkes.getLocalProperty("upload.image.presets");
+        for (final String preset : (StringUtils.isBlank(presets) ? DEFAULT_PRESETS : presets).split(",")) {
+            final String name = StringUtils.substringBefore(preset, ":").trim();
+            final String size = StringUtils.substringAfter(preset, ":").trim();
+            final int width = NumberUtils.toInt(StringUtils.substringBefore(size, "x"));
+            final int height = NumberUtils.toInt(StringUtils.substringAfter(size, "x"));
+            if (StringUtils.isBlank(name) || (0 >= width && 0 >= height)) {
+                LOGGER.log(Level.WARN, "Invalid image preset [" + preset + "]");
+
+                continue;
+            }
+            PRESETS.put(name, new int[]{Math.max(0, width), Math.max(0, height)});
+        }
+
+        final String qualities = Latkes.getLocalProperty("upload.image.qualities");
+        for (final String quality : (StringUtils.isBlank(qualities) ? DEFAULT_QUALITIES : qualities).split(",")) {
+            QUALITIES.add(NumberUtils.toInt(quality.trim()));
+        }
+        QUALITIES.add(DEFAULT_QUALITY);
+    }
+
+    /**
+     * Variants being generated, &lt;name, generation&gt;.
+     */
+    private final Map<String, CompletableFuture<File>> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Image derivative cache.
+     */
+    @Inject
+    private ImageDerivativeCache imageDerivativeCache;
+
+    /**
+     * Resolves a variant spec from the specified request parameters.
+     *
+     * @param preset  the specified preset name, may be {@code null}
+     * @param width   the specified width, may be {@code null}
+     * @param height  the specified height, may be {@code null}
+     * @param quality the specified quality (1-100), may be {@code null}
+     * @return variant spec, for example "960x0q85", returns {@code null} if the parameters are not whitelisted
+     */
+    public String getSpec(final String preset, final String width, final String height, final String quality) {
+        int[] size = null;
+        if (StringUtils.isNotBlank(preset)) {
+            size = PRESETS.get(preset);
+        } else {
+            final int w = NumberUtils.toInt(width);
+            final int h = NumberUtils.toInt(height);
+            for (final int[] presetSize : PRESETS.values()) {
+                if (presetSize[0] == w && presetSize[1] == h) {
+                    size = presetSize;
+
+                    break;
+                }
+            }
+        }
+        final int q = StringUtils.isBlank(quality) ? DEFAULT_QUALITY : NumberUtils.toInt(quality);
+        if (null == size || !QUALITIES.contains(q)) {
+            return null;
+        }
+
+        return size[0] + "x" + size[1] + "q" + q;
+    }
+
+    /**
+     * Gets the variant of the specified source image with the specified spec.
+     *
+     * @param source the specified source image
+     * @param spec   the specified spec got by {@link #getSpec}
+     * @return variant file, returns the source itself if it could not be resized (not a supported image, too large,
+     * etc.)
+     * @throws ServiceException service exception
+     */
+    public File getDerivative(final File source, final String spec) throws ServiceException {
+        final String name = DigestUtils.md5Hex(source.getAbsolutePath() + ":" + source.length() + ":" + source.lastModified())
+                + "-" + spec;
+        for (final String ext : new String[]{".jpg", ".png"}) {
+            final File ret = imageDerivativeCache.get(name + ext);
+            if (null != ret) {
+                return ret;
+            }
+        }
+
+        final CompletableFuture<File> generation = new CompletableFuture<>();
+        final CompletableFuture<File> running = generations.putIfAbsent(name, generation);
+        try {
+            if (null != running) {
+                return running.get();
+            }
+
+            final File ret = generate(source, spec, name);
+            generation.complete(ret);
+
+            return ret;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new ServiceException(e);
+        } catch (final ExecutionException e) {
+            throw new ServiceException(e.getCause());
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Generates image [" + source.getName() + "] variant [" + spec + "] failed", e);
+            generation.completeExceptionally(e);
+
+            throw new ServiceException(e);
+        } finally {
+            if (null == running) {
+                generations.remove(name, generation);
+            }
+        }
+    }
+
+    /**
+     * Generates the variant of the specified source image with the specified spec.
+     *
+     * @param source the specified source image
+     * @param spec   the specified spec
+     * @param name   the specified variant name without extension
+     * @return variant file, returns the source itself if it could not be resized
+     * @throws Exception exception
+     */
+    private File generate(final File source, final String spec, final String name) throws Exception {
+        final int width = Integer.parseInt(StringUtils.substringBefore(spec, "x"));
+        final int height = Integer.parseInt(StringUtils.substringBetween(spec, "x", "q"));
+        final int quality = Integer.parseInt(StringUtils.substringAfter(spec, "q"));
+
+        GENERATIONS.acquire();
+        try (final ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            final Iterator<ImageReader> readers = null == input ? Collections.emptyIterator() : ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return source;
+            }
+
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                final String format = reader.getFormatName().toLowerCase();
+                final boolean png = "png".equals(format);
+                if (!png && !"jpeg".equals(format) && !"bmp".equals(format)) {
+                    return source;
+                }
+
+                final int sourceWidth = reader.getWidth(0);
+                final int sourceHeight = reader.getHeight(0);
+                if ((long) sourceWidth * sourceHeight > MAX_SOURCE_PIXELS) {
+                    LOGGER.log(Level.WARN, "Image [" + source.getName() + "] of [" + sourceWidth + "x" + sourceHeight + "] is too large to resize");
+
+                    return source;
+                }
+
+                final double scale = Math.min(1, width * height > 0
+                        ? Math.max((double) width / sourceWidth, (double) height / sourceHeight)
+                        : width > 0 ? (double) width / sourceWidth : (double) height / sourceHeight);
+                final int scaledWidth = Math.max(1, (int) Math.round(sourceWidth * scale));
+                final int scaledHeight = Math.max(1, (int) Math.round(sourceHeight * scale));
+                final ImageReadParam param = reader.getDefaultReadParam();
+                final int subsampling = Math.max(1, Math.min(sourceWidth / scaledWidth, sourceHeight / scaledHeight) / 2);
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0); // Decodes less pixels for large scale down
+                final BufferedImage image = reader.read(0, param);
+
+                final int targetWidth = 0 < width ? Math.min(width, scaledWidth) : scaledWidth;
+                final int targetHeight = 0 < height ? Math.min(height, scaledHeight) : scaledHeight;
+                final BufferedImage target = new BufferedImage(targetWidth, targetHeight, png ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+                final Graphics2D graphics = target.createGraphics();
+                try {
+                    if (!png) {
+                        graphics.setColor(Color.WHITE);
+                        graphics.fillRect(0, 0, targetWidth, targetHeight);
+                    }
+                    graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                    graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                    graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                    graphics.drawImage(image, (targetWidth - scaledWidth) / 2, (targetHeight - scaledHeight) / 2, scaledWidth, scaledHeight, null); // Center crop
+                } finally {
+                    graphics.dispose();
+                }
+
+                final File dir = imageDerivativeCache.getDir();
+                Files.createDirectories(dir.toPath());
+                final String fileName = name + (png ? ".png" : ".jpg");
+                final File temp = new File(dir, "." + fileName); // Hidden until written
+                write(target, png, quality, temp);
+                final File ret = new File(dir, fileName);
+                Files.move(temp.toPath(), ret.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                imageDerivativeCache.put(fileName);
+                LOGGER.log(Level.DEBUG, "Generated image [" + source.getName() + "] variant [" + spec + "] of [" + ret.length() + "] bytes");
+
+                return ret;
+            } finally {
+                reader.dispose();
+            }
+        } finally {
+            GENERATIONS.release();
+        }
+    }
+
+    /**
+     * Writes the specified image to the specified file.
+     *
+     * @param image   the specified image
+     * @param png     whether to encode as PNG, JPEG otherwise
+     * @param quality the specified JPEG quality (1-100)
+     * @param file    the specified file
+     * @throws IOException io exception
+     */
+    private static void write(final BufferedImage image, final boolean png, final int quality, final File file) throws IOException {
+        if (png) {
+            ImageIO.write(image, "png", file);
+
+            return;
+        }
+
+        final ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (final ImageOutputStream output = ImageIO.createImageOutputStream(file)) {
+            writer.setOutput(output);
+            final ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality / 100f);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
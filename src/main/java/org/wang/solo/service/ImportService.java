@@ -17,30 +17,61 @@
  */
 package org.wang.solo.service;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.time.DateUtils;
 import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.Transaction;
 import org.b3log.latke.repository.jdbc.JdbcRepository;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.latke.util.Ids;
 import org.b3log.latke.util.Strings;
 import org.wang.solo.SoloServletListener;
 import org.wang.solo.model.Article;
+import org.wang.solo.model.Category;
+import org.wang.solo.model.Comment;
+import org.wang.solo.model.Markdown;
+import org.wang.solo.model.Page;
+import org.wang.solo.model.Tag;
+import org.wang.solo.repository.ArticleRepository;
+import org.wang.solo.repository.CommentRepository;
+import org.wang.solo.repository.MarkdownRepository;
+import org.wang.solo.repository.PageRepository;
+import org.wang.solo.repository.TagRepository;
+import org.wang.solo.util.JSONs;
+import org.wang.solo.util.Thumbnails;
+import org.json.JSONArray;
 import org.json.JSONObject;
 import org.yaml.snakeyaml.Yaml;
 
 import javax.servlet.ServletContext;
-import java.io.File;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Import service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.2, Sep 16, 2018
+ * @version 1.3.1.2, Oct 18, 2026
  * @since 2.2.0
  */
 @Service
@@ -56,6 +87,21 @@ public class ImportService {
      */
     private static final String DEFAULT_TAG = "Note";
 
+    /**
+     * Default articles imported in a transaction.
+     */
+    private static final int DEFAULT_BATCH_SIZE = 50;
+
+    /**
+     * Default time (milliseconds) without changes before the changes of watched markdowns are synchronized.
+     */
+    private static final int DEFAULT_DEBOUNCE_MILLIS = 2000;
+
+    /**
+     * Delay (milliseconds) before synchronizing the changed markdown files again after a failed synchronization.
+     */
+    private static final long RETRY_DELAY_MILLIS = 30 * 1000;
+
     /**
      * Article management service.
      */
@@ -69,82 +115,1127 @@ public class ImportService {
     private UserQueryService userQueryService;
 
     /**
-     * Imports markdowns files as articles. See <a href="https://hacpai.com/article/1498490209748">Solo 支持 Hexo/Jekyll 数据导入</a> for
+     * Article repository.
+     */
+    @Inject
+    private ArticleRepository articleRepository;
+
+    /**
+     * Page management service.
+     */
+    @Inject
+    private PageMgmtService pageMgmtService;
+
+    /**
+     * Category management service.
+     */
+    @Inject
+    private CategoryMgmtService categoryMgmtService;
+
+    /**
+     * Category query service.
+     */
+    @Inject
+    private CategoryQueryService categoryQueryService;
+
+    /**
+     * Statistic management service.
+     */
+    @Inject
+    private StatisticMgmtService statisticMgmtService;
+
+    /**
+     * Statistic query service.
+     */
+    @Inject
+    private StatisticQueryService statisticQueryService;
+
+    /**
+     * Page repository.
+     */
+    @Inject
+    private PageRepository pageRepository;
+
+    /**
+     * Comment repository.
+     */
+    @Inject
+    private CommentRepository commentRepository;
+
+    /**
+     * Tag repository.
+     */
+    @Inject
+    private TagRepository tagRepository;
+
+    /**
+     * Markdown source repository.
+     */
+    @Inject
+    private MarkdownRepository markdownRepository;
+
+    /**
+     * Markdown watcher, {@code null} if dir markdowns is not watched.
+     */
+    private volatile WatchService watcher;
+
+    /**
+     * Whether an import is running.
+     */
+    private final AtomicBoolean importing = new AtomicBoolean();
+
+    /**
+     * Progress of the latest import, {@code null} if no import has run.
+     */
+    private volatile Progress progress;
+
+    /**
+     * Gets the progress of the latest markdown import.
+     *
+     * @return progress, for example:
+     * <pre>
+     * {
+     *     "running": boolean,
+     *     "total": int,
+     *     "imported": int,
+     *     "failed": int,
+     *     "failures": [{"file": "", "msg": ""}, ....],
+     *     "started": long,
+     *     "finished": long // 0 if running
+     * }
+     * </pre>
+     * returns {@code null} if no import has run
+     */
+    public JSONObject getProgress() {
+        final Progress ret = progress;
+
+        return null == ret ? null : ret.toJSON();
+    }
+
+    /**
+     * Imports markdowns files as articles in a background thread. See <a href="https://hacpai.com/article/1498490209748">Solo 支持 Hexo/Jekyll 数据导入</a> for
      * more details.
+     * <p>
+     * Files are parsed by {@code import.threadCnt} (local.properties) threads and the articles are added in
+     * transactions of {@code import.batchSize} articles. A file imported is renamed with the article id as the suffix.
+     * </p>
+     *
+     * @return {@code true} if an import is started, returns {@code false} if an import is running or the markdowns
+     * are watched
+     * @see #getProgress()
+     * @see #watchMarkdowns()
      */
-    public void importMarkdowns() {
+    public boolean importMarkdowns() {
+        if (null != watcher || !importing.compareAndSet(false, true)) {
+            return false;
+        }
+
         new Thread(() -> {
             try {
-                final ServletContext servletContext = SoloServletListener.getServletContext();
-                final String markdownsPath = servletContext.getRealPath("markdowns");
-                LOGGER.debug("Import directory [" + markdownsPath + "]");
+                final File dir = getMarkdownsDir();
+                LOGGER.debug("Import directory [" + dir.getPath() + "]");
 
-                JSONObject admin;
-                try {
-                    admin = userQueryService.getAdmin();
-                } catch (final Exception e) {
+                final String adminId = getAdminId();
+                if (null == adminId || !dir.isDirectory()) {
+                    return;
+                }
+
+                final List<File> mds = new ArrayList<>();
+                for (final File md : FileUtils.listFiles(dir, new String[]{"md"}, true)) {
+                    if (isMarkdown(md.toPath())) {
+                        mds.add(md);
+                    }
+                }
+                if (mds.isEmpty()) {
                     return;
                 }
 
-                if (null == admin) { // Not init yet
+                final Progress progress = new Progress(mds.size());
+                this.progress = progress;
+                try {
+                    importMarkdowns(mds, adminId, progress, articles -> {
+                        for (final Map.Entry<File, String> entry : add(articles, progress).entrySet()) {
+                            final File md = entry.getKey();
+                            try {
+                                FileUtils.moveFile(md, new File(md.getPath() + "." + entry.getValue()));
+                            } catch (final Exception e) {
+                                LOGGER.log(Level.ERROR, "Renames imported file [" + md.getName() + "] failed", e);
+                            }
+                        }
+                    });
+                } finally {
+                    progress.finish();
+                    log(progress);
+                }
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Imports markdowns failed", e);
+            } finally {
+                importing.set(false);
+                JdbcRepository.dispose();
+            }
+        }, "MarkdownImporter").start();
+
+        return true;
+    }
+
+    /**
+     * Watches dir markdowns and imports the markdown files changed in a background thread, instead of importing them
+     * once (see {@link #importMarkdowns()}).
+     * <p>
+     * Files are not renamed, each of them is tracked by its path and content hash (see {@link Markdown}): a new file
+     * adds an article, a file changed updates the article imported from it, and a file removed unpublishes the article
+     * if {@code import.watch.unpublishOnDelete} (local.properties) is {@code true}. Changes are synchronized in a
+     * batch once there is no change in {@code import.watch.debounceMillis}, all files are synchronized on start.
+     * </p>
+     *
+     * @see #getProgress()
+     */
+    public void watchMarkdowns() {
+        final File dir = getMarkdownsDir();
+        if (!dir.isDirectory()) {
+            LOGGER.log(Level.WARN, "Markdowns dir [" + dir.getPath() + "] is not found, could not watch it");
+
+            return;
+        }
+
+        try {
+            watcher = FileSystems.getDefault().newWatchService();
+            register(dir.toPath());
+        } catch (final IOException e) {
+            LOGGER.log(Level.ERROR, "Watches markdowns dir [" + dir.getPath() + "] failed", e);
+
+            stopWatching();
+
+            return;
+        }
+
+        final Thread thread = new Thread(() -> watch(dir.toPath()), "MarkdownWatcher");
+        thread.setDaemon(true);
+        thread.start();
+        LOGGER.log(Level.INFO, "Watching markdowns dir [" + dir.getPath() + "]");
+    }
+
+    /**
+     * Stops watching dir markdowns.
+     */
+    public void stopWatching() {
+        final WatchService watchService = watcher;
+        watcher = null;
+        if (null != watchService) {
+            try {
+                watchService.close();
+            } catch (final IOException e) {
+                LOGGER.log(Level.WARN, "Closes markdowns watcher failed", e);
+            }
+        }
+    }
+
+    /**
+     * Imports the specified WordPress eXtended RSS (WXR) file in a background thread, the file is deleted after it.
+     * <p>
+     * The file is read as a stream (StAX), so only a batch of items is held in memory. Posts are imported as articles
+     * in transactions of {@code import.batchSize} (local.properties) articles, with their categories and tags as tags,
+     * pages as pages, and approved comments (not pingbacks) with the articles and pages. A WordPress category becomes a
+     * category holding the tag of the same name. Attachments, menu items, revisions and trashed items are skipped.
+     * </p>
+     *
+     * @param file the specified WXR file
+     * @return {@code true} if an import is started, returns {@code false} if an import is running, the file is not
+     * deleted then
+     * @see #getProgress()
+     */
+    public boolean importWXR(final File file) {
+        if (!importing.compareAndSet(false, true)) {
+            return false;
+        }
+
+        new Thread(() -> {
+            try {
+                final String adminId = getAdminId();
+                if (null == adminId) { // Not init yet
                     return;
                 }
 
-                final String adminId = admin.optString(Keys.OBJECT_ID);
+                final Progress progress = new Progress(0);
+                this.progress = progress;
+                try (final InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
+                    importWXR(inputStream, adminId, progress);
+                } catch (final Exception e) {
+                    LOGGER.log(Level.ERROR, "Imports WXR file failed", e);
+
+                    progress.fail(file, e);
+                } finally {
+                    progress.finish();
+                    log(progress);
+                }
+            } finally {
+                importing.set(false);
+                file.delete();
+                JdbcRepository.dispose();
+            }
+        }, "WXRImporter").start();
+
+        return true;
+    }
 
-                int succCnt = 0, failCnt = 0;
-                final Set<String> failSet = new TreeSet<>();
-                final Collection<File> mds = FileUtils.listFiles(new File(markdownsPath), new String[]{"md"}, true);
-                if (null == mds || mds.isEmpty()) {
+    /**
+     * Collects the markdown files changed in the specified dir and synchronizes them in batches, until the watcher is
+     * closed. The files stay collected until they are synchronized, a failed synchronization is retried after
+     * {@value #RETRY_DELAY_MILLIS} milliseconds.
+     *
+     * @param dir the specified dir
+     */
+    private void watch(final Path dir) {
+        final long debounce = getInt("import.watch.debounceMillis", DEFAULT_DEBOUNCE_MILLIS);
+        final Set<Path> changed = new LinkedHashSet<>(list(dir));
+        long firstChanged = System.currentTimeMillis();
+        long retryAt = 0; // After a failed synchronization
+        try {
+            while (true) {
+                final WatchService watchService = watcher;
+                if (null == watchService) {
                     return;
                 }
 
-                for (final File md : mds) {
-                    final String fileName = md.getName();
-                    if (StringUtils.equalsIgnoreCase(fileName, "README.md")) {
+                // Synchronizes once quiet, or at most every 10 debounces on continuous changes
+                final long timeout = Math.max(debounce, retryAt - System.currentTimeMillis());
+                final WatchKey key = changed.isEmpty() ? watchService.take() : watchService.poll(timeout, TimeUnit.MILLISECONDS);
+                if (null != key) {
+                    if (changed.isEmpty()) {
+                        firstChanged = System.currentTimeMillis();
+                    }
+
+                    final Path parent = (Path) key.watchable();
+                    for (final WatchEvent<?> event : key.pollEvents()) {
+                        if (StandardWatchEventKinds.OVERFLOW == event.kind()) { // Events lost
+                            changed.addAll(list(dir));
+
+                            continue;
+                        }
+
+                        final Path path = parent.resolve((Path) event.context());
+                        if (StandardWatchEventKinds.ENTRY_CREATE == event.kind() && Files.isDirectory(path)) {
+                            register(path);
+                            changed.addAll(list(path));
+                        } else if (isMarkdown(path)) {
+                            changed.add(path);
+                        }
+                    }
+                    key.reset();
+
+                    final long now = System.currentTimeMillis();
+                    if (now < retryAt || now - firstChanged < debounce * 10) {
                         continue;
                     }
+                }
+
+                final List<Path> paths = new ArrayList<>(changed);
+                try {
+                    if (sync(dir, paths)) {
+                        changed.removeAll(paths);
+                        retryAt = 0;
+                    } else {
+                        retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+                    }
+                } catch (final Exception e) {
+                    retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+                    LOGGER.log(Level.ERROR, "Synchronizes markdowns failed, retries in [" + RETRY_DELAY_MILLIS + "] ms", e);
+                } finally {
+                    JdbcRepository.dispose();
+                }
+            }
+        } catch (final ClosedWatchServiceException e) {
+            // Stopped
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Watches markdowns dir [" + dir + "] failed", e);
+        }
+
+        LOGGER.log(Level.INFO, "Stopped watching markdowns dir [" + dir + "]");
+    }
+
+    /**
+     * Synchronizes the specified markdown files changed.
+     *
+     * @param dir   the specified markdowns dir
+     * @param paths the specified markdown files
+     * @return {@code true} if synchronized, returns {@code false} if Solo has not been initialized yet or an article
+     * of the files failed to be written, the files are synchronized again then
+     * @throws Exception exception
+     */
+    private boolean sync(final Path dir, final List<Path> paths) throws Exception {
+        final String adminId = getAdminId();
+        if (null == adminId) { // Not init yet
+            return false;
+        }
+
+        final List<File> mds = new ArrayList<>();
+        final Map<File, JSONObject> sources = new HashMap<>();
+        for (final Path path : paths) {
+            final String relativePath = dir.relativize(path).toString().replace('\\', '/');
+            JSONObject source = markdownRepository.get(DigestUtils.sha256Hex(relativePath));
+            if (!Files.isRegularFile(path)) { // Removed
+                if (null != source && getBoolean("import.watch.unpublishOnDelete")) {
+                    unpublish(source.optString(Markdown.MARKDOWN_ARTICLE_ID), relativePath);
+                }
+
+                continue;
+            }
 
+            final String hash = DigestUtils.sha256Hex(Files.readAllBytes(path));
+            if (null != source && hash.equals(source.optString(Markdown.MARKDOWN_HASH))) { // Unchanged
+                continue;
+            }
+
+            if (null == source) {
+                source = new JSONObject();
+                source.put(Keys.OBJECT_ID, DigestUtils.sha256Hex(relativePath));
+                source.put(Markdown.MARKDOWN_PATH, relativePath);
+            }
+            source.put(Markdown.MARKDOWN_HASH, hash);
+            mds.add(path.toFile());
+            sources.put(path.toFile(), source);
+        }
+        if (mds.isEmpty()) {
+            return true;
+        }
+
+        final Progress progress = new Progress(mds.size());
+        this.progress = progress;
+        final AtomicBoolean failed = new AtomicBoolean();
+        try {
+            importMarkdowns(mds, adminId, progress, articles -> {
+                final Map<File, JSONObject> adds = new LinkedHashMap<>();
+                for (final Map.Entry<File, JSONObject> entry : articles.entrySet()) {
+                    final File md = entry.getKey();
+                    final JSONObject source = sources.get(md);
+                    final String articleId = source.optString(Markdown.MARKDOWN_ARTICLE_ID);
                     try {
-                        final String fileContent = FileUtils.readFileToString(md, "UTF-8");
-                        final JSONObject article = parseArticle(fileName, fileContent);
-                        article.put(Article.ARTICLE_AUTHOR_ID, adminId);
+                        if (StringUtils.isBlank(articleId) || !articleRepository.has(articleId)) { // New, or the article was removed
+                            adds.put(md, entry.getValue());
+
+                            continue;
+                        }
 
+                        final JSONObject article = entry.getValue();
+                        article.put(Keys.OBJECT_ID, articleId);
                         final JSONObject request = new JSONObject();
                         request.put(Article.ARTICLE, article);
+                        articleMgmtService.updateArticle(request);
+                        progress.imported();
+                        LOGGER.log(Level.DEBUG, "Updated article [" + articleId + "] of file [" + md.getName() + "]");
+                    } catch (final Exception e) {
+                        LOGGER.log(Level.ERROR, "Update article of file [" + md.getName() + "] failed", e);
+
+                        progress.fail(md, e);
+                        failed.set(true);
+
+                        continue;
+                    }
 
-                        final String id = articleMgmtService.addArticle(request);
-                        FileUtils.moveFile(md, new File(md.getPath() + "." + id));
-                        LOGGER.info("Imported article [" + article.optString(Article.ARTICLE_TITLE) + "]");
-                        succCnt++;
+                    // The article is linked already, the file is only updated again if its hash fails to be saved
+                    final Transaction transaction = markdownRepository.beginTransaction();
+                    try {
+                        saveSource(source, articleId);
+                        transaction.commit();
                     } catch (final Exception e) {
-                        LOGGER.log(Level.ERROR, "Import file [" + fileName + "] failed", e);
+                        if (transaction.isActive()) {
+                            transaction.rollback();
+                        }
 
-                        failCnt++;
-                        failSet.add(fileName);
+                        LOGGER.log(Level.ERROR, "Saves markdown source of file [" + md.getName() + "] failed", e);
+                        failed.set(true);
                     }
                 }
 
-                if (0 == succCnt && 0 == failCnt) {
-                    return;
+                // The source of a file is saved in the transaction adding its article, so a file is never added twice
+                if (add(adds, progress, (md, id) -> saveSource(sources.get(md), id)).size() < adds.size()) {
+                    failed.set(true);
                 }
+            });
+        } finally {
+            progress.finish();
+            log(progress);
+        }
 
-                final StringBuilder logBuilder = new StringBuilder();
-                logBuilder.append("[").append(succCnt).append("] imported, [").append(failCnt).append("] failed");
-                if (failCnt > 0) {
-                    logBuilder.append(": ").append(Strings.LINE_SEPARATOR);
+        return !failed.get();
+    }
+
+    /**
+     * Saves the specified markdown source linked to the specified article.
+     *
+     * @param source    the specified markdown source
+     * @param articleId the specified article id
+     * @throws RepositoryException repository exception
+     */
+    private void saveSource(final JSONObject source, final String articleId) throws RepositoryException {
+        source.put(Markdown.MARKDOWN_ARTICLE_ID, articleId);
+        source.put(Markdown.MARKDOWN_IMPORTED, System.currentTimeMillis());
+        if (markdownRepository.has(source.optString(Keys.OBJECT_ID))) {
+            markdownRepository.update(source.optString(Keys.OBJECT_ID), source);
+        } else {
+            markdownRepository.add(source);
+        }
+    }
 
-                    for (final String fail : failSet) {
-                        logBuilder.append("    ").append(fail).append(Strings.LINE_SEPARATOR);
+    /**
+     * Unpublishes the article imported from the specified file.
+     *
+     * @param articleId    the specified article id
+     * @param relativePath the specified file path relative to dir markdowns
+     */
+    private void unpublish(final String articleId, final String relativePath) {
+        try {
+            final JSONObject article = articleRepository.get(articleId);
+            if (null != article && article.optBoolean(Article.ARTICLE_IS_PUBLISHED)) {
+                articleMgmtService.cancelPublishArticle(articleId);
+                LOGGER.log(Level.INFO, "Unpublished article [" + articleId + "] of removed file [" + relativePath + "]");
+            }
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Unpublishes article [" + articleId + "] of removed file [" + relativePath + "] failed", e);
+        }
+    }
+
+    /**
+     * Registers the specified dir and its sub dirs to the watcher.
+     *
+     * @param dir the specified dir
+     * @throws IOException io exception
+     */
+    private void register(final Path dir) throws IOException {
+        final WatchService watchService = watcher;
+        if (null == watchService) {
+            return;
+        }
+
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path path, final BasicFileAttributes attrs) throws IOException {
+                path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Lists the markdown files in the specified dir.
+     *
+     * @param dir the specified dir
+     * @return markdown files
+     */
+    private static List<Path> list(final Path dir) {
+        final List<Path> ret = new ArrayList<>();
+        if (Files.isDirectory(dir)) {
+            for (final File md : FileUtils.listFiles(dir.toFile(), new String[]{"md"}, true)) {
+                if (isMarkdown(md.toPath())) {
+                    ret.add(md.toPath());
+                }
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Determines whether the specified path is of a markdown file to import.
+     *
+     * @param path the specified path
+     * @return {@code true} if it is, returns {@code false} otherwise
+     */
+    private static boolean isMarkdown(final Path path) {
+        final String name = path.getFileName().toString();
+
+        return StringUtils.endsWithIgnoreCase(name, ".md") && !StringUtils.equalsIgnoreCase(name, "README.md")
+                && !name.startsWith("."); // Editor temp files
+    }
+
+    /**
+     * Imports the specified markdown files, files are parsed in parallel and imported in batches.
+     *
+     * @param mds      the specified markdown files
+     * @param adminId  the specified admin id, author of the articles
+     * @param progress the specified progress
+     * @param importer the specified importer of batches
+     * @throws InterruptedException if interrupted
+     */
+    private void importMarkdowns(final List<File> mds, final String adminId, final Progress progress,
+                                 final BatchImporter importer) throws InterruptedException {
+        final int batchSize = getInt("import.batchSize", DEFAULT_BATCH_SIZE);
+        final int threadCnt = getInt("import.threadCnt", Runtime.getRuntime().availableProcessors());
+        final AtomicInteger threadNum = new AtomicInteger();
+        final ExecutorService parser = Executors.newFixedThreadPool(threadCnt, r -> {
+            final Thread ret = new Thread(r, "MarkdownParser-" + threadNum.incrementAndGet());
+            ret.setDaemon(true);
+
+            return ret;
+        });
+        try {
+            // The next batch is parsed while the current one is imported
+            List<Future<JSONObject>> next = parse(parser, mds.subList(0, Math.min(batchSize, mds.size())));
+            for (int from = 0; from < mds.size(); from += batchSize) {
+                final List<File> files = mds.subList(from, Math.min(from + batchSize, mds.size()));
+                final List<Future<JSONObject>> parsed = next;
+                final int nextFrom = from + batchSize;
+                if (nextFrom < mds.size()) {
+                    next = parse(parser, mds.subList(nextFrom, Math.min(nextFrom + batchSize, mds.size())));
+                }
+
+                final Map<File, JSONObject> articles = new LinkedHashMap<>();
+                for (int i = 0; i < files.size(); i++) {
+                    final File md = files.get(i);
+                    try {
+                        final JSONObject article = parsed.get(i).get();
+                        article.put(Article.ARTICLE_AUTHOR_ID, adminId);
+                        articles.put(md, article);
+                    } catch (final ExecutionException e) {
+                        LOGGER.log(Level.ERROR, "Parse file [" + md.getName() + "] failed", e.getCause());
+
+                        progress.fail(md, e.getCause());
                     }
-                } else {
-                    logBuilder.append(" :p");
                 }
-                LOGGER.info(logBuilder.toString());
-            } finally {
-                JdbcRepository.dispose();
+
+                if (!articles.isEmpty()) {
+                    importer.importBatch(articles);
+                }
+            }
+        } finally {
+            parser.shutdownNow();
+        }
+    }
+
+    /**
+     * Logs the result of the specified progress.
+     *
+     * @param progress the specified progress
+     */
+    private static void log(final Progress progress) {
+        final JSONObject result = progress.toJSON();
+        final StringBuilder logBuilder = new StringBuilder();
+        logBuilder.append("[").append(result.optInt("imported")).append("] imported, [").
+                append(result.optInt("failed")).append("] failed in [").
+                append(result.optLong("finished") - result.optLong("started")).append("] ms");
+        if (0 < result.optInt("failed")) {
+            logBuilder.append(": ").append(Strings.LINE_SEPARATOR);
+
+            final JSONArray failures = result.optJSONArray("failures");
+            for (int i = 0; i < failures.length(); i++) {
+                logBuilder.append("    ").append(failures.optJSONObject(i).optString("file")).append(Strings.LINE_SEPARATOR);
             }
-        }).start();
+        } else {
+            logBuilder.append(" :p");
+        }
+        LOGGER.info(logBuilder.toString());
+    }
+
+    /**
+     * Parses the specified markdown files with the specified parser.
+     *
+     * @param parser the specified parser
+     * @param mds    the specified markdown files
+     * @return parsed articles, in the order of the files
+     */
+    private List<Future<JSONObject>> parse(final ExecutorService parser, final List<File> mds) {
+        final List<Future<JSONObject>> ret = new ArrayList<>();
+        for (final File md : mds) {
+            ret.add(parser.submit(() -> {
+                final String fileContent = FileUtils.readFileToString(md, "UTF-8");
+                final JSONObject article = parseArticle(md.getName(), fileContent);
+                if (StringUtils.isBlank(Tag.formatTags(article.optString(Article.ARTICLE_TAGS_REF)))) {
+                    throw new IllegalArgumentException("Tags are empty");
+                }
+
+                return article;
+            }));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Adds the specified articles.
+     *
+     * @param articles the specified articles, &lt;source (markdown file or WXR item name), article&gt;
+     * @param progress the specified progress
+     * @param <K>      the type of sources
+     * @return ids of the articles added, &lt;source, article id&gt;
+     * @see #add(Map, Progress, AddListener)
+     */
+    private <K> Map<K, String> add(final Map<K, JSONObject> articles, final Progress progress) {
+        return add(articles, progress, (source, articleId) -> {
+        });
+    }
+
+    /**
+     * Adds the specified articles in a transaction, adds them one by one if it fails, so an article failed does not
+     * fail the others.
+     *
+     * @param articles the specified articles, &lt;source (markdown file or WXR item name), article&gt;
+     * @param progress the specified progress
+     * @param listener the specified listener, invoked in the transaction adding each article
+     * @param <K>      the type of sources
+     * @return ids of the articles added, &lt;source, article id&gt;
+     */
+    private <K> Map<K, String> add(final Map<K, JSONObject> articles, final Progress progress, final AddListener<K> listener) {
+        final Map<K, String> ret = new LinkedHashMap<>();
+        if (articles.isEmpty()) {
+            return ret;
+        }
+
+        final Map<K, JSONObject> copies = new LinkedHashMap<>();
+        for (final Map.Entry<K, JSONObject> entry : articles.entrySet()) {
+            copies.put(entry.getKey(), JSONs.clone(entry.getValue()));
+        }
+
+        final Transaction transaction = articleRepository.beginTransaction();
+        try {
+            for (final Map.Entry<K, JSONObject> entry : articles.entrySet()) {
+                final String id = articleMgmtService.addArticleInternal(entry.getValue());
+                listener.added(entry.getKey(), id);
+                ret.put(entry.getKey(), id);
+            }
+            transaction.commit();
+        } catch (final Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            LOGGER.log(Level.WARN, "Imports a batch of [" + articles.size() + "] articles failed, imports them one by one", e);
+
+            ret.clear();
+            for (final Map.Entry<K, JSONObject> entry : copies.entrySet()) {
+                final K source = entry.getKey();
+                final Transaction one = articleRepository.beginTransaction();
+                try {
+                    final String id = articleMgmtService.addArticleInternal(entry.getValue());
+                    listener.added(source, id);
+                    one.commit();
+                    ret.put(source, id);
+                } catch (final Exception ex) {
+                    if (one.isActive()) {
+                        one.rollback();
+                    }
+
+                    LOGGER.log(Level.ERROR, "Import [" + source + "] failed", ex);
+
+                    progress.fail(source, ex);
+                }
+            }
+        }
+
+        for (int i = 0; i < ret.size(); i++) {
+            progress.imported();
+        }
+        LOGGER.info("Imported [" + ret.size() + "] articles");
+
+        return ret;
+    }
+
+    /**
+     * Imports the WXR items read from the specified input stream.
+     *
+     * @param inputStream the specified input stream
+     * @param adminId     the specified admin id, author of the articles
+     * @param progress    the specified progress
+     * @throws XMLStreamException xml stream exception
+     */
+    private void importWXR(final InputStream inputStream, final String adminId, final Progress progress) throws XMLStreamException {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+
+        final int batchSize = getInt("import.batchSize", DEFAULT_BATCH_SIZE);
+        final Map<String, String> categoryDescriptions = new HashMap<>(); // <nicename, description>
+        final Map<String, String> categories = new LinkedHashMap<>(); // <nicename, name>, used by the items
+        final List<WXRItem> items = new ArrayList<>();
+        final XMLStreamReader reader = factory.createXMLStreamReader(inputStream);
+        try {
+            while (reader.hasNext()) {
+                if (XMLStreamConstants.START_ELEMENT != reader.next()) {
+                    continue;
+                }
+
+                final String name = reader.getLocalName();
+                if ("category".equals(name) && StringUtils.isNotBlank(reader.getNamespaceURI())) { // wp:category
+                    final Map<String, String> fields = readFields(reader);
+                    categoryDescriptions.put(fields.get("category_nicename"), fields.get("category_description"));
+                } else if ("item".equals(name)) {
+                    final WXRItem item = readItem(reader, categories);
+                    if (null == item) {
+                        continue;
+                    }
+
+                    progress.found();
+                    items.add(item);
+                    if (items.size() >= batchSize) {
+                        importItems(items, adminId, progress);
+                        items.clear();
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        importItems(items, adminId, progress);
+
+        for (final Map.Entry<String, String> category : categories.entrySet()) {
+            importCategory(category.getKey(), category.getValue(), categoryDescriptions.get(category.getKey()));
+        }
+    }
+
+    /**
+     * Reads a WXR item, the reader is at the start of the item and is moved to the end of it.
+     *
+     * @param reader     the specified reader
+     * @param categories the specified categories used, &lt;nicename, name&gt;, the categories of the item are put
+     * @return item, returns {@code null} if it is not a post or page to import
+     * @throws XMLStreamException xml stream exception
+     */
+    WXRItem readItem(final XMLStreamReader reader, final Map<String, String> categories) throws XMLStreamException {
+        final Map<String, String> fields = new HashMap<>();
+        final List<String> tags = new ArrayList<>();
+        final List<Map<String, String>> comments = new ArrayList<>();
+        while (XMLStreamConstants.END_ELEMENT != reader.next()) {
+            if (!reader.isStartElement()) {
+                continue;
+            }
+
+            final String name = reader.getLocalName();
+            if ("category".equals(name)) {
+                final String domain = reader.getAttributeValue(null, "domain");
+                final String nicename = reader.getAttributeValue(null, "nicename");
+                final String title = readText(reader).trim();
+                if (StringUtils.isNotBlank(title)) {
+                    tags.add(title);
+                    if ("category".equals(domain)) {
+                        categories.put(StringUtils.defaultIfBlank(nicename, title), title);
+                    }
+                }
+            } else if ("comment".equals(name)) {
+                final Map<String, String> comment = readFields(reader);
+                if ("1".equals(comment.get("comment_approved"))
+                        && !StringUtils.equalsIgnoreCase(comment.get("comment_type"), "pingback")
+                        && !StringUtils.equalsIgnoreCase(comment.get("comment_type"), "trackback")) {
+                    comments.add(comment);
+                }
+            } else if ("encoded".equals(name)) {
+                final boolean excerpt = StringUtils.endsWith(reader.getNamespaceURI(), "/excerpt/");
+                fields.put(excerpt ? "excerpt" : "content", readText(reader));
+            } else {
+                fields.put(name, readText(reader));
+            }
+        }
+
+        final String type = fields.get("post_type");
+        final String status = fields.get("status");
+        if ((!"post".equals(type) && !"page".equals(type))
+                || "trash".equals(status) || "auto-draft".equals(status) || "inherit".equals(status)) {
+            return null;
+        }
+
+        final boolean published = "publish".equals(status);
+        final String slug = fields.get("post_name");
+        final String content = StringUtils.defaultString(fields.get("content"));
+        final WXRItem ret = new WXRItem();
+        ret.name = "[" + fields.get("post_id") + "] " + fields.get("title");
+        ret.comments = comments;
+        if ("page".equals(type)) {
+            if (!published) { // Pages have no drafts
+                return null;
+            }
+
+            String permalink = StringUtils.isBlank(slug) ? "" : "/" + slug + ".html";
+            if (StringUtils.isNotBlank(permalink) && PermalinkQueryService.invalidPagePermalinkFormat(permalink)) {
+                LOGGER.log(Level.WARN, "Ignored invalid permalink [" + permalink + "] of page [" + ret.name + "]");
+                permalink = "";
+            }
+
+            ret.page = true;
+            ret.entry = new JSONObject();
+            ret.entry.put(Page.PAGE_TITLE, StringUtils.defaultIfBlank(fields.get("title"), slug));
+            ret.entry.put(Page.PAGE_CONTENT, content);
+            ret.entry.put(Page.PAGE_PERMALINK, permalink);
+            ret.entry.put(Page.PAGE_TYPE, Page.PAGE);
+            ret.entry.put(Page.PAGE_COMMENTABLE, "open".equals(fields.get("comment_status")));
+            ret.entry.put(Page.PAGE_OPEN_TARGET, "_self");
+
+            return ret;
+        }
+
+        final Map<String, Object> elems = new HashMap<>();
+        elems.put("title", fields.get("title"));
+        final String date = fields.get("post_date");
+        if (StringUtils.isNotBlank(date) && !date.startsWith("0000")) { // Drafts never published have no date
+            elems.put("date", date);
+        }
+        if (StringUtils.isNotBlank(slug)) {
+            elems.put("permalink", "/" + slug + ".html");
+        }
+        if (!tags.isEmpty()) {
+            elems.put("tags", tags);
+        }
+        if (StringUtils.isNotBlank(fields.get("excerpt"))) {
+            elems.put("description", fields.get("excerpt"));
+        }
+
+        ret.entry = parseArticle(StringUtils.defaultIfBlank(slug, fields.get("post_id")), elems, content);
+        ret.entry.put(Article.ARTICLE_IS_PUBLISHED, published);
+        ret.entry.put(Article.ARTICLE_COMMENTABLE, "open".equals(fields.get("comment_status")));
+        ret.entry.put(Article.ARTICLE_VIEW_PWD, StringUtils.defaultString(fields.get("post_password")));
+
+        return ret;
+    }
+
+    /**
+     * Imports the specified WXR items, the articles are added in a transaction.
+     *
+     * @param items    the specified items
+     * @param adminId  the specified admin id, author of the articles
+     * @param progress the specified progress
+     */
+    private void importItems(final List<WXRItem> items, final String adminId, final Progress progress) {
+        final Map<String, JSONObject> articles = new LinkedHashMap<>();
+        final Map<String, String> ids = new HashMap<>();
+        for (final WXRItem item : items) {
+            if (!item.page) {
+                item.entry.put(Article.ARTICLE_AUTHOR_ID, adminId);
+                articles.put(item.name, item.entry);
+
+                continue;
+            }
+
+            try {
+                final JSONObject request = new JSONObject();
+                request.put(Page.PAGE, item.entry);
+                ids.put(item.name, pageMgmtService.addPage(request));
+                progress.imported();
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Import page [" + item.name + "] failed", e);
+
+                progress.fail(item.name, e);
+            }
+        }
+        ids.putAll(add(articles, progress));
+
+        final Transaction transaction = commentRepository.beginTransaction();
+        try {
+            int commentCnt = 0;
+            int publishedCommentCnt = 0;
+            for (final WXRItem item : items) {
+                final String id = ids.get(item.name);
+                if (null == id || item.comments.isEmpty()) {
+                    continue;
+                }
+
+                final int cnt = addComments(item, id);
+                commentCnt += cnt;
+                if (item.page || item.entry.optBoolean(Article.ARTICLE_IS_PUBLISHED)) {
+                    publishedCommentCnt += cnt;
+                }
+            }
+
+            if (0 < commentCnt) {
+                statisticMgmtService.setBlogCommentCount(statisticQueryService.getBlogCommentCount() + commentCnt);
+                statisticMgmtService.setPublishedBlogCommentCount(statisticQueryService.getPublishedBlogCommentCount() + publishedCommentCnt);
+            }
+            transaction.commit();
+        } catch (final Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            LOGGER.log(Level.ERROR, "Imports comments of a batch of [" + items.size() + "] items failed", e);
+
+            progress.fail("Comments of " + items.get(0).name + "...", e);
+        }
+    }
+
+    /**
+     * Adds the comments of the specified WXR item imported as the article or page of the specified id.
+     *
+     * @param item the specified item
+     * @param id   the specified id
+     * @return count of comments added
+     * @throws Exception exception
+     */
+    private int addComments(final WXRItem item, final String id) throws Exception {
+        final JSONObject entry = item.page ? pageRepository.get(id) : articleRepository.get(id);
+        final String permalink = entry.optString(item.page ? Page.PAGE_PERMALINK : Article.ARTICLE_PERMALINK);
+        final Map<String, JSONObject> added = new HashMap<>(); // <WXR comment id, comment>
+        for (final Map<String, String> fields : item.comments) {
+            final JSONObject comment = new JSONObject();
+            final String commentId = Ids.genTimeMillisId();
+            comment.put(Keys.OBJECT_ID, commentId);
+            comment.put(Comment.COMMENT_NAME, StringUtils.defaultString(fields.get("comment_author")));
+            final String email = StringUtils.defaultString(fields.get("comment_author_email")).trim().toLowerCase();
+            comment.put(Comment.COMMENT_EMAIL, email);
+            comment.put(Comment.COMMENT_URL, StringUtils.defaultString(fields.get("comment_author_url")));
+            comment.put(Comment.COMMENT_CONTENT, StringUtils.defaultString(fields.get("comment_content")));
+            long created = System.currentTimeMillis();
+            try {
+                created = DateUtils.parseDate(fields.get("comment_date"), new String[]{"yyyy-MM-dd HH:mm:ss"}).getTime();
+            } catch (final Exception e) {
+                // Imported now
+            }
+            comment.put(Comment.COMMENT_CREATED, created);
+            final JSONObject original = added.get(fields.get("comment_parent"));
+            comment.put(Comment.COMMENT_ORIGINAL_COMMENT_ID, null == original ? "" : original.optString(Keys.OBJECT_ID));
+            comment.put(Comment.COMMENT_ORIGINAL_COMMENT_NAME, null == original ? "" : original.optString(Comment.COMMENT_NAME));
+            comment.put(Comment.COMMENT_THUMBNAIL_URL, Thumbnails.getGravatarURL(email, "128"));
+            comment.put(Comment.COMMENT_ON_ID, id);
+            comment.put(Comment.COMMENT_ON_TYPE, item.page ? Page.PAGE : Article.ARTICLE);
+            comment.put(Comment.COMMENT_SHARP_URL, permalink + "#" + commentId);
+            commentRepository.add(comment);
+            added.put(fields.get("comment_id"), comment);
+        }
+
+        if (item.page) {
+            entry.put(Page.PAGE_COMMENT_COUNT, entry.optInt(Page.PAGE_COMMENT_COUNT) + added.size());
+            pageRepository.update(id, entry);
+        } else {
+            entry.put(Article.ARTICLE_COMMENT_COUNT, entry.optInt(Article.ARTICLE_COMMENT_COUNT) + added.size());
+            articleRepository.update(id, entry);
+        }
+
+        return added.size();
+    }
+
+    /**
+     * Imports a WordPress category as a category holding the tag of the same name, does nothing if the tag is not
+     * found.
+     *
+     * @param nicename    the specified nicename, URI of the category
+     * @param title       the specified name
+     * @param description the specified description, may be {@code null}
+     */
+    private void importCategory(final String nicename, final String title, final String description) {
+        try {
+            final JSONObject tag = tagRepository.getByTitle(Tag.formatTags(title));
+            if (null == tag) {
+                return;
+            }
+
+            JSONObject category = categoryQueryService.getByURI(nicename);
+            if (null == category) {
+                category = categoryQueryService.getByTitle(title);
+            }
+
+            final String categoryId;
+            if (null == category) {
+                category = new JSONObject();
+                category.put(Category.CATEGORY_TITLE, title);
+                category.put(Category.CATEGORY_URI, nicename);
+                category.put(Category.CATEGORY_DESCRIPTION, StringUtils.defaultString(description));
+                categoryId = categoryMgmtService.addCategory(category);
+            } else {
+                categoryId = category.optString(Keys.OBJECT_ID);
+            }
+
+            if (!categoryQueryService.containTag(tag.optString(Tag.TAG_TITLE), categoryId)) {
+                final JSONObject categoryTag = new JSONObject();
+                categoryTag.put(Category.CATEGORY + "_" + Keys.OBJECT_ID, categoryId);
+                categoryTag.put(Tag.TAG + "_" + Keys.OBJECT_ID, tag.optString(Keys.OBJECT_ID));
+                categoryMgmtService.addCategoryTag(categoryTag);
+            }
+        } catch (final Exception e) {
+            LOGGER.log(Level.WARN, "Imports category [" + title + "] failed", e);
+        }
+    }
+
+    /**
+     * Reads the texts of the child elements of the current element, the reader is at the start of the element and is
+     * moved to the end of it.
+     *
+     * @param reader the specified reader
+     * @return texts, &lt;child element local name, text&gt;
+     * @throws XMLStreamException xml stream exception
+     */
+    private static Map<String, String> readFields(final XMLStreamReader reader) throws XMLStreamException {
+        final Map<String, String> ret = new HashMap<>();
+        while (XMLStreamConstants.END_ELEMENT != reader.next()) {
+            if (reader.isStartElement()) {
+                ret.put(reader.getLocalName(), readText(reader));
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Reads the text of the current element, texts of the child elements are skipped, the reader is at the start of
+     * the element and is moved to the end of it.
+     *
+     * @param reader the specified reader
+     * @return text
+     * @throws XMLStreamException xml stream exception
+     */
+    private static String readText(final XMLStreamReader reader) throws XMLStreamException {
+        final StringBuilder ret = new StringBuilder();
+        int depth = 1;
+        while (0 < depth) {
+            final int event = reader.next();
+            if (XMLStreamConstants.START_ELEMENT == event) {
+                depth++;
+            } else if (XMLStreamConstants.END_ELEMENT == event) {
+                depth--;
+            } else if (1 == depth && reader.hasText()) {
+                ret.append(reader.getText());
+            }
+        }
+
+        return ret.toString();
+    }
+
+    /**
+     * Gets the admin id.
+     *
+     * @return admin id, returns {@code null} if not init yet
+     */
+    private String getAdminId() {
+        try {
+            final JSONObject admin = userQueryService.getAdmin();
+
+            return null == admin ? null : admin.optString(Keys.OBJECT_ID);
+        } catch (final Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets dir markdowns.
+     *
+     * @return dir markdowns
+     */
+    private static File getMarkdownsDir() {
+        final ServletContext servletContext = SoloServletListener.getServletContext();
+
+        return new File(servletContext.getRealPath("markdowns"));
+    }
+
+    /**
+     * Gets a boolean local property by the specified key.
+     *
+     * @param key the specified key
+     * @return value, returns {@code false} if it is not configured
+     */
+    private static boolean getBoolean(final String key) {
+        return Boolean.parseBoolean(StringUtils.trim(Latkes.getLocalProperty(key)));
+    }
+
+    /**
+     * Gets an int local property by the specified key.
+     *
+     * @param key          the specified key
+     * @param defaultValue the specified default value
+     * @return value, returns the specified default value if it is not configured
+     */
+    private static int getInt(final String key, final int defaultValue) {
+        final String value = Latkes.getLocalProperty(key);
+
+        return StringUtils.isBlank(value) ? defaultValue : Integer.valueOf(value.trim());
     }
 
     private JSONObject parseArticle(final String fileName, String fileContent) {
@@ -174,17 +1265,35 @@ public class ImportService {
             return ret;
         }
 
-        String title = (String) elems.get("title");
-        if (StringUtils.isBlank(title)) {
-            title = StringUtils.substringBeforeLast(fileName, ".");
-        }
-        ret.put(Article.ARTICLE_TITLE, title);
-
         String content = StringUtils.substringAfter(fileContent, frontMatter);
         if (StringUtils.startsWith(content, "---")) {
             content = StringUtils.substringAfter(content, "---");
             content = StringUtils.trim(content);
         }
+
+        return parseArticle(StringUtils.substringBeforeLast(fileName, "."), elems, content);
+    }
+
+    /**
+     * Parses an article with the specified front matter elements (title, date, permalink, tags and abstract) and
+     * content.
+     * <p>
+     * A permalink in an invalid format (for example with more than one slash) is ignored, the article gets the default
+     * one.
+     * </p>
+     *
+     * @param defaultTitle the specified title used if there is no title element
+     * @param elems        the specified front matter elements
+     * @param content      the specified content
+     * @return article, published and commentable
+     */
+    private JSONObject parseArticle(final String defaultTitle, final Map elems, final String content) {
+        final JSONObject ret = new JSONObject();
+        String title = (String) elems.get("title");
+        if (StringUtils.isBlank(title)) {
+            title = defaultTitle;
+        }
+        ret.put(Article.ARTICLE_TITLE, title);
         ret.put(Article.ARTICLE_CONTENT, content);
 
         final String abs = parseAbstract(elems, content);
@@ -193,9 +1302,16 @@ public class ImportService {
         final Date date = parseDate(elems);
         ret.put(Article.ARTICLE_CREATED, date.getTime());
 
-        final String permalink = (String) elems.get("permalink");
+        String permalink = (String) elems.get("permalink");
         if (StringUtils.isNotBlank(permalink)) {
-            ret.put(Article.ARTICLE_PERMALINK, permalink);
+            if (!permalink.startsWith("/")) {
+                permalink = "/" + permalink;
+            }
+            if (PermalinkQueryService.invalidArticlePermalinkFormat(permalink)) {
+                LOGGER.log(Level.WARN, "Ignored invalid permalink [" + permalink + "] of article [" + title + "]");
+            } else {
+                ret.put(Article.ARTICLE_PERMALINK, permalink);
+            }
         }
 
         final List<String> tags = parseTags(elems);
@@ -291,4 +1407,158 @@ public class ImportService {
 
         return ret;
     }
+
+    /**
+     * Markdown import progress.
+     */
+    private static final class Progress {
+
+        /**
+         * Failures shown at most.
+         */
+        private static final int MAX_FAILURES = 1000;
+
+        /**
+         * Files (items of a WXR file) to import, items are counted as they are read.
+         */
+        private int total;
+
+        /**
+         * Start time.
+         */
+        private final long started = System.currentTimeMillis();
+
+        /**
+         * Finish time, {@code 0} if running.
+         */
+        private long finished;
+
+        /**
+         * Files imported.
+         */
+        private int imported;
+
+        /**
+         * Files failed.
+         */
+        private int failed;
+
+        /**
+         * Failures, [{"file": "", "msg": ""}, ....].
+         */
+        private final List<JSONObject> failures = new ArrayList<>();
+
+        /**
+         * Constructs a progress with the specified files to import.
+         *
+         * @param total the specified files to import
+         */
+        private Progress(final int total) {
+            this.total = total;
+        }
+
+        /**
+         * Counts a file found to import.
+         */
+        private synchronized void found() {
+            total++;
+        }
+
+        /**
+         * Counts a file imported.
+         */
+        private synchronized void imported() {
+            imported++;
+        }
+
+        /**
+         * Counts a file failed.
+         *
+         * @param source the specified file, or the name of an item of a WXR file
+         * @param cause  the specified cause
+         */
+        private synchronized void fail(final Object source, final Throwable cause) {
+            failed++;
+            if (failures.size() < MAX_FAILURES) {
+                final String name = source instanceof File ? ((File) source).getName() : String.valueOf(source);
+                failures.add(new JSONObject().put("file", name).put("msg", String.valueOf(cause.getMessage())));
+            }
+        }
+
+        /**
+         * Finishes the import.
+         */
+        private synchronized void finish() {
+            finished = System.currentTimeMillis();
+        }
+
+        /**
+         * Gets the JSON of the progress.
+         *
+         * @return JSON
+         */
+        private synchronized JSONObject toJSON() {
+            return new JSONObject().put("running", 0 == finished).put("total", total).put("imported", imported).
+                    put("failed", failed).put("failures", new JSONArray(failures)).
+                    put("started", started).put("finished", finished);
+        }
+    }
+
+    /**
+     * A post or page read from a WXR file.
+     */
+    static final class WXRItem {
+
+        /**
+         * Name, "[${post_id}] ${title}".
+         */
+        String name;
+
+        /**
+         * Whether it is a page.
+         */
+        boolean page;
+
+        /**
+         * Article or page.
+         */
+        JSONObject entry;
+
+        /**
+         * Approved comments, texts of the fields of each of them.
+         */
+        List<Map<String, String>> comments;
+    }
+
+    /**
+     * Importer of a batch of parsed articles.
+     */
+    @FunctionalInterface
+    private interface BatchImporter {
+
+        /**
+         * Imports the specified articles.
+         *
+         * @param articles the specified articles, &lt;markdown file, article&gt;
+         */
+        void importBatch(Map<File, JSONObject> articles);
+    }
+
+    /**
+     * Listener of the articles added.
+     *
+     * @param <K> the type of sources
+     */
+    @FunctionalInterface
+    private interface AddListener<K> {
+
+        /**
+         * Invoked in the transaction adding the specified article, an exception rolls the article back.
+         *
+         * @param source    the specified source of the article
+         * @param articleId the specified article id
+         * @throws Exception exception
+         */
+        void added(K source, String articleId) throws Exception;
+    }
 }
@@ -0,0 +1,280 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.service;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.Repositories;
+import org.b3log.latke.repository.jdbc.util.Connections;
+import org.b3log.latke.service.annotation.Service;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Index service.
+ * <p>
+ * Secondary indexes are declared in repository.json (key "indexes" of each repository, an index with "unique": true
+ * is created as a unique index), this service creates the missing ones for MySQL and H2 and diagnoses them.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Service
+public class IndexService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(IndexService.class);
+
+    /**
+     * Hot queries, &lt;name, SQL&gt;, "%s" will be replaced with the table prefix.
+     */
+    private static final Map<String, String> HOT_QUERIES = new LinkedHashMap<>();
+
+    static {
+        HOT_QUERIES.put("index", "SELECT `oId` FROM `%sarticle` WHERE `articleIsPublished` = '1' "
+                + "ORDER BY `articlePutTop` DESC, `articleCreated` DESC, `oId` DESC LIMIT 20");
+        HOT_QUERIES.put("permalink", "SELECT `oId` FROM `%sarticle` WHERE `articlePermalink` = '/'");
+        HOT_QUERIES.put("author", "SELECT `oId` FROM `%sarticle` WHERE `articleAuthorId` = '0' AND `articleIsPublished` = '1'");
+        HOT_QUERIES.put("comments", "SELECT `oId` FROM `%scomment` WHERE `commentOnId` = '0' ORDER BY `commentCreated` DESC");
+        HOT_QUERIES.put("tagArticles", "SELECT `article_oId` FROM `%stag_article` WHERE `tag_oId` = '0' "
+                + "ORDER BY `article_oId` DESC LIMIT 20");
+        HOT_QUERIES.put("archiveDateArticles", "SELECT `article_oId` FROM `%sarchivedate_article` WHERE `archiveDate_oId` = '0' "
+                + "ORDER BY `article_oId` DESC LIMIT 20");
+        HOT_QUERIES.put("categoryTags", "SELECT `tag_oId` FROM `%scategory_tag` WHERE `category_oId` = '0'");
+        HOT_QUERIES.put("tagTitle", "SELECT `oId` FROM `%stag` WHERE `tagTitle` = ''");
+        HOT_QUERIES.put("userEmail", "SELECT `oId` FROM `%suser` WHERE `userEmail` = ''");
+    }
+
+    /**
+     * Creates the declared indexes which do not exist yet. A failed index is logged and skipped.
+     */
+    public void createIndexes() {
+        try (final Connection connection = Connections.getConnection()) {
+            final Statement statement = connection.createStatement();
+            for (final JSONObject index : getDeclaredIndexes()) {
+                final String table = index.optString("table");
+                final String name = index.optString(Keys.OBJECT_ID);
+                if (getIndexNames(connection, table).contains(name.toUpperCase())) {
+                    continue;
+                }
+
+                final List<String> columns = new ArrayList<>();
+                final JSONArray keys = index.optJSONArray("keys");
+                for (int i = 0; i < keys.length(); i++) {
+                    columns.add("`" + keys.optString(i) + "`");
+                }
+                final String sql = "CREATE " + (index.optBoolean("unique") ? "UNIQUE " : "") + "INDEX `" + name + "` ON `" + table + "` (" + StringUtils.join(columns, ", ") + ")";
+                try {
+                    statement.executeUpdate(sql);
+                    LOGGER.log(Level.INFO, "Created index [" + sql + "]");
+                } catch (final SQLException e) {
+                    LOGGER.log(Level.ERROR, "Creates index [" + sql + "] failed", e);
+                }
+            }
+            statement.close();
+            connection.commit();
+        } catch (final SQLException e) {
+            LOGGER.log(Level.ERROR, "Creates indexes failed", e);
+        }
+    }
+
+    /**
+     * Diagnoses indexes.
+     *
+     * @return diagnostic, for example,
+     * <pre>
+     * {
+     *     "indexes": [{
+     *         "table": "",
+     *         "oId": "", // index name
+     *         "unique": boolean,
+     *         "keys": [""],
+     *         "exists": boolean
+     *     }, ....],
+     *     "missing": ["", ....],
+     *     "undeclared": ["table.index", ....],
+     *     "unused": ["table.index", ....], // MySQL only, collected from performance_schema since server startup
+     *     "explains": [{
+     *         "name": "",
+     *         "sql": "",
+     *         "plan": [{}, ....]
+     *     }, ....]
+     * }
+     * </pre>
+     * @throws SQLException SQL exception
+     */
+    public JSONObject diagnose() throws SQLException {
+        final JSONObject ret = new JSONObject();
+        final JSONArray indexes = new JSONArray();
+        final JSONArray missing = new JSONArray();
+        final JSONArray undeclared = new JSONArray();
+        final JSONArray unused = new JSONArray();
+        final JSONArray explains = new JSONArray();
+        ret.put("indexes", indexes).put("missing", missing).put("undeclared", undeclared).
+                put("unused", unused).put("explains", explains);
+
+        try (final Connection connection = Connections.getConnection()) {
+            final Map<String, Set<String>> declared = new HashMap<>();
+            for (final JSONObject index : getDeclaredIndexes()) {
+                final String table = index.optString("table");
+                final String name = index.optString(Keys.OBJECT_ID);
+                declared.computeIfAbsent(table, t -> new HashSet<>()).add(name.toUpperCase());
+
+                final boolean exists = getIndexNames(connection, table).contains(name.toUpperCase());
+                index.put("exists", exists);
+                indexes.put(index);
+                if (!exists) {
+                    missing.put(name);
+                }
+            }
+
+            for (final Map.Entry<String, Set<String>> entry : declared.entrySet()) {
+                final String table = entry.getKey();
+                for (final String name : getIndexNames(connection, table)) {
+                    if (!entry.getValue().contains(name) && !name.startsWith("PRIMARY")) {
+                        undeclared.put(table + "." + name);
+                    }
+                }
+            }
+
+            if (Latkes.RuntimeDatabase.MYSQL == Latkes.getRuntimeDatabase()) {
+                final String sql = "SELECT `OBJECT_NAME`, `INDEX_NAME` FROM `performance_schema`.`table_io_waits_summary_by_index_usage` "
+                        + "WHERE `OBJECT_SCHEMA` = DATABASE() AND `INDEX_NAME` IS NOT NULL AND `INDEX_NAME` <> 'PRIMARY' "
+                        + "AND `COUNT_STAR` = 0 AND `OBJECT_NAME` LIKE ?";
+                try (final PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setString(1, getTablePrefix().replace("_", "\\_") + "%");
+                    try (final ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            unused.put(resultSet.getString(1) + "." + resultSet.getString(2));
+                        }
+                    }
+                } catch (final SQLException e) {
+                    LOGGER.log(Level.WARN, "Queries index usage failed, performance_schema may be disabled: " + e.getMessage());
+                    ret.put("unusedMsg", e.getMessage());
+                }
+            }
+
+            for (final Map.Entry<String, String> hotQuery : HOT_QUERIES.entrySet()) {
+                final String sql = String.format(hotQuery.getValue(), getTablePrefix());
+                final JSONObject explain = new JSONObject().put("name", hotQuery.getKey()).put("sql", sql);
+                final JSONArray plan = new JSONArray();
+                explain.put("plan", plan);
+                try (final Statement statement = connection.createStatement();
+                     final ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+                    final ResultSetMetaData metaData = resultSet.getMetaData();
+                    while (resultSet.next()) {
+                        final JSONObject row = new JSONObject();
+                        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                            row.put(metaData.getColumnLabel(i), resultSet.getString(i));
+                        }
+                        plan.put(row);
+                    }
+                } catch (final SQLException e) {
+                    explain.put(Keys.MSG, e.getMessage());
+                }
+                explains.put(explain);
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the declared indexes from repository.json.
+     *
+     * @return declared indexes, for example,
+     * <pre>
+     * [{
+     *     "table": "", // with table prefix
+     *     "oId": "", // index name, with table prefix
+     *     "unique": boolean,
+     *     "keys": [""]
+     * }, ....]
+     * </pre>
+     */
+    private List<JSONObject> getDeclaredIndexes() {
+        final List<JSONObject> ret = new ArrayList<>();
+        final String tablePrefix = getTablePrefix();
+        final JSONArray repositories = Repositories.getRepositoriesDescription().optJSONArray("repositories");
+        for (int i = 0; i < repositories.length(); i++) {
+            final JSONObject repository = repositories.optJSONObject(i);
+            final JSONArray indexes = repository.optJSONArray("indexes");
+            if (null == indexes) {
+                continue;
+            }
+
+            final String table = tablePrefix + repository.optString("name");
+            for (int j = 0; j < indexes.length(); j++) {
+                final JSONObject index = indexes.optJSONObject(j);
+                ret.add(new JSONObject().put("table", table).
+                        put(Keys.OBJECT_ID, tablePrefix + index.optString("name")).
+                        put("unique", index.optBoolean("unique")).
+                        put("keys", index.optJSONArray("keys")));
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the upper case index names of the specified table.
+     *
+     * @param connection the specified connection
+     * @param table      the specified table
+     * @return index names
+     * @throws SQLException SQL exception
+     */
+    private static Set<String> getIndexNames(final Connection connection, final String table) throws SQLException {
+        final Set<String> ret = new HashSet<>();
+        final DatabaseMetaData metaData = connection.getMetaData();
+        for (final String name : Arrays.asList(table, table.toUpperCase())) { // H2 stores upper case names
+            try (final ResultSet resultSet = metaData.getIndexInfo(connection.getCatalog(), null, name, false, true)) {
+                while (resultSet.next()) {
+                    final String indexName = resultSet.getString("INDEX_NAME");
+                    if (null != indexName) {
+                        ret.add(indexName.toUpperCase());
+                    }
+                }
+            }
+            if (!ret.isEmpty()) {
+                break;
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the table prefix, for example "b3_solo_".
+     *
+     * @return table prefix
+     */
+    private static String getTablePrefix() {
+        return Latkes.getLocalProperty("jdbc.tablePrefix") + "_";
+    }
+}
@@ -57,7 +57,7 @@ import java.util.Set;
  * Solo initialization service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.5.2.23, Sep 16, 2018
+ * @version 1.5.3.1, Oct 18, 2026
  * @since 0.4.0
  */
 @Service
@@ -84,6 +84,12 @@ public class InitService {
     @Inject
     private OptionRepository optionRepository;
 
+    /**
+     * Index service.
+     */
+    @Inject
+    private IndexService indexService;
+
     /**
      * User repository.
      */
@@ -211,6 +217,7 @@ public class InitService {
             LOGGER.log(Level.DEBUG, "Create table result [tableName={0}, isSuccess={1}]",
                     createTableResult.getName(), createTableResult.isSuccess());
         }
+        indexService.createIndexes();
 
         int retries = MAX_RETRIES_CNT;
 
@@ -294,7 +301,6 @@ public class InitService {
         article.put(Article.ARTICLE_CREATED, now);
         article.put(Article.ARTICLE_UPDATED, now);
         article.put(Article.ARTICLE_PUT_TOP, false);
-        article.put(Article.ARTICLE_RANDOM_DOUBLE, Math.random());
         article.put(Article.ARTICLE_AUTHOR_ID, admin.optString(Keys.OBJECT_ID));
         article.put(Article.ARTICLE_COMMENTABLE, true);
         article.put(Article.ARTICLE_VIEW_PWD, "");
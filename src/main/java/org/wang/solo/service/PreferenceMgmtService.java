@@ -27,6 +27,7 @@ import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.Locales;
 import org.b3log.latke.util.Stopwatchs;
+import org.wang.solo.cache.PaginationCache;
 import org.wang.solo.model.Option;
 import org.wang.solo.model.Skin;
 import org.wang.solo.repository.OptionRepository;
@@ -44,7 +45,7 @@ import static org.wang.solo.model.Skin.*;
  * Preference management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.2.16, Sep 26, 2018
+ * @version 1.3.2.17, Oct 18, 2026
  * @since 0.4.0
  */
 @Service
@@ -73,6 +74,12 @@ public class PreferenceMgmtService {
     @Inject
     private LangPropsService langPropsService;
 
+    /**
+     * Pagination cache.
+     */
+    @Inject
+    private PaginationCache paginationCache;
+
     /**
      * Loads skins for the specified preference and initializes templates loading.
      * <p>
@@ -366,6 +373,8 @@ public class PreferenceMgmtService {
             throw new ServiceException(langPropsService.get("updateFailLabel"));
         }
 
+        paginationCache.clear(); // Cursors of the old page size and sorts
+
         LOGGER.log(Level.DEBUG, "Updates preference successfully");
     }
 
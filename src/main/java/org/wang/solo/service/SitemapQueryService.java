@@ -0,0 +1,380 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.service;
+
+import org.apache.commons.lang.StringEscapeUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.*;
+import org.b3log.latke.service.ServiceException;
+import org.b3log.latke.service.annotation.Service;
+import org.json.JSONObject;
+import org.wang.solo.cache.PrecompressedContent;
+import org.wang.solo.cache.SitemapCache;
+import org.wang.solo.model.ArchiveDate;
+import org.wang.solo.model.Article;
+import org.wang.solo.model.Page;
+import org.wang.solo.model.Tag;
+import org.wang.solo.repository.ArchiveDateRepository;
+import org.wang.solo.repository.ArticleRepository;
+import org.wang.solo.repository.PageRepository;
+import org.wang.solo.repository.TagRepository;
+import org.wang.solo.util.Cursors;
+
+import java.io.*;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Sitemap query service.
+ * <p>
+ * The sitemap is a sitemap index of child sitemaps: {@value SitemapCache#PAGES}, {@value SitemapCache#TAGS},
+ * {@value SitemapCache#ARCHIVES} and one {@value SitemapCache#ARTICLES}{@code yyyy} per created year of published
+ * articles, a child is split every {@value #MAX_URL_CNT} URLs. Children are generated from keyset paged queries and
+ * served from {@link SitemapCache} until a write touches them.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Service
+public class SitemapQueryService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(SitemapQueryService.class);
+
+    /**
+     * Max URL count of a child sitemap.
+     */
+    public static final int MAX_URL_CNT = 50000;
+
+    /**
+     * Page size of the queries.
+     */
+    private static final int PAGE_SIZE = 500;
+
+    /**
+     * Sitemap protocol namespace.
+     */
+    private static final String NAMESPACE = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+    /**
+     * Sitemap cache.
+     */
+    @Inject
+    private SitemapCache sitemapCache;
+
+    /**
+     * Article repository.
+     */
+    @Inject
+    private ArticleRepository articleRepository;
+
+    /**
+     * Page repository.
+     */
+    @Inject
+    private PageRepository pageRepository;
+
+    /**
+     * Tag repository.
+     */
+    @Inject
+    private TagRepository tagRepository;
+
+    /**
+     * Archive date repository.
+     */
+    @Inject
+    private ArchiveDateRepository archiveDateRepository;
+
+    /**
+     * Writes the sitemap index to the specified writer.
+     *
+     * @param writer the specified writer
+     * @throws ServiceException service exception
+     */
+    public void writeSitemapIndex(final Writer writer) throws ServiceException {
+        try {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<sitemapindex xmlns=\"" + NAMESPACE + "\">\n");
+            for (final String name : getChildNames()) {
+                final PrecompressedContent child = getSitemap(name);
+                writer.write("<sitemap><loc>" + StringEscapeUtils.escapeXml(Latkes.getServePath() + "/sitemaps/" + name + ".xml")
+                        + "</loc><lastmod>" + DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format(child.getLastModified())
+                        + "</lastmod></sitemap>\n");
+            }
+            writer.write("</sitemapindex>\n");
+            writer.flush();
+        } catch (final ServiceException e) {
+            throw e;
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Writes sitemap index failed", e);
+
+            throw new ServiceException(e);
+        }
+    }
+
+    /**
+     * Gets a child sitemap by the specified name.
+     *
+     * @param name the specified name, for example "articles-2018", "articles-2018-2" or "tags"
+     * @return child sitemap, returns {@code null} if not found
+     * @throws ServiceException service exception
+     */
+    public PrecompressedContent getSitemap(final String name) throws ServiceException {
+        PrecompressedContent ret = sitemapCache.get(name);
+        if (null != ret) {
+            return ret;
+        }
+
+        final long version = sitemapCache.getVersion();
+        try {
+            if (!getChildNames().contains(name)) {
+                return null;
+            }
+
+            final int part = getPart(name);
+            final int skip = (part - 1) * MAX_URL_CNT;
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8));
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<urlset xmlns=\"" + NAMESPACE + "\">\n");
+            long lastModified = System.currentTimeMillis();
+            if (name.startsWith(SitemapCache.ARTICLES)) {
+                final int year = Integer.parseInt(name.substring(SitemapCache.ARTICLES.length(), SitemapCache.ARTICLES.length() + 4));
+                lastModified = writeArticles(writer, year, skip);
+            } else if (name.startsWith(SitemapCache.TAGS)) {
+                writeTags(writer, skip);
+            } else if (SitemapCache.PAGES.equals(name)) {
+                writePages(writer);
+            } else {
+                writeArchives(writer);
+            }
+            writer.write("</urlset>\n");
+            writer.close();
+
+            ret = new PrecompressedContent(bytes.toByteArray(), lastModified);
+            sitemapCache.put(name, ret, version);
+            LOGGER.log(Level.DEBUG, "Generated sitemap [" + name + "] of [" + bytes.size() + "] bytes");
+
+            return ret;
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Generates sitemap [" + name + "] failed", e);
+
+            throw new ServiceException(e);
+        }
+    }
+
+    /**
+     * Gets the names of the child sitemaps.
+     *
+     * @return child sitemap names
+     * @throws RepositoryException repository exception
+     */
+    private List<String> getChildNames() throws RepositoryException {
+        final List<String> ret = new ArrayList<>();
+        ret.add(SitemapCache.PAGES);
+        ret.add(SitemapCache.ARCHIVES);
+        addParts(ret, SitemapCache.TAGS, tagRepository.count(new Query().
+                setFilter(new PropertyFilter(Tag.TAG_PUBLISHED_REFERENCE_COUNT, FilterOperator.GREATER_THAN, 0))));
+
+        final Map<String, Long> years = new LinkedHashMap<>(); // Descending
+        for (final JSONObject archiveDate : archiveDateRepository.getArchiveDateSummary("")) {
+            final String year = archiveDate.optString(ArchiveDate.ARCHIVE_DATE_YEAR);
+            final long cnt = null == years.get(year) ? 0 : years.get(year);
+            years.put(year, cnt + archiveDate.optInt(ArchiveDate.ARCHIVE_DATE_PUBLISHED_ARTICLE_COUNT));
+        }
+        for (final Map.Entry<String, Long> year : years.entrySet()) {
+            addParts(ret, SitemapCache.ARTICLES + year.getKey(), year.getValue());
+        }
+
+        return ret;
+    }
+
+    /**
+     * Adds the part names of a child sitemap with the specified name and URL count into the specified names.
+     *
+     * @param names  the specified names
+     * @param name   the specified name
+     * @param urlCnt the specified URL count
+     */
+    private static void addParts(final List<String> names, final String name, final long urlCnt) {
+        names.add(name);
+        for (int part = 2; (part - 1) * (long) MAX_URL_CNT < urlCnt; part++) {
+            names.add(name + "-" + part);
+        }
+    }
+
+    /**
+     * Gets the part number of the specified child sitemap name.
+     *
+     * @param name the specified name
+     * @return part number, 1 for the first part
+     */
+    private static int getPart(final String name) {
+        final String suffix = StringUtils.substringAfterLast(name, "-");
+        if (name.startsWith(SitemapCache.ARTICLES) && 4 == suffix.length()) { // Year
+            return 1;
+        }
+
+        return NumberUtils.toInt(suffix, 1);
+    }
+
+    /**
+     * Writes the published articles created in the specified year.
+     *
+     * @param writer the specified writer
+     * @param year   the specified year
+     * @param skip   the specified count of articles to skip
+     * @return the latest updated time of the written articles
+     * @throws Exception exception
+     */
+    private long writeArticles(final Writer writer, final int year, final int skip) throws Exception {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, Calendar.JANUARY, 1);
+        final long start = calendar.getTimeInMillis();
+        calendar.add(Calendar.YEAR, 1);
+        final long end = calendar.getTimeInMillis();
+        final Filter filter = CompositeFilterOperator.and(
+                new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true),
+                new PropertyFilter(Article.ARTICLE_CREATED, FilterOperator.GREATER_THAN_OR_EQUAL, start),
+                new PropertyFilter(Article.ARTICLE_CREATED, FilterOperator.LESS_THAN, end));
+
+        long ret = 0;
+        int index = 0;
+        JSONObject cursor = null;
+        while (index < skip + MAX_URL_CNT) {
+            final Query query = Cursors.seek(new Query().setFilter(filter).
+                    addSort(Article.ARTICLE_CREATED, SortDirection.DESCENDING).
+                    addProjection(Keys.OBJECT_ID, String.class).
+                    addProjection(Article.ARTICLE_CREATED, Long.class).
+                    addProjection(Article.ARTICLE_PERMALINK, String.class).
+                    addProjection(Article.ARTICLE_UPDATED, Long.class), cursor, PAGE_SIZE);
+            final List<JSONObject> articles = articleRepository.getList(query);
+            for (final JSONObject article : articles) {
+                if (index++ < skip || index > skip + MAX_URL_CNT) {
+                    continue;
+                }
+
+                final long updated = article.optLong(Article.ARTICLE_UPDATED);
+                ret = Math.max(ret, updated);
+                writeURL(writer, Latkes.getServePath() + article.optString(Article.ARTICLE_PERMALINK), updated);
+            }
+            if (articles.size() < PAGE_SIZE) {
+                break;
+            }
+
+            cursor = Cursors.of(articles.get(articles.size() - 1), query);
+        }
+
+        return 0 == ret ? System.currentTimeMillis() : ret;
+    }
+
+    /**
+     * Writes the tags (tag-articles) which have published articles.
+     *
+     * @param writer the specified writer
+     * @param skip   the specified count of tags to skip
+     * @throws Exception exception
+     */
+    private void writeTags(final Writer writer, final int skip) throws Exception {
+        final Filter filter = new PropertyFilter(Tag.TAG_PUBLISHED_REFERENCE_COUNT, FilterOperator.GREATER_THAN, 0);
+        int index = 0;
+        JSONObject cursor = null;
+        while (index < skip + MAX_URL_CNT) {
+            final Query query = Cursors.seek(new Query().setFilter(filter).
+                    addSort(Keys.OBJECT_ID, SortDirection.ASCENDING).
+                    addProjection(Keys.OBJECT_ID, String.class).
+                    addProjection(Tag.TAG_TITLE, String.class), cursor, PAGE_SIZE);
+            final List<JSONObject> tags = tagRepository.getList(query);
+            for (final JSONObject tag : tags) {
+                if (index++ < skip || index > skip + MAX_URL_CNT) {
+                    continue;
+                }
+
+                writeURL(writer, Latkes.getServePath() + "/tags/" + URLEncoder.encode(tag.optString(Tag.TAG_TITLE), "UTF-8"), 0);
+            }
+            if (tags.size() < PAGE_SIZE) {
+                break;
+            }
+
+            cursor = Cursors.of(tags.get(tags.size() - 1), query);
+        }
+    }
+
+    /**
+     * Writes the navigations and the tags wall (/tags.html).
+     *
+     * @param writer the specified writer
+     * @throws Exception exception
+     */
+    private void writePages(final Writer writer) throws Exception {
+        for (final JSONObject page : pageRepository.getPages()) {
+            final String permalink = page.optString(Page.PAGE_PERMALINK);
+
+            // The navigation maybe a page or a link
+            // Just filters for user mistakes tolerance
+            writeURL(writer, permalink.contains("://") ? permalink : Latkes.getServePath() + permalink, 0);
+        }
+
+        writeURL(writer, Latkes.getServePath() + "/tags.html", 0);
+    }
+
+    /**
+     * Writes the archives (archive-articles).
+     *
+     * @param writer the specified writer
+     * @throws Exception exception
+     */
+    private void writeArchives(final Writer writer) throws Exception {
+        for (final JSONObject archiveDate : archiveDateRepository.getArchiveDateSummary("")) {
+            writeURL(writer, Latkes.getServePath() + "/archives/" + archiveDate.optString(ArchiveDate.ARCHIVE_DATE_YEAR)
+                    + "/" + archiveDate.optString(ArchiveDate.ARCHIVE_DATE_MONTH), 0);
+        }
+    }
+
+    /**
+     * Writes a URL element.
+     *
+     * @param writer  the specified writer
+     * @param loc     the specified location
+     * @param lastMod the specified last modified time, 0 for no lastmod
+     * @throws IOException io exception
+     */
+    private static void writeURL(final Writer writer, final String loc, final long lastMod) throws IOException {
+        writer.write("<url><loc>");
+        writer.write(StringEscapeUtils.escapeXml(loc));
+        writer.write("</loc>");
+        if (0 < lastMod) {
+            writer.write("<lastmod>");
+            writer.write(DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format(lastMod));
+            writer.write("</lastmod>");
+        }
+        writer.write("</url>\n");
+    }
+}
@@ -18,47 +18,39 @@
 package org.wang.solo.service;
 
 import org.apache.commons.lang.StringUtils;
-import org.b3log.latke.Keys;
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.apache.commons.lang.time.DateUtils;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.mail.MailService;
 import org.b3log.latke.mail.MailServiceFactory;
-import org.b3log.latke.model.User;
-import org.b3log.latke.repository.Query;
 import org.b3log.latke.repository.Transaction;
 import org.b3log.latke.repository.jdbc.JdbcRepository;
 import org.b3log.latke.repository.jdbc.util.Connections;
+import org.b3log.latke.repository.jdbc.util.JdbcRepositories;
+import org.b3log.latke.repository.jdbc.util.JdbcRepositories.CreateTableResult;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.annotation.Service;
 import org.wang.solo.SoloServletListener;
 import org.wang.solo.cache.ArticleCache;
-import org.wang.solo.cache.CommentCache;
+import org.wang.solo.model.ArchiveDate;
 import org.wang.solo.model.Article;
-import org.wang.solo.model.Comment;
 import org.wang.solo.model.Option;
-import org.wang.solo.model.UserExt;
-import org.wang.solo.repository.ArticleRepository;
-import org.wang.solo.repository.CommentRepository;
 import org.wang.solo.repository.OptionRepository;
-import org.wang.solo.repository.UserRepository;
 import org.wang.solo.util.Mails;
-import org.wang.solo.util.Thumbnails;
-import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.sql.Connection;
-import java.sql.Statement;
-import java.util.Date;
-import java.util.List;
+import java.sql.*;
+import java.util.*;
 
 /**
  * Upgrade service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="mailto:dongxu.wang@acm.org">Dongxu Wang</a>
- * @version 1.2.0.29, Sep 16, 2018
+ * @version 1.2.0.33, Oct 18, 2026
  * @since 1.2.0
  */
 @Service
@@ -82,31 +74,13 @@ public class UpgradeService {
     /**
      * Old version.
      */
-    private static final String FROM_VER = "2.9.3";
+    private static final String FROM_VER = "2.9.4";
 
     /**
      * New version.
      */
     private static final String TO_VER = SoloServletListener.VERSION;
 
-    /**
-     * Article repository.
-     */
-    @Inject
-    private ArticleRepository articleRepository;
-
-    /**
-     * Comment repository.
-     */
-    @Inject
-    private CommentRepository commentRepository;
-
-    /**
-     * User repository.
-     */
-    @Inject
-    private UserRepository userRepository;
-
     /**
      * Option repository.
      */
@@ -114,16 +88,16 @@ public class UpgradeService {
     private OptionRepository optionRepository;
 
     /**
-     * Preference Query Service.
+     * Index service.
      */
     @Inject
-    private PreferenceQueryService preferenceQueryService;
+    private IndexService indexService;
 
     /**
-     * Statistic query service.
+     * Preference Query Service.
      */
     @Inject
-    private StatisticQueryService statisticQueryService;
+    private PreferenceQueryService preferenceQueryService;
 
     /**
      * Language service.
@@ -137,12 +111,6 @@ public class UpgradeService {
     @Inject
     private ArticleCache articleCache;
 
-    /**
-     * Comment cache.
-     */
-    @Inject
-    private CommentCache commentCache;
-
     /**
      * Upgrades if need.
      */
@@ -188,16 +156,18 @@ public class UpgradeService {
         LOGGER.log(Level.INFO, "Upgrading from version [{0}] to version [{1}]....", FROM_VER, TO_VER);
 
         try {
-            alterTables();
+            createTables();
+            JdbcRepository.dispose(); // avoid to metadata lock
+            moveArticleContents();
+            JdbcRepository.dispose(); // avoid to metadata lock
+            mergeArchiveDates();
             JdbcRepository.dispose(); // avoid to metadata lock
-            upgradeArticles();
-            upgradeComments();
+            indexService.createIndexes();
             JdbcRepository.dispose(); // avoid to metadata lock
             dropColumns();
             JdbcRepository.dispose(); // avoid to metadata lock
 
             articleCache.clear();
-            commentCache.clear();
 
             final Transaction transaction = optionRepository.beginTransaction();
             final JSONObject versionOpt = optionRepository.get(Option.ID_C_VERSION);
@@ -214,171 +184,205 @@ public class UpgradeService {
         LOGGER.log(Level.INFO, "Upgraded from version [{0}] to version [{1}] successfully :-)", FROM_VER, TO_VER);
     }
 
-    private void alterTables() throws Exception {
-        final Connection connection = Connections.getConnection();
-        final Statement statement = connection.createStatement();
+    /**
+     * Creates the new tables (article content table) defined in repository.json, existing tables are untouched.
+     */
+    private void createTables() {
+        final List<CreateTableResult> createTableResults = JdbcRepositories.initAllTables();
+        for (final CreateTableResult createTableResult : createTableResults) {
+            LOGGER.log(Level.DEBUG, "Create table result [tableName={0}, isSuccess={1}]",
+                    createTableResult.getName(), createTableResult.isSuccess());
+        }
+    }
 
+    /**
+     * Moves article bodies from column {@code article.articleContent} into table {@code article_content}.
+     * <p>
+     * Articles are copied in batches of {@value #STEP} ordered by id, each batch is committed in its own transaction
+     * and articles which already have a content row are skipped, so an interrupted upgrade resumes where it stopped
+     * on the next startup.
+     * </p>
+     *
+     * @throws Exception exception
+     */
+    private void moveArticleContents() throws Exception {
         final String tablePrefix = Latkes.getLocalProperty("jdbc.tablePrefix") + "_";
-        statement.executeUpdate("ALTER TABLE `" + tablePrefix + "archiveDate` RENAME TO `" + tablePrefix + "archivedate1`");
-        statement.executeUpdate("ALTER TABLE `" + tablePrefix + "archivedate1` RENAME TO `" + tablePrefix + "archivedate`");
-        statement.executeUpdate("ALTER TABLE `" + tablePrefix + "archiveDate_article` RENAME TO `" + tablePrefix + "archivedate_article1`");
-        statement.executeUpdate("ALTER TABLE `" + tablePrefix + "archivedate_article1` RENAME TO `" + tablePrefix + "archivedate_article`");
-        statement.executeUpdate("ALTER TABLE `" + tablePrefix + "article` ADD `articleAuthorId` VARCHAR(19) DEFAULT '' NOT NULL");
-        statement.executeUpdate("ALTER TABLE `" + tablePrefix + "article` ADD `articleCreated` BIGINT DEFAULT 0 NOT NULL");
-        statement.executeUpdate("ALTER TABLE `" + tablePrefix + "article` ADD `articleUpdated` BIGINT DEFAULT 0 NOT NULL");
-        statement.executeUpdate("ALTER TABLE `" + tablePrefix + "comment` ADD `commentCreated` BIGINT DEFAULT 0 NOT NULL");
-        statement.close();
-        connection.commit();
-        connection.close();
-    }
+        final String articleTable = tablePrefix + Article.ARTICLE;
+        final String contentTable = tablePrefix + Article.ARTICLE + "_content";
 
-    private void dropColumns() throws Exception {
         final Connection connection = Connections.getConnection();
-        final Statement statement = connection.createStatement();
+        try {
+            if (!hasColumn(connection, articleTable, Article.ARTICLE_CONTENT)) {
+                LOGGER.log(Level.INFO, "Article contents have been moved");
 
-        final String tablePrefix = Latkes.getLocalProperty("jdbc.tablePrefix") + "_";
-        statement.executeUpdate("ALTER TABLE `" + tablePrefix + "article` DROP COLUMN `articleAuthorEmail`");
-        statement.executeUpdate("ALTER TABLE `" + tablePrefix + "article` DROP COLUMN `articleCreateDate`");
-        statement.executeUpdate("ALTER TABLE `" + tablePrefix + "article` DROP COLUMN `articleUpdateDate`");
-        statement.executeUpdate("ALTER TABLE `" + tablePrefix + "comment` DROP COLUMN `commentDate`");
-        statement.close();
-        connection.commit();
-        connection.close();
-    }
+                return;
+            }
 
-    private void dropTables() throws Exception {
-        final Connection connection = Connections.getConnection();
-        final Statement statement = connection.createStatement();
+            final PreparedStatement select = connection.prepareStatement("SELECT `oId`, `articleContent` FROM `"
+                    + articleTable + "` a WHERE `oId` > ? AND NOT EXISTS (SELECT 1 FROM `" + contentTable
+                    + "` c WHERE c.`oId` = a.`oId`) ORDER BY `oId` LIMIT " + STEP);
+            final PreparedStatement insert = connection.prepareStatement("INSERT INTO `" + contentTable
+                    + "` (`oId`, `articleContent`) VALUES (?, ?)");
+
+            String lastId = "";
+            int moved = 0;
+            while (true) {
+                select.setString(1, lastId);
+                int batch = 0;
+                try (final ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        lastId = resultSet.getString(1);
+                        insert.setString(1, lastId);
+                        insert.setString(2, StringUtils.defaultString(resultSet.getString(2)));
+                        insert.addBatch();
+                        batch++;
+                    }
+                }
+                if (0 == batch) {
+                    break;
+                }
 
-        final String tablePrefix = Latkes.getLocalProperty("jdbc.tablePrefix") + "_";
-        statement.execute("DROP TABLE `" + tablePrefix + "statistic`");
-        statement.close();
-        connection.commit();
-        connection.close();
-    }
+                insert.executeBatch();
+                connection.commit();
+                moved += batch;
+                LOGGER.log(Level.INFO, "Moved some article contents [" + moved + "]");
+            }
 
-    private void upgradeUsers() throws Exception {
-        final JSONArray users = userRepository.get(new Query()).getJSONArray(Keys.RESULTS);
+            select.close();
+            insert.close();
 
-        for (int i = 0; i < users.length(); i++) {
-            final JSONObject user = users.getJSONObject(i);
-            final String email = user.optString(User.USER_EMAIL);
-            user.put(UserExt.USER_AVATAR, Thumbnails.getGravatarURL(email, "128"));
+            LOGGER.log(Level.INFO, "Moved all article contents [" + moved + "]");
+        } catch (final Exception e) {
+            connection.rollback();
 
-            userRepository.update(user.optString(Keys.OBJECT_ID), user);
-            LOGGER.log(Level.INFO, "Updated user[email={0}]", email);
+            throw e;
+        } finally {
+            connection.close();
         }
     }
 
-    private void upgradeArticles() throws Exception {
-        final List<JSONObject> articles = articleRepository.getList(new Query().
-                addProjection(Keys.OBJECT_ID, String.class).
-                addProjection(Article.ARTICLE_T_CREATE_DATE, Date.class).
-                addProjection(Article.ARTICLE_T_UPDATE_DATE, Date.class).
-                addProjection(Article.ARTICLE_T_AUTHOR_EMAIL, String.class));
-        if (articles.isEmpty()) {
-            LOGGER.log(Level.TRACE, "No articles");
-
-            return;
-        }
+    /**
+     * Merges archive dates of the same month (duplicates created by the time zone issue
+     * https://github.com/b3log/solo/issues/12435) before the unique index on {@code archivedate.archiveTime} is
+     * created.
+     * <p>
+     * The archive date with the smallest id of a month is kept with its time normalized to the first day of the month,
+     * the article relations of the others are moved to it and its counts are recounted from the relations.
+     * </p>
+     *
+     * @throws Exception exception
+     */
+    private void mergeArchiveDates() throws Exception {
+        final String tablePrefix = Latkes.getLocalProperty("jdbc.tablePrefix") + "_";
+        final String archiveDateTable = tablePrefix + ArchiveDate.ARCHIVE_DATE.toLowerCase();
+        final String relationTable = archiveDateTable + "_" + Article.ARTICLE;
+        final String articleTable = tablePrefix + Article.ARTICLE;
 
-        Transaction transaction = null;
+        final Connection connection = Connections.getConnection();
         try {
-            for (int i = 0; i < articles.size(); i++) {
-                if (0 == i % STEP || !transaction.isActive()) {
-                    transaction = userRepository.beginTransaction();
-                }
-
-                final String articleId = articles.get(i).optString(Keys.OBJECT_ID);
-                final JSONObject article = articleRepository.get(articleId);
-                String authorEmail = article.optString(Article.ARTICLE_T_AUTHOR_EMAIL);
-                if (StringUtils.isBlank(authorEmail)) { // H2
-                    authorEmail = article.optString(Article.ARTICLE_T_AUTHOR_EMAIL.toUpperCase());
-                }
-                JSONObject author = userRepository.getByEmail(authorEmail);
-                if (null == author) {
-                    author = userRepository.getAdmin();
+            final Map<String, List<String>> months = new LinkedHashMap<>();
+            final Map<String, Long> times = new HashMap<>();
+            try (final Statement statement = connection.createStatement();
+                 final ResultSet resultSet = statement.executeQuery("SELECT `oId`, `archiveTime` FROM `"
+                         + archiveDateTable + "` ORDER BY `oId`")) {
+                while (resultSet.next()) {
+                    final String id = resultSet.getString(1);
+                    final long time = resultSet.getLong(2);
+                    months.computeIfAbsent(DateFormatUtils.format(time, "yyyy/MM"), m -> new ArrayList<>()).add(id);
+                    times.put(id, time);
                 }
-                article.put(Article.ARTICLE_AUTHOR_ID, author.optString(Keys.OBJECT_ID));
-
-                Date createDate = (Date) article.opt(Article.ARTICLE_T_CREATE_DATE);
-                if (null == createDate) { // H2
-                    createDate = (Date) article.opt(Article.ARTICLE_T_CREATE_DATE.toUpperCase());
-                }
-                article.put(Article.ARTICLE_CREATED, createDate.getTime());
+            }
 
-                Date updateDate = (Date) article.opt(Article.ARTICLE_T_UPDATE_DATE);
-                if (null == updateDate) { // H2
-                    updateDate = (Date) article.opt(Article.ARTICLE_T_UPDATE_DATE.toUpperCase());
+            final PreparedStatement move = connection.prepareStatement("UPDATE `" + relationTable
+                    + "` SET `archiveDate_oId` = ? WHERE `archiveDate_oId` = ?");
+            final PreparedStatement delete = connection.prepareStatement("DELETE FROM `" + archiveDateTable
+                    + "` WHERE `oId` = ?");
+            final PreparedStatement recount = connection.prepareStatement("UPDATE `" + archiveDateTable
+                    + "` SET `archiveTime` = ?, `archiveDateArticleCount` = (SELECT COUNT(*) FROM `" + relationTable
+                    + "` r WHERE r.`archiveDate_oId` = ?), `archiveDatePublishedArticleCount` = (SELECT COUNT(*) FROM `"
+                    + relationTable + "` r JOIN `" + articleTable + "` a ON a.`oId` = r.`article_oId` "
+                    + "WHERE r.`archiveDate_oId` = ? AND a.`articleIsPublished` = '1') WHERE `oId` = ?");
+            int merged = 0;
+            for (final Map.Entry<String, List<String>> month : months.entrySet()) {
+                final List<String> ids = month.getValue();
+                final String keeper = ids.get(0);
+                final long time = DateUtils.parseDate(month.getKey(), new String[]{"yyyy/MM"}).getTime();
+                if (1 == ids.size() && time == times.get(keeper)) {
+                    continue;
                 }
-                article.put(Article.ARTICLE_UPDATED, updateDate.getTime());
-
-                articleRepository.update(articleId, article);
 
-                if (0 == i % STEP) {
-                    transaction.commit();
-                    LOGGER.log(Level.INFO, "Updated some articles [" + i + "]");
+                for (final String id : ids.subList(1, ids.size())) {
+                    move.setString(1, keeper);
+                    move.setString(2, id);
+                    move.executeUpdate();
+                    delete.setString(1, id);
+                    delete.executeUpdate();
+                    merged++;
                 }
+                recount.setLong(1, time);
+                recount.setString(2, keeper);
+                recount.setString(3, keeper);
+                recount.setString(4, keeper);
+                recount.executeUpdate();
             }
+            move.close();
+            delete.close();
+            recount.close();
+            connection.commit();
 
-            if (transaction.isActive()) {
-                transaction.commit();
-            }
-
-            LOGGER.log(Level.INFO, "Updated all articles");
+            LOGGER.log(Level.INFO, "Merged duplicated archive dates [" + merged + "]");
         } catch (final Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
+            connection.rollback();
 
             throw e;
+        } finally {
+            connection.close();
         }
     }
 
-    private void upgradeComments() throws Exception {
-        final List<JSONObject> comments = commentRepository.getList(new Query());
-        if (comments.isEmpty()) {
-            LOGGER.log(Level.TRACE, "No comments");
+    /**
+     * Drops column {@code article.articleContent} after all article bodies have been moved, and column
+     * {@code article.articleRandomDouble} which has been replaced by the in-memory random article sampler.
+     *
+     * @throws Exception exception
+     */
+    private void dropColumns() throws Exception {
+        final String tablePrefix = Latkes.getLocalProperty("jdbc.tablePrefix") + "_";
+        final String articleTable = tablePrefix + Article.ARTICLE;
 
-            return;
+        final Connection connection = Connections.getConnection();
+        for (final String column : Arrays.asList(Article.ARTICLE_CONTENT, Article.ARTICLE_RANDOM_DOUBLE)) {
+            if (hasColumn(connection, articleTable, column)) {
+                final Statement statement = connection.createStatement();
+                statement.executeUpdate("ALTER TABLE `" + articleTable + "` DROP COLUMN `" + column + "`");
+                statement.close();
+                connection.commit();
+            }
         }
+        connection.close();
+    }
 
-        Transaction transaction = null;
-        try {
-            for (int i = 0; i < comments.size(); i++) {
-                if (0 == i % STEP || !transaction.isActive()) {
-                    transaction = userRepository.beginTransaction();
-                }
-
-                final JSONObject comment = comments.get(i);
-                final String commentId = comment.optString(Keys.OBJECT_ID);
-
-                Date createDate = (Date) comment.opt(Comment.COMMENT_T_DATE);
-                if (null == createDate) { // H2
-                    createDate = (Date) comment.opt(Comment.COMMENT_T_DATE.toUpperCase());
-                }
-                comment.put(Comment.COMMENT_CREATED, createDate.getTime());
-
-                commentRepository.update(commentId, comment);
-
-                if (0 == i % STEP) {
-                    transaction.commit();
-                    LOGGER.log(Level.INFO, "Updated some comments [" + i + "]");
+    /**
+     * Determines whether the specified table has the specified column.
+     *
+     * @param connection the specified connection
+     * @param table      the specified table name
+     * @param column     the specified column name, case insensitive (H2 stores upper case names)
+     * @return {@code true} if it has, returns {@code false} otherwise
+     * @throws Exception exception
+     */
+    private static boolean hasColumn(final Connection connection, final String table, final String column) throws Exception {
+        try (final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery("SELECT * FROM `" + table + "` WHERE 1 = 0")) {
+            final ResultSetMetaData metaData = resultSet.getMetaData();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                if (column.equalsIgnoreCase(metaData.getColumnName(i))) {
+                    return true;
                 }
             }
-
-            if (transaction.isActive()) {
-                transaction.commit();
-            }
-
-            LOGGER.log(Level.INFO, "Updated all comments");
-        } catch (final Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-
-            throw e;
         }
+
+        return false;
     }
 
     /**
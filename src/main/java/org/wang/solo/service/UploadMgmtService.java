@@ -0,0 +1,313 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.service;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.*;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.latke.service.ServiceException;
+import org.b3log.latke.service.annotation.Service;
+import org.json.JSONObject;
+import org.wang.solo.model.Upload;
+import org.wang.solo.repository.*;
+import org.wang.solo.util.Cursors;
+import org.wang.solo.util.DigestFileUploadFactory.DigestFileUpload;
+import org.wang.solo.util.Solos;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upload management service.
+ * <p>
+ * Files are stored in the upload dir by content ({@code ${sha256[0..1]}/${sha256}.${suffix}}), a file uploaded again
+ * resolves to the stored one.
+ * </p>
+ * <p>
+ * The reference count of an upload is the count of records (articles, pages...) linking to it, kept by the article and
+ * page repositories on writes and recounted from all linking records daily. Uploads not referenced for
+ * {@code upload.orphanDays} days are removed with their files.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.1, Oct 18, 2026
+ * @since 2.9.5
+ */
+@Service
+public class UploadMgmtService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(UploadMgmtService.class);
+
+    /**
+     * Page size of the records scanned for references.
+     */
+    private static final int PAGE_SIZE = 256;
+
+    /**
+     * Upload repository.
+     */
+    @Inject
+    private UploadRepository uploadRepository;
+
+    /**
+     * Article repository.
+     */
+    @Inject
+    private ArticleRepository articleRepository;
+
+    /**
+     * Page repository.
+     */
+    @Inject
+    private PageRepository pageRepository;
+
+    /**
+     * Comment repository.
+     */
+    @Inject
+    private CommentRepository commentRepository;
+
+    /**
+     * Option repository.
+     */
+    @Inject
+    private OptionRepository optionRepository;
+
+    /**
+     * Link repository.
+     */
+    @Inject
+    private LinkRepository linkRepository;
+
+    /**
+     * User repository.
+     */
+    @Inject
+    private UserRepository userRepository;
+
+    /**
+     * Cleanup scheduler.
+     */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Starts the cleanup scheduler, which recounts the upload references and removes the orphans daily.
+     */
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread ret = new Thread(r, "Upload");
+            ret.setDaemon(true);
+
+            return ret;
+        });
+        scheduler.scheduleWithFixedDelay(this::cleanup, 1, 24, TimeUnit.HOURS);
+    }
+
+    /**
+     * Shuts down the cleanup scheduler.
+     */
+    public void shutdown() {
+        if (null != scheduler) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Recounts the references of all uploads, and removes the uploads (records and files) not referenced for
+     * {@code upload.orphanDays} days. Uploads referenced or stored since the recount started are left alone.
+     * <p>
+     * The records are scanned without blocking stores, the removals are serialized with them.
+     * </p>
+     */
+    public void cleanup() {
+        final long start = System.currentTimeMillis();
+        final int orphanDays = getLocalProperty("upload.orphanDays", 7);
+        final List<String> removedPaths = new ArrayList<>();
+        Transaction transaction = null;
+        try {
+            final Map<String, Integer> counts = new HashMap<>();
+            for (final Repository repository : Arrays.asList(articleRepository, pageRepository, commentRepository,
+                    optionRepository, linkRepository, userRepository)) {
+                count(repository, counts);
+            }
+
+            int updated = 0;
+            final List<JSONObject> uploads;
+            synchronized (this) {
+                transaction = uploadRepository.beginTransaction();
+                // Uploads referenced or stored since the recount started are left alone
+                uploads = uploadRepository.getList(new Query().setFilter(
+                        new PropertyFilter(Upload.UPLOAD_REFERENCED, FilterOperator.LESS_THAN, start)));
+                for (final JSONObject upload : uploads) {
+                    final long referenced = upload.optLong(Upload.UPLOAD_REFERENCED);
+                    final String id = upload.optString(Keys.OBJECT_ID);
+                    final int count = counts.getOrDefault(id, 0);
+                    if (0 == count && 0 < orphanDays && referenced < start - TimeUnit.DAYS.toMillis(orphanDays)) {
+                        uploadRepository.remove(id);
+                        removedPaths.add(upload.optString(Upload.UPLOAD_PATH));
+                    } else if (count != upload.optInt(Upload.UPLOAD_REF_COUNT)) {
+                        upload.put(Upload.UPLOAD_REF_COUNT, count);
+                        uploadRepository.update(id, upload);
+                        updated++;
+                    }
+                }
+                transaction.commit();
+
+                for (final String path : removedPaths) {
+                    Files.deleteIfExists(new File(Solos.UPLOAD_DIR_PATH + path).toPath());
+                }
+            }
+
+            LOGGER.log(Level.INFO, "Recounted [" + uploads.size() + "] uploads, [" + updated + "] counts fixed, ["
+                    + removedPaths.size() + "] orphans removed");
+        } catch (final Exception e) {
+            if (null != transaction && transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            LOGGER.log(Level.ERROR, "Cleans up uploads failed", e);
+        } finally {
+            JdbcRepository.dispose();
+        }
+    }
+
+    /**
+     * Counts the upload references in the string values of all records of the specified repository into the
+     * specified counts.
+     *
+     * @param repository the specified repository
+     * @param counts     the specified counts, &lt;upload id, reference count&gt;
+     * @throws RepositoryException repository exception
+     */
+    private void count(final Repository repository, final Map<String, Integer> counts) throws RepositoryException {
+        JSONObject cursor = null;
+        while (true) {
+            final Query query = new Query().addSort(Keys.OBJECT_ID, SortDirection.ASCENDING);
+            final List<JSONObject> records = repository.getList(Cursors.seek(query, cursor, PAGE_SIZE));
+            for (final JSONObject record : records) {
+                final StringBuilder text = new StringBuilder();
+                final String[] names = JSONObject.getNames(record);
+                for (final String name : null == names ? new String[0] : names) {
+                    final Object value = record.opt(name);
+                    if (value instanceof String) {
+                        text.append(value).append('\n');
+                    }
+                }
+                for (final String id : uploadRepository.getReferencedIds(text.toString())) {
+                    counts.merge(id, 1, Integer::sum);
+                }
+            }
+            if (records.size() < PAGE_SIZE) {
+                return;
+            }
+
+            cursor = Cursors.of(records.get(records.size() - 1), query);
+        }
+    }
+
+    /**
+     * Gets an int local property by the specified key.
+     *
+     * @param key          the specified key
+     * @param defaultValue the specified default value
+     * @return value, returns the specified default value if it is not configured
+     */
+    private static int getLocalProperty(final String key, final int defaultValue) {
+        final String value = Latkes.getLocalProperty(key);
+
+        return StringUtils.isBlank(value) ? defaultValue : Integer.valueOf(value.trim());
+    }
+
+    /**
+     * Stores the specified uploaded file into the upload dir.
+     * <p>
+     * Stores are serialized, so two uploads of the same content could not both move their files and insert records.
+     * </p>
+     *
+     * @param upload      the specified uploaded file, its temp file is moved or deleted
+     * @param suffix      the specified file name suffix, for example "png", may be empty
+     * @param contentType the specified content type
+     * @return path relative to the upload dir, for example "ab/ab12...ef.png"
+     * @throws ServiceException service exception
+     */
+    public synchronized String store(final DigestFileUpload upload, final String suffix, final String contentType)
+            throws ServiceException {
+        final String hash = upload.getSHA256();
+        final Transaction transaction = uploadRepository.beginTransaction();
+        try {
+            final long now = System.currentTimeMillis();
+            JSONObject record = uploadRepository.get(hash);
+            if (null != record && new File(Solos.UPLOAD_DIR_PATH + record.optString(Upload.UPLOAD_PATH)).isFile()) {
+                record.put(Upload.UPLOAD_REFERENCED, now);
+                uploadRepository.update(hash, record);
+                transaction.commit();
+                upload.delete();
+                LOGGER.log(Level.DEBUG, "Upload [" + hash + "] is deduplicated");
+
+                return record.optString(Upload.UPLOAD_PATH);
+            }
+
+            final String path = hash.substring(0, 2) + "/" + hash + (suffix.isEmpty() ? "" : "." + suffix);
+            final File file = new File(Solos.UPLOAD_DIR_PATH + path);
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.move(upload.getFile().toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            upload.delete();
+
+            final boolean exists = null != record; // Record left by a file removed from the upload dir
+            if (!exists) {
+                record = new JSONObject();
+                record.put(Keys.OBJECT_ID, hash);
+                record.put(Upload.UPLOAD_CREATED, now);
+                record.put(Upload.UPLOAD_REF_COUNT, 0); // Counted when a record links to it
+            }
+            record.put(Upload.UPLOAD_PATH, path);
+            record.put(Upload.UPLOAD_SIZE, upload.getSize());
+            record.put(Upload.UPLOAD_CONTENT_TYPE, contentType);
+            record.put(Upload.UPLOAD_REFERENCED, now);
+            if (exists) {
+                uploadRepository.update(hash, record);
+            } else {
+                uploadRepository.add(record);
+            }
+            transaction.commit();
+
+            return path;
+        } catch (final Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            LOGGER.log(Level.ERROR, "Stores upload [" + hash + "] failed", e);
+
+            throw new ServiceException(e);
+        }
+    }
+}
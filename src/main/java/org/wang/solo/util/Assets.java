@@ -0,0 +1,137 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.util;
+
+import freemarker.template.TemplateMethodModelEx;
+import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateScalarModel;
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.Lifecycle;
+import org.wang.solo.cache.AssetCache;
+import org.wang.solo.cache.PrecompressedContent;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Static asset utilities.
+ * <p>
+ * Templates refer to assets through the shared variable {@value #TEMPLATE_METHOD}, for example
+ * {@code ${asset("/js/common${miniPostfix}.js")}}, which returns a URL fingerprinted by the content hash:
+ * {@code ${staticServePath}/assets/${hash}/js/common.min.js}. Such a URL changes with the content, so it is served
+ * immutable.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public final class Assets {
+
+    /**
+     * Template method name.
+     */
+    public static final String TEMPLATE_METHOD = "asset";
+
+    /**
+     * Fingerprinted URL path prefix.
+     */
+    public static final String PATH_PREFIX = "/assets/";
+
+    /**
+     * Hash length.
+     */
+    private static final int HASH_LENGTH = 10;
+
+    /**
+     * Asset dirs.
+     */
+    private static final String[] DIRS = {"/js/", "/css/", "/skins/", "/images/", "/plugins/"};
+
+    /**
+     * Asset file name suffixes.
+     */
+    private static final Set<String> SUFFIXES = new HashSet<>(Arrays.asList(
+            "js", "css", "png", "jpg", "jpeg", "gif", "svg", "ico", "woff", "woff2", "ttf", "eot", "swf"));
+
+    /**
+     * Template method returning the fingerprinted URL of an asset.
+     */
+    public static final TemplateMethodModelEx URL_METHOD = new TemplateMethodModelEx() {
+        @Override
+        public Object exec(final List arguments) throws TemplateModelException {
+            if (1 != arguments.size() || !(arguments.get(0) instanceof TemplateScalarModel)) {
+                throw new TemplateModelException("Wrong arguments, expects an asset path!");
+            }
+
+            return getURL(((TemplateScalarModel) arguments.get(0)).getAsString());
+        }
+    };
+
+    /**
+     * Private constructor.
+     */
+    private Assets() {
+    }
+
+    /**
+     * Determines whether the specified path is an asset path, assets are the static files (scripts, styles, images and
+     * fonts) in the asset dirs.
+     *
+     * @param path the specified path, for example "/js/common.min.js"
+     * @return {@code true} if it is, returns {@code false} otherwise
+     */
+    public static boolean isAsset(final String path) {
+        if (StringUtils.isBlank(path) || StringUtils.containsAny(path, "\\?#;%")
+                || path.contains("//") || path.contains("/.")) {
+            return false;
+        }
+
+        return StringUtils.startsWithAny(path, DIRS)
+                && SUFFIXES.contains(StringUtils.substringAfterLast(path, ".").toLowerCase());
+    }
+
+    /**
+     * Gets the content hash of the specified asset.
+     *
+     * @param asset the specified asset
+     * @return content hash
+     */
+    public static String getHash(final PrecompressedContent asset) {
+        return asset.getETag().substring(1, 1 + HASH_LENGTH);
+    }
+
+    /**
+     * Gets the fingerprinted URL of the asset of the specified path.
+     *
+     * @param path the specified path, for example "/js/common.min.js"
+     * @return fingerprinted URL, returns the plain URL with the static resource version if the asset is not found
+     */
+    public static String getURL(final String path) {
+        final AssetCache assetCache = Lifecycle.getBeanManager().getReference(AssetCache.class);
+        final PrecompressedContent asset = assetCache.get(path);
+        if (null == asset) {
+            return Latkes.getStaticServePath() + path + "?" + Latkes.getStaticResourceVersion();
+        }
+
+        return Latkes.getStaticServePath() + PATH_PREFIX + getHash(asset) + path;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.util;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.*;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset (seek) pagination utilities.
+ * <p>
+ * A cursor is the sort key values of the last record of a page, the next page is fetched by "seeking" after these
+ * values instead of skipping {@code (pageNum - 1) * pageSize} rows with an offset. The cursor is exposed to clients
+ * as an opaque URL-safe string.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.1.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public final class Cursors {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(Cursors.class);
+
+    /**
+     * Key of the listing a cursor exposed to clients belongs to.
+     */
+    public static final String LISTING = "listing";
+
+    /**
+     * Private constructor.
+     */
+    private Cursors() {
+    }
+
+    /**
+     * Encodes the specified cursor to an opaque string.
+     *
+     * @param cursor the specified cursor, may be {@code null}
+     * @return opaque cursor string, returns {@code ""} if the specified cursor is {@code null}
+     */
+    public static String encode(final JSONObject cursor) {
+        if (null == cursor) {
+            return "";
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes the specified opaque cursor string.
+     *
+     * @param cursor the specified opaque cursor string, may be {@code null}
+     * @return cursor, returns {@code null} if the specified string is blank or invalid
+     */
+    public static JSONObject decode(final String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+
+        try {
+            return new JSONObject(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (final Exception e) {
+            LOGGER.log(Level.DEBUG, "Invalid cursor [" + cursor + "]");
+
+            return null;
+        }
+    }
+
+    /**
+     * Builds a cursor from the specified record with the sort keys of the specified query.
+     *
+     * @param record the specified record, for example the last record of a page
+     * @param query  the specified query, its sorts MUST be the same as the one used to fetch the record
+     * @return cursor, returns {@code null} if the specified record is {@code null}
+     */
+    public static JSONObject of(final JSONObject record, final Query query) {
+        if (null == record) {
+            return null;
+        }
+
+        final JSONObject ret = new JSONObject();
+        for (final String key : query.getSorts().keySet()) {
+            ret.put(key, record.opt(key));
+        }
+        ret.put(Keys.OBJECT_ID, record.optString(Keys.OBJECT_ID));
+
+        return ret;
+    }
+
+    /**
+     * Turns the specified query into a keyset query, the sorts of the specified query are appended with a tie-breaker
+     * sort on {@value Keys#OBJECT_ID} and its filter is combined with a "seek after the cursor" filter.
+     * <p>
+     * Boolean sort keys (for example put top) are compared with {@code =} only since they are stored as
+     * {@code char(1)}.
+     * </p>
+     *
+     * @param query    the specified query
+     * @param cursor   the specified cursor, {@code null} for the first page
+     * @param pageSize the specified page size
+     * @return the specified query
+     */
+    public static Query seek(final Query query, final JSONObject cursor, final int pageSize) {
+        final Map<String, SortDirection> sorts = query.getSorts();
+        SortDirection tieBreaker = SortDirection.DESCENDING;
+        if (!sorts.isEmpty()) {
+            tieBreaker = sorts.values().iterator().next();
+        }
+        if (!sorts.containsKey(Keys.OBJECT_ID)) {
+            query.addSort(Keys.OBJECT_ID, tieBreaker);
+        }
+        query.setCurrentPageNum(1).setPageSize(pageSize).setPageCount(1);
+
+        if (null == cursor) {
+            return query;
+        }
+
+        final List<Filter> branches = new ArrayList<>();
+        final List<Filter> equals = new ArrayList<>();
+        for (final Map.Entry<String, SortDirection> sort : sorts.entrySet()) {
+            final String key = sort.getKey();
+            final Object value = cursor.opt(key);
+            if (null == value) {
+                LOGGER.log(Level.DEBUG, "Cursor [" + cursor + "] misses key [" + key + "]");
+
+                return query;
+            }
+
+            final boolean desc = SortDirection.DESCENDING == sort.getValue();
+            Filter after = null;
+            if (value instanceof Boolean) {
+                final boolean val = (Boolean) value;
+                if (desc == val) { // true is followed by false in descending order, false by true in ascending order
+                    after = new PropertyFilter(key, FilterOperator.EQUAL, !val);
+                }
+            } else {
+                after = new PropertyFilter(key, desc ? FilterOperator.LESS_THAN : FilterOperator.GREATER_THAN, value);
+            }
+
+            if (null != after) {
+                final List<Filter> branch = new ArrayList<>(equals);
+                branch.add(after);
+                branches.add(and(branch));
+            }
+
+            equals.add(new PropertyFilter(key, FilterOperator.EQUAL, value));
+        }
+
+        final List<Filter> filters = new ArrayList<>();
+        if (null != query.getFilter()) {
+            filters.add(query.getFilter());
+        }
+        if (branches.isEmpty()) { // Nothing after the cursor
+            filters.add(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.EQUAL, ""));
+        } else if (1 == branches.size()) {
+            filters.add(branches.get(0));
+        } else {
+            filters.add(new CompositeFilter(CompositeFilterOperator.OR, branches));
+        }
+        query.setFilter(and(filters));
+
+        return query;
+    }
+
+    /**
+     * Combines the specified filters with "and".
+     *
+     * @param filters the specified filters, MUST NOT be empty
+     * @return combined filter
+     */
+    private static Filter and(final List<Filter> filters) {
+        if (1 == filters.size()) {
+            return filters.get(0);
+        }
+
+        return new CompositeFilter(CompositeFilterOperator.AND, filters);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.util;
+
+import jodd.io.upload.FileUpload;
+import jodd.io.upload.FileUploadFactory;
+import jodd.io.upload.MultipartRequestInputStream;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+
+/**
+ * Multipart file upload factory which streams each file into a temp file and hashes (SHA-256) it while writing.
+ * <p>
+ * Unlike {@link jodd.io.upload.impl.MemoryFileUploadFactory}, the heap used by a request does not depend on the sizes
+ * of the files uploaded. Callers should {@link DigestFileUpload#delete() delete} the temp files after use.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public final class DigestFileUploadFactory implements FileUploadFactory {
+
+    /**
+     * Temp dir.
+     */
+    private final File tempDir;
+
+    /**
+     * Max file size in bytes.
+     */
+    private final int maxFileSize;
+
+    /**
+     * Constructs a factory with the specified temp dir and max file size.
+     *
+     * @param tempDir     the specified temp dir, it is created if not exists
+     * @param maxFileSize the specified max file size in bytes, a file over it is not valid
+     * @throws IOException io exception
+     */
+    public DigestFileUploadFactory(final File tempDir, final int maxFileSize) throws IOException {
+        Files.createDirectories(tempDir.toPath());
+        this.tempDir = tempDir;
+        this.maxFileSize = maxFileSize;
+    }
+
+    @Override
+    public FileUpload create(final MultipartRequestInputStream input) {
+        return new DigestFileUpload(input, tempDir, maxFileSize);
+    }
+
+    /**
+     * File upload streamed into a temp file.
+     */
+    public static final class DigestFileUpload extends FileUpload {
+
+        /**
+         * Temp dir.
+         */
+        private final File tempDir;
+
+        /**
+         * Temp file, {@code null} if not uploaded or deleted.
+         */
+        private File file;
+
+        /**
+         * SHA-256 hex of the content.
+         */
+        private String sha256;
+
+        /**
+         * Constructs a file upload with the specified input, temp dir and max file size.
+         *
+         * @param input       the specified input
+         * @param tempDir     the specified temp dir
+         * @param maxFileSize the specified max file size in bytes
+         */
+        private DigestFileUpload(final MultipartRequestInputStream input, final File tempDir, final int maxFileSize) {
+            super(input, maxFileSize);
+            this.tempDir = tempDir;
+        }
+
+        /**
+         * Gets the temp file.
+         *
+         * @return temp file, returns {@code null} if not valid or deleted
+         */
+        public File getFile() {
+            return file;
+        }
+
+        /**
+         * Gets the SHA-256 hex of the content.
+         *
+         * @return SHA-256 hex, returns {@code null} if not valid
+         */
+        public String getSHA256() {
+            return sha256;
+        }
+
+        /**
+         * Deletes the temp file if it still exists (it has not been moved).
+         */
+        public void delete() {
+            if (null != file) {
+                file.delete();
+                file = null;
+            }
+        }
+
+        @Override
+        public byte[] getFileContent() throws IOException {
+            return Files.readAllBytes(file.toPath());
+        }
+
+        @Override
+        public InputStream getFileInputStream() throws IOException {
+            return new BufferedInputStream(new FileInputStream(file));
+        }
+
+        @Override
+        public boolean isInMemory() {
+            return false;
+        }
+
+        @Override
+        protected void processStream() throws IOException {
+            file = File.createTempFile("upload", ".tmp", tempDir);
+            final MessageDigest digest = DigestUtils.getSha256Digest();
+            try (final OutputStream output = new BufferedOutputStream(new DigestOutputStream(new FileOutputStream(file), digest))) {
+                size = input.copyMax(output, maxFileSize + 1);
+            } catch (final IOException e) {
+                delete();
+
+                throw e;
+            }
+
+            if (size > maxFileSize) {
+                fileTooBig = true;
+                valid = false;
+                delete();
+                input.skipToBoundary();
+
+                return;
+            }
+
+            sha256 = Hex.encodeHexString(digest.digest());
+            valid = true;
+        }
+    }
+}
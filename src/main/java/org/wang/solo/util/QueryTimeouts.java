@@ -0,0 +1,105 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.util;
+
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.latke.repository.jdbc.util.Connections;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Query timeout utilities.
+ * <p>
+ * A timeout bound to the current thread is set ({@link Statement#setQueryTimeout(int)}) on every statement created
+ * from the connections the current thread reads with, so a slow query is cancelled by the driver and frees its
+ * connection instead of running on after its caller has given up.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public final class QueryTimeouts {
+
+    /**
+     * Query timeout in seconds of the current thread.
+     */
+    private static final ThreadLocal<Integer> TIMEOUT = new ThreadLocal<>();
+
+    /**
+     * Private constructor.
+     */
+    private QueryTimeouts() {
+    }
+
+    /**
+     * Binds the specified query timeout to the current thread and a primary connection with it to
+     * {@link JdbcRepository#CONN}. {@link #unbind()} should be called after, followed by {@link JdbcRepository#dispose()}
+     * to close the connection.
+     *
+     * @param millis the specified query timeout in milliseconds, rounded up to seconds
+     * @throws SQLException sql exception
+     */
+    public static void bind(final long millis) throws SQLException {
+        TIMEOUT.set((int) Math.max(1, (millis + 999) / 1000));
+        if (null == JdbcRepository.CONN.get()) {
+            JdbcRepository.CONN.set(wrap(Connections.getConnection()));
+        }
+    }
+
+    /**
+     * Unbinds the query timeout from the current thread.
+     */
+    public static void unbind() {
+        TIMEOUT.remove();
+    }
+
+    /**
+     * Wraps the specified connection with the query timeout of the current thread.
+     *
+     * @param connection the specified connection
+     * @return wrapped connection which sets the timeout on the statements it creates, returns the specified connection
+     * if no timeout is bound to the current thread
+     */
+    public static Connection wrap(final Connection connection) {
+        final Integer timeout = TIMEOUT.get();
+        if (null == timeout) {
+            return connection;
+        }
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    final Object ret;
+                    try {
+                        ret = method.invoke(connection, args);
+                    } catch (final InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+
+                    if (ret instanceof Statement) {
+                        ((Statement) ret).setQueryTimeout(timeout);
+                    }
+
+                    return ret;
+                });
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.util;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.latke.repository.jdbc.JdbcTransaction;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Callable;
+
+/**
+ * Read replica utilities.
+ * <p>
+ * If {@code jdbc.replica.URL} is configured in local.properties, read-only repository operations outside a
+ * transaction are executed on a connection borrowed from the replica pool, writes and reads in a transaction stay on
+ * the primary. A session which has just written reads from the primary for {@code jdbc.replica.stickyMillis}
+ * (read-your-writes), and the replica is bypassed for {@value #DOWN_MILLIS}ms once a connection to it fails. Other
+ * failures of reads on the replica are thrown as they are.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.1.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public final class Replicas {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(Replicas.class);
+
+    /**
+     * Session attribute name of the time until which the session reads from the primary.
+     */
+    private static final String STICKY_UNTIL = "replicaStickyUntil";
+
+    /**
+     * Time to bypass a failed replica in milliseconds.
+     */
+    private static final long DOWN_MILLIS = 30 * 1000;
+
+    /**
+     * Default read-your-writes window in milliseconds.
+     */
+    private static final long DEFAULT_STICKY_MILLIS = 5 * 1000;
+
+    /**
+     * Whether the current thread has written in the current request.
+     */
+    private static final ThreadLocal<Boolean> WRITTEN = new ThreadLocal<>();
+
+    /**
+     * Time until which the current thread reads from the primary.
+     */
+    private static final ThreadLocal<Long> STICKY = new ThreadLocal<>();
+
+    /**
+     * Replica data source, {@code null} if not configured.
+     */
+    private static final HikariDataSource DATA_SOURCE;
+
+    /**
+     * Read-your-writes window in milliseconds.
+     */
+    private static final long STICKY_MILLIS;
+
+    /**
+     * Time until which the replica is bypassed.
+     */
+    private static volatile long downUntil;
+
+    static {
+        final String url = Latkes.getLocalProperty("jdbc.replica.URL");
+        if (StringUtils.isBlank(url)) {
+            DATA_SOURCE = null;
+        } else {
+            final HikariConfig config = new HikariConfig();
+            config.setPoolName("replica");
+            config.setDriverClassName(Latkes.getLocalProperty("jdbc.driver"));
+            config.setJdbcUrl(url);
+            config.setUsername(StringUtils.defaultIfBlank(Latkes.getLocalProperty("jdbc.replica.username"),
+                    Latkes.getLocalProperty("jdbc.username")));
+            config.setPassword(StringUtils.defaultIfBlank(Latkes.getLocalProperty("jdbc.replica.password"),
+                    Latkes.getLocalProperty("jdbc.password")));
+            config.setMinimumIdle(getInt("jdbc.replica.minConnCnt", Integer.valueOf(Latkes.getLocalProperty("jdbc.minConnCnt"))));
+            config.setMaximumPoolSize(getInt("jdbc.replica.maxConnCnt", Integer.valueOf(Latkes.getLocalProperty("jdbc.maxConnCnt"))));
+            config.setAutoCommit(true);
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1); // Starts even if the replica is down, falls back to the primary
+            DATA_SOURCE = new HikariDataSource(config);
+
+            LOGGER.log(Level.INFO, "Routes reads to replica [" + url + "]");
+        }
+
+        STICKY_MILLIS = getInt("jdbc.replica.stickyMillis", (int) DEFAULT_STICKY_MILLIS);
+    }
+
+    /**
+     * Private constructor.
+     */
+    private Replicas() {
+    }
+
+    /**
+     * Read operation.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    public interface Read<T> {
+
+        /**
+         * Performs the read.
+         *
+         * @return result
+         * @throws RepositoryException repository exception
+         */
+        T read() throws RepositoryException;
+    }
+
+    /**
+     * Performs the specified read operation on the replica if possible, on the primary otherwise.
+     *
+     * @param read the specified read operation
+     * @param <T>  the type of the result
+     * @return result
+     * @throws RepositoryException repository exception
+     */
+    public static <T> T read(final Read<T> read) throws RepositoryException {
+        if (!isRoutable()) {
+            return read.read();
+        }
+
+        final Connection primary = JdbcRepository.CONN.get();
+        try (final Connection replica = DATA_SOURCE.getConnection()) {
+            JdbcRepository.CONN.set(QueryTimeouts.wrap(replica));
+
+            return read.read();
+        } catch (final SQLException e) { // Borrows connection failed
+            down(e);
+        } catch (final RepositoryException e) {
+            if (!isConnectionFailure(e)) { // Bad SQL, constraint failures, etc. are not the replica's fault
+                throw e;
+            }
+
+            down(e);
+        } finally {
+            JdbcRepository.CONN.set(primary);
+        }
+
+        return read.read();
+    }
+
+    /**
+     * Bypasses the replica for {@value #DOWN_MILLIS}ms because of the specified failure.
+     *
+     * @param e the specified failure
+     */
+    private static void down(final Exception e) {
+        downUntil = System.currentTimeMillis() + DOWN_MILLIS;
+        LOGGER.log(Level.WARN, "Reads from replica failed, falls back to the primary in the next "
+                + DOWN_MILLIS + "ms: " + e.getMessage());
+    }
+
+    /**
+     * Determines whether the specified exception is caused by a connection or transport failure, that is a
+     * {@link SQLTransientConnectionException}, a {@link SQLNonTransientConnectionException} or a SQL exception of
+     * SQLState class "08" (connection exception).
+     *
+     * @param e the specified exception
+     * @return {@code true} if it is, returns {@code false} otherwise
+     */
+    private static boolean isConnectionFailure(final Throwable e) {
+        for (Throwable cause = e; null != cause; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+
+            if (cause instanceof SQLException && StringUtils.startsWith(((SQLException) cause).getSQLState(), "08")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Marks the current thread has written, the following reads of the current request and session go to the
+     * primary.
+     */
+    public static void written() {
+        WRITTEN.set(true);
+    }
+
+    /**
+     * Binds the read-your-writes state of the specified request to the current thread.
+     *
+     * @param request the specified request
+     */
+    public static void beginRequest(final HttpServletRequest request) {
+        WRITTEN.remove();
+        STICKY.remove();
+        if (null == DATA_SOURCE) {
+            return;
+        }
+
+        final HttpSession session = request.getSession(false);
+        if (null == session) {
+            return;
+        }
+
+        final Object stickyUntil = session.getAttribute(STICKY_UNTIL);
+        if (stickyUntil instanceof Long) {
+            STICKY.set((Long) stickyUntil);
+        }
+    }
+
+    /**
+     * Saves the read-your-writes state of the current thread into the session of the specified request and unbinds
+     * it from the current thread.
+     *
+     * @param request the specified request
+     */
+    public static void endRequest(final HttpServletRequest request) {
+        try {
+            if (null == DATA_SOURCE || null == WRITTEN.get()) {
+                return;
+            }
+
+            final HttpSession session = request.getSession(false);
+            if (null != session) {
+                session.setAttribute(STICKY_UNTIL, System.currentTimeMillis() + STICKY_MILLIS);
+            }
+        } catch (final Exception e) {
+            LOGGER.log(Level.WARN, "Saves read-your-writes state failed: " + e.getMessage());
+        } finally {
+            WRITTEN.remove();
+            STICKY.remove();
+        }
+    }
+
+    /**
+     * Binds the read-your-writes state of the current thread to the specified task, so the task reads from the
+     * primary on another thread if the current request would.
+     *
+     * @param task the specified task
+     * @param <T>  the type of the result
+     * @return bound task
+     */
+    public static <T> Callable<T> bind(final Callable<T> task) {
+        final Boolean written = WRITTEN.get();
+        final Long stickyUntil = STICKY.get();
+
+        return () -> {
+            if (null != written) {
+                WRITTEN.set(written);
+            }
+            if (null != stickyUntil) {
+                STICKY.set(stickyUntil);
+            }
+            try {
+                return task.call();
+            } finally {
+                WRITTEN.remove();
+                STICKY.remove();
+            }
+        };
+    }
+
+    /**
+     * Closes the replica connection pool.
+     */
+    public static void shutdown() {
+        if (null != DATA_SOURCE) {
+            DATA_SOURCE.close();
+        }
+    }
+
+    /**
+     * Determines whether the current read could be routed to the replica.
+     *
+     * @return {@code true} if it could, returns {@code false} otherwise
+     */
+    private static boolean isRoutable() {
+        if (null == DATA_SOURCE || null != WRITTEN.get()) {
+            return false;
+        }
+
+        final JdbcTransaction transaction = JdbcRepository.TX.get();
+        if (null != transaction && transaction.isActive()) {
+            return false;
+        }
+
+        final long now = System.currentTimeMillis();
+        final Long stickyUntil = STICKY.get();
+
+        return now >= downUntil && (null == stickyUntil || now >= stickyUntil);
+    }
+
+    /**
+     * Gets an int local property.
+     *
+     * @param name         the specified property name
+     * @param defaultValue the specified default value
+     * @return property value, returns the specified default value if not configured
+     */
+    private static int getInt(final String name, final int defaultValue) {
+        final String value = Latkes.getLocalProperty(name);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+
+        return Integer.valueOf(value.trim());
+    }
+}
@@ -50,7 +50,7 @@ import java.util.*;
  * Skin utilities.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.6.1, Sep 26, 2018
+ * @version 1.1.7.0, Oct 18, 2026
  * @since 0.3.1
  */
 public final class Skins {
@@ -72,6 +72,7 @@ public final class Skins {
         TEMPLATE_CFG.setServletContextForTemplateLoading(servletContext, "");
         TEMPLATE_CFG.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
         TEMPLATE_CFG.setLogTemplateExceptions(false);
+        TEMPLATE_CFG.setSharedVariable(Assets.TEMPLATE_METHOD, Assets.URL_METHOD);
     }
 
     /**
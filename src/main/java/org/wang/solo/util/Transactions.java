@@ -0,0 +1,156 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.util;
+
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Transaction utilities.
+ * <p>
+ * Updates of in-memory state (caches, indexes) derived from the written records are queued with
+ * {@link #afterCommit(Runnable)} while a transaction is active on the current thread, and applied once it commits, so
+ * a rolled back transaction leaves no trace of its writes in memory. The transactions begun by the repositories are
+ * wrapped with {@link #begin(Supplier)} for this.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public final class Transactions {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(Transactions.class);
+
+    /**
+     * Actions to run after the transaction of the current thread commits.
+     */
+    private static final ThreadLocal<List<Runnable>> PENDING = ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * Private constructor.
+     */
+    private Transactions() {
+    }
+
+    /**
+     * Begins a transaction with the specified beginner, the actions queued on the current thread before a new
+     * transaction (left by a transaction never ended) are dropped.
+     *
+     * @param beginner the specified beginner, returns the active transaction of the current thread if there is one
+     * @return transaction which runs the queued actions after commit and drops them after rollback
+     */
+    public static Transaction begin(final Supplier<Transaction> beginner) {
+        if (!isActive()) {
+            PENDING.remove();
+        }
+
+        return new HookedTransaction(beginner.get());
+    }
+
+    /**
+     * Runs the specified action after the transaction of the current thread commits, runs it now if there is no active
+     * transaction.
+     *
+     * @param action the specified action
+     */
+    public static void afterCommit(final Runnable action) {
+        if (isActive()) {
+            PENDING.get().add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Determines whether there is an active transaction on the current thread.
+     *
+     * @return {@code true} if there is, returns {@code false} otherwise
+     */
+    private static boolean isActive() {
+        final Transaction transaction = JdbcRepository.TX.get();
+
+        return null != transaction && transaction.isActive();
+    }
+
+    /**
+     * Transaction running the queued actions after commit.
+     */
+    private static final class HookedTransaction implements Transaction {
+
+        /**
+         * Wrapped transaction.
+         */
+        private final Transaction transaction;
+
+        /**
+         * Constructs a transaction wrapping the specified transaction.
+         *
+         * @param transaction the specified transaction
+         */
+        private HookedTransaction(final Transaction transaction) {
+            this.transaction = transaction;
+        }
+
+        @Override
+        public String getId() {
+            return transaction.getId();
+        }
+
+        @Override
+        public void commit() {
+            try {
+                transaction.commit();
+            } catch (final RuntimeException e) {
+                PENDING.remove();
+
+                throw e;
+            }
+
+            final List<Runnable> actions = PENDING.get();
+            PENDING.remove();
+            for (final Runnable action : actions) {
+                try {
+                    action.run();
+                } catch (final Exception e) {
+                    LOGGER.log(Level.ERROR, "Runs an action after commit failed", e);
+                }
+            }
+        }
+
+        @Override
+        public void rollback() {
+            PENDING.remove();
+            transaction.rollback();
+        }
+
+        @Override
+        public boolean isActive() {
+            return transaction.isActive();
+        }
+    }
+}
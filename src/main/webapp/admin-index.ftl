@@ -29,10 +29,10 @@
         <meta http-equiv="Window-target" content="_top">
         <meta name="robots" content="none" />
         <title>${blogTitle} - ${adminConsoleLabel}</title>
-        <link type="text/css" rel="stylesheet" href="${staticServePath}/css/default-base${miniPostfix}.css?${staticResourceVersion}" />
-        <link type="text/css" rel="stylesheet" href="${staticServePath}/css/default-admin${miniPostfix}.css?${staticResourceVersion}" />
-        <link type="text/css" rel="stylesheet" href="${staticServePath}/js/lib/CodeMirrorEditor/codemirror.min.css?${staticResourceVersion}" />
-        <link type="text/css" rel="stylesheet" href="${staticServePath}/js/lib/highlight.js-9.6.0/styles/github.css?${staticResourceVersion}" />
+        <link type="text/css" rel="stylesheet" href="${asset("/css/default-base${miniPostfix}.css")}" />
+        <link type="text/css" rel="stylesheet" href="${asset("/css/default-admin${miniPostfix}.css")}" />
+        <link type="text/css" rel="stylesheet" href="${asset("/js/lib/CodeMirrorEditor/codemirror.min.css")}" />
+        <link type="text/css" rel="stylesheet" href="${asset("/js/lib/highlight.js-9.6.0/styles/github.css")}" />
         <link rel="icon" type="image/png" href="${staticServePath}/favicon.png" />
         <link rel="manifest" href="${servePath}/manifest.json">
     </head>
@@ -168,34 +168,34 @@
                 Powered by <a href="https://b3log.org" target="_blank">B3log 开源</a> • <a href="https://hacpai.com/tag/Solo" target="_blank">Solo</a> ${version}
             </div>
         </div>
-        <script src="${staticServePath}/js/lib/compress/admin-lib.min.js"></script>
+        <script src="${asset("/js/lib/compress/admin-lib.min.js")}"></script>
         <script src="${servePath}/js/lib/tiny_mce/tiny_mce.js"></script>
         <script src="${servePath}/js/lib/KindEditor/kindeditor-min.js"></script>
-        <script src="${staticServePath}/js/common${miniPostfix}.js"></script>
+        <script src="${asset("/js/common${miniPostfix}.js")}"></script>
         <#if "" == miniPostfix>
-        <script src="${staticServePath}/js/admin/admin.js"></script>
-        <script src="${staticServePath}/js/admin/editor.js"></script>
-        <script src="${staticServePath}/js/admin/editorTinyMCE.js"></script>
-        <script src="${staticServePath}/js/admin/editorKindEditor.js"></script>
-        <script src="${staticServePath}/js/admin/editorCodeMirror.js"></script>
-        <script src="${staticServePath}/js/admin/tablePaginate.js"></script>
-        <script src="${staticServePath}/js/admin/article.js"></script>
-        <script src="${staticServePath}/js/admin/comment.js"></script>
-        <script src="${staticServePath}/js/admin/articleList.js"></script>
-        <script src="${staticServePath}/js/admin/draftList.js"></script>
-        <script src="${staticServePath}/js/admin/pageList.js"></script>
-        <script src="${staticServePath}/js/admin/others.js"></script>
-        <script src="${staticServePath}/js/admin/linkList.js"></script>
-        <script src="${staticServePath}/js/admin/preference.js"></script>
-        <script src="${staticServePath}/js/admin/pluginList.js"></script>
-        <script src="${staticServePath}/js/admin/userList.js"></script>
-        <script src="${staticServePath}/js/admin/categoryList.js"></script>
-        <script src="${staticServePath}/js/admin/commentList.js"></script>
-        <script src="${staticServePath}/js/admin/plugin.js"></script>
-        <script src="${staticServePath}/js/admin/main.js"></script>
-        <script src="${staticServePath}/js/admin/about.js"></script>
+        <script src="${asset("/js/admin/admin.js")}"></script>
+        <script src="${asset("/js/admin/editor.js")}"></script>
+        <script src="${asset("/js/admin/editorTinyMCE.js")}"></script>
+        <script src="${asset("/js/admin/editorKindEditor.js")}"></script>
+        <script src="${asset("/js/admin/editorCodeMirror.js")}"></script>
+        <script src="${asset("/js/admin/tablePaginate.js")}"></script>
+        <script src="${asset("/js/admin/article.js")}"></script>
+        <script src="${asset("/js/admin/comment.js")}"></script>
+        <script src="${asset("/js/admin/articleList.js")}"></script>
+        <script src="${asset("/js/admin/draftList.js")}"></script>
+        <script src="${asset("/js/admin/pageList.js")}"></script>
+        <script src="${asset("/js/admin/others.js")}"></script>
+        <script src="${asset("/js/admin/linkList.js")}"></script>
+        <script src="${asset("/js/admin/preference.js")}"></script>
+        <script src="${asset("/js/admin/pluginList.js")}"></script>
+        <script src="${asset("/js/admin/userList.js")}"></script>
+        <script src="${asset("/js/admin/categoryList.js")}"></script>
+        <script src="${asset("/js/admin/commentList.js")}"></script>
+        <script src="${asset("/js/admin/plugin.js")}"></script>
+        <script src="${asset("/js/admin/main.js")}"></script>
+        <script src="${asset("/js/admin/about.js")}"></script>
         <#else>
-        <script src="${staticServePath}/js/admin/latkeAdmin${miniPostfix}.js?${staticResourceVersion}"></script>
+        <script src="${asset("/js/admin/latkeAdmin${miniPostfix}.js")}"></script>
         </#if>
         <#include "admin-label.ftl">
         ${plugins}
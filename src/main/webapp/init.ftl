@@ -64,7 +64,7 @@
         <span class="clear"></span>
     </div>
 </div>
-<script type="text/javascript" src="${staticServePath}/js/lib/jquery/jquery.min.js" charset="utf-8"></script>
+<script type="text/javascript" src="${asset("/js/lib/jquery/jquery.min.js")}" charset="utf-8"></script>
 <script type="text/javascript">
     var validate = function () {
         var userName = $('#userName').val().replace(/(^\s*)|(\s*$)/g, '')
@@ -179,7 +179,7 @@
         try {
             JSON
         } catch (e) {
-            document.write("<script src=\"${staticServePath}/js/lib/json2.js\"><\/script>");
+            document.write("<script src=\"${asset("/js/lib/json2.js")}\"><\/script>");
         }
 
         $('.main').css({
@@ -20,7 +20,7 @@
  *
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.4.0.0, Sep 10, 2018
+ * @version 1.4.1.0, Oct 18, 2026
  */
 
 /**
@@ -343,6 +343,10 @@ var Util = {
     var max = parseInt($("#" + id + " b").last().text());
     var distance = Math.ceil(max / classes.length);
     for (var i = 0; i < bList.length; i++) {
+      if (/^tags[1-5]$/.test(bList[i].parentNode.className)) {
+        // 服务端已算出字号区间
+        continue;
+      }
       var num = parseInt(bList[i].innerHTML);
       // 算出当前 tag 数目所在的区间，加上 class
       for (var j = 0; j < classes.length; j++) {
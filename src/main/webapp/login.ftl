@@ -44,7 +44,7 @@ ${loginLabel}
     <button onclick='login();'>${loginLabel}</button>
     <span id="tip">${resetMsg}</span>
 </div>
-<script type="text/javascript" src="${staticServePath}/js/lib/jquery/jquery.min.js" charset="utf-8"></script>
+<script type="text/javascript" src="${asset("/js/lib/jquery/jquery.min.js")}" charset="utf-8"></script>
 <script type="text/javascript">
     (function() {
         $("#userEmail").focus();
@@ -59,7 +59,7 @@ ${loginLabel}
         try {
             JSON
         } catch (e) {
-            document.write("<script src=\"${staticServePath}/js/lib/json2.js\"><\/script>");
+            document.write("<script src=\"${asset("/js/lib/json2.js")}\"><\/script>");
         }
     })();
 
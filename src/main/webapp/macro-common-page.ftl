@@ -27,7 +27,7 @@
     <meta name="robots" content="none"/>
     <title><#if blogTitle??>${blogTitle} - </#if>${title}</title>
     <link type="text/css" rel="stylesheet"
-          href="${staticServePath}/css/default-init${miniPostfix}.css?${staticResourceVersion}" charset="utf-8"/>
+          href="${asset("/css/default-init${miniPostfix}.css")}" charset="utf-8"/>
     <link rel="icon" type="image/png" href="${staticServePath}/favicon.png"/>
     <link rel="apple-touch-icon" href="${staticServePath}/favicon.png">
 </head>
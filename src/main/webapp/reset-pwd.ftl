@@ -44,7 +44,7 @@ ${forgotLabel}
     </div>
     </#if>
 
-<script type="text/javascript" src="${staticServePath}/js/lib/jquery/jquery.min.js" charset="utf-8"></script>
+<script type="text/javascript" src="${asset("/js/lib/jquery/jquery.min.js")}" charset="utf-8"></script>
 <script type="text/javascript">
     (function () {
         $("#emailOrPassword").focus();
@@ -59,7 +59,7 @@ ${forgotLabel}
         try {
             JSON
         } catch (e) {
-            document.write("<script src=\"${staticServePath}/js/lib/json2.js\"><\/script>");
+            document.write("<script src=\"${asset("/js/lib/json2.js")}\"><\/script>");
         }
     })();
 
@@ -29,9 +29,9 @@
 </footer>
 <div class="icon-up" onclick="Util.goTop()"></div>
 
-<script type="text/javascript" src="${staticServePath}/js/lib/jquery/jquery.min.js" charset="utf-8"></script>
-<script type="text/javascript" src="${staticServePath}/js/common${miniPostfix}.js?${staticResourceVersion}" charset="utf-8"></script>
-<script type="text/javascript" src="${staticServePath}/skins/${skinDirName}/js/common${miniPostfix}.js?${staticResourceVersion}" charset="utf-8"></script>
+<script type="text/javascript" src="${asset("/js/lib/jquery/jquery.min.js")}" charset="utf-8"></script>
+<script type="text/javascript" src="${asset("/js/common${miniPostfix}.js")}" charset="utf-8"></script>
+<script type="text/javascript" src="${asset("/skins/${skinDirName}/js/common${miniPostfix}.js")}" charset="utf-8"></script>
 <script type="text/javascript">
     var latkeConfig = {
         "servePath": "${servePath}",
@@ -49,7 +49,7 @@
             </div>
         </div>
         <#include "footer.ftl">
-            <script type="text/javascript" src="${staticServePath}/skins/${skinDirName}/js/isotope.pkgd.min.js" charset="utf-8"></script>
+            <script type="text/javascript" src="${asset("/skins/${skinDirName}/js/isotope.pkgd.min.js")}" charset="utf-8"></script>
             <script>
             $('.tags').isotope({
                 transitionDuration: '1.5s',
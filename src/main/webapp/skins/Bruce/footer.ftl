@@ -63,9 +63,9 @@
         "em14Label": "${em14Label}"
     };
 </script>
-<script type="text/javascript" src="${staticServePath}/js/lib/jquery/jquery.min.js" charset="utf-8"></script>
-<script type="text/javascript" src="${staticServePath}/js/common${miniPostfix}.js?${staticResourceVersion}" charset="utf-8"></script>
-<script type="text/javascript" src="${staticServePath}/skins/${skinDirName}/js/bootstrap${miniPostfix}.js?${staticResourceVersion}" charset="utf-8"></script>
+<script type="text/javascript" src="${asset("/js/lib/jquery/jquery.min.js")}" charset="utf-8"></script>
+<script type="text/javascript" src="${asset("/js/common${miniPostfix}.js")}" charset="utf-8"></script>
+<script type="text/javascript" src="${asset("/skins/${skinDirName}/js/bootstrap${miniPostfix}.js")}" charset="utf-8"></script>
 <script>
     Util.setTopBar();
     Util.parseMarkdown('article-content');
@@ -113,7 +113,7 @@
 </#macro>
 
 <#macro comment_script oId>
-<script type="text/javascript" src="${staticServePath}/js/page${miniPostfix}.js?${staticResourceVersion}" charset="utf-8"></script>
+<script type="text/javascript" src="${asset("/js/page${miniPostfix}.js")}" charset="utf-8"></script>
 <script type="text/javascript">
                         var page = new Page({
                             "nameTooLongLabel": "${nameTooLongLabel}",
@@ -28,8 +28,8 @@
 <meta name="revised" content="${blogTitle?html}, ${year}" />
 <meta name="viewport" content="width=device-width, initial-scale=1.0, maximum-scale=2.0, user-scalable=yes" />
 <meta http-equiv="Window-target" content="_top" />
-<link type="text/css" rel="stylesheet" href="${staticServePath}/skins/${skinDirName}/css/bootstrap${miniPostfix}.css?${staticResourceVersion}" charset="utf-8" />
-<link type="text/css" rel="stylesheet" href="${staticServePath}/skins/${skinDirName}/css/${skinDirName}${miniPostfix}.css?${staticResourceVersion}" charset="utf-8" />
+<link type="text/css" rel="stylesheet" href="${asset("/skins/${skinDirName}/css/bootstrap${miniPostfix}.css")}" charset="utf-8" />
+<link type="text/css" rel="stylesheet" href="${asset("/skins/${skinDirName}/css/${skinDirName}${miniPostfix}.css")}" charset="utf-8" />
 <link href="${servePath}/rss.xml" title="RSS" type="application/rss+xml" rel="alternate" />
 <link rel="icon" type="image/png" href="${servePath}/favicon.png" />
 <link rel="manifest" href="${servePath}/manifest.json">
@@ -27,9 +27,9 @@
         by <a rel="friend" href="http://vanessa.b3log.org" target="_blank">Vanessa</a>.
     </span>
 </footer>
-<script type="text/javascript" src="${staticServePath}/js/lib/jquery/jquery.min.js" charset="utf-8"></script>
-<script type="text/javascript" src="${staticServePath}/js/common${miniPostfix}.js?${staticResourceVersion}" charset="utf-8"></script>
-<script type="text/javascript" src="${staticServePath}/skins/${skinDirName}/js/${skinDirName}${miniPostfix}.js?${staticResourceVersion}" charset="utf-8"></script>
+<script type="text/javascript" src="${asset("/js/lib/jquery/jquery.min.js")}" charset="utf-8"></script>
+<script type="text/javascript" src="${asset("/js/common${miniPostfix}.js")}" charset="utf-8"></script>
+<script type="text/javascript" src="${asset("/skins/${skinDirName}/js/${skinDirName}${miniPostfix}.js")}" charset="utf-8"></script>
 <script type="text/javascript">
     var latkeConfig = {
         "servePath": "${servePath}",
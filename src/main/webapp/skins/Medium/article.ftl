@@ -223,7 +223,7 @@
 </div>
 <#include "footer.ftl">
 <script type="text/javascript"
-        src="${staticServePath}/skins/${skinDirName}/js/jquery.qrcode${miniPostfix}.js"></script>
+        src="${asset("/skins/${skinDirName}/js/jquery.qrcode${miniPostfix}.js")}"></script>
 <#if pjax><!---- pjax {#pjax} start ----></#if>
 <@comment_script oId=article.oId>
     Skin.initArticle()
@@ -39,11 +39,11 @@
     </footer>
 </div>
 
-<script type="text/javascript" src="${staticServePath}/js/lib/compress/pjax.min.js" charset="utf-8"></script>
-<script type="text/javascript" src="${staticServePath}/js/common${miniPostfix}.js?${staticResourceVersion}"
+<script type="text/javascript" src="${asset("/js/lib/compress/pjax.min.js")}" charset="utf-8"></script>
+<script type="text/javascript" src="${asset("/js/common${miniPostfix}.js")}"
         charset="utf-8"></script>
 <script type="text/javascript"
-        src="${staticServePath}/skins/${skinDirName}/js/common${miniPostfix}.js?${staticResourceVersion}"
+        src="${asset("/skins/${skinDirName}/js/common${miniPostfix}.js")}"
         charset="utf-8"></script>
 <script type="text/javascript">
     var latkeConfig = {
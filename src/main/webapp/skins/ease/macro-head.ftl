@@ -27,7 +27,7 @@
 <meta name="owner" content="B3log Team" />
 <meta name="revised" content="${blogTitle?html}, ${year}" />
 <meta http-equiv="Window-target" content="_top" />
-<link type="text/css" rel="stylesheet" href="${staticServePath}/skins/${skinDirName}/css/${skinDirName}${miniPostfix}.css?${staticResourceVersion}" charset="utf-8" />
+<link type="text/css" rel="stylesheet" href="${asset("/skins/${skinDirName}/css/${skinDirName}${miniPostfix}.css")}" charset="utf-8" />
 <link href="${servePath}/rss.xml" title="RSS" type="application/rss+xml" rel="alternate" />
 <link rel="icon" type="image/png" href="${servePath}/favicon.png" />
 <link rel="manifest" href="${servePath}/manifest.json">
@@ -59,7 +59,7 @@
                     <ul class="tag-cloud-tags fn-clear" id="tags">
                         <#list tags as tag>
                         <li>
-                            <a rel="tag" data-count="${tag.tagPublishedRefCount}"
+                            <a rel="tag" class="tags${tag.tagFontBucket}" data-count="${tag.tagPublishedRefCount}"
                                href="${servePath}/tags/${tag.tagTitle?url('UTF-8')}">
                                 <span>${tag.tagTitle}</span>
                                 (<b>${tag.tagPublishedRefCount}</b>)
@@ -100,7 +100,7 @@
 </#macro>
 
 <#macro comment_script oId>
-<script type="text/javascript" src="${staticServePath}/js/page${miniPostfix}.js?${staticResourceVersion}"
+<script type="text/javascript" src="${asset("/js/page${miniPostfix}.js")}"
         charset="utf-8"></script>
 <script type="text/javascript">
     var page = new Page({
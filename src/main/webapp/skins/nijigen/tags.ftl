@@ -59,7 +59,7 @@
 </div>
 <#include "footer.ftl">
 <#if pjax><!---- pjax {#pjax} start ----></#if>
-<script type="text/javascript" src="${staticServePath}/skins/${skinDirName}/js/isotope.pkgd.min.js"
+<script type="text/javascript" src="${asset("/skins/${skinDirName}/js/isotope.pkgd.min.js")}"
         charset="utf-8"></script>
 <script>
     $('.tags').isotope({
@@ -0,0 +1,137 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.cache;
+
+import org.b3log.latke.Keys;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wang.solo.model.Article;
+
+import java.util.Arrays;
+
+/**
+ * {@link ArticleTimeline} test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public class ArticleTimelineTestCase {
+
+    /**
+     * Build, get previous and get next.
+     */
+    @Test
+    public void build() {
+        final ArticleTimeline timeline = new ArticleTimeline();
+        Assert.assertFalse(timeline.isBuilt());
+
+        timeline.build(Arrays.asList(article("1", 100, true), article("2", 200, true), article("3", 200, true),
+                article("4", 300, false)), timeline.getVersion());
+        Assert.assertTrue(timeline.isBuilt());
+
+        Assert.assertNull(timeline.getPrevious("1", 100));
+        Assert.assertEquals(title(timeline.getNext("1", 100)), "Article 2");
+        Assert.assertEquals(title(timeline.getPrevious("3", 200)), "Article 2"); // Same created time, ordered by id
+        Assert.assertEquals(title(timeline.getNext("2", 200)), "Article 3");
+        Assert.assertNull(timeline.getNext("3", 200));
+        Assert.assertEquals(title(timeline.getPrevious("4", 300)), "Article 3"); // Unpublished, not in the timeline
+
+        Assert.assertEquals(timeline.getCreated("2"), Long.valueOf(200));
+        Assert.assertNull(timeline.getCreated("4"));
+
+        final JSONObject next = timeline.getNext("1", 100);
+        Assert.assertEquals(next.optString(Article.ARTICLE_PERMALINK), "/articles/2");
+        Assert.assertEquals(next.optString(Article.ARTICLE_ABSTRACT), "Abstract 2");
+        next.put(Article.ARTICLE_TITLE, "Changed");
+        Assert.assertEquals(title(timeline.getNext("1", 100)), "Article 2");
+    }
+
+    /**
+     * Build while updated.
+     */
+    @Test
+    public void buildUpdated() {
+        final ArticleTimeline timeline = new ArticleTimeline();
+        final long version = timeline.getVersion();
+        timeline.put(article("2", 200, true)); // Written while querying
+        timeline.build(Arrays.asList(article("1", 100, true)), version);
+        Assert.assertFalse(timeline.isBuilt());
+
+        timeline.build(Arrays.asList(article("1", 100, true), article("2", 200, true)), timeline.getVersion());
+        Assert.assertTrue(timeline.isBuilt());
+    }
+
+    /**
+     * Put and remove.
+     */
+    @Test
+    public void putAndRemove() {
+        final ArticleTimeline timeline = new ArticleTimeline();
+        timeline.build(Arrays.asList(article("1", 100, true), article("2", 200, true)), timeline.getVersion());
+
+        timeline.put(article("3", 150, true));
+        Assert.assertEquals(title(timeline.getNext("1", 100)), "Article 3");
+        Assert.assertEquals(title(timeline.getPrevious("2", 200)), "Article 3");
+
+        timeline.put(article("3", 250, true)); // Created time changed
+        Assert.assertEquals(title(timeline.getNext("1", 100)), "Article 2");
+        Assert.assertEquals(title(timeline.getNext("2", 200)), "Article 3");
+        Assert.assertEquals(timeline.getCreated("3"), Long.valueOf(250));
+
+        timeline.put(article("2", 200, false)); // Unpublished
+        Assert.assertEquals(title(timeline.getNext("1", 100)), "Article 3");
+
+        timeline.remove("3");
+        Assert.assertNull(timeline.getNext("1", 100));
+        Assert.assertNull(timeline.getCreated("3"));
+
+        timeline.put(new JSONObject().put(Keys.OBJECT_ID, "4").put(Article.ARTICLE_IS_PUBLISHED, true)); // Misses the summary
+        Assert.assertFalse(timeline.isBuilt());
+
+        timeline.build(Arrays.asList(article("1", 100, true)), timeline.getVersion());
+        timeline.clear();
+        Assert.assertFalse(timeline.isBuilt());
+        Assert.assertNull(timeline.getCreated("1"));
+    }
+
+    /**
+     * Builds an article with the specified id, created time and published state.
+     *
+     * @param id        the specified id
+     * @param created   the specified created time
+     * @param published the specified published state
+     * @return article
+     */
+    private static JSONObject article(final String id, final long created, final boolean published) {
+        return new JSONObject().put(Keys.OBJECT_ID, id).put(Article.ARTICLE_CREATED, created).
+                put(Article.ARTICLE_TITLE, "Article " + id).put(Article.ARTICLE_PERMALINK, "/articles/" + id).
+                put(Article.ARTICLE_ABSTRACT, "Abstract " + id).put(Article.ARTICLE_IS_PUBLISHED, published);
+    }
+
+    /**
+     * Gets the title of the specified article.
+     *
+     * @param article the specified article, may be {@code null}
+     * @return title, returns {@code null} if the specified article is {@code null}
+     */
+    private static String title(final JSONObject article) {
+        return null == article ? null : article.optString(Article.ARTICLE_TITLE);
+    }
+}
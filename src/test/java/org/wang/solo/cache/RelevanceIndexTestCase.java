@@ -0,0 +1,157 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.cache;
+
+import org.b3log.latke.Keys;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wang.solo.model.Article;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@link RelevanceIndex} test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public class RelevanceIndexTestCase {
+
+    /**
+     * Words.
+     */
+    @Test
+    public void words() {
+        Assert.assertEquals(RelevanceIndex.words("Java Performance, a JVM tip"),
+                Arrays.asList("java", "performance", "jvm", "tip"));
+        Assert.assertEquals(RelevanceIndex.words("性能优化"), Arrays.asList("性能", "能优", "优化"));
+        Assert.assertEquals(RelevanceIndex.words("猫、狗"), Arrays.asList("猫", "狗"));
+        Assert.assertEquals(RelevanceIndex.words("JVM性能调优2018"), Arrays.asList("jvm", "性能", "能调", "调优", "2018"));
+        Assert.assertEquals(RelevanceIndex.words("テスト 한국어"), Arrays.asList("テス", "スト", "한국", "국어"));
+        Assert.assertTrue(RelevanceIndex.words(" - ").isEmpty());
+    }
+
+    /**
+     * Build and get.
+     */
+    @Test
+    public void buildAndGet() {
+        final RelevanceIndex index = new RelevanceIndex();
+        Assert.assertNull(index.get("1", 5, null));
+
+        index.build(() -> Arrays.asList(
+                article("1", "Java 性能优化", "java", true),
+                article("2", "数据库性能优化指南", "数据库", true),
+                article("3", "Cooking at home", "food", true),
+                article("4", "Java 性能优化", "java", false)));
+        await(index::isBuilt);
+
+        Assert.assertEquals(ids(index.get("1", 5, null)), Arrays.asList("2")); // Shares the title bigrams only
+        Assert.assertEquals(ids(index.get("2", 5, null)), Arrays.asList("1"));
+        Assert.assertTrue(index.get("3", 5, null).isEmpty());
+        Assert.assertNull(index.get("4", 5, null)); // Unpublished
+        Assert.assertEquals(index.get("2", 5, null).get(0).optString(Article.ARTICLE_TITLE), "Java 性能优化");
+        Assert.assertEquals(index.get("2", 5, null).get(0).optString(Article.ARTICLE_PERMALINK), "/articles/1");
+    }
+
+    /**
+     * Put and remove.
+     */
+    @Test
+    public void putAndRemove() {
+        final RelevanceIndex index = new RelevanceIndex();
+        index.build(() -> Arrays.asList(
+                article("1", "Java 性能优化", "java", true),
+                article("2", "Cooking at home", "food", true)));
+        await(index::isBuilt);
+        Assert.assertTrue(index.get("1", 5, null).isEmpty());
+
+        index.put(article("3", "Java tips", "java", true));
+        await(() -> null != index.get("3", 5, null));
+        Assert.assertEquals(ids(index.get("1", 5, null)), Arrays.asList("3"));
+        Assert.assertEquals(ids(index.get("3", 5, null)), Arrays.asList("1"));
+
+        index.put(article("2", "Java cooking", "java", true)); // Terms changed
+        await(() -> 2 == index.get("1", 5, null).size());
+        Assert.assertEquals(ids(index.get("2", 5, null)).size(), 2);
+
+        index.put(article("3", "Java tips", "java", false)); // Unpublished
+        await(() -> null == index.get("3", 5, null));
+        Assert.assertEquals(ids(index.get("1", 5, null)), Arrays.asList("2"));
+
+        index.remove("2");
+        await(() -> null == index.get("2", 5, null));
+        Assert.assertTrue(index.get("1", 5, null).isEmpty());
+    }
+
+    /**
+     * Builds an article with the specified id, title, tags and published state.
+     *
+     * @param id        the specified id
+     * @param title     the specified title
+     * @param tags      the specified tags
+     * @param published the specified published state
+     * @return article
+     */
+    private static JSONObject article(final String id, final String title, final String tags, final boolean published) {
+        return new JSONObject().put(Keys.OBJECT_ID, id).put(Article.ARTICLE_TITLE, title).
+                put(Article.ARTICLE_TAGS_REF, tags).put(Article.ARTICLE_PERMALINK, "/articles/" + id).
+                put(Article.ARTICLE_IS_PUBLISHED, published);
+    }
+
+    /**
+     * Gets the permalink ids of the specified relevant articles.
+     *
+     * @param articles the specified relevant articles
+     * @return ids
+     */
+    private static List<String> ids(final List<JSONObject> articles) {
+        final List<String> ret = new ArrayList<>();
+        for (final JSONObject article : articles) {
+            ret.add(article.optString(Article.ARTICLE_PERMALINK).substring("/articles/".length()));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Waits for the specified condition of the index updated in background, fails in 5 seconds.
+     *
+     * @param condition the specified condition
+     */
+    private static void await(final BooleanSupplier condition) {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                Assert.fail("Timed out waiting for the index");
+            }
+
+            try {
+                Thread.sleep(10);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                Assert.fail("Interrupted waiting for the index");
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.cache;
+
+import org.b3log.latke.Keys;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wang.solo.model.Article;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link TopArticles} test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public class TopArticlesTestCase {
+
+    /**
+     * Load and get.
+     */
+    @Test
+    public void loadAndGet() {
+        final TopArticles topArticles = new TopArticles();
+        Assert.assertNull(topArticles.get(Article.ARTICLE_VIEW_COUNT, 3)); // Not loaded yet
+
+        load(topArticles, 3, article("1", 30, 1), article("2", 20, 2), article("3", 20, 1));
+        Assert.assertEquals(ids(topArticles.get(Article.ARTICLE_VIEW_COUNT, 3)), Arrays.asList("1", "2", "3"));
+        Assert.assertEquals(ids(topArticles.get(Article.ARTICLE_VIEW_COUNT, 2)), Arrays.asList("1", "2"));
+        Assert.assertNull(topArticles.get(Article.ARTICLE_VIEW_COUNT, 4)); // Over the capacity
+        Assert.assertNull(topArticles.get(Article.ARTICLE_COMMENT_COUNT, 3)); // Boards are loaded separately
+
+        final JSONObject first = topArticles.get(Article.ARTICLE_VIEW_COUNT, 1).get(0);
+        Assert.assertEquals(first.optString(Article.ARTICLE_TITLE), "Article 1");
+        first.put(Article.ARTICLE_TITLE, "Changed");
+        Assert.assertEquals(topArticles.get(Article.ARTICLE_VIEW_COUNT, 1).get(0).optString(Article.ARTICLE_TITLE), "Article 1");
+    }
+
+    /**
+     * Put.
+     */
+    @Test
+    public void put() {
+        final TopArticles topArticles = new TopArticles();
+        load(topArticles, 3, article("1", 30, 1), article("2", 20, 2), article("3", 20, 1));
+
+        topArticles.put(article("4", 10, 9)); // Does not beat the last one
+        Assert.assertEquals(ids(topArticles.get(Article.ARTICLE_VIEW_COUNT, 3)), Arrays.asList("1", "2", "3"));
+
+        topArticles.put(article("4", 25, 9)); // Enters, the last one leaves
+        Assert.assertEquals(ids(topArticles.get(Article.ARTICLE_VIEW_COUNT, 3)), Arrays.asList("1", "4", "2"));
+
+        topArticles.put(article("2", 40, 2)); // Rises
+        Assert.assertEquals(ids(topArticles.get(Article.ARTICLE_VIEW_COUNT, 3)), Arrays.asList("2", "1", "4"));
+
+        topArticles.put(article("1", 35, 1)); // Drops but stays above the last one
+        Assert.assertEquals(ids(topArticles.get(Article.ARTICLE_VIEW_COUNT, 3)), Arrays.asList("2", "1", "4"));
+
+        topArticles.put(article("1", 5, 1)); // Drops below the last one, "3" may rank higher now
+        Assert.assertNull(topArticles.get(Article.ARTICLE_VIEW_COUNT, 3));
+    }
+
+    /**
+     * Remove and unpublish.
+     */
+    @Test
+    public void remove() {
+        final TopArticles topArticles = new TopArticles();
+        load(topArticles, 5, article("1", 30, 1), article("2", 20, 2)); // All published articles, complete
+
+        topArticles.remove("1");
+        Assert.assertEquals(ids(topArticles.get(Article.ARTICLE_VIEW_COUNT, 5)), Arrays.asList("2"));
+        topArticles.put(article("3", 1, 3));
+        Assert.assertEquals(ids(topArticles.get(Article.ARTICLE_VIEW_COUNT, 5)), Arrays.asList("2", "3"));
+        Assert.assertEquals(ids(topArticles.get(Article.ARTICLE_VIEW_COUNT, 10)), Arrays.asList("2", "3"));
+
+        load(topArticles, 2, article("1", 30, 1), article("2", 20, 2)); // Others may be outside
+        topArticles.remove("4"); // Not in the board
+        Assert.assertEquals(ids(topArticles.get(Article.ARTICLE_VIEW_COUNT, 2)), Arrays.asList("1", "2"));
+        topArticles.put(article("2", 20, 2).put(Article.ARTICLE_IS_PUBLISHED, false));
+        Assert.assertNull(topArticles.get(Article.ARTICLE_VIEW_COUNT, 2));
+    }
+
+    /**
+     * Stale boards.
+     */
+    @Test
+    public void stale() {
+        final TopArticles topArticles = new TopArticles();
+        long version = topArticles.getVersion(Article.ARTICLE_VIEW_COUNT);
+        topArticles.put(article("1", 30, 1)); // Written while querying
+        topArticles.load(Article.ARTICLE_VIEW_COUNT, 3, Arrays.asList(article("2", 20, 2)), version);
+        Assert.assertNull(topArticles.get(Article.ARTICLE_VIEW_COUNT, 3));
+
+        load(topArticles, 3, article("1", 30, 1));
+        topArticles.put(new JSONObject().put(Keys.OBJECT_ID, "2").put(Article.ARTICLE_IS_PUBLISHED, true)); // Misses counts
+        Assert.assertNull(topArticles.get(Article.ARTICLE_VIEW_COUNT, 3));
+
+        load(topArticles, 3, article("1", 30, 1));
+        version = topArticles.getVersion(Article.ARTICLE_VIEW_COUNT);
+        topArticles.clear();
+        Assert.assertNull(topArticles.get(Article.ARTICLE_VIEW_COUNT, 3));
+        Assert.assertNotEquals(topArticles.getVersion(Article.ARTICLE_VIEW_COUNT), version);
+    }
+
+    /**
+     * Loads the view count board of the specified top articles with the specified fetch size and articles.
+     *
+     * @param topArticles the specified top articles
+     * @param fetchSize   the specified fetch size
+     * @param articles    the specified articles
+     */
+    private static void load(final TopArticles topArticles, final int fetchSize, final JSONObject... articles) {
+        final long version = topArticles.getVersion(Article.ARTICLE_VIEW_COUNT);
+        topArticles.load(Article.ARTICLE_VIEW_COUNT, fetchSize, Arrays.asList(articles), version);
+    }
+
+    /**
+     * Builds a published article with the specified id, view count and updated time.
+     *
+     * @param id        the specified id
+     * @param viewCount the specified view count
+     * @param updated   the specified updated time
+     * @return article
+     */
+    private static JSONObject article(final String id, final int viewCount, final long updated) {
+        return new JSONObject().put(Keys.OBJECT_ID, id).put(Article.ARTICLE_TITLE, "Article " + id).
+                put(Article.ARTICLE_VIEW_COUNT, viewCount).put(Article.ARTICLE_COMMENT_COUNT, 0).
+                put(Article.ARTICLE_UPDATED, updated).put(Article.ARTICLE_IS_PUBLISHED, true);
+    }
+
+    /**
+     * Gets the ids of the specified articles.
+     *
+     * @param articles the specified articles
+     * @return ids
+     */
+    private static List<String> ids(final List<JSONObject> articles) {
+        final List<String> ret = new ArrayList<>();
+        for (final JSONObject article : articles) {
+            ret.add(article.optString(Keys.OBJECT_ID));
+        }
+
+        return ret;
+    }
+}
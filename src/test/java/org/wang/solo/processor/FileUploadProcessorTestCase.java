@@ -0,0 +1,69 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.processor;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * {@link FileUploadProcessor} test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public class FileUploadProcessorTestCase {
+
+    /**
+     * Parse range.
+     */
+    @Test
+    public void parseRange() {
+        Assert.assertEquals(FileUploadProcessor.parseRange("bytes=0-499", 1000), new long[]{0, 499});
+        Assert.assertEquals(FileUploadProcessor.parseRange(" BYTES=500- ", 1000), new long[]{500, 999});
+        Assert.assertEquals(FileUploadProcessor.parseRange("bytes=-300", 1000), new long[]{700, 999});
+        Assert.assertEquals(FileUploadProcessor.parseRange("bytes=-3000", 1000), new long[]{0, 999});
+        Assert.assertEquals(FileUploadProcessor.parseRange("bytes=900-2000", 1000), new long[]{900, 999});
+        Assert.assertEquals(FileUploadProcessor.parseRange("bytes=999-999", 1000), new long[]{999, 999});
+    }
+
+    /**
+     * Parse range, ignored ranges (the whole file is sent).
+     */
+    @Test
+    public void parseRangeIgnored() {
+        Assert.assertEquals(FileUploadProcessor.parseRange("items=0-499", 1000), new long[0]);
+        Assert.assertEquals(FileUploadProcessor.parseRange("bytes=0-1,5-9", 1000), new long[0]);
+        Assert.assertEquals(FileUploadProcessor.parseRange("bytes=-", 1000), new long[0]);
+        Assert.assertEquals(FileUploadProcessor.parseRange("bytes=500", 1000), new long[0]);
+        Assert.assertEquals(FileUploadProcessor.parseRange("bytes=a-b", 1000), new long[0]);
+        Assert.assertEquals(FileUploadProcessor.parseRange("bytes=500-100", 1000), new long[0]);
+        Assert.assertEquals(FileUploadProcessor.parseRange("bytes=0-99999999999999999999", 1000), new long[0]);
+    }
+
+    /**
+     * Parse range, unsatisfiable ranges.
+     */
+    @Test
+    public void parseRangeUnsatisfiable() {
+        Assert.assertNull(FileUploadProcessor.parseRange("bytes=1000-", 1000));
+        Assert.assertNull(FileUploadProcessor.parseRange("bytes=2000-3000", 1000));
+        Assert.assertNull(FileUploadProcessor.parseRange("bytes=-0", 1000));
+        Assert.assertNull(FileUploadProcessor.parseRange("bytes=-100", 0));
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.service;
+
+import org.apache.commons.lang.time.DateUtils;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wang.solo.model.Article;
+import org.wang.solo.model.Page;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link ImportService} test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public class ImportServiceTestCase {
+
+    /**
+     * Read a published WXR post.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void readPost() throws Exception {
+        final Map<String, String> categories = new LinkedHashMap<>();
+        final ImportService.WXRItem item = readItem("<item>"
+                + "<title>Java 性能优化</title>"
+                + "<category domain=\"category\" nicename=\"java\"><![CDATA[Java]]></category>"
+                + "<category domain=\"post_tag\" nicename=\"perf\"><![CDATA[性能]]></category>"
+                + "<content:encoded><![CDATA[Hello <b>WXR</b>]]></content:encoded>"
+                + "<excerpt:encoded><![CDATA[An excerpt]]></excerpt:encoded>"
+                + "<wp:post_id>7</wp:post_id>"
+                + "<wp:post_date><![CDATA[2018-10-01 08:30:00]]></wp:post_date>"
+                + "<wp:comment_status><![CDATA[open]]></wp:comment_status>"
+                + "<wp:post_name><![CDATA[java-perf]]></wp:post_name>"
+                + "<wp:status><![CDATA[publish]]></wp:status>"
+                + "<wp:post_type><![CDATA[post]]></wp:post_type>"
+                + "<wp:post_password><![CDATA[secret]]></wp:post_password>"
+                + "<wp:postmeta><wp:meta_key>_edit_last</wp:meta_key><wp:meta_value>1</wp:meta_value></wp:postmeta>"
+                + comment("1", "1", "") + comment("2", "0", "") + comment("3", "1", "pingback")
+                + "</item>", categories);
+
+        Assert.assertNotNull(item);
+        Assert.assertFalse(item.page);
+        Assert.assertEquals(item.name, "[7] Java 性能优化");
+
+        final JSONObject article = item.entry;
+        Assert.assertEquals(article.optString(Article.ARTICLE_TITLE), "Java 性能优化");
+        Assert.assertEquals(article.optString(Article.ARTICLE_CONTENT), "Hello <b>WXR</b>");
+        Assert.assertEquals(article.optString(Article.ARTICLE_ABSTRACT), "An excerpt");
+        Assert.assertEquals(article.optString(Article.ARTICLE_TAGS_REF), "Java,性能");
+        Assert.assertEquals(article.optString(Article.ARTICLE_PERMALINK), "/java-perf.html");
+        Assert.assertEquals(article.optLong(Article.ARTICLE_CREATED),
+                DateUtils.parseDate("2018-10-01 08:30:00", new String[]{"yyyy-MM-dd HH:mm:ss"}).getTime());
+        Assert.assertTrue(article.optBoolean(Article.ARTICLE_IS_PUBLISHED));
+        Assert.assertTrue(article.optBoolean(Article.ARTICLE_COMMENTABLE));
+        Assert.assertEquals(article.optString(Article.ARTICLE_VIEW_PWD), "secret");
+
+        Assert.assertEquals(item.comments.size(), 1); // Unapproved comments and pingbacks are skipped
+        Assert.assertEquals(item.comments.get(0).get("comment_id"), "1");
+        Assert.assertEquals(item.comments.get(0).get("comment_content"), "Comment 1");
+
+        Assert.assertEquals(categories.size(), 1); // Tags are not categories
+        Assert.assertEquals(categories.get("java"), "Java");
+    }
+
+    /**
+     * Read a WXR draft never published.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void readDraft() throws Exception {
+        final long start = System.currentTimeMillis();
+        final ImportService.WXRItem item = readItem("<item>"
+                + "<title>Draft</title>"
+                + "<content:encoded><![CDATA[Draft content]]></content:encoded>"
+                + "<excerpt:encoded><![CDATA[Draft excerpt]]></excerpt:encoded>"
+                + "<wp:post_id>8</wp:post_id>"
+                + "<wp:post_date><![CDATA[0000-00-00 00:00:00]]></wp:post_date>"
+                + "<wp:comment_status><![CDATA[closed]]></wp:comment_status>"
+                + "<wp:post_name><![CDATA[]]></wp:post_name>"
+                + "<wp:status><![CDATA[draft]]></wp:status>"
+                + "<wp:post_type><![CDATA[post]]></wp:post_type>"
+                + "</item>", new LinkedHashMap<>());
+
+        Assert.assertNotNull(item);
+        final JSONObject article = item.entry;
+        Assert.assertFalse(article.optBoolean(Article.ARTICLE_IS_PUBLISHED));
+        Assert.assertFalse(article.optBoolean(Article.ARTICLE_COMMENTABLE));
+        Assert.assertFalse(article.has(Article.ARTICLE_PERMALINK)); // Gets the default one
+        Assert.assertEquals(article.optString(Article.ARTICLE_TAGS_REF), "Note");
+        Assert.assertTrue(article.optLong(Article.ARTICLE_CREATED) >= start);
+        Assert.assertTrue(item.comments.isEmpty());
+    }
+
+    /**
+     * Read a WXR page.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void readPage() throws Exception {
+        final ImportService.WXRItem item = readItem("<item>"
+                + "<title>About</title>"
+                + "<content:encoded><![CDATA[About me]]></content:encoded>"
+                + "<wp:post_id>2</wp:post_id>"
+                + "<wp:comment_status><![CDATA[closed]]></wp:comment_status>"
+                + "<wp:post_name><![CDATA[about]]></wp:post_name>"
+                + "<wp:status><![CDATA[publish]]></wp:status>"
+                + "<wp:post_type><![CDATA[page]]></wp:post_type>"
+                + "</item>", new LinkedHashMap<>());
+
+        Assert.assertNotNull(item);
+        Assert.assertTrue(item.page);
+        Assert.assertEquals(item.entry.optString(Page.PAGE_TITLE), "About");
+        Assert.assertEquals(item.entry.optString(Page.PAGE_CONTENT), "About me");
+        Assert.assertEquals(item.entry.optString(Page.PAGE_PERMALINK), "/about.html");
+        Assert.assertEquals(item.entry.optString(Page.PAGE_TYPE), Page.PAGE);
+        Assert.assertFalse(item.entry.optBoolean(Page.PAGE_COMMENTABLE));
+    }
+
+    /**
+     * Read WXR items skipped.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void readSkipped() throws Exception {
+        Assert.assertNull(readItem(item("attachment", "inherit"), new LinkedHashMap<>()));
+        Assert.assertNull(readItem(item("nav_menu_item", "publish"), new LinkedHashMap<>()));
+        Assert.assertNull(readItem(item("post", "trash"), new LinkedHashMap<>()));
+        Assert.assertNull(readItem(item("post", "auto-draft"), new LinkedHashMap<>()));
+        Assert.assertNull(readItem(item("page", "draft"), new LinkedHashMap<>())); // Pages have no drafts
+    }
+
+    /**
+     * Reads the specified WXR item.
+     *
+     * @param item       the specified item
+     * @param categories the specified categories used
+     * @return item, returns {@code null} if it is skipped
+     * @throws Exception exception
+     */
+    private static ImportService.WXRItem readItem(final String item, final Map<String, String> categories) throws Exception {
+        final String xml = "<rss version=\"2.0\""
+                + " xmlns:excerpt=\"http://wordpress.org/export/1.2/excerpt/\""
+                + " xmlns:content=\"http://purl.org/rss/1.0/modules/content/\""
+                + " xmlns:wp=\"http://wordpress.org/export/1.2/\"><channel>" + item + "</channel></rss>";
+        final XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml));
+        try {
+            do { // Moves to the start of the item
+                reader.next();
+            } while (!reader.isStartElement() || !"item".equals(reader.getLocalName()));
+
+            final ImportService.WXRItem ret = new ImportService().readItem(reader, categories);
+            Assert.assertTrue(reader.isEndElement());
+            Assert.assertEquals(reader.getLocalName(), "item");
+
+            return ret;
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Builds a WXR item with the specified type and status.
+     *
+     * @param type   the specified type
+     * @param status the specified status
+     * @return item
+     */
+    private static String item(final String type, final String status) {
+        return "<item><title>Item</title><wp:post_id>9</wp:post_id><wp:post_name>item</wp:post_name>"
+                + "<wp:status>" + status + "</wp:status><wp:post_type>" + type + "</wp:post_type></item>";
+    }
+
+    /**
+     * Builds a WXR comment with the specified id, approved state and type.
+     *
+     * @param id       the specified id
+     * @param approved the specified approved state
+     * @param type     the specified type
+     * @return comment
+     */
+    private static String comment(final String id, final String approved, final String type) {
+        return "<wp:comment><wp:comment_id>" + id + "</wp:comment_id>"
+                + "<wp:comment_author><![CDATA[Reader]]></wp:comment_author>"
+                + "<wp:comment_date>2018-10-02 10:00:00</wp:comment_date>"
+                + "<wp:comment_content><![CDATA[Comment " + id + "]]></wp:comment_content>"
+                + "<wp:comment_approved>" + approved + "</wp:comment_approved>"
+                + "<wp:comment_type>" + type + "</wp:comment_type></wp:comment>";
+    }
+}
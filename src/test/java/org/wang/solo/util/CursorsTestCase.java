@@ -0,0 +1,154 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.wang.solo.util;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.repository.*;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wang.solo.model.Article;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * {@link Cursors} test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 18, 2026
+ * @since 2.9.5
+ */
+public class CursorsTestCase {
+
+    /**
+     * Encode and decode.
+     */
+    @Test
+    public void encodeDecode() {
+        final JSONObject cursor = new JSONObject().put(Article.ARTICLE_CREATED, 1539792000000L).
+                put(Keys.OBJECT_ID, "1539792000000").put(Cursors.LISTING, "tag/性能");
+        final String encoded = Cursors.encode(cursor);
+        Assert.assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+
+        final JSONObject decoded = Cursors.decode(encoded);
+        Assert.assertNotNull(decoded);
+        Assert.assertEquals(decoded.optLong(Article.ARTICLE_CREATED), 1539792000000L);
+        Assert.assertEquals(decoded.optString(Keys.OBJECT_ID), "1539792000000");
+        Assert.assertEquals(decoded.optString(Cursors.LISTING), "tag/性能");
+
+        Assert.assertEquals(Cursors.encode(null), "");
+        Assert.assertNull(Cursors.decode(null));
+        Assert.assertNull(Cursors.decode(""));
+        Assert.assertNull(Cursors.decode("not a cursor!"));
+        Assert.assertNull(Cursors.decode(Cursors.encode(cursor).substring(1)));
+    }
+
+    /**
+     * Of.
+     */
+    @Test
+    public void of() {
+        final Query query = new Query().addSort(Article.ARTICLE_PUT_TOP, SortDirection.DESCENDING).
+                addSort(Article.ARTICLE_CREATED, SortDirection.DESCENDING);
+        final JSONObject record = new JSONObject().put(Keys.OBJECT_ID, "2").put(Article.ARTICLE_PUT_TOP, true).
+                put(Article.ARTICLE_CREATED, 2L).put(Article.ARTICLE_TITLE, "title");
+
+        final JSONObject cursor = Cursors.of(record, query);
+        Assert.assertEquals(cursor.length(), 3);
+        Assert.assertTrue(cursor.optBoolean(Article.ARTICLE_PUT_TOP));
+        Assert.assertEquals(cursor.optLong(Article.ARTICLE_CREATED), 2L);
+        Assert.assertEquals(cursor.optString(Keys.OBJECT_ID), "2");
+
+        Assert.assertNull(Cursors.of(null, query));
+    }
+
+    /**
+     * Seek, first page.
+     */
+    @Test
+    public void seekFirstPage() {
+        final Filter published = new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true);
+        final Query query = Cursors.seek(new Query().setFilter(published).
+                addSort(Article.ARTICLE_CREATED, SortDirection.ASCENDING), null, 20);
+
+        final Map<String, SortDirection> sorts = query.getSorts();
+        Assert.assertEquals(sorts.keySet().toArray(), new String[]{Article.ARTICLE_CREATED, Keys.OBJECT_ID});
+        Assert.assertEquals(sorts.get(Keys.OBJECT_ID), SortDirection.ASCENDING); // Tie-breaker follows the first sort
+        Assert.assertEquals(query.getCurrentPageNum(), 1);
+        Assert.assertEquals(query.getPageSize(), 20);
+        Assert.assertEquals(query.getPageCount(), Integer.valueOf(1));
+        Assert.assertEquals(query.getFilter(), published);
+    }
+
+    /**
+     * Seek, next page.
+     */
+    @Test
+    public void seekNextPage() {
+        final Filter published = new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true);
+        final Query query = new Query().setFilter(published).addSort(Article.ARTICLE_CREATED, SortDirection.DESCENDING);
+        final JSONObject cursor = new JSONObject().put(Article.ARTICLE_CREATED, 2L).put(Keys.OBJECT_ID, "2");
+        Cursors.seek(query, cursor, 10);
+
+        // published && (created < 2 || (created = 2 && oId < "2"))
+        final Filter expected = new CompositeFilter(CompositeFilterOperator.AND, Arrays.asList(published,
+                new CompositeFilter(CompositeFilterOperator.OR, Arrays.asList(
+                        new PropertyFilter(Article.ARTICLE_CREATED, FilterOperator.LESS_THAN, 2L),
+                        new CompositeFilter(CompositeFilterOperator.AND, Arrays.asList(
+                                new PropertyFilter(Article.ARTICLE_CREATED, FilterOperator.EQUAL, 2L),
+                                new PropertyFilter(Keys.OBJECT_ID, FilterOperator.LESS_THAN, "2")))))));
+        Assert.assertEquals(query.getFilter(), expected);
+    }
+
+    /**
+     * Seek, next page of a boolean sort key.
+     */
+    @Test
+    public void seekBooleanKey() {
+        final Query query = new Query().addSort(Article.ARTICLE_PUT_TOP, SortDirection.DESCENDING);
+        Cursors.seek(query, new JSONObject().put(Article.ARTICLE_PUT_TOP, true).put(Keys.OBJECT_ID, "2"), 10);
+
+        // !putTop || (putTop && oId < "2")
+        final Filter expected = new CompositeFilter(CompositeFilterOperator.OR, Arrays.asList(
+                new PropertyFilter(Article.ARTICLE_PUT_TOP, FilterOperator.EQUAL, false),
+                new CompositeFilter(CompositeFilterOperator.AND, Arrays.asList(
+                        new PropertyFilter(Article.ARTICLE_PUT_TOP, FilterOperator.EQUAL, true),
+                        new PropertyFilter(Keys.OBJECT_ID, FilterOperator.LESS_THAN, "2")))));
+        Assert.assertEquals(query.getFilter(), expected);
+
+        // Nothing follows false in descending order but the tie-breaker
+        final Query last = new Query().addSort(Article.ARTICLE_PUT_TOP, SortDirection.DESCENDING);
+        Cursors.seek(last, new JSONObject().put(Article.ARTICLE_PUT_TOP, false).put(Keys.OBJECT_ID, "2"), 10);
+        Assert.assertEquals(last.getFilter(), new CompositeFilter(CompositeFilterOperator.AND, Arrays.asList(
+                new PropertyFilter(Article.ARTICLE_PUT_TOP, FilterOperator.EQUAL, false),
+                new PropertyFilter(Keys.OBJECT_ID, FilterOperator.LESS_THAN, "2"))));
+    }
+
+    /**
+     * Seek with a cursor missing a sort key, it is ignored.
+     */
+    @Test
+    public void seekInvalidCursor() {
+        final Query query = new Query().addSort(Article.ARTICLE_CREATED, SortDirection.DESCENDING);
+        Cursors.seek(query, new JSONObject().put(Keys.OBJECT_ID, "2"), 10);
+
+        Assert.assertNull(query.getFilter());
+        Assert.assertEquals(query.getPageSize(), 10);
+    }
+}